@@ -23,7 +23,6 @@ import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.concurrent.Executors;
-import io.dingodb.common.environment.ExecutionEnvironment;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.store.KeyValue;
@@ -48,16 +47,16 @@ import io.dingodb.partition.DingoPartitionServiceProvider;
 import io.dingodb.partition.PartitionService;
 import io.dingodb.store.api.StoreInstance;
 import io.dingodb.store.api.transaction.data.Op;
-import io.dingodb.store.api.transaction.exception.DuplicateEntryException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.ByteArrayOutputStream;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -68,15 +67,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
-import java.util.UUID;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static io.dingodb.common.util.NoBreakFunctions.wrap;
-import static io.dingodb.common.util.Utils.getByteIndexOf;
 import static io.dingodb.exec.transaction.util.TransactionUtil.max_pre_write_count;
 
 @Slf4j
@@ -96,19 +92,18 @@ public class LoadDataExecutor implements DmlExecutor {
     private final int ignoreNum;
 
     private volatile boolean isDone;
-    private volatile String errMessage;
     private final Table table;
     private final KeyValueCodec codec;
-    private NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
+    // Read by all the writing threads, refreshed under `distributionsLock` after region errors.
+    private volatile NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
+    private final Object distributionsLock = new Object();
     private final DingoType schema;
 
     MetaService metaService;
-    private static int exceptionRetries = 0;
+    private final AtomicInteger exceptionRetries = new AtomicInteger(0);
     private static final Long retryInterval = 6000L;
     private static final int maxRetries = 20;
-    private int dataGenNum = 0;
     private final boolean isTxn;
-    private final String statementId;
     private boolean txnRetry;
     private int txnRetryCnt;
     private long timeOut;
@@ -117,7 +112,10 @@ public class LoadDataExecutor implements DmlExecutor {
 
     private final AtomicLong count = new AtomicLong(0);
 
-    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(10000);
+    // Number of threads parsing and writing the rows.
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private final LoadDataReader reader;
 
     public LoadDataExecutor(SqlLoadData sqlLoadData, Connection connection, DingoParserContext context) {
         this.context = context;
@@ -163,7 +161,9 @@ public class LoadDataExecutor implements DmlExecutor {
         distributions = metaService.getRangeDistribution(table.tableId);
         schema = table.tupleType();
         this.isTxn = checkEngine();
-        this.statementId = UUID.randomUUID().toString();
+        this.reader = new LoadDataReader(
+            linesTerm, lineStarting, escaped, ignoreNum, max_pre_write_count, PARALLELISM
+        );
     }
 
     @Override
@@ -172,69 +172,29 @@ public class LoadDataExecutor implements DmlExecutor {
             throw DingoResource.DINGO_RESOURCE.fieldSeparatorError().ex();
         }
         start = System.currentTimeMillis();
-        CompletableFuture<String> future = Executors.submit("loadDataDecoder", () -> {
-            try {
-                byte[] preBytes = null;
-                long ver = DdlService.root().getIsLatest().getSchemaMetaVersion();
-                context.getRootSchema().putRelatedTable(table.tableId.seq, ver);
-                while (true) {
-                    Object val = queue.take();
-                    if (val instanceof byte[]) {
-                        byte[] bytes = (byte[]) val;
-                        preBytes = splitLine(bytes, preBytes, fieldsTerm, linesTerm);
-                    } else {
-                        break;
-                    }
-                }
-                if (isTxn) {
-                    endWriteWithTxn();
-                }
-                return null;
-            } catch (DuplicateEntryException e1) {
-                errMessage = "Duplicate entry for key 'PRIMARY'";
-                return errMessage;
-            } catch (Exception e2) {
-                LogUtils.error(log, e2.getMessage(), e2);
-                errMessage = e2.getMessage();
-                return errMessage;
-            } finally {
-                context.getRootSchema().removeRelatedTable(table.tableId.seq);
-                isDone = true;
-            }
-        });
+        FileChannel channel;
         try {
-            FileInputStream is = new FileInputStream(filePath);
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            loadDataRead = Executors.submit("loadDataRead", () -> {
-                try {
-                    byte[] buffer = new byte[1000];
-                    int length;
-                    while ((length = is.read(buffer)) != -1) {
-                        bos.write(buffer, 0, length);
-                        queue.put(bos.toByteArray());
-                        bos.reset();
-                    }
-                    queue.put("end");
-                    bos.close();
-                    is.close();
-                    return null;
-                } catch (IOException e) {
-                    LogUtils.error(log, e.getMessage(), e);
-                    return e.getMessage();
-                }
-            });
-        } catch (FileNotFoundException e) {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
             // Err code 2: No such file or directory
             throw DingoResource.DINGO_RESOURCE.accessError(filePath, 2, "No such file or directory").ex();
+        } catch (AccessDeniedException e) {
+            // Err code 13: Permission denied
+            throw DingoResource.DINGO_RESOURCE.accessError(filePath, 13, "Permission denied").ex();
         } catch (Exception e) {
             throw DingoResource.DINGO_RESOURCE.loadDataError().ex();
         }
-        future.whenCompleteAsync((r, e) -> {
-             if (r != null) {
-                 if (!loadDataRead.isDone()) {
-                     loadDataRead.cancel(true);
-                 }
-             }
+        long ver = DdlService.root().getIsLatest().getSchemaMetaVersion();
+        context.getRootSchema().putRelatedTable(table.tableId.seq, ver);
+        List<CompletableFuture<?>> futures = new ArrayList<>(PARALLELISM + 1);
+        for (int i = 0; i < PARALLELISM; i++) {
+            futures.add(Executors.submit("loadDataWriter", () -> reader.write(this::write)));
+        }
+        loadDataRead = Executors.submit("loadDataRead", () -> reader.read(channel));
+        futures.add(loadDataRead);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((r, e) -> {
+            context.getRootSchema().removeRelatedTable(table.tableId.seq);
+            isDone = true;
         });
         return true;
     }
@@ -251,6 +211,7 @@ public class LoadDataExecutor implements DmlExecutor {
         }
         long sub = System.currentTimeMillis() - start;
         long insertCount = count.get();
+        String errMessage = reader.getErrMessage();
         LogUtils.info(log, "load data done, path:{}, cost:{}, insertCount:{}" , filePath, sub, insertCount);
         if (errMessage != null) {
             if (insertCount == 0) {
@@ -279,93 +240,79 @@ public class LoadDataExecutor implements DmlExecutor {
 
     @Override
     public String getWarning() {
-        return errMessage;
+        return reader.getErrMessage();
     }
 
-    // simple line split
-    private byte[] splitLine(byte[] current, byte[] pre, byte[] fieldsTerm, byte[] linesTerm)
-        throws UnsupportedEncodingException {
-        byte[] bytes;
-        if (pre != null) {
-            bytes = new byte[current.length + pre.length];
-            System.arraycopy(pre, 0, bytes, 0, pre.length);
-            System.arraycopy(current, 0, bytes, pre.length, current.length);
-        } else {
-            bytes = current;
+    // Parse the lines of a batch and write the rows.
+    private void write(List<byte[]> batch) throws UnsupportedEncodingException {
+        List<Object[]> tuples = new ArrayList<>(batch.size());
+        for (byte[] line : batch) {
+            tuples.add(parseLine(line));
         }
-
-        int len = bytes.length;
-        int lineBreakPos = 0;
-        int searchPos = 0;
-        boolean isContinue = true;
-        int loopCount = 0;
-        while (isContinue) {
-            searchPos = Math.max(searchPos, lineBreakPos);
-            int id1 = getByteIndexOf(bytes, linesTerm, searchPos, len);
-            if (id1 > 0) {
-                byte[] lineBytes = new byte[id1 - lineBreakPos];
-                System.arraycopy(bytes, lineBreakPos, lineBytes, 0, lineBytes.length);
-                int id2 = getByteIndexOf(lineBytes, lineStarting, 0, lineBytes.length);
-                if (id2 == 0 && bytes[id1 - 1] != escaped[0]) {
-                    Object[] tuple = splitRow(lineBytes, fieldsTerm);
-                    insertTuples(tuple);
-                    int tmp1 = id1 + linesTerm.length;
-                    if (tmp1 == len) {
-                        isContinue = false;
-                        lineBreakPos = tmp1;
-                    }
-                    if (tmp1 <= len - 1) {
-                        lineBreakPos = tmp1;
-                    }
-                } else {
-                    searchPos = id1 + 1;
-                }
-            } else {
-                isContinue = false;
-            }
-            loopCount ++;
-            if (loopCount >= len) {
-                isContinue = false;
-            }
-        }
-        byte[] preBytes = null;
-        if (lineBreakPos <= len - 1) {
-            preBytes = new byte[len - lineBreakPos];
-            System.arraycopy(bytes, lineBreakPos, preBytes, 0, preBytes.length);
+        if (isTxn) {
+            writeWithTxn(tuples);
+        } else {
+            writeWithoutTxn(tuples);
         }
-        return preBytes;
     }
 
-    private void insertTuples(Object[] tuples) {
-        dataGenNum ++;
-        // ignore rows
-        if (dataGenNum <= ignoreNum) {
-            return;
-        }
+    private Object[] parseLine(byte[] line) throws UnsupportedEncodingException {
+        Object[] tuples = splitRow(line, fieldsTerm);
         tuples = enclosed(tuples);
         tuples = processHideCol(tuples);
-        tuples = (Object[]) schema.convertFrom(tuples, new ImportFileConverter(escaped));
+        return (Object[]) schema.convertFrom(tuples, new ImportFileConverter(escaped));
+    }
 
-        if (isTxn) {
-            if (dataGenNum % max_pre_write_count == 0) {
-                refreshTxnId = true;
+    private PartitionService partitionService(String strategy) {
+        return PartitionService.getService(
+            Optional.ofNullable(strategy).orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
+    }
+
+    // Group the rows by region, so that the store of each region is got once. Rows are still inserted one by one,
+    // for the store has no batch put-if-absent which also inserts the indexes.
+    private void writeWithoutTxn(List<Object[]> tuples) {
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> current = distributions;
+        Map<CommonId, List<Object[]>> regions = partitionService(table.getPartitionStrategy())
+            .partTuples(tuples, wrap(codec::encodeKey), current);
+        for (Map.Entry<CommonId, List<Object[]>> entry : regions.entrySet()) {
+            StoreInstance store = Services.KV_STORE.getInstance(table.getTableId(), entry.getKey());
+            for (Object[] tuple : entry.getValue()) {
+                insertWithoutTxn(store, tuple, current);
             }
-            insertWithTxn(tuples);
-        } else {
-            insertWithoutTxn(tuples, false);
         }
     }
 
-    public void insertWithoutTxn(Object[] tuples, boolean retry) {
-        try {
-            if (retry) {
+    /**
+     * Get the distributions newer than the stale ones. They are fetched only once if several threads hit the same
+     * region error.
+     */
+    private NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> refreshDistributions(
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> stale
+    ) {
+        synchronized (distributionsLock) {
+            if (distributions == stale) {
                 distributions = metaService.getRangeDistribution(table.tableId);
             }
-            CommonId partId = PartitionService.getService(
-                    Optional.ofNullable(table.getPartitionStrategy())
-                        .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-                .calcPartId(tuples, wrap(codec::encodeKey), distributions);
-            StoreInstance store = Services.KV_STORE.getInstance(table.getTableId(), partId);
+            return distributions;
+        }
+    }
+
+    private void retryWithoutTxn(
+        Object[] tuples,
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> stale
+    ) {
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> current = refreshDistributions(stale);
+        CommonId partId = partitionService(table.getPartitionStrategy())
+            .calcPartId(tuples, wrap(codec::encodeKey), current);
+        insertWithoutTxn(Services.KV_STORE.getInstance(table.getTableId(), partId), tuples, current);
+    }
+
+    private void insertWithoutTxn(
+        StoreInstance store,
+        Object[] tuples,
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> current
+    ) {
+        try {
             boolean insert = store.insertIndex(tuples);
             if (insert) {
                 insert = store.insertWithIndex(tuples);
@@ -373,7 +320,7 @@ public class LoadDataExecutor implements DmlExecutor {
             if (insert) {
                 count.incrementAndGet();
             }
-            exceptionRetries = 0;
+            exceptionRetries.set(0);
         } catch (Exception e) {
             LogUtils.error(log, e.getMessage(), e);
             if (e.getMessage().contains("epoch is not match, region_epoch")
@@ -382,141 +329,91 @@ public class LoadDataExecutor implements DmlExecutor {
                 if (!continueRetry()) {
                     throw e;
                 }
-                insertWithoutTxn(tuples, true);
+                retryWithoutTxn(tuples, current);
             } else {
                 throw e;
             }
         }
     }
 
-    public CommonId getTxnId() {
-        if (refreshTxnId || txnId == null) {
-            txnId = new CommonId(CommonId.CommonType.TRANSACTION,
-                TransactionManager.getServerId().seq, TransactionManager.getStartTs());
-        }
-        return txnId;
-    }
-
-    CommonId txnId;
-    boolean refreshTxnId = false;
-
-    public void insertWithTxn(Object[] tuples) {
-        ExecutionEnvironment env = ExecutionEnvironment.INSTANCE;
-        Map<String, KeyValue> caches = env.memCacheFor2PC.memoryCache
-            .computeIfAbsent(statementId, e -> new TreeMap<>());
-        KeyValue keyValue = codec.encode(tuples);
-
-        CommonId txnId = getTxnId();
-        recodePriTable(keyValue, txnId);
-        String cacheKey = Base64.getEncoder().encodeToString(keyValue.getKey());
-        if (!caches.containsKey(cacheKey)) {
-            caches.put(cacheKey, keyValue);
+    // Each batch is committed in its own transaction.
+    private void writeWithTxn(List<Object[]> tuples) {
+        CommonId txnId = new CommonId(CommonId.CommonType.TRANSACTION,
+            TransactionManager.getServerId().seq, TransactionManager.getStartTs());
+        Map<String, KeyValue> caches = new TreeMap<>();
+        List<KeyValue> keyValues = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            keyValues.add(codec.encode(tuple));
         }
+        recode(keyValues, table.getTableId(), table.getPartitionStrategy(), distributions, txnId, caches);
         List<IndexTable> indexTableList = table.getIndexes();
         if (indexTableList != null) {
             for (IndexTable indexTable : indexTableList) {
                 List<Integer> columnIndices = table.getColumnIndices(indexTable.columns.stream()
                     .map(Column::getName)
                     .collect(Collectors.toList()));
-                Object[] tuplesTmp = columnIndices.stream().map(i -> tuples[i]).toArray();
                 KeyValueCodec codec = CodecService.getDefault()
                     .createKeyValueCodec(indexTable.version, indexTable.tupleType(), indexTable.keyMapping());
-
-                keyValue = wrap(codec::encode).apply(tuplesTmp);
-                PartitionService ps = PartitionService.getService(
-                    Optional.ofNullable(indexTable.getPartitionStrategy())
-                        .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-                NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges =
-                    metaService.getRangeDistribution(indexTable.tableId);
-                CommonId partId = ps.calcPartId(keyValue.getKey(), ranges);
-                CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
-
-                byte[] txnIdByte = txnId.encode();
-                byte[] tableIdByte = indexTable.tableId.encode();
-                byte[] partIdByte = partId.encode();
-                keyValue.setKey(
-                    ByteUtils.encode(
-                        CommonId.CommonType.TXN_CACHE_DATA,
-                        keyValue.getKey(),
-                        Op.PUTIFABSENT.getCode(),
-                        (txnIdByte.length + tableIdByte.length + partIdByte.length),
-                        txnIdByte,
-                        tableIdByte,
-                        partIdByte)
-                );
-                cacheKey = Base64.getEncoder().encodeToString(keyValue.getKey());
-                if (!caches.containsKey(cacheKey)) {
-                    caches.put(cacheKey, keyValue);
+                List<KeyValue> indexKeyValues = new ArrayList<>(tuples.size());
+                for (Object[] tuple : tuples) {
+                    Object[] tuplesTmp = columnIndices.stream().map(i -> tuple[i]).toArray();
+                    indexKeyValues.add(wrap(codec::encode).apply(tuplesTmp));
                 }
+                recode(
+                    indexKeyValues,
+                    indexTable.tableId,
+                    indexTable.getPartitionStrategy(),
+                    metaService.getRangeDistribution(indexTable.tableId),
+                    txnId,
+                    caches
+                );
             }
         }
-
-        if (refreshTxnId) {
-            long start = System.currentTimeMillis();
-            int cacheSize;
-            Txn txn = new Txn(
-                txnId, txnRetry, txnRetryCnt, timeOut
-            );
-            try {
-                List<TxnLocalData> tupleList = getCacheTupleList(caches, txnId);
-                int result = txn.commit(tupleList);
-                count.addAndGet(result);
-                cacheSize = caches.size();
-                caches.clear();
-            } finally {
-                txn.close();
-                env.memCacheFor2PC.memoryCache.remove(statementId);
-            }
-            long sub = System.currentTimeMillis() - start;
-            long totalCount = count.get();
-            if (totalCount % 409600 == 0) {
-                LogUtils.info(log, "insert txn batch size: {}, cost time: {}ms, insert count:{}",
-                    cacheSize, sub, totalCount);
-            }
-            refreshTxnId = false;
+        if (caches.isEmpty()) {
+            return;
         }
-    }
-
-    private void recodePriTable(KeyValue keyValue, CommonId txnId) {
-        CommonId partId = PartitionService.getService(
-                Optional.ofNullable(table.getPartitionStrategy())
-                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-            .calcPartId(keyValue.getKey(), distributions);
-        CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
-        byte[] txnIdByte = txnId.encode();
-        byte[] tableIdByte = table.getTableId().encode();
-        byte[] partIdByte = partId.encode();
-
-        keyValue.setKey(ByteUtils.encode(
-            CommonId.CommonType.TXN_CACHE_DATA,
-            keyValue.getKey(),
-            Op.PUTIFABSENT.getCode(),
-            (txnIdByte.length + tableIdByte.length + partIdByte.length),
-            txnIdByte, tableIdByte, partIdByte));
-    }
-
-    public void endWriteWithTxn() {
         long start = System.currentTimeMillis();
-        ExecutionEnvironment env = ExecutionEnvironment.INSTANCE;
+        Txn txn = new Txn(
+            txnId, txnRetry, txnRetryCnt, timeOut
+        );
         try {
-            CommonId txnId = getTxnId();
-            Txn txnImportDataOperation = new Txn(
-                txnId, txnRetry, txnRetryCnt, timeOut
-            );
-            Map<String, KeyValue> caches = env.memCacheFor2PC.memoryCache
-                .computeIfAbsent(statementId, e -> new TreeMap<>());
             List<TxnLocalData> tupleList = getCacheTupleList(caches, txnId);
-            if (tupleList.isEmpty()) {
-                return;
-            }
-            int result = txnImportDataOperation.commit(tupleList);
-            count.addAndGet(result);
-            caches.clear();
+            int result = txn.commit(tupleList);
+            long totalCount = count.addAndGet(result);
+            LogUtils.debug(log, "insert txn batch size: {}, cost time: {}ms, insert count:{}",
+                caches.size(), System.currentTimeMillis() - start, totalCount);
         } finally {
-            env.memCacheFor2PC.memoryCache.remove(statementId);
+            txn.close();
+        }
+    }
+
+    private void recode(
+        List<KeyValue> keyValues,
+        CommonId tableId,
+        String partitionStrategy,
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges,
+        CommonId txnId,
+        Map<String, KeyValue> caches
+    ) {
+        List<CommonId> partIds = partitionService(partitionStrategy).calcPartIds(
+            keyValues.stream().map(KeyValue::getKey).collect(Collectors.toList()),
+            ranges
+        );
+        byte[] txnIdByte = txnId.encode();
+        byte[] tableIdByte = tableId.encode();
+        for (int i = 0; i < keyValues.size(); i++) {
+            KeyValue keyValue = keyValues.get(i);
+            CommonId partId = partIds.get(i);
+            CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
+            byte[] partIdByte = partId.encode();
+            keyValue.setKey(ByteUtils.encode(
+                CommonId.CommonType.TXN_CACHE_DATA,
+                keyValue.getKey(),
+                Op.PUTIFABSENT.getCode(),
+                (txnIdByte.length + tableIdByte.length + partIdByte.length),
+                txnIdByte, tableIdByte, partIdByte));
+            caches.putIfAbsent(Base64.getEncoder().encodeToString(keyValue.getKey()), keyValue);
         }
-        long end = System.currentTimeMillis();
-        LogUtils.debug(log, "insert txn end batch, cost time:" + (end - start) + "ms");
     }
 
     public static List<TxnLocalData> getCacheTupleList(Map<String, KeyValue> keyValueMap, CommonId txnId) {
@@ -535,12 +432,12 @@ public class LoadDataExecutor implements DmlExecutor {
         return (TxnLocalData) caches[0];
     }
 
-    private static boolean continueRetry() {
-        if (exceptionRetries > maxRetries) {
+    private boolean continueRetry() {
+        if (exceptionRetries.get() > maxRetries) {
             return false;
         }
         Utils.sleep(retryInterval);
-        exceptionRetries ++;
+        exceptionRetries.incrementAndGet();
         return true;
     }
 
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.executor;
+
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.store.api.transaction.exception.DuplicateEntryException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static io.dingodb.common.util.Utils.getByteIndexOf;
+
+/**
+ * Lines of a file loaded by LOAD DATA, passed from the reader to the writers in batches. The first error of the
+ * reader or of any writer stops all of them.
+ */
+@Slf4j
+final class LoadDataReader {
+    static final int READ_SIZE = 4 << 20;
+
+    private final byte[] linesTerm;
+    private final byte[] lineStarting;
+    private final byte[] escaped;
+    private final int ignoreNum;
+    private final int batchSize;
+
+    // Lines waiting to be written, bounded so that the reader waits for the writers.
+    private final BlockingQueue<List<byte[]>> batches;
+    // Lines of the batch being filled, only accessed by the reader.
+    private List<byte[]> lines = new ArrayList<>();
+    private long lineCount = 0;
+
+    private volatile boolean readDone;
+    @Getter
+    private volatile boolean failed;
+    @Getter
+    private volatile String errMessage;
+
+    LoadDataReader(
+        byte[] linesTerm,
+        byte[] lineStarting,
+        byte[] escaped,
+        int ignoreNum,
+        int batchSize,
+        int writers
+    ) {
+        this.linesTerm = linesTerm;
+        this.lineStarting = lineStarting;
+        this.escaped = escaped;
+        this.ignoreNum = ignoreNum;
+        this.batchSize = batchSize;
+        this.batches = new ArrayBlockingQueue<>(writers);
+    }
+
+    synchronized void fail(String message) {
+        if (!failed) {
+            errMessage = message;
+            failed = true;
+        }
+    }
+
+    /**
+     * Read the channel in large chunks, and put the lines to the batch queue.
+     *
+     * @return the error message if failed to read
+     */
+    String read(ReadableByteChannel channel) {
+        try (ReadableByteChannel ignored = channel) {
+            byte[] buffer = new byte[READ_SIZE];
+            int length = 0;
+            while (!failed) {
+                if (length == buffer.length) {
+                    // The line is longer than the buffer.
+                    buffer = Arrays.copyOf(buffer, buffer.length << 1);
+                }
+                int read = channel.read(ByteBuffer.wrap(buffer, length, buffer.length - length));
+                if (read < 0) {
+                    break;
+                }
+                length += read;
+                int pos = splitLine(buffer, length);
+                System.arraycopy(buffer, pos, buffer, 0, length - pos);
+                length -= pos;
+            }
+            if (!lines.isEmpty()) {
+                putLines();
+            }
+            return null;
+        } catch (IOException e) {
+            LogUtils.error(log, e.getMessage(), e);
+            fail(e.getMessage());
+            return e.getMessage();
+        } catch (InterruptedException e) {
+            fail(e.getMessage());
+            return null;
+        } finally {
+            readDone = true;
+        }
+    }
+
+    /**
+     * Take the batches and write them, until all the lines are read or the loading failed.
+     */
+    void write(BatchWriter writer) {
+        try {
+            while (!failed) {
+                List<byte[]> batch = batches.poll(100, TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    if (readDone && batches.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                writer.write(batch);
+            }
+        } catch (DuplicateEntryException e1) {
+            fail("Duplicate entry for key 'PRIMARY'");
+        } catch (Exception e2) {
+            LogUtils.error(log, e2.getMessage(), e2);
+            fail(e2.getMessage());
+        }
+    }
+
+    // simple line split, returns the start of the incomplete line
+    private int splitLine(byte[] bytes, int len) throws InterruptedException {
+        int lineBreakPos = 0;
+        int searchPos = 0;
+        boolean isContinue = true;
+        int loopCount = 0;
+        while (isContinue) {
+            searchPos = Math.max(searchPos, lineBreakPos);
+            int id1 = getByteIndexOf(bytes, linesTerm, searchPos, len);
+            if (id1 > 0) {
+                byte[] lineBytes = new byte[id1 - lineBreakPos];
+                System.arraycopy(bytes, lineBreakPos, lineBytes, 0, lineBytes.length);
+                int id2 = getByteIndexOf(lineBytes, lineStarting, 0, lineBytes.length);
+                if (id2 == 0 && bytes[id1 - 1] != escaped[0]) {
+                    addLine(lineBytes);
+                    int tmp1 = id1 + linesTerm.length;
+                    if (tmp1 == len) {
+                        isContinue = false;
+                        lineBreakPos = tmp1;
+                    }
+                    if (tmp1 <= len - 1) {
+                        lineBreakPos = tmp1;
+                    }
+                } else {
+                    searchPos = id1 + 1;
+                }
+            } else {
+                isContinue = false;
+            }
+            loopCount ++;
+            if (loopCount >= len) {
+                isContinue = false;
+            }
+        }
+        return lineBreakPos;
+    }
+
+    private void addLine(byte[] line) throws InterruptedException {
+        lineCount ++;
+        // ignore rows
+        if (lineCount <= ignoreNum) {
+            return;
+        }
+        lines.add(line);
+        if (lines.size() >= batchSize) {
+            putLines();
+        }
+    }
+
+    private void putLines() throws InterruptedException {
+        List<byte[]> batch = lines;
+        lines = new ArrayList<>();
+        while (!failed && !batches.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            // Wait for the writers.
+        }
+    }
+
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(List<byte[]> lines) throws Exception;
+    }
+}
@@ -30,6 +30,7 @@ import io.dingodb.common.type.scalar.TimeType;
 import io.dingodb.common.type.scalar.TimestampType;
 import io.dingodb.meta.entity.Column;
 import io.dingodb.meta.entity.Table;
+import org.apache.calcite.plan.RelOptTable;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
@@ -47,6 +48,13 @@ public class DingoCostModelV1 extends DingoCostModel {
 
     public static final double memFactor = 0.01;
 
+    // Max estimated rows of the right input of a broadcast hash join.
+    public static final double broadcastRowLimit = 10000;
+    // Max estimated rows of the outer input of a lookup join.
+    public static final double lookupRowLimit = 10000;
+    // Cost of getting a row by key relative to scanning a row.
+    public static final double lookupFactor = 10;
+
     private static DingoCostModelV1 INSTANCE;
 
     public static synchronized DingoCostModelV1 getCostModel() {
@@ -80,6 +88,44 @@ public class DingoCostModelV1 extends DingoCostModel {
         return rowCount * rowSize * netFactor;
     }
 
+    /**
+     * Check if copying the right input of a hash join to each partition of the left input is cheaper than
+     * redistributing both inputs by the join keys.
+     */
+    public static boolean isBroadcastCheaper(
+        double rightRowCount,
+        double rightRowSize,
+        double leftRowCount,
+        double leftRowSize,
+        int leftPartitions
+    ) {
+        if (rightRowCount > broadcastRowLimit) {
+            return false;
+        }
+        return getNetCost(rightRowCount * leftPartitions, rightRowSize)
+            < getNetCost(rightRowCount, rightRowSize) + getNetCost(leftRowCount, leftRowSize);
+    }
+
+    /**
+     * Check if getting the inner rows by the keys of each outer row is cheaper than scanning the inner table.
+     */
+    public static boolean isLookupCheaper(double outerRowCount, double innerRowCount) {
+        if (outerRowCount > lookupRowLimit) {
+            return false;
+        }
+        return outerRowCount * lookupFactor < innerRowCount;
+    }
+
+    /**
+     * Check if the row count of the table is collected, otherwise it is only a default value.
+     */
+    public static boolean hasStats(@NonNull RelOptTable table) {
+        DingoTable dingoTable = table.unwrap(DingoTable.class);
+        assert dingoTable != null;
+        List<String> names = dingoTable.getNames();
+        return names.size() > 2 && StatsCache.getStatistic(names.get(1), names.get(2)) != null;
+    }
+
     @NonNull
     public static List<Column> getSelectionCdList(LogicalDingoTableScan tableScan, DingoTable dingoTable) {
         if (tableScan.getRealSelection() == null) {
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rel.dingo;
+
+import io.dingodb.calcite.rel.DingoRel;
+import io.dingodb.calcite.visitor.DingoRelVisitor;
+import io.dingodb.common.type.TupleMapping;
+import lombok.Getter;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.ImmutableIntList;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Join the input (outer) with a table (inner) by getting the rows of the inner table by primary keys, which are
+ * taken from the join keys of the outer tuples.
+ */
+public final class DingoLookupJoin extends SingleRel implements DingoRel {
+    @Getter
+    private double rowCount;
+    @Getter
+    private final JoinRelType joinType;
+    @Getter
+    private final RelOptTable table;
+    // Indices of the join keys in the input.
+    @Getter
+    private final ImmutableIntList outerKeys;
+    // Indices of the primary key columns in the table.
+    @Getter
+    private final ImmutableIntList innerKeys;
+    // Filter on the selected columns of the table.
+    @Getter
+    private final @Nullable RexNode filter;
+    @Getter
+    private final TupleMapping selection;
+
+    public DingoLookupJoin(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelDataType rowType,
+        JoinRelType joinType,
+        RelOptTable table,
+        ImmutableIntList outerKeys,
+        ImmutableIntList innerKeys,
+        @Nullable RexNode filter,
+        TupleMapping selection
+    ) {
+        super(cluster, traits, input);
+        this.rowType = rowType;
+        this.joinType = joinType;
+        this.table = table;
+        this.outerKeys = outerKeys;
+        this.innerKeys = innerKeys;
+        this.filter = filter;
+        this.selection = selection;
+    }
+
+    @Override
+    public @NonNull RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new DingoLookupJoin(
+            getCluster(),
+            traitSet,
+            sole(inputs),
+            rowType,
+            joinType,
+            table,
+            outerKeys,
+            innerKeys,
+            filter,
+            selection
+        );
+    }
+
+    @Override
+    public @NonNull RelWriter explainTerms(@NonNull RelWriter pw) {
+        return super.explainTerms(pw)
+            .item("table", table.getQualifiedName())
+            .item("joinType", joinType)
+            .item("outerKeys", outerKeys)
+            .item("innerKeys", innerKeys)
+            .itemIf("filter", filter, filter != null)
+            .item("selection", selection);
+    }
+
+    @Override
+    public <T> T accept(@NonNull DingoRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    public double estimateRowCount(@NonNull RelMetadataQuery mq) {
+        // At most one inner row for each outer row.
+        rowCount = mq.getRowCount(getInput());
+        return rowCount;
+    }
+
+    @Override
+    public @Nullable RelOptCost computeSelfCost(@NonNull RelOptPlanner planner, @NonNull RelMetadataQuery mq) {
+        double rowCount = mq.getRowCount(getInput());
+        return planner.getCostFactory().makeCost(rowCount, rowCount, 0);
+    }
+}
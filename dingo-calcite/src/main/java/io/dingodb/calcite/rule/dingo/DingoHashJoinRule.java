@@ -16,18 +16,35 @@
 
 package io.dingodb.calcite.rule.dingo;
 
+import com.google.common.collect.ImmutableSet;
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.meta.DingoCostModelV1;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.calcite.rel.dingo.DingoBroadcastHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
+import io.dingodb.calcite.stats.StatsCache;
 import io.dingodb.calcite.traits.DingoConvention;
 import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.common.type.TupleMapping;
 import org.apache.calcite.plan.Convention;
 import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.plan.volcano.RelSubset;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.convert.ConverterRule;
 import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.core.TableScan;
 import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.util.ImmutableIntList;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class DingoHashJoinRule extends ConverterRule {
     public static final Config DEFAULT = Config.INSTANCE
         .withConversion(
@@ -55,6 +72,26 @@ public class DingoHashJoinRule extends ConverterRule {
     @Override
     public @Nullable RelNode convert(RelNode rel) {
         LogicalJoin join = (LogicalJoin) rel;
+        DingoLookupJoin lookupJoin = lookupJoin(join);
+        if (lookupJoin != null) {
+            return lookupJoin;
+        }
+        LogicalDingoTableScan broadcastTo = broadcastTo(join);
+        if (broadcastTo != null) {
+            RelTraitSet traits = join.getTraitSet()
+                .replace(DingoConvention.INSTANCE)
+                .replace(DingoRelStreaming.of(broadcastTo.getTable()));
+            return new DingoBroadcastHashJoin(
+                join.getCluster(),
+                traits,
+                join.getHints(),
+                convert(join.getLeft(), traits),
+                convert(join.getRight(), traits.replace(DingoRelStreaming.ROOT)),
+                join.getCondition(),
+                join.getVariablesSet(),
+                join.getJoinType()
+            );
+        }
         JoinInfo joinInfo = join.analyzeCondition();
         RelTraitSet traits, leftTraits, rightTraits;
         if (!joinInfo.leftKeys.isEmpty() && !joinInfo.rightKeys.isEmpty()) { // Can be partitioned.
@@ -81,4 +118,126 @@ public class DingoHashJoinRule extends ConverterRule {
             join.getJoinType()
         );
     }
+
+    /**
+     * Get the table scan on the left to copy the right input to, if the right input is small enough by statistics.
+     */
+    private static @Nullable LogicalDingoTableScan broadcastTo(@NonNull LogicalJoin join) {
+        if (join.getJoinType() != JoinRelType.INNER && join.getJoinType() != JoinRelType.LEFT) {
+            return null;
+        }
+        LogicalDingoTableScan scan = scanOf(join.getLeft());
+        if (scan == null) {
+            return null;
+        }
+        if (!DingoCostModelV1.hasStats(scan.getTable()) || !hasStats(join.getRight())) {
+            return null;
+        }
+        DingoTable dingoTable = scan.getTable().unwrap(DingoTable.class);
+        assert dingoTable != null;
+        // The partition definitions may be empty, but there is at least one partition to copy to.
+        int partitions = dingoTable.getTable().getPartitions() == null
+            ? 1 : Math.max(1, dingoTable.getTable().getPartitions().size());
+        RelMetadataQuery mq = join.getCluster().getMetadataQuery();
+        RelNode right = join.getRight();
+        Double rightRowSize = mq.getAverageRowSize(right);
+        boolean cheaper = DingoCostModelV1.isBroadcastCheaper(
+            mq.getRowCount(right),
+            rightRowSize != null ? rightRowSize : 32.0 * right.getRowType().getFieldCount(),
+            mq.getRowCount(scan),
+            DingoCostModelV1.getScanAvgRowSize(scan),
+            partitions
+        );
+        return cheaper ? scan : null;
+    }
+
+    /**
+     * Get the lookup join if the right input is a table scan joined by its primary key, and the left input is small
+     * enough by statistics.
+     */
+    private static @Nullable DingoLookupJoin lookupJoin(@NonNull LogicalJoin join) {
+        if (join.getJoinType() != JoinRelType.INNER && join.getJoinType() != JoinRelType.LEFT) {
+            return null;
+        }
+        JoinInfo joinInfo = join.analyzeCondition();
+        if (!joinInfo.isEqui() || joinInfo.rightKeys.isEmpty()) {
+            return null;
+        }
+        LogicalDingoTableScan scan = scanOf(join.getRight());
+        if (scan == null || !DingoCostModelV1.hasStats(scan.getTable()) || !hasStats(join.getLeft())) {
+            return null;
+        }
+        DingoTable dingoTable = scan.getTable().unwrap(DingoTable.class);
+        assert dingoTable != null;
+        TupleMapping selection = scan.getSelection();
+        List<Integer> innerKeys = joinInfo.rightKeys.stream()
+            .map(selection::get)
+            .collect(Collectors.toList());
+        // Every column of the primary key must be given exactly once.
+        TupleMapping keyMapping = dingoTable.getTable().keyMapping();
+        if (innerKeys.size() != keyMapping.size()
+            || !ImmutableSet.copyOf(innerKeys).equals(ImmutableSet.copyOf(keyMapping.stream().boxed().iterator()))) {
+            return null;
+        }
+        // Values are compared by their java objects, so the types must be the same.
+        List<RelDataTypeField> leftFields = join.getLeft().getRowType().getFieldList();
+        List<RelDataTypeField> rightFields = join.getRight().getRowType().getFieldList();
+        for (int i = 0; i < joinInfo.leftKeys.size(); ++i) {
+            if (leftFields.get(joinInfo.leftKeys.get(i)).getType().getSqlTypeName()
+                != rightFields.get(joinInfo.rightKeys.get(i)).getType().getSqlTypeName()) {
+                return null;
+            }
+        }
+        RelMetadataQuery mq = join.getCluster().getMetadataQuery();
+        if (!DingoCostModelV1.isLookupCheaper(mq.getRowCount(join.getLeft()), StatsCache.getTableRowCount(scan))) {
+            return null;
+        }
+        RelTraitSet traits = join.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT);
+        return new DingoLookupJoin(
+            join.getCluster(),
+            traits,
+            convert(join.getLeft(), traits),
+            join.getRowType(),
+            join.getJoinType(),
+            scan.getTable(),
+            joinInfo.leftKeys,
+            ImmutableIntList.copyOf(innerKeys),
+            scan.getFilter(),
+            selection
+        );
+    }
+
+    /**
+     * Get the table scan if the input is a plain one, without aggregations pushed down.
+     */
+    private static @Nullable LogicalDingoTableScan scanOf(RelNode rel) {
+        RelNode original = original(rel);
+        if (original == null || original.getClass() != LogicalDingoTableScan.class) {
+            return null;
+        }
+        LogicalDingoTableScan scan = (LogicalDingoTableScan) original;
+        // Partial aggregations must be reduced before joining.
+        if (scan.getAggCalls() != null && !scan.getAggCalls().isEmpty()) {
+            return null;
+        }
+        return scan;
+    }
+
+    private static @Nullable RelNode original(RelNode rel) {
+        return rel instanceof RelSubset ? ((RelSubset) rel).getOriginal() : rel;
+    }
+
+    private static boolean hasStats(RelNode rel) {
+        RelNode original = original(rel);
+        if (original == null) {
+            return false;
+        }
+        if (original instanceof TableScan) {
+            return original.getTable() != null && original.getTable().unwrap(DingoTable.class) != null
+                && DingoCostModelV1.hasStats(original.getTable());
+        }
+        return original.getInputs().stream().allMatch(DingoHashJoinRule::hasStats);
+    }
 }
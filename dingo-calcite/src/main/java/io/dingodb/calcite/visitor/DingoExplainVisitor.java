@@ -41,8 +41,10 @@ import io.dingodb.calcite.rel.DingoValues;
 import io.dingodb.calcite.rel.DingoVector;
 import io.dingodb.calcite.rel.DocumentStreamConvertor;
 import io.dingodb.calcite.rel.VectorStreamConvertor;
+import io.dingodb.calcite.rel.dingo.DingoBroadcastHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoIndexScanWithRelOp;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
 import io.dingodb.calcite.rel.dingo.DingoReduceAggregate;
 import io.dingodb.calcite.rel.dingo.DingoRelOp;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
@@ -127,6 +129,30 @@ public class DingoExplainVisitor implements DingoRelVisitor<Explain> {
         return explain1;
     }
 
+    @Override
+    public Explain visit(@NonNull DingoBroadcastHashJoin rel) {
+        String info = "";
+        if (rel.getJoinType() != null && rel.getCondition() != null) {
+            info = "joinType:" + rel.getJoinType().toString();
+            info += ", condition:" + rel.getCondition().toString();
+        }
+        Explain explain1 = new Explain("dingoBroadcastHashJoin", rel.getRowCount(), "root", "", info);
+        for (RelNode node : rel.getInputs()) {
+            explain1.getChildren().add(dingo(node).accept(this));
+        }
+        return explain1;
+    }
+
+    @Override
+    public Explain visit(@NonNull DingoLookupJoin rel) {
+        String info = "joinType:" + rel.getJoinType().toString()
+            + ", outerKeys:" + rel.getOuterKeys() + ", innerKeys:" + rel.getInnerKeys();
+        String table = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable().getName();
+        Explain explain1 = new Explain("dingoLookupJoin", rel.getRowCount(), "root", table, info);
+        explain1.getChildren().add(dingo(rel.getInput()).accept(this));
+        return explain1;
+    }
+
     @Override
     public Explain visit(@NonNull DingoTableModify rel) {
         String info = "";
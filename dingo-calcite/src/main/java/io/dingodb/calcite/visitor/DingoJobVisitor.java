@@ -39,8 +39,10 @@ import io.dingodb.calcite.rel.DingoValues;
 import io.dingodb.calcite.rel.DingoVector;
 import io.dingodb.calcite.rel.DocumentStreamConvertor;
 import io.dingodb.calcite.rel.VectorStreamConvertor;
+import io.dingodb.calcite.rel.dingo.DingoBroadcastHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoIndexScanWithRelOp;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
 import io.dingodb.calcite.rel.dingo.DingoReduceAggregate;
 import io.dingodb.calcite.rel.dingo.DingoRelOp;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
@@ -50,6 +52,7 @@ import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
 import io.dingodb.calcite.rel.dingo.IndexFullScan;
 import io.dingodb.calcite.rel.dingo.IndexRangeScan;
 import io.dingodb.calcite.visitor.function.DingoAggregateVisitFun;
+import io.dingodb.calcite.visitor.function.DingoBroadcastHashJoinVisitFun;
 import io.dingodb.calcite.visitor.function.DingoCountDeleteVisitFun;
 import io.dingodb.calcite.visitor.function.DingoDocumentStreamingVisitFun;
 import io.dingodb.calcite.visitor.function.DingoDocumentVisitFun;
@@ -66,6 +69,7 @@ import io.dingodb.calcite.visitor.function.DingoIndexRangeScanVisitFun;
 import io.dingodb.calcite.visitor.function.DingoIndexScanWithRelOpVisitFun;
 import io.dingodb.calcite.visitor.function.DingoInfoSchemaScanVisitFun;
 import io.dingodb.calcite.visitor.function.DingoLikeScanVisitFun;
+import io.dingodb.calcite.visitor.function.DingoLookupJoinVisitFun;
 import io.dingodb.calcite.visitor.function.DingoProjectVisitFun;
 import io.dingodb.calcite.visitor.function.DingoRangeDeleteVisitFun;
 import io.dingodb.calcite.visitor.function.DingoReduceAggregateVisitFun;
@@ -167,6 +171,16 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Vertex>> {
         return DingoHashJoinVisitFun.visit(job, idGenerator, currentLocation, this, rel);
     }
 
+    @Override
+    public Collection<Vertex> visit(@NonNull DingoBroadcastHashJoin rel) {
+        return DingoBroadcastHashJoinVisitFun.visit(job, idGenerator, currentLocation, transaction, this, rel);
+    }
+
+    @Override
+    public Collection<Vertex> visit(@NonNull DingoLookupJoin rel) {
+        return DingoLookupJoinVisitFun.visit(job, idGenerator, currentLocation, transaction, this, rel);
+    }
+
     @Override
     public Collection<Vertex> visit(@NonNull DingoTableModify rel) {
         return DingoTableModifyVisitFun.visit(job, idGenerator, currentLocation, transaction, this, rel);
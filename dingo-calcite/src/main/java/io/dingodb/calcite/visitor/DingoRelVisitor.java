@@ -26,6 +26,7 @@ import io.dingodb.calcite.rel.DingoGetByIndexMerge;
 import io.dingodb.calcite.rel.DingoGetByKeys;
 import io.dingodb.calcite.rel.DingoGetVectorByDistance;
 import io.dingodb.calcite.rel.DingoHybridSearch;
+import io.dingodb.calcite.rel.dingo.DingoBroadcastHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
 import io.dingodb.calcite.rel.DingoInfoSchemaScan;
 import io.dingodb.calcite.rel.DingoLikeScan;
@@ -34,6 +35,7 @@ import io.dingodb.calcite.rel.DingoPartRangeDelete;
 import io.dingodb.calcite.rel.DingoProject;
 import io.dingodb.calcite.rel.DingoReduce;
 import io.dingodb.calcite.rel.dingo.DingoIndexScanWithRelOp;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
 import io.dingodb.calcite.rel.dingo.DingoSort;
 import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
@@ -62,6 +64,10 @@ public interface DingoRelVisitor<T> {
 
     T visit(@NonNull DingoHashJoin rel);
 
+    T visit(@NonNull DingoBroadcastHashJoin rel);
+
+    T visit(@NonNull DingoLookupJoin rel);
+
     T visit(@NonNull DingoTableModify rel);
 
     T visit(@NonNull DingoProject rel);
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.visitor.function;
+
+import io.dingodb.calcite.rel.dingo.DingoBroadcastHashJoin;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
+import io.dingodb.calcite.visitor.DingoJobVisitor;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.IdGenerator;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.params.CopyParam;
+import io.dingodb.exec.operator.params.HashJoinParam;
+import io.dingodb.exec.transaction.base.ITransaction;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import static io.dingodb.calcite.rel.DingoRel.dingo;
+import static io.dingodb.common.util.Utils.sole;
+import static io.dingodb.exec.utils.OperatorCodeUtils.COPY;
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
+
+public final class DingoBroadcastHashJoinVisitFun {
+    private DingoBroadcastHashJoinVisitFun() {
+    }
+
+    @NonNull
+    public static List<Vertex> visit(
+        Job job, IdGenerator idGenerator, Location currentLocation, ITransaction transaction,
+        DingoJobVisitor visitor, @NonNull DingoBroadcastHashJoin rel
+    ) {
+        Collection<Vertex> leftInputs = dingo(rel.getLeft()).accept(visitor);
+        // The right input is coalesced, so there is only one.
+        Vertex rightInput = sole(dingo(rel.getRight()).accept(visitor));
+        DingoType leftType = DefinitionMapper.mapToDingoType(rel.getLeft().getRowType());
+        DingoType rightType = DefinitionMapper.mapToDingoType(rel.getRight().getRowType());
+        Task rightTask = rightInput.getTask();
+        Vertex copy = new Vertex(COPY, new CopyParam());
+        copy.setId(idGenerator.getOperatorId(rightTask.getId()));
+        copy.copyHint(rightInput);
+        Edge copyEdge = new Edge(rightInput, copy);
+        rightInput.addEdge(copyEdge);
+        copy.addIn(copyEdge);
+        rightTask.putVertex(copy);
+        JoinInfo joinInfo = rel.analyzeCondition();
+        List<Vertex> outputs = new LinkedList<>();
+        boolean copyToJoin = false;
+        for (Vertex left : leftInputs) {
+            Task task = left.getTask();
+            Vertex right = DingoExchangeFun.exchange(
+                job, idGenerator, transaction, copy, task.getLocation(), rightType
+            );
+            if (right == copy) {
+                // In the same task, copied to the join directly.
+                copyToJoin = true;
+            }
+            HashJoinParam param = new HashJoinParam(
+                TupleMapping.of(joinInfo.leftKeys),
+                TupleMapping.of(joinInfo.rightKeys),
+                rel.getLeft().getRowType().getFieldCount(),
+                rel.getRight().getRowType().getFieldCount(),
+                rel.getJoinType() == JoinRelType.LEFT,
+                false,
+                leftType,
+                rightType
+            );
+            Vertex vertex = new Vertex(HASH_JOIN, param);
+            vertex.setId(idGenerator.getOperatorId(task.getId()));
+            vertex.copyHint(left);
+            left.setPin(0);
+            right.setPin(1);
+            Edge leftEdge = new Edge(left, vertex);
+            left.addEdge(leftEdge);
+            vertex.addIn(leftEdge);
+            Edge rightEdge = new Edge(right, vertex);
+            right.addEdge(rightEdge);
+            vertex.addIn(rightEdge);
+            task.putVertex(vertex);
+            outputs.add(vertex);
+            if (rel.getJoinType() == JoinRelType.INNER) {
+                // Each left input is sent to its own join.
+                DingoHashJoinVisitFun.pushRuntimeFilter(
+                    Collections.singletonList(vertex), TupleMapping.of(joinInfo.leftKeys)
+                );
+            }
+        }
+        // Exchanging resets the pin of the copy, which matters only to the joins in the same task.
+        if (copyToJoin) {
+            copy.setPin(1);
+        }
+        return outputs;
+    }
+}
@@ -17,6 +17,7 @@
 package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
@@ -26,19 +27,37 @@ import io.dingodb.exec.base.Job;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.RuntimeFilterProbe;
+import io.dingodb.exec.operator.params.FilterProjectParam;
 import io.dingodb.exec.operator.params.HashJoinParam;
+import io.dingodb.exec.operator.params.PartRangeScanParam;
+import io.dingodb.exec.operator.params.ScanParam;
+import io.dingodb.exec.operator.params.TxnPartRangeScanParam;
 import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static io.dingodb.calcite.rel.DingoRel.dingo;
+import static io.dingodb.exec.utils.OperatorCodeUtils.COALESCE;
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH;
 import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.PART_RANGE_SCAN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SCAN_WITH_NO_OP;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SCAN_WITH_PIPE_OP;
+import static io.dingodb.exec.utils.OperatorCodeUtils.TXN_PART_RANGE_SCAN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.TXN_SCAN_WITH_NO_OP;
+import static io.dingodb.exec.utils.OperatorCodeUtils.TXN_SCAN_WITH_PIPE_OP;
 
 public class DingoHashJoinVisitFun {
     @NonNull
@@ -62,7 +81,9 @@ public class DingoHashJoinVisitFun {
                 TupleMapping.of(joinInfo.rightKeys), rel.getLeft().getRowType().getFieldCount(),
                 rel.getRight().getRowType().getFieldCount(),
                 rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL,
-                rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL
+                rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL,
+                DefinitionMapper.mapToDingoType(rel.getLeft().getRowType()),
+                DefinitionMapper.mapToDingoType(rel.getRight().getRowType())
             );
             Vertex vertex = new Vertex(HASH_JOIN, param);
             vertex.setId(idGenerator.getOperatorId(taskId));
@@ -76,6 +97,73 @@ public class DingoHashJoinVisitFun {
             task.putVertex(vertex);
             outputs.add(vertex);
         }
+        if (rel.getJoinType() == JoinRelType.INNER || rel.getJoinType() == JoinRelType.RIGHT) {
+            pushRuntimeFilter(outputs, TupleMapping.of(rel.analyzeCondition().leftKeys));
+        }
         return outputs;
     }
+
+    /**
+     * Let the scans feeding the left inputs of the joins drop tuples whose keys are not on the build side of any of
+     * the joins. Only scans in the same task as all the joins, reaching them through operators keeping tuples as they
+     * are, are considered.
+     */
+    static void pushRuntimeFilter(@NonNull List<Vertex> joins, @NonNull TupleMapping leftKeys) {
+        if (joins.isEmpty() || leftKeys.size() == 0) {
+            return;
+        }
+        Task task = joins.get(0).getTask();
+        if (joins.stream().anyMatch(j -> j.getTask() != task)) {
+            return;
+        }
+        List<CommonId> sources = joins.stream().map(Vertex::getId).collect(Collectors.toList());
+        Deque<Vertex> vertices = new ArrayDeque<>();
+        for (Vertex join : joins) {
+            // The left input is the first.
+            vertices.push(join.getInList().get(0).getPrevious());
+        }
+        Set<CommonId> visited = new HashSet<>();
+        boolean pushed = false;
+        while (!vertices.isEmpty()) {
+            Vertex vertex = vertices.pop();
+            if (!visited.add(vertex.getId()) || vertex.getTask() != task) {
+                continue;
+            }
+            CommonId op = vertex.getOp();
+            if (op.equals(COALESCE) || op.equals(HASH)) {
+                for (Vertex previous : task.getVertexes().values()) {
+                    if (previous.getOutList().stream().anyMatch(e -> e.getNext() == vertex)) {
+                        vertices.push(previous);
+                    }
+                }
+            } else if (vertex.getOutList().size() == 1) {
+                pushed |= setRuntimeFilter(vertex, new RuntimeFilterProbe(sources, leftKeys));
+            }
+        }
+        if (pushed) {
+            joins.forEach(j -> ((HashJoinParam) j.getParam()).setRuntimeFilterEnabled(true));
+        }
+    }
+
+    private static boolean setRuntimeFilter(@NonNull Vertex vertex, RuntimeFilterProbe probe) {
+        CommonId op = vertex.getOp();
+        if (op.equals(PART_RANGE_SCAN) || op.equals(TXN_PART_RANGE_SCAN)) {
+            FilterProjectParam param = vertex.getParam();
+            List<?> aggList = param instanceof TxnPartRangeScanParam
+                ? ((TxnPartRangeScanParam) param).getAggList()
+                : ((PartRangeScanParam) param).getAggList();
+            if (aggList != null && !aggList.isEmpty()) {
+                return false;
+            }
+            param.setRuntimeFilter(probe);
+            return true;
+        }
+        if (op.equals(SCAN_WITH_NO_OP) || op.equals(SCAN_WITH_PIPE_OP)
+            || op.equals(TXN_SCAN_WITH_NO_OP) || op.equals(TXN_SCAN_WITH_PIPE_OP)) {
+            ScanParam param = vertex.getParam();
+            param.setRuntimeFilter(probe);
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.visitor.function;
+
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
+import io.dingodb.calcite.utils.MetaServiceUtils;
+import io.dingodb.calcite.utils.SqlExprUtils;
+import io.dingodb.calcite.utils.TableInfo;
+import io.dingodb.calcite.utils.VisitUtils;
+import io.dingodb.calcite.visitor.DingoJobVisitor;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.Optional;
+import io.dingodb.exec.base.IdGenerator;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.params.LookupJoinParam;
+import io.dingodb.exec.transaction.base.ITransaction;
+import io.dingodb.meta.entity.Table;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static io.dingodb.calcite.rel.DingoRel.dingo;
+import static io.dingodb.common.util.Utils.sole;
+import static io.dingodb.exec.utils.OperatorCodeUtils.LOOKUP_JOIN;
+
+public final class DingoLookupJoinVisitFun {
+    private DingoLookupJoinVisitFun() {
+    }
+
+    @NonNull
+    public static List<Vertex> visit(
+        Job job, IdGenerator idGenerator, Location currentLocation, ITransaction transaction,
+        DingoJobVisitor visitor, @NonNull DingoLookupJoin rel
+    ) {
+        Vertex input = sole(dingo(rel.getInput()).accept(visitor));
+        TableInfo tableInfo = MetaServiceUtils.getTableInfo(rel.getTable());
+        Table td = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable();
+        LookupJoinParam param = new LookupJoinParam(
+            tableInfo.getId(),
+            td,
+            tableInfo.getRangeDistributions(),
+            TupleMapping.of(rel.getOuterKeys()),
+            TupleMapping.of(rel.getInnerKeys()),
+            rel.getInput().getRowType().getFieldCount(),
+            rel.getJoinType() == JoinRelType.LEFT,
+            Optional.mapOrNull(rel.getFilter(), SqlExprUtils::toSqlExpr),
+            rel.getSelection(),
+            transaction != null,
+            VisitUtils.getScanTs(transaction, visitor.getKind()),
+            transaction != null ? transaction.getLockTimeOut() : 0
+        );
+        Task task = input.getTask();
+        Vertex vertex = new Vertex(LOOKUP_JOIN, param);
+        vertex.setId(idGenerator.getOperatorId(task.getId()));
+        vertex.copyHint(input);
+        Edge edge = new Edge(input, vertex);
+        input.addEdge(edge);
+        vertex.addIn(edge);
+        task.putVertex(vertex);
+        return Collections.singletonList(vertex);
+    }
+}
@@ -17,6 +17,7 @@
 package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.calcite.rel.dingo.DingoSort;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
 import io.dingodb.common.table.HybridSearchTable;
@@ -64,7 +65,9 @@ public class DingoSortVisitFun {
                 toSortCollation(rel.getCollation().getFieldCollations()),
                 rel.fetch == null ? -1 : RexLiteral.intValue(rel.fetch),
                 rel.offset == null ? 0 : RexLiteral.intValue(rel.offset),
-                rel.getHints().stream().anyMatch( e -> e.hintName.equalsIgnoreCase(HybridSearchTable.HINT_NAME)));
+                rel.getHints().stream().anyMatch( e -> e.hintName.equalsIgnoreCase(HybridSearchTable.HINT_NAME)),
+                DefinitionMapper.mapToDingoType(rel.getRowType())
+            );
             return new Vertex(SORT, param);
         }
     }
@@ -17,12 +17,17 @@
 package io.dingodb.calcite;
 
 import io.dingodb.calcite.mock.MockMetaServiceProvider;
+import io.dingodb.calcite.rel.dingo.DingoBroadcastHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
 import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
 import io.dingodb.calcite.rel.logical.LogicalDingoRoot;
 import io.dingodb.calcite.rel.dingo.DingoRelOp;
 import io.dingodb.calcite.rel.dingo.DingoScanWithRelOp;
+import io.dingodb.calcite.stats.StatsCache;
+import io.dingodb.calcite.stats.StatsNormal;
+import io.dingodb.calcite.stats.TableStats;
 import io.dingodb.calcite.traits.DingoRelStreaming;
 import io.dingodb.test.asserts.Assert;
 import io.dingodb.test.asserts.AssertRelNode;
@@ -35,6 +40,7 @@ import org.apache.calcite.rel.logical.LogicalJoin;
 import org.apache.calcite.rel.logical.LogicalProject;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.parser.SqlParseException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -61,6 +67,26 @@ public class TestJoin {
         parser = new DingoParser(context);
     }
 
+    @AfterEach
+    public void cleanUp() {
+        StatsCache.removeCache(MockMetaServiceProvider.SCHEMA_NAME, "TEST");
+        StatsCache.removeCache(MockMetaServiceProvider.SCHEMA_NAME, "TEST1");
+    }
+
+    // Row count of the table as if collected by analyzing.
+    private static void putStats(String tableName, long rowCount) {
+        TableStats tableStats = new TableStats(MockMetaServiceProvider.SCHEMA_NAME, tableName);
+        tableStats.getStatsNormalList().add(new StatsNormal("NAME", rowCount, 0L, 32, rowCount));
+        tableStats.initRowCount();
+        StatsCache.statsMap.put(tableStats.getIdentifier(), tableStats);
+    }
+
+    private RelNode optimize(String sql) throws SqlParseException {
+        SqlNode sqlNode = parser.parse(sql);
+        RelRoot relRoot = parser.convert(sqlNode);
+        return parser.optimize(relRoot.rel);
+    }
+
     @Test
     public void testJoin() throws SqlParseException {
         String sql = "select * from test join test1 on test.name = test1.id1";
@@ -184,4 +210,146 @@ public class TestJoin {
             .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.RIGHT)
             .inputNum(2);
     }
+
+    @Test
+    public void testJoinBroadcast() throws SqlParseException {
+        putStats("test", 1000000);
+        putStats("test1", 10);
+        RelNode optimized = optimize("select * from test join test1 on test.name = test1.name");
+        AssertRelNode assertJoin = Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoBroadcastHashJoin.class).prop("joinType", JoinRelType.INNER)
+            .inputNum(2);
+        // The right input is coalesced to be copied to the partitions of the left.
+        assertJoin.input(1).isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT);
+    }
+
+    @Test
+    public void testJoinBroadcastLeft() throws SqlParseException {
+        putStats("test", 1000000);
+        putStats("test1", 10);
+        RelNode optimized = optimize("select * from test left join test1 on test.name = test1.name");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoBroadcastHashJoin.class).prop("joinType", JoinRelType.LEFT)
+            .inputNum(2);
+    }
+
+    @Test
+    public void testJoinNoBroadcastWithoutStats() throws SqlParseException {
+        // The row count of the left is only a default value.
+        putStats("test1", 10);
+        RelNode optimized = optimize("select * from test join test1 on test.name = test1.name");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.INNER)
+            .inputNum(2);
+    }
+
+    @Test
+    public void testJoinNoBroadcastLargeRight() throws SqlParseException {
+        putStats("test", 10);
+        putStats("test1", 1000000);
+        RelNode optimized = optimize("select * from test join test1 on test.name = test1.name");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.INNER)
+            .inputNum(2);
+    }
+
+    @Test
+    public void testJoinNoBroadcastRight() throws SqlParseException {
+        // Unmatched rows of the right input cannot be found in one partition of the left.
+        putStats("test", 1000000);
+        putStats("test1", 10);
+        RelNode optimized = optimize("select * from test right join test1 on test.name = test1.name");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.RIGHT)
+            .inputNum(2);
+    }
+
+    @Test
+    public void testJoinLookup() throws SqlParseException {
+        putStats("test1", 10);
+        putStats("test", 1000000);
+        RelNode optimized = optimize("select * from test1 join test on test1.id0 = test.id");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoLookupJoin.class).prop("joinType", JoinRelType.INNER)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT);
+    }
+
+    @Test
+    public void testJoinLookupLeft() throws SqlParseException {
+        putStats("test1", 10);
+        putStats("test", 1000000);
+        RelNode optimized = optimize("select * from test1 left join test on test1.id0 = test.id");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoLookupJoin.class).prop("joinType", JoinRelType.LEFT);
+    }
+
+    @Test
+    public void testJoinNoLookupNotKey() throws SqlParseException {
+        putStats("test1", 10);
+        putStats("test", 1000000);
+        RelNode optimized = optimize("select * from test1 join test on test1.name = test.name");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.INNER)
+            .inputNum(2);
+    }
+
+    @Test
+    public void testJoinNoLookupPartialKey() throws SqlParseException {
+        // The primary key of test1 is (id0, id1, id2).
+        putStats("test", 10);
+        putStats("test1", 1000000);
+        RelNode optimized = optimize("select * from test join test1 on test.id = test1.id0");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.INNER)
+            .inputNum(2);
+    }
+
+    @Test
+    public void testJoinNoLookupTypeMismatch() throws SqlParseException {
+        putStats("test1", 10);
+        putStats("test", 1000000);
+        RelNode optimized = optimize("select * from test1 join test on test1.amount = test.id");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.INNER)
+            .inputNum(2);
+    }
+
+    @Test
+    public void testJoinNoLookupWithoutStats() throws SqlParseException {
+        RelNode optimized = optimize("select * from test1 join test on test1.id0 = test.id");
+        Assert.relNode(optimized)
+            .isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoStreamingConverter.class).streaming(DingoRelStreaming.ROOT)
+            .soleInput().isA(DingoRelOp.class)
+            .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.INNER)
+            .inputNum(2);
+    }
 }
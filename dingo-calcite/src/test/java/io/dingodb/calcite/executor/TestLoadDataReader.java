@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.executor;
+
+import io.dingodb.store.api.transaction.exception.DuplicateEntryException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestLoadDataReader {
+    private static final byte[] LF = "\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ESCAPED = "\\".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path dir;
+
+    private ReadableByteChannel channel(String content) throws IOException {
+        return channel(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ReadableByteChannel channel(byte[] content) throws IOException {
+        Path path = dir.resolve("data.txt");
+        Files.write(path, content);
+        return FileChannel.open(path);
+    }
+
+    // Read with one writer, returns the batches written.
+    private static List<List<String>> load(LoadDataReader reader, ReadableByteChannel channel) throws Exception {
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        Thread writer = new Thread(() -> reader.write(batch -> batches.add(
+            batch.stream().map(line -> new String(line, StandardCharsets.UTF_8)).collect(Collectors.toList())
+        )));
+        writer.start();
+        assertThat(reader.read(channel)).isNull();
+        writer.join();
+        assertThat(reader.isFailed()).isFalse();
+        return batches;
+    }
+
+    private static List<String> lines(List<List<String>> batches) {
+        return batches.stream().flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    private static String padded(int i, int length) {
+        StringBuilder builder = new StringBuilder(length).append(i).append(',');
+        while (builder.length() < length) {
+            builder.append((char) ('a' + builder.length() % 26));
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testLineCrossingReadSize() throws Exception {
+        List<String> expected = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        // Lines of 1000 bytes, the read size is not a multiple of it.
+        for (int i = 0; content.length() < LoadDataReader.READ_SIZE + 10000; ++i) {
+            String line = padded(i, 999);
+            expected.add(line);
+            content.append(line).append('\n');
+        }
+        assertThat(content.charAt(LoadDataReader.READ_SIZE - 1)).isNotEqualTo('\n');
+        LoadDataReader reader = new LoadDataReader(LF, null, ESCAPED, 0, 1000, 2);
+        List<List<String>> batches = load(reader, channel(content.toString()));
+        assertThat(lines(batches)).containsExactlyElementsOf(expected);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(1000));
+    }
+
+    @Test
+    public void testLineLongerThanBuffer() throws Exception {
+        String longLine = padded(1, 2 * LoadDataReader.READ_SIZE + 100);
+        LoadDataReader reader = new LoadDataReader(LF, null, ESCAPED, 0, 1000, 2);
+        List<List<String>> batches = load(reader, channel("0,x\n" + longLine + "\n2,y\n"));
+        assertThat(lines(batches)).containsExactly("0,x", longLine, "2,y");
+    }
+
+    @Test
+    public void testIgnoreLines() throws Exception {
+        LoadDataReader reader = new LoadDataReader(LF, null, ESCAPED, 2, 2, 2);
+        List<List<String>> batches = load(reader, channel("id,name\n-,-\n1,a\n2,b\n3,c\n"));
+        assertThat(batches).containsExactly(Arrays.asList("1,a", "2,b"), Collections.singletonList("3,c"));
+    }
+
+    @Test
+    public void testLinesStartingBy() throws Exception {
+        byte[] starting = "xx".getBytes(StandardCharsets.UTF_8);
+        LoadDataReader reader = new LoadDataReader(LF, starting, ESCAPED, 0, 1000, 2);
+        List<List<String>> batches = load(reader, channel("xx1,a\nxx2,b\nxx3,c\n"));
+        assertThat(lines(batches)).containsExactly("xx1,a", "xx2,b", "xx3,c");
+    }
+
+    @Test
+    public void testEscapedTerminator() throws Exception {
+        LoadDataReader reader = new LoadDataReader(LF, null, ESCAPED, 0, 1000, 2);
+        List<List<String>> batches = load(reader, channel("1,a\\\nb\n2,c\n"));
+        assertThat(lines(batches)).containsExactly("1,a\\\nb", "2,c");
+    }
+
+    @Test
+    public void testMultiByteTerminator() throws Exception {
+        byte[] crlf = "\r\n".getBytes(StandardCharsets.UTF_8);
+        LoadDataReader reader = new LoadDataReader(crlf, null, ESCAPED, 0, 1000, 2);
+        List<List<String>> batches = load(reader, channel("1,a\r\n2,b\nc\r\n3,d\r\n"));
+        assertThat(lines(batches)).containsExactly("1,a", "2,b\nc", "3,d");
+    }
+
+    @Test
+    public void testWriterFailureStopsReader() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < 3 * LoadDataReader.READ_SIZE; ++i) {
+            content.append(padded(i, 100)).append('\n');
+        }
+        ReadableByteChannel file = channel(content.toString());
+        AtomicInteger reads = new AtomicInteger();
+        ReadableByteChannel channel = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                reads.incrementAndGet();
+                return file.read(dst);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return file.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                file.close();
+            }
+        };
+        LoadDataReader reader = new LoadDataReader(LF, null, ESCAPED, 0, 10, 1);
+        AtomicInteger written = new AtomicInteger();
+        Thread writer = new Thread(() -> reader.write(batch -> {
+            written.incrementAndGet();
+            throw new DuplicateEntryException("duplicate");
+        }));
+        writer.start();
+        assertThat(reader.read(channel)).isNull();
+        writer.join();
+        assertThat(reader.isFailed()).isTrue();
+        assertThat(reader.getErrMessage()).isEqualTo("Duplicate entry for key 'PRIMARY'");
+        assertThat(written.get()).isEqualTo(1);
+        // The reader stops within the first chunk, for the queue is full and no writer takes the batches.
+        assertThat(reads.get()).isEqualTo(1);
+        assertThat(file.isOpen()).isFalse();
+    }
+
+    @Test
+    public void testFirstFailureKept() {
+        LoadDataReader reader = new LoadDataReader(LF, null, ESCAPED, 0, 10, 1);
+        reader.fail("first");
+        reader.fail("second");
+        assertThat(reader.getErrMessage()).isEqualTo("first");
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.visitor.function;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.data.RuntimeFilterProbe;
+import io.dingodb.exec.operator.hash.SimpleHashStrategy;
+import io.dingodb.exec.operator.params.CoalesceParam;
+import io.dingodb.exec.operator.params.HashJoinParam;
+import io.dingodb.exec.operator.params.HashParam;
+import io.dingodb.exec.operator.params.ProjectParam;
+import io.dingodb.exec.operator.params.ScanParam;
+import io.dingodb.exec.operator.params.ValuesParam;
+import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.store.api.transaction.data.IsolationLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.COALESCE;
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH;
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.PROJECT;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SCAN_WITH_NO_OP;
+import static io.dingodb.exec.utils.OperatorCodeUtils.VALUES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class TestRuntimeFilterPush {
+    private static final DingoType TYPE = DingoTypeFactory.INSTANCE.tuple("INT", "STRING");
+    private static final TupleMapping KEY = TupleMapping.of(new int[]{0});
+    private static final CommonId TABLE_ID = new CommonId(CommonId.CommonType.TABLE, 1, 1);
+
+    private IdGeneratorImpl idGenerator;
+
+    private Task task() {
+        return new TaskImpl(
+            idGenerator.getTaskId(CommonId.EMPTY_JOB.seq),
+            CommonId.EMPTY_JOB,
+            CommonId.EMPTY_TRANSACTION,
+            mock(Location.class),
+            null,
+            TransactionType.OPTIMISTIC,
+            IsolationLevel.SnapshotIsolation,
+            0,
+            null
+        );
+    }
+
+    private Vertex vertex(Task task, CommonId op, Object param) {
+        Vertex vertex = new Vertex(op, param);
+        vertex.setId(idGenerator.getOperatorId(task.getId()));
+        task.putVertex(vertex);
+        return vertex;
+    }
+
+    private Vertex scan(Task task) {
+        return vertex(task, SCAN_WITH_NO_OP, new ScanParam(TABLE_ID, TYPE, KEY, 1));
+    }
+
+    // The right input is not walked, so values are enough.
+    private Vertex join(Task task, Vertex left) {
+        Vertex join = vertex(task, HASH_JOIN, new HashJoinParam(KEY, KEY, 2, 2, false, false));
+        connect(left, join);
+        connect(vertex(task, VALUES, new ValuesParam(ImmutableList.of(), TYPE)), join);
+        return join;
+    }
+
+    private static void connect(Vertex previous, Vertex next) {
+        Edge edge = new Edge(previous, next);
+        previous.addEdge(edge);
+        next.addIn(edge);
+    }
+
+    private static RuntimeFilterProbe probeOf(Vertex scan) {
+        return ((ScanParam) scan.getParam()).getRuntimeFilter();
+    }
+
+    private static boolean isEnabled(Vertex join) {
+        return ((HashJoinParam) join.getParam()).isRuntimeFilterEnabled();
+    }
+
+    @BeforeEach
+    public void setup() {
+        idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+    }
+
+    @Test
+    public void testPushedThroughCoalesce() {
+        Task task = task();
+        Vertex scan0 = scan(task);
+        Vertex scan1 = scan(task);
+        Vertex coalesce = vertex(task, COALESCE, new CoalesceParam(2));
+        connect(scan0, coalesce);
+        connect(scan1, coalesce);
+        Vertex join = join(task, coalesce);
+        DingoHashJoinVisitFun.pushRuntimeFilter(Collections.singletonList(join), KEY);
+        assertThat(isEnabled(join)).isTrue();
+        for (Vertex scan : Arrays.asList(scan0, scan1)) {
+            RuntimeFilterProbe probe = probeOf(scan);
+            assertThat(probe).isNotNull();
+            assertThat(probe.getSources()).containsExactly(join.getId());
+            assertThat(probe.getKeys()).isEqualTo(KEY);
+        }
+    }
+
+    @Test
+    public void testPushedThroughHash() {
+        Task task = task();
+        Vertex scan = scan(task);
+        Vertex hash = vertex(task, HASH, new HashParam(new SimpleHashStrategy(), KEY));
+        connect(scan, hash);
+        Vertex join0 = join(task, hash);
+        Vertex join1 = join(task, hash);
+        DingoHashJoinVisitFun.pushRuntimeFilter(Arrays.asList(join0, join1), KEY);
+        assertThat(isEnabled(join0)).isTrue();
+        assertThat(isEnabled(join1)).isTrue();
+        // Tuples are sent to either of the joins, so the probe waits for both.
+        assertThat(probeOf(scan).getSources()).containsExactlyInAnyOrder(join0.getId(), join1.getId());
+    }
+
+    @Test
+    public void testNotPushedThroughProject() {
+        Task task = task();
+        Vertex scan = scan(task);
+        Vertex project = vertex(task, PROJECT, new ProjectParam(
+            Arrays.asList(
+                new SqlExpr("_[1]", DingoTypeFactory.INSTANCE.scalar("STRING")),
+                new SqlExpr("_[0]", DingoTypeFactory.INSTANCE.scalar("INT"))
+            ),
+            TYPE
+        ));
+        connect(scan, project);
+        Vertex join = join(task, project);
+        DingoHashJoinVisitFun.pushRuntimeFilter(Collections.singletonList(join), KEY);
+        assertThat(isEnabled(join)).isFalse();
+        assertThat(probeOf(scan)).isNull();
+    }
+
+    @Test
+    public void testNotPushedToOtherTask() {
+        Task scanTask = task();
+        Vertex scan = scan(scanTask);
+        Task task = task();
+        Vertex join = join(task, scan);
+        DingoHashJoinVisitFun.pushRuntimeFilter(Collections.singletonList(join), KEY);
+        assertThat(isEnabled(join)).isFalse();
+        assertThat(probeOf(scan)).isNull();
+    }
+
+    @Test
+    public void testNotPushedForJoinsInOtherTasks() {
+        Task task0 = task();
+        Vertex scan = scan(task0);
+        Vertex hash = vertex(task0, HASH, new HashParam(new SimpleHashStrategy(), KEY));
+        connect(scan, hash);
+        Vertex join0 = join(task0, hash);
+        Vertex join1 = join(task(), hash);
+        DingoHashJoinVisitFun.pushRuntimeFilter(Arrays.asList(join0, join1), KEY);
+        assertThat(isEnabled(join0)).isFalse();
+        assertThat(isEnabled(join1)).isFalse();
+        assertThat(probeOf(scan)).isNull();
+    }
+
+    @Test
+    public void testNotPushedToSharedScan() {
+        Task task = task();
+        Vertex scan = scan(task);
+        Vertex join = join(task, scan);
+        // Another consumer needs all the tuples.
+        connect(scan, vertex(task, COALESCE, new CoalesceParam(1)));
+        DingoHashJoinVisitFun.pushRuntimeFilter(Collections.singletonList(join), KEY);
+        assertThat(isEnabled(join)).isFalse();
+        assertThat(probeOf(scan)).isNull();
+    }
+}
@@ -117,6 +117,90 @@ public final class ScopeVariables {
         }
     }
 
+    /**
+     * Estimated heap bytes a hash join may hold for its build side before it partitions both inputs to disk.
+     * @return the limit in bytes, non-positive means never spill
+     */
+    public static long getJoinMemoryLimit() {
+        return getLongProp("join_memory_limit", 1073741824L);
+    }
+
+    /**
+     * Estimated heap bytes a sort may buffer before it writes a sorted run to disk.
+     * @return the limit in bytes, non-positive means never spill
+     */
+    public static long getSortMemoryLimit() {
+        return getLongProp("sort_memory_limit", 1073741824L);
+    }
+
+    /**
+     * Estimated heap bytes a grouped aggregation may hold for its groups before it writes them to disk.
+     * @return the limit in bytes, non-positive means never spill
+     */
+    public static long getAggMemoryLimit() {
+        return getLongProp("agg_memory_limit", 1073741824L);
+    }
+
+    /**
+     * Number of threads executing the statements of MySQL connections.
+     * @return the number of threads
+     */
+    public static int getMysqlQueryThreads() {
+        return (int) getLongProp("mysql_query_threads", 151L);
+    }
+
+    /**
+     * Max number of statements waiting for a thread to execute, more are rejected.
+     * @return the number of statements
+     */
+    public static long getMysqlMaxQueuedStatements() {
+        return getLongProp("mysql_max_queued_statements", 10000L);
+    }
+
+    /**
+     * Max number of statements of the same user executing at the same time, more wait in queue.
+     * @return the number of statements, non-positive means no limit
+     */
+    public static long getMysqlUserMaxRunningStatements() {
+        return getLongProp("mysql_user_max_running_statements", 0L);
+    }
+
+    /**
+     * Max number of cursors a MySQL connection keeps open, the least recently used one is closed to open one more.
+     * @return the number of cursors
+     */
+    public static int getMysqlMaxCursors() {
+        return (int) getLongProp("mysql_max_cursors", 64L);
+    }
+
+    /**
+     * Time in milliseconds a cursor of a MySQL connection is kept open without being fetched.
+     * @return the time in milliseconds, non-positive means never closed for idle
+     */
+    public static long getMysqlCursorIdleTimeout() {
+        return getLongProp("mysql_cursor_idle_timeout", 600000L);
+    }
+
+    /**
+     * Max number of prewrite or commit requests an operator sends to the regions at the same time.
+     * @return the number of requests, non-positive means sending them one after another
+     */
+    public static int getTxnRpcConcurrency() {
+        return (int) getLongProp("txn_rpc_concurrency", 16L);
+    }
+
+    public static String getSpillDir() {
+        return executorProp.getOrDefault("spill_dir", System.getProperty("java.io.tmpdir")).toString();
+    }
+
+    private static long getLongProp(String key, long defaultValue) {
+        try {
+            return Long.parseLong(executorProp.getOrDefault(key, defaultValue).toString());
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
     public static boolean transaction1Pc() {
         String transaction1Pc = executorProp.getOrDefault("transaction_1pc", "on").toString();
         return transaction1Pc.equalsIgnoreCase("on");
@@ -42,6 +42,11 @@ public class OperatorProfile extends Profile {
         count ++;
     }
 
+    public void time(long start, int count) {
+        incrTime(start);
+        this.count += count;
+    }
+
     public void incrTime(long start) {
         long current = System.currentTimeMillis();
         long time = current - start;
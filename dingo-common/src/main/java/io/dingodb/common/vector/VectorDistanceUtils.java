@@ -0,0 +1,312 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.vector;
+
+import io.dingodb.common.exception.DingoSqlException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Distance kernels of float vectors. Products are computed in float and summed in double, the same as the SQL
+ * distance functions. Vector values are boxed, as the vector column type comes from the expression library as a list
+ * of floats. The kernels unbox each value once, do not allocate, and are unrolled by 4 with independent sums, so that
+ * they are not bound by the latency of the additions.
+ */
+public final class VectorDistanceUtils {
+    // Added to norms to avoid dividing by zero.
+    private static final double EPSILON = 1E-30;
+
+    private VectorDistanceUtils() {
+    }
+
+    public static float @NonNull [] toFloatArray(@NonNull List<? extends Number> vector) {
+        float[] result = new float[vector.size()];
+        int i = 0;
+        for (Number value : vector) {
+            result[i++] = value.floatValue();
+        }
+        return result;
+    }
+
+    public static float @NonNull [] toFloatArray(Float @NonNull [] vector) {
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i];
+        }
+        return result;
+    }
+
+    private static void checkDimension(int dimensionA, int dimensionB) {
+        if (dimensionA != dimensionB) {
+            throw new DingoSqlException(
+                "The dimensions of the source vector and the target vector must be consistent", 5001, "45000"
+            );
+        }
+    }
+
+    // Values are got by index in the kernels, which is slow only for lists rarely seen here.
+    private static @NonNull List<? extends Number> randomAccess(@NonNull List<? extends Number> vector) {
+        return vector instanceof RandomAccess ? vector : new ArrayList<>(vector);
+    }
+
+    /**
+     * Get the vector scaled to unit length.
+     */
+    public static float @NonNull [] normalize(float @NonNull [] vector) {
+        int n = vector.length;
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += vector[i] * vector[i];
+            s1 += vector[i + 1] * vector[i + 1];
+            s2 += vector[i + 2] * vector[i + 2];
+            s3 += vector[i + 3] * vector[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += vector[i] * vector[i];
+        }
+        double scale = 1.0 / (Math.sqrt((s0 + s1) + (s2 + s3)) + EPSILON);
+        float[] result = new float[n];
+        for (i = 0; i < n; i++) {
+            result[i] = (float) (vector[i] * scale);
+        }
+        return result;
+    }
+
+    /**
+     * Get the squared Euclidean distance.
+     */
+    public static double l2Distance(float @NonNull [] vectorA, @NonNull List<? extends Number> vectorB) {
+        checkDimension(vectorA.length, vectorB.size());
+        List<? extends Number> b = randomAccess(vectorB);
+        int n = vectorA.length;
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            float d0 = vectorA[i] - b.get(i).floatValue();
+            float d1 = vectorA[i + 1] - b.get(i + 1).floatValue();
+            float d2 = vectorA[i + 2] - b.get(i + 2).floatValue();
+            float d3 = vectorA[i + 3] - b.get(i + 3).floatValue();
+            s0 += (double) d0 * d0;
+            s1 += (double) d1 * d1;
+            s2 += (double) d2 * d2;
+            s3 += (double) d3 * d3;
+        }
+        for (; i < n; i++) {
+            float d = vectorA[i] - b.get(i).floatValue();
+            s0 += (double) d * d;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    public static double l2Distance(
+        @NonNull List<? extends Number> vectorA,
+        @NonNull List<? extends Number> vectorB
+    ) {
+        checkDimension(vectorA.size(), vectorB.size());
+        List<? extends Number> a = randomAccess(vectorA);
+        List<? extends Number> b = randomAccess(vectorB);
+        int n = a.size();
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            float d0 = a.get(i).floatValue() - b.get(i).floatValue();
+            float d1 = a.get(i + 1).floatValue() - b.get(i + 1).floatValue();
+            float d2 = a.get(i + 2).floatValue() - b.get(i + 2).floatValue();
+            float d3 = a.get(i + 3).floatValue() - b.get(i + 3).floatValue();
+            s0 += (double) d0 * d0;
+            s1 += (double) d1 * d1;
+            s2 += (double) d2 * d2;
+            s3 += (double) d3 * d3;
+        }
+        for (; i < n; i++) {
+            float d = a.get(i).floatValue() - b.get(i).floatValue();
+            s0 += (double) d * d;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    public static double dotProduct(float @NonNull [] vectorA, @NonNull List<? extends Number> vectorB) {
+        checkDimension(vectorA.length, vectorB.size());
+        List<? extends Number> b = randomAccess(vectorB);
+        int n = vectorA.length;
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += vectorA[i] * b.get(i).floatValue();
+            s1 += vectorA[i + 1] * b.get(i + 1).floatValue();
+            s2 += vectorA[i + 2] * b.get(i + 2).floatValue();
+            s3 += vectorA[i + 3] * b.get(i + 3).floatValue();
+        }
+        for (; i < n; i++) {
+            s0 += vectorA[i] * b.get(i).floatValue();
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Get the inner product distance, which is {@code 1 - dot(a, b)}.
+     */
+    public static double innerProductDistance(float @NonNull [] vectorA, @NonNull List<? extends Number> vectorB) {
+        return 1 - dotProduct(vectorA, vectorB);
+    }
+
+    public static double innerProductDistance(
+        @NonNull List<? extends Number> vectorA,
+        @NonNull List<? extends Number> vectorB
+    ) {
+        checkDimension(vectorA.size(), vectorB.size());
+        List<? extends Number> a = randomAccess(vectorA);
+        List<? extends Number> b = randomAccess(vectorB);
+        int n = a.size();
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += a.get(i).floatValue() * b.get(i).floatValue();
+            s1 += a.get(i + 1).floatValue() * b.get(i + 1).floatValue();
+            s2 += a.get(i + 2).floatValue() * b.get(i + 2).floatValue();
+            s3 += a.get(i + 3).floatValue() * b.get(i + 3).floatValue();
+        }
+        for (; i < n; i++) {
+            s0 += a.get(i).floatValue() * b.get(i).floatValue();
+        }
+        return 1 - ((s0 + s1) + (s2 + s3));
+    }
+
+    // The dot product of normalized `vectorA` and `vectorB`, where `vectorB` is normalized on the fly.
+    private static double normalizedDotProduct(float @NonNull [] vectorA, @NonNull List<? extends Number> vectorB) {
+        checkDimension(vectorA.length, vectorB.size());
+        List<? extends Number> b = randomAccess(vectorB);
+        int n = vectorA.length;
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            float v0 = b.get(i).floatValue();
+            float v1 = b.get(i + 1).floatValue();
+            float v2 = b.get(i + 2).floatValue();
+            float v3 = b.get(i + 3).floatValue();
+            s0 += v0 * v0;
+            s1 += v1 * v1;
+            s2 += v2 * v2;
+            s3 += v3 * v3;
+        }
+        for (; i < n; i++) {
+            float v = b.get(i).floatValue();
+            s0 += v * v;
+        }
+        double scale = 1.0 / (Math.sqrt((s0 + s1) + (s2 + s3)) + EPSILON);
+        s0 = 0.0;
+        s1 = 0.0;
+        s2 = 0.0;
+        s3 = 0.0;
+        for (i = 0; i + 3 < n; i += 4) {
+            s0 += vectorA[i] * (float) (b.get(i).floatValue() * scale);
+            s1 += vectorA[i + 1] * (float) (b.get(i + 1).floatValue() * scale);
+            s2 += vectorA[i + 2] * (float) (b.get(i + 2).floatValue() * scale);
+            s3 += vectorA[i + 3] * (float) (b.get(i + 3).floatValue() * scale);
+        }
+        for (; i < n; i++) {
+            s0 += vectorA[i] * (float) (b.get(i).floatValue() * scale);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Get the cosine distance, which is {@code 1 - dot(a / |a|, b / |b|)}.
+     */
+    public static double cosineDistance(float @NonNull [] vectorA, @NonNull List<? extends Number> vectorB) {
+        checkDimension(vectorA.length, vectorB.size());
+        return 1 - normalizedDotProduct(normalize(vectorA), vectorB);
+    }
+
+    public static double cosineDistance(
+        @NonNull List<? extends Number> vectorA,
+        @NonNull List<? extends Number> vectorB
+    ) {
+        return cosineDistance(toFloatArray(vectorA), vectorB);
+    }
+
+    /**
+     * Get the squared Euclidean distances between the query and each of the vectors.
+     *
+     * @param distances the array to store the distances, of the same length as {@code vectors}
+     */
+    public static void l2Distance(
+        float @NonNull [] query,
+        @NonNull List<? extends List<? extends Number>> vectors,
+        float @NonNull [] distances
+    ) {
+        int i = 0;
+        for (List<? extends Number> vector : vectors) {
+            distances[i++] = (float) l2Distance(query, vector);
+        }
+    }
+
+    /**
+     * Get the inner product distances between the query and each of the vectors.
+     *
+     * @param distances the array to store the distances, of the same length as {@code vectors}
+     */
+    public static void innerProductDistance(
+        float @NonNull [] query,
+        @NonNull List<? extends List<? extends Number>> vectors,
+        float @NonNull [] distances
+    ) {
+        int i = 0;
+        for (List<? extends Number> vector : vectors) {
+            distances[i++] = (float) innerProductDistance(query, vector);
+        }
+    }
+
+    /**
+     * Get the cosine distances between the query and each of the vectors. The query is normalized only once.
+     *
+     * @param distances the array to store the distances, of the same length as {@code vectors}
+     */
+    public static void cosineDistance(
+        float @NonNull [] query,
+        @NonNull List<? extends List<? extends Number>> vectors,
+        float @NonNull [] distances
+    ) {
+        float[] normalized = normalize(query);
+        int i = 0;
+        for (List<? extends Number> vector : vectors) {
+            distances[i++] = (float) (1 - normalizedDotProduct(normalized, vector));
+        }
+    }
+}
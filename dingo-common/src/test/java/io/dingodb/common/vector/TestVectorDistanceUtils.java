@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.vector;
+
+import io.dingodb.common.exception.DingoSqlException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class TestVectorDistanceUtils {
+    private static float[] random(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+
+    // Straightforward versions, summed in order.
+    private static double l2(float[] a, float[] b) {
+        double distance = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            distance += Math.pow(a[i] - b[i], 2);
+        }
+        return distance;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double dot = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        double na = 1.0 / (Math.sqrt(dot(a, a)) + 1E-30);
+        double nb = 1.0 / (Math.sqrt(dot(b, b)) + 1E-30);
+        double dot = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += (float) (a[i] * na) * (float) (b[i] * nb);
+        }
+        return 1 - dot;
+    }
+
+    private static List<Float> box(float[] vector) {
+        List<Float> list = new ArrayList<>(vector.length);
+        for (float value : vector) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Test
+    public void testDistances() {
+        Random random = new Random(11);
+        for (int dimension : new int[]{1, 3, 4, 7, 128, 1023}) {
+            float[] a = random(random, dimension);
+            float[] b = random(random, dimension);
+            assertThat(VectorDistanceUtils.l2Distance(a, box(b))).isCloseTo(l2(a, b), within(1E-9));
+            assertThat(VectorDistanceUtils.l2Distance(box(a), box(b))).isCloseTo(l2(a, b), within(1E-9));
+            assertThat(VectorDistanceUtils.innerProductDistance(a, box(b))).isCloseTo(1 - dot(a, b), within(1E-9));
+            assertThat(VectorDistanceUtils.innerProductDistance(box(a), box(b)))
+                .isCloseTo(1 - dot(a, b), within(1E-9));
+            assertThat(VectorDistanceUtils.cosineDistance(a, box(b))).isCloseTo(cosine(a, b), within(1E-9));
+            assertThat(VectorDistanceUtils.cosineDistance(box(a), box(b))).isCloseTo(cosine(a, b), within(1E-9));
+        }
+    }
+
+    @Test
+    public void testNotRandomAccess() {
+        Random random = new Random(17);
+        float[] a = random(random, 33);
+        float[] b = random(random, 33);
+        List<Float> linkedA = new LinkedList<>(box(a));
+        List<Float> linkedB = new LinkedList<>(box(b));
+        assertThat(VectorDistanceUtils.l2Distance(a, linkedB)).isCloseTo(l2(a, b), within(1E-9));
+        assertThat(VectorDistanceUtils.l2Distance(linkedA, linkedB)).isCloseTo(l2(a, b), within(1E-9));
+        assertThat(VectorDistanceUtils.innerProductDistance(a, linkedB)).isCloseTo(1 - dot(a, b), within(1E-9));
+        assertThat(VectorDistanceUtils.innerProductDistance(linkedA, linkedB)).isCloseTo(1 - dot(a, b), within(1E-9));
+        assertThat(VectorDistanceUtils.cosineDistance(a, linkedB)).isCloseTo(cosine(a, b), within(1E-9));
+        assertThat(VectorDistanceUtils.cosineDistance(linkedA, linkedB)).isCloseTo(cosine(a, b), within(1E-9));
+    }
+
+    @Test
+    public void testBatch() {
+        Random random = new Random(13);
+        float[] query = random(random, 17);
+        List<List<Float>> vectors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            vectors.add(box(random(random, 17)));
+        }
+        float[] distances = new float[vectors.size()];
+        VectorDistanceUtils.l2Distance(query, vectors, distances);
+        for (int i = 0; i < distances.length; i++) {
+            assertThat(distances[i]).isEqualTo((float) VectorDistanceUtils.l2Distance(query, vectors.get(i)));
+        }
+        VectorDistanceUtils.innerProductDistance(query, vectors, distances);
+        for (int i = 0; i < distances.length; i++) {
+            assertThat(distances[i])
+                .isEqualTo((float) VectorDistanceUtils.innerProductDistance(query, vectors.get(i)));
+        }
+        VectorDistanceUtils.cosineDistance(query, vectors, distances);
+        for (int i = 0; i < distances.length; i++) {
+            assertThat(distances[i]).isEqualTo((float) VectorDistanceUtils.cosineDistance(query, vectors.get(i)));
+        }
+    }
+
+    @Test
+    public void testToFloatArray() {
+        float[] expected = new float[]{1.0f, 2.5f, -3.0f};
+        assertThat(VectorDistanceUtils.toFloatArray(Arrays.asList(1, 2.5, -3.0f))).isEqualTo(expected);
+        assertThat(VectorDistanceUtils.toFloatArray(new Float[]{1.0f, 2.5f, -3.0f})).isEqualTo(expected);
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        assertThatThrownBy(() -> VectorDistanceUtils.l2Distance(new float[2], box(new float[3])))
+            .isInstanceOf(DingoSqlException.class);
+    }
+}
@@ -111,6 +111,9 @@ public class DingoConnection extends AvaticaConnection implements CalcitePrepare
     @Getter
     private Map<Long, Long> mdlLockJobMap = new ConcurrentHashMap<>();
 
+    @Getter
+    private final PlanCache planCache = new PlanCache();
+
     protected DingoConnection(
         DingoDriver driver,
         AvaticaFactory factory,
@@ -223,8 +226,21 @@ public class DingoConnection extends AvaticaConnection implements CalcitePrepare
     }
 
     public synchronized ITransaction createTransaction(TransactionType type, boolean autoCommit) {
+        return createTransaction(type, autoCommit, null);
+    }
+
+    /**
+     * Create the transaction if there is none.
+     *
+     * @param startTsFuture the start timestamp requested in advance, or {@code null} to request it now
+     */
+    public synchronized ITransaction createTransaction(
+        TransactionType type,
+        boolean autoCommit,
+        @Nullable CompletableFuture<Long> startTsFuture
+    ) {
         if (transaction == null) {
-            long startTs = TransactionManager.getStartTs();
+            long startTs = startTsFuture != null ? startTsFuture.join() : TransactionManager.getStartTs();
             String txIsolation;
             if (oneTimeTxIsolation != null) {
                 txIsolation = oneTimeTxIsolation;
@@ -113,6 +113,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -235,6 +236,17 @@ public final class DingoDriverParser extends DingoParser {
             ? null : origins.get(origins.size() - 1 - offsetFromEnd);
     }
 
+    // Only queries and DML create a transaction, other statements return before.
+    private static boolean needStartTs(@NonNull SqlNode sqlNode, boolean compatibleMysql) {
+        if (compatibleMysql) {
+            return false;
+        }
+        if (sqlNode instanceof SqlExplain) {
+            sqlNode = ((SqlExplain) sqlNode).getExplicandum();
+        }
+        return sqlNode.getKind().belongsTo(SqlKind.QUERY) || sqlNode.getKind().belongsTo(SqlKind.DML);
+    }
+
     @NonNull
     private static List<AvaticaParameter> createParameterList(@NonNull RelDataType parasType) {
         List<RelDataTypeField> fieldList = parasType.getFieldList();
@@ -276,12 +288,40 @@ public final class DingoDriverParser extends DingoParser {
         syntacticSugar(sqlNode);
         boolean trace = trace(sqlNode);
         planProfile.endParse();
+        planProfile.setStmtType(sqlNode.getKind().lowerName);
+        boolean compatibleMysql = compatibleMysql(sqlNode, planProfile);
+        // Request the start timestamp of a new transaction while the statement is being prepared.
+        CompletableFuture<Long> startTsFuture = connection.getTransaction() == null
+            && needStartTs(sqlNode, compatibleMysql) ? TsoService.getDefault().tsoFuture() : null;
+        try {
+            return parseQuery(jobManager, jobSeqId, sql, prepare, sqlNode, trace, compatibleMysql, startTsFuture);
+        } catch (RuntimeException | Error e) {
+            // The transaction taking the timestamp may not be created.
+            if (startTsFuture != null) {
+                startTsFuture.cancel(false);
+            }
+            throw e;
+        }
+    }
+
+    @Nonnull
+    private Meta.Signature parseQuery(
+        JobManager jobManager,
+        long jobSeqId,
+        String sql,
+        boolean prepare,
+        SqlNode sqlNode,
+        boolean trace,
+        boolean compatibleMysql,
+        @Nullable CompletableFuture<Long> startTsFuture
+    ) {
         JavaTypeFactory typeFactory = connection.getTypeFactory();
         final Meta.CursorFactory cursorFactory = Meta.CursorFactory.ARRAY;
-        planProfile.setStmtType(sqlNode.getKind().lowerName);
 
         // for compatible mysql protocol
-        MysqlSignature mysqlSignature = getMysqlSignature(SqlUtil.checkSql(sqlNode, sql), sqlNode, typeFactory, cursorFactory);
+        MysqlSignature mysqlSignature = getMysqlSignature(
+            SqlUtil.checkSql(sqlNode, sql), sqlNode, typeFactory, cursorFactory, compatibleMysql
+        );
         if (mysqlSignature != null) {
             return mysqlSignature;
         }
@@ -330,6 +370,7 @@ public final class DingoDriverParser extends DingoParser {
             explain = (SqlExplain) sqlNode;
             sqlNode = explain.getExplicandum();
         }
+        PlanCache.Key planKey = explain == null && !trace ? PlanCache.key(sql, sqlNode, connection.getContext()) : null;
 
         long startTs;
         CommonId txn_Id;
@@ -344,14 +385,16 @@ public final class DingoDriverParser extends DingoParser {
                 // prepare using optimistic transaction
                 transaction = connection.createTransaction(
                     TransactionType.OPTIMISTIC,
-                    connection.getAutoCommit()
+                    connection.getAutoCommit(),
+                    startTsFuture
                 );
             } else {
                 // autocommit is true use current txn mode
                 transaction = connection.createTransaction(
                     "pessimistic".equalsIgnoreCase(connection.getClientInfo("txn_mode")) ?
                         TransactionType.PESSIMISTIC : TransactionType.OPTIMISTIC,
-                    connection.getAutoCommit());
+                    connection.getAutoCommit(),
+                    startTsFuture);
             }
             txn_Id = transaction.getTxnId();
             if (pointTs > 0) {
@@ -378,6 +421,7 @@ public final class DingoDriverParser extends DingoParser {
                     break;
             }
             if (((DingoSqlValidator) validator).isHybridSearch()) {
+                planKey = null;
                 SqlNode originalSqlNode;
                 try {
                     originalSqlNode = parse(sql);
@@ -450,8 +494,16 @@ public final class DingoDriverParser extends DingoParser {
         }
 
         long start = System.currentTimeMillis();
-        final RelRoot relRoot = convert(sqlNode, false);
-        RelNode relNode = optimize(relRoot.rel);
+        // The statement is still validated on a hit, to check the privileges and get the types.
+        PlanCache planCache = connection.getPlanCache();
+        RelNode relNode = planKey == null ? null : planCache.get(planKey);
+        if (relNode == null) {
+            final RelRoot relRoot = convert(sqlNode, false);
+            relNode = optimize(relRoot.rel);
+            if (planKey != null && PlanCache.cacheable(sqlNode, relNode)) {
+                planCache.put(planKey, relNode);
+            }
+        }
         long sub = System.currentTimeMillis() - start;
         DingoMetrics.timer("relOptimize").update(sub, TimeUnit.MILLISECONDS);
         planProfile.endOptimize();
@@ -554,8 +606,8 @@ public final class DingoDriverParser extends DingoParser {
     @Nullable
     private MysqlSignature getMysqlSignature(String sql,
             SqlNode sqlNode,
-            JavaTypeFactory typeFactory, Meta.CursorFactory cursorFactory) {
-        if (compatibleMysql(sqlNode, planProfile)) {
+            JavaTypeFactory typeFactory, Meta.CursorFactory cursorFactory, boolean compatibleMysql) {
+        if (compatibleMysql) {
             planProfile.end();
             DingoDdlVerify.verify(sqlNode, connection);
             Executor operation = convertToOperation(sqlNode, connection, connection.getContext());
@@ -1006,6 +1058,7 @@ public final class DingoDriverParser extends DingoParser {
     }
 
     public static void beforeDdl(DingoConnection connection, SqlNode sqlNode) {
+        connection.getPlanCache().clear();
         if (!ddlTxn(sqlNode)) {
             return;
         }
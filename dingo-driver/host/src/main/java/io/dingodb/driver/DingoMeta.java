@@ -20,6 +20,10 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Longs;
 import io.dingodb.calcite.DingoParserContext;
 import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.DingoTableModify;
+import io.dingodb.calcite.rel.DingoValues;
+import io.dingodb.calcite.rel.dingo.DingoRoot;
+import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
 import io.dingodb.calcite.schema.SubCalciteSchema;
 import io.dingodb.calcite.schema.SubSnapshotSchema;
 import io.dingodb.calcite.type.converter.DefinitionMapper;
@@ -66,6 +70,8 @@ import org.apache.calcite.avatica.remote.TypedValue;
 import org.apache.calcite.jdbc.CalciteSchema;
 import org.apache.calcite.linq4j.Enumerable;
 import org.apache.calcite.linq4j.Linq4j;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.TableModify;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactoryImpl;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -74,6 +80,7 @@ import org.eclipse.jetty.util.StringUtil;
 
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Time;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -491,13 +498,25 @@ public class DingoMeta extends MetaImpl {
         }
         SqlProfile profile = statement.getSqlProfile();
         try {
-            for (List<TypedValue> parameterValue : parameterValues) {
-                ExecuteResult executeResult = execBatch(sh, parameterValue, -1);
-                final long updateCount =
-                    executeResult.resultSets.size() == 1
-                        ? executeResult.resultSets.get(0).updateCount
-                        : -1L;
-                updateCounts.add(updateCount);
+            DingoValues values = batchValues(sh, statement);
+            if (values != null && !parameterValues.isEmpty()) {
+                long count = ((Number) statement.createBatchIterator(jobManager, parameterValues).next()[0])
+                    .longValue();
+                // Each row of parameters inserts the same number of tuples, unless some of them are ignored.
+                long rowCount = values.getTuples().size();
+                long updateCount = count == rowCount * parameterValues.size() ? rowCount : Statement.SUCCESS_NO_INFO;
+                for (int i = 0; i < parameterValues.size(); ++i) {
+                    updateCounts.add(updateCount);
+                }
+            } else {
+                for (List<TypedValue> parameterValue : parameterValues) {
+                    ExecuteResult executeResult = execBatch(sh, parameterValue, -1);
+                    final long updateCount =
+                        executeResult.resultSets.size() == 1
+                            ? executeResult.resultSets.get(0).updateCount
+                            : -1L;
+                    updateCounts.add(updateCount);
+                }
             }
         } catch (Throwable throwable) {
             LogUtils.error(log, "run job exception:{}", throwable, throwable);
@@ -534,6 +553,46 @@ public class DingoMeta extends MetaImpl {
         return new ExecuteBatchResult(Longs.toArray(updateCounts));
     }
 
+    /**
+     * Get the values source if all the rows of parameters of a batch can be bound to one run of the job, that is,
+     * the statement is an insert and the operators from the values up to the streaming converters under the insert
+     * are all in the root task, so they see the parameters of each row while the tuples are pushed. The converters
+     * only route the evaluated tuples to the partitions of the table, which every insert crosses.
+     *
+     * <p>Several tuples containing parameters, like {@code values(?, ?), (?, ?)}, are planned as a union of values.
+     * The sources of a task are run concurrently and share the parameters of the task, so they cannot switch to the
+     * next row of parameters independently. Such a statement is not accepted and the job is run once for each row.
+     */
+    private @Nullable DingoValues batchValues(@NonNull StatementHandle sh, @NonNull DingoPreparedStatement statement) {
+        Signature signature = sh.signature;
+        if (!(signature instanceof DingoSignature) || ((DingoSignature) signature).getRelNode() == null) {
+            return null;
+        }
+        Job job = statement.getJob(jobManager);
+        if (job == null || job.isEmpty() || job.getRoot().getTransactionType() == TransactionType.PESSIMISTIC) {
+            return null;
+        }
+        RelNode rel = ((DingoSignature) signature).getRelNode();
+        while (rel instanceof DingoRoot || rel instanceof DingoStreamingConverter) {
+            rel = rel.getInput(0);
+        }
+        if (!(rel instanceof DingoTableModify)
+            || ((DingoTableModify) rel).getOperation() != TableModify.Operation.INSERT) {
+            return null;
+        }
+        rel = rel.getInput(0);
+        while (rel instanceof DingoStreamingConverter) {
+            rel = rel.getInput(0);
+        }
+        while (!(rel instanceof DingoValues)) {
+            if (rel instanceof DingoStreamingConverter || rel.getInputs().size() != 1) {
+                return null;
+            }
+            rel = rel.getInput(0);
+        }
+        return (DingoValues) rel;
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Frame fetch(
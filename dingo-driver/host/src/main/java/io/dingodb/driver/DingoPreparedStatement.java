@@ -116,23 +116,41 @@ public class DingoPreparedStatement extends AvaticaPreparedStatement {
         Meta.Signature signature = getSignature();
         if (signature instanceof DingoSignature) {
             try {
-                Object[] parasValue = TypedValue.values(getParameterValues()).toArray();
-                for (int i = 0; i < parasValue.length; i ++) {
-                    if (parasValue[i] instanceof ByteString) {
-                        parasValue[i] = ((ByteString) parasValue[i]).getBytes();
-                    }
-                }
                 CommonId jobId = ((DingoSignature) signature).getJobId();
                 if (jobId == null) {
                     List<Object[]> empty = new ArrayList<>();
                     return empty.iterator();
                 }
                 Job job = jobManager.getJob(jobId);
-                Object[] paras = ((Object[]) job.getParasType().convertFrom(
-                    parasValue,
-                    new TypedValueConverter(getCalendar())
-                ));
-                return jobManager.createIterator(job, paras);
+                return jobManager.createIterator(job, convertParas(job, getParameterValues()));
+            } catch (NullPointerException e) {
+                throw new IllegalStateException("Not all parameters are set.");
+            }
+        }
+        throw ExceptionUtils.wrongSignatureType(this, signature);
+    }
+
+    /**
+     * Run the job once with all the rows of parameters bound.
+     *
+     * @param jobManager      the job manager
+     * @param parameterValues the rows of parameters, not empty
+     * @return the iterator of the results of all the rows
+     */
+    @NonNull
+    public Iterator<Object[]> createBatchIterator(
+        @NonNull JobManager jobManager,
+        @NonNull List<List<TypedValue>> parameterValues
+    ) {
+        Meta.Signature signature = getSignature();
+        if (signature instanceof DingoSignature) {
+            try {
+                Job job = jobManager.getJob(((DingoSignature) signature).getJobId());
+                List<Object[]> batchParas = new ArrayList<>(parameterValues.size());
+                for (List<TypedValue> values : parameterValues) {
+                    batchParas.add(convertParas(job, values));
+                }
+                return jobManager.createIterator(job, batchParas);
             } catch (NullPointerException e) {
                 throw new IllegalStateException("Not all parameters are set.");
             }
@@ -140,6 +158,19 @@ public class DingoPreparedStatement extends AvaticaPreparedStatement {
         throw ExceptionUtils.wrongSignatureType(this, signature);
     }
 
+    private Object[] convertParas(@NonNull Job job, List<TypedValue> values) {
+        Object[] parasValue = TypedValue.values(values).toArray();
+        for (int i = 0; i < parasValue.length; i ++) {
+            if (parasValue[i] instanceof ByteString) {
+                parasValue[i] = ((ByteString) parasValue[i]).getBytes();
+            }
+        }
+        return (Object[]) job.getParasType().convertFrom(
+            parasValue,
+            new TypedValueConverter(getCalendar())
+        );
+    }
+
     public Job getJob(@NonNull JobManager jobManager) {
         Meta.Signature signature = getSignature();
         if (signature instanceof DingoSignature) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.dingodb.calcite.DingoParserContext;
+import io.dingodb.calcite.grammar.dql.SqlSelect;
+import io.dingodb.calcite.rel.LogicalDingoValues;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.meta.DdlService;
+import io.dingodb.meta.entity.InfoSchema;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelVisitor;
+import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rel.core.Values;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexDynamicParam;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexVisitorImpl;
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.util.SqlBasicVisitor;
+import org.apache.calcite.util.Util;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+/**
+ * Cache of optimized plans of a connection, so that statements run repeatedly are not converted and optimized again.
+ * A plan refers to the cluster and planner it was optimized in, so it is only reused by the statements of the same
+ * connection, which run one at a time. The key includes the schema version of the latest info schema, so a plan is
+ * never used after a DDL changed the schema. The job is not cached, for it is bound to the transaction of the
+ * statement.
+ */
+public final class PlanCache {
+    private static final long MAX_SIZE = 200;
+
+    private final Cache<Key, RelNode> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_SIZE)
+        .build();
+
+    /**
+     * Create the cache key of a statement.
+     *
+     * @param sql     the sql text
+     * @param sqlNode the parsed sql node, before validation
+     * @param context the parser context of the connection
+     * @return the key, or {@code null} if the plan of the statement cannot be cached
+     */
+    public static @Nullable Key key(
+        @NonNull String sql,
+        @NonNull SqlNode sqlNode,
+        @NonNull DingoParserContext context
+    ) {
+        if (!sqlNode.getKind().belongsTo(SqlKind.QUERY) && !sqlNode.getKind().belongsTo(SqlKind.DML)) {
+            return null;
+        }
+        // Variables are rewritten with the connection id in the plan.
+        if (sql.indexOf('@') >= 0) {
+            return null;
+        }
+        // An export plan has its own id, file and point timestamp.
+        if (sqlNode instanceof SqlSelect && ((SqlSelect) sqlNode).isExport()) {
+            return null;
+        }
+        InfoSchema is = DdlService.root().getIsLatest();
+        if (is == null) {
+            return null;
+        }
+        return new Key(
+            sql,
+            context.getDefaultSchemaName(),
+            is.schemaMetaVersion,
+            context.getTimeZone().getID(),
+            context.isUsingRelOp(),
+            context.isPushDown(),
+            context.getConfig().topDownOpt(),
+            context.getOption("user"),
+            context.getOption("host")
+        );
+    }
+
+    /**
+     * Check if the plan can be reused by later runs of the statement. Dynamic functions, such as {@code NOW()}, and
+     * non-deterministic ones must be evaluated in each run, but the planner may fold them into values. Values are
+     * therefore not cached either, for they may hold expressions folded at plan time, except the single row under a
+     * projection of dynamic parameters, like {@code values(?, ?)}, whose expressions cannot be folded.
+     *
+     * @param sqlNode the validated sql node
+     * @param relNode the optimized plan
+     * @return {@code true} if the plan can be cached
+     */
+    public static boolean cacheable(@NonNull SqlNode sqlNode, @NonNull RelNode relNode) {
+        try {
+            sqlNode.accept(new SqlBasicVisitor<Void>() {
+                @Override
+                public Void visit(SqlCall call) {
+                    if (!constant(call.getOperator())) {
+                        throw Util.FoundOne.NULL;
+                    }
+                    return super.visit(call);
+                }
+            });
+            new RelVisitor() {
+                @Override
+                public void visit(RelNode node, int ordinal, @Nullable RelNode parent) {
+                    if ((node instanceof LogicalDingoValues || node instanceof Values)
+                        && !(parent instanceof Project && hasDynamicParam(((Project) parent).getProjects()))) {
+                        throw Util.FoundOne.NULL;
+                    }
+                    node.accept(new RexShuttle() {
+                        @Override
+                        public RexNode visitCall(RexCall call) {
+                            if (!constant(call.getOperator())) {
+                                throw Util.FoundOne.NULL;
+                            }
+                            return super.visitCall(call);
+                        }
+                    });
+                    super.visit(node, ordinal, parent);
+                }
+            }.go(relNode);
+        } catch (Util.FoundOne e) {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean constant(@NonNull SqlOperator operator) {
+        return operator.isDeterministic() && !operator.isDynamicFunction();
+    }
+
+    private static boolean hasDynamicParam(@NonNull List<RexNode> rexNodes) {
+        try {
+            RexVisitorImpl<Void> visitor = new RexVisitorImpl<Void>(true) {
+                @Override
+                public Void visitDynamicParam(RexDynamicParam dynamicParam) {
+                    throw Util.FoundOne.NULL;
+                }
+            };
+            rexNodes.forEach(rexNode -> rexNode.accept(visitor));
+        } catch (Util.FoundOne e) {
+            return true;
+        }
+        return false;
+    }
+
+    public @Nullable RelNode get(@NonNull Key key) {
+        RelNode relNode = cache.getIfPresent(key);
+        DingoMetrics.counter(relNode != null ? "plan_cache_hit" : "plan_cache_miss").inc();
+        return relNode;
+    }
+
+    public void put(@NonNull Key key, @NonNull RelNode relNode) {
+        cache.put(key, relNode);
+    }
+
+    /**
+     * Drop all the plans. Plans of old schema versions are never hit, this only frees them earlier.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static final class Key {
+        private final String sql;
+        private final String schemaName;
+        private final long schemaVersion;
+        private final String timeZone;
+        private final boolean usingRelOp;
+        private final boolean pushDown;
+        private final boolean topDownOpt;
+        private final String user;
+        private final String host;
+    }
+}
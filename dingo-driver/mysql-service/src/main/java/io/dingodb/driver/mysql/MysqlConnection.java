@@ -18,19 +18,25 @@ package io.dingodb.driver.mysql;
 
 import io.dingodb.common.environment.ExecutionEnvironment;
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.driver.DingoConnection;
 import io.dingodb.driver.ServerMeta;
 import io.dingodb.driver.mysql.netty.MysqlIdleStateHandler;
 import io.dingodb.driver.mysql.netty.MysqlNettyServer;
 import io.dingodb.driver.mysql.packet.AuthPacket;
+import io.dingodb.driver.mysql.process.QueryScheduler;
 import io.netty.channel.socket.SocketChannel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class MysqlConnection {
@@ -53,8 +59,16 @@ public class MysqlConnection {
 
     public MysqlIdleStateHandler mysqlIdleStateHandler;
 
+    // Commands waiting to be executed, created after authentication.
+    public QueryScheduler.Session session;
+
+    // Result sets of prepared statements executed with a cursor, by statement id.
+    private final Map<Integer, Cursor> cursors = new ConcurrentHashMap<>();
+
     public volatile Boolean passwordExpire = false;
 
+    private final Object writableLock = new Object();
+
     public MysqlConnection(SocketChannel channel) {
         this.channel = channel;
     }
@@ -64,10 +78,98 @@ public class MysqlConnection {
         this.id = dingoConnection.id;
     }
 
+    /**
+     * Wait until the channel is writable, so that a large result set is not buffered entirely in memory. Returns at
+     * once if called in the event loop of the channel, for the pending data cannot be flushed while waiting there.
+     *
+     * @return {@code false} if the channel is closed
+     */
+    public boolean awaitWritable() {
+        if (channel.eventLoop().inEventLoop()) {
+            return channel.isActive();
+        }
+        synchronized (writableLock) {
+            while (channel.isActive() && !channel.isWritable()) {
+                try {
+                    // Check again periodically in case the notification is missed.
+                    writableLock.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return channel.isActive();
+    }
+
+    public void notifyWritable() {
+        synchronized (writableLock) {
+            writableLock.notifyAll();
+        }
+    }
+
+    /**
+     * Keep the result set open as the cursor of the statement. Cursors idle for longer than
+     * {@code mysql_cursor_idle_timeout} are closed, and so is the least recently used one if there are already
+     * {@code mysql_max_cursors}.
+     *
+     * @param statementId the statement id
+     * @param resultSet   the result set
+     */
+    public void openCursor(int statementId, ResultSet resultSet) {
+        closeCursor(statementId);
+        long now = System.nanoTime();
+        closeIdleCursors(now);
+        int maxCursors = ScopeVariables.getMysqlMaxCursors();
+        while (!cursors.isEmpty() && cursors.size() >= maxCursors) {
+            cursors.entrySet().stream()
+                .min((e1, e2) -> Long.compare(e1.getValue().lastAccess, e2.getValue().lastAccess))
+                .ifPresent(e -> closeCursor(e.getKey()));
+        }
+        cursors.put(statementId, new Cursor(resultSet, now));
+    }
+
+    public ResultSet getCursor(int statementId) {
+        long now = System.nanoTime();
+        closeIdleCursors(now);
+        Cursor cursor = cursors.get(statementId);
+        if (cursor == null) {
+            return null;
+        }
+        cursor.lastAccess = now;
+        return cursor.resultSet;
+    }
+
+    public void closeCursor(int statementId) {
+        Cursor cursor = cursors.remove(statementId);
+        if (cursor != null) {
+            try {
+                cursor.resultSet.close();
+            } catch (SQLException e) {
+                LogUtils.error(log, "Failed to close the cursor of statement {}.", statementId, e);
+            }
+        }
+    }
+
+    private void closeIdleCursors(long now) {
+        long timeout = ScopeVariables.getMysqlCursorIdleTimeout();
+        if (timeout <= 0) {
+            return;
+        }
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        cursors.forEach((statementId, cursor) -> {
+            if (now - cursor.lastAccess > timeoutNanos) {
+                LogUtils.info(log, "Close the cursor of statement {} for idle.", statementId);
+                closeCursor(statementId);
+            }
+        });
+    }
+
     public void close() {
         if (channel.isActive()) {
             channel.disconnect();
         }
+        cursors.keySet().forEach(this::closeCursor);
         try {
             if (connection != null) {
                 DingoConnection dingoConnection = (DingoConnection) connection;
@@ -86,4 +188,14 @@ public class MysqlConnection {
         }
         LogUtils.info(log, "mysql connections count:" + MysqlNettyServer.connections.size());
     }
+
+    private static final class Cursor {
+        private final ResultSet resultSet;
+        private volatile long lastAccess;
+
+        private Cursor(ResultSet resultSet, long lastAccess) {
+            this.resultSet = resultSet;
+            this.lastAccess = lastAccess;
+        }
+    }
 }
@@ -84,6 +84,10 @@ public class NativeConstants {
     public static final int COM_BINLOG_DUMP_GTID = 30;
     public static final int COM_RESET_CONNECTION = 31;
 
+    /* Flags of COM_STMT_EXECUTE. */
+    public static final int CURSOR_TYPE_NO_CURSOR = 0;
+    public static final int CURSOR_TYPE_READ_ONLY = 1;
+
     /**
      * Used to indicate that the server sent no field-level character set information,
      * so the driver should use the connection-level character encoding instead.
@@ -26,6 +26,7 @@ import io.dingodb.driver.DingoPreparedStatement;
 import io.dingodb.driver.DingoStatement;
 import io.dingodb.driver.mysql.MysqlConnection;
 import io.dingodb.driver.mysql.MysqlType;
+import io.dingodb.driver.mysql.NativeConstants;
 import io.dingodb.driver.mysql.packet.ColumnPacket;
 import io.dingodb.driver.mysql.packet.EOFPacket;
 import io.dingodb.driver.mysql.packet.ExecuteStatementPacket;
@@ -343,7 +344,20 @@ public class MysqlCommands {
                     MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, e, connCharSet);
                 }
             });
-            if (statementType == Meta.StatementType.SELECT) {
+            // Executing the statement again closes the cursor opened before.
+            mysqlConnection.closeCursor(statementPacket.statementId);
+            if (statementType == Meta.StatementType.SELECT
+                && (statementPacket.flags & NativeConstants.CURSOR_TYPE_READ_ONLY) != 0) {
+                ResultSet resultSet = preparedStatement.executeQuery();
+                try {
+                    MysqlResponseHandler.responsePrepareCursor(resultSet, packetId, mysqlConnection);
+                } catch (SQLException e) {
+                    resultSet.close();
+                    throw e;
+                }
+                // Rows are sent on COM_STMT_FETCH.
+                mysqlConnection.openCursor(statementPacket.statementId, resultSet);
+            } else if (statementType == Meta.StatementType.SELECT) {
                 String connCharSet = null;
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
                     connCharSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
@@ -25,6 +25,7 @@ import io.dingodb.driver.common.DingoArray;
 import io.dingodb.driver.mysql.MysqlConnection;
 import io.dingodb.driver.mysql.packet.ColumnPacket;
 import io.dingodb.driver.mysql.packet.ColumnsNumberPacket;
+import io.dingodb.driver.mysql.packet.EOFPacket;
 import io.dingodb.driver.mysql.packet.ERRPacket;
 import io.dingodb.driver.mysql.packet.MysqlPacketFactory;
 import io.dingodb.driver.mysql.packet.OKPacket;
@@ -56,6 +57,9 @@ public final class MysqlResponseHandler {
 
     static MysqlPacketFactory factory = MysqlPacketFactory.getInstance();
 
+    // Rows are sent in chunks of about this many bytes instead of all at once.
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
     private MysqlResponseHandler() {
     }
 
@@ -97,9 +101,10 @@ public final class MysqlResponseHandler {
         boolean deprecateEof = (mysqlConnection.authPacket.extendClientFlags
             & ExtendedClientCapabilities.CLIENT_DEPRECATE_EOF) != 0;
         String connCharSet = null;
+        ByteBuf buffer = null;
         try {
             connCharSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+            buffer = ByteBufAllocator.DEFAULT.buffer();
             ResultSetMetaData metaData = resultSet.getMetaData();
             ColumnsNumberPacket columnsNumberPacket = new ColumnsNumberPacket();
             columnsNumberPacket.packetId = (byte) packetId.getAndIncrement();
@@ -114,7 +119,7 @@ public final class MysqlResponseHandler {
 
             int initServerStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
             if (deprecateEof) {
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
                 OKPacket okEofPacket = factory.getOkEofPacket(
                     0, packetId, initServerStatus
                 );
@@ -123,7 +128,7 @@ public final class MysqlResponseHandler {
                 // intermediate eof
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
@@ -131,12 +136,29 @@ public final class MysqlResponseHandler {
 
             mysqlConnection.channel.writeAndFlush(buffer);
         } catch (SQLException e) {
+            if (buffer != null) {
+                buffer.release();
+            }
             responseError(packetId, mysqlConnection.channel, e, connCharSet);
         }
     }
 
-    private static void handlerRowPacket(ResultSet resultSet, AtomicLong packetId, MysqlConnection mysqlConnection,
-                                  ByteBuf buffer, int columnCount) throws SQLException {
+    /**
+     * Send the buffered packets if there are enough of them, and wait for the client to catch up if it is slow.
+     *
+     * @return the buffer to write the following packets to
+     */
+    private static ByteBuf flushIfFull(MysqlConnection mysqlConnection, ByteBuf buffer) {
+        if (buffer.readableBytes() < FLUSH_THRESHOLD) {
+            return buffer;
+        }
+        mysqlConnection.channel.writeAndFlush(buffer);
+        mysqlConnection.awaitWritable();
+        return ByteBufAllocator.DEFAULT.buffer();
+    }
+
+    private static ByteBuf handlerRowPacket(ResultSet resultSet, AtomicLong packetId, MysqlConnection mysqlConnection,
+                                    ByteBuf buffer, int columnCount) throws SQLException {
         ResultSetMetaData metaData = resultSet.getMetaData();
         String typeName;
         while (resultSet.next()) {
@@ -162,7 +184,13 @@ public final class MysqlResponseHandler {
                 resultSetRowPacket.addColumnValue(val);
             }
             resultSetRowPacket.write(buffer);
+            buffer = flushIfFull(mysqlConnection, buffer);
+            if (!mysqlConnection.channel.isActive()) {
+                // The client is gone, stop fetching.
+                break;
+            }
         }
+        return buffer;
     }
 
     public static Object getArrayObject(MysqlConnection mysqlConnection, Object val) throws SQLException {
@@ -187,23 +215,122 @@ public final class MysqlResponseHandler {
         return StringUtils.join(arrayVal);
     }
 
-    private static void handlerPrepareRowPacket(ResultSet resultSet,
+    private static ByteBuf handlerPrepareRowPacket(ResultSet resultSet,
                                                 AtomicLong packetId,
                                                 MysqlConnection mysqlConnection,
                                                 ByteBuf buffer,
                                                 int columnCount) throws SQLException {
         while (resultSet.next()) {
-            PrepareResultSetRowPacket resultSetRowPacket = new PrepareResultSetRowPacket();
-            String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            characterSet = getCharacterSet(characterSet);
-            resultSetRowPacket.setCharacterSet(characterSet);
-            resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
-            resultSetRowPacket.setMetaData(resultSet.getMetaData());
-            for (int i = 1; i <= columnCount; i ++) {
-                resultSetRowPacket.addColumnValue(resultSet.getObject(i), mysqlConnection);
+            writePrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+            buffer = flushIfFull(mysqlConnection, buffer);
+            if (!mysqlConnection.channel.isActive()) {
+                // The client is gone, stop fetching.
+                break;
             }
-            resultSetRowPacket.write(buffer);
         }
+        return buffer;
+    }
+
+    private static void writePrepareRowPacket(ResultSet resultSet,
+                                              AtomicLong packetId,
+                                              MysqlConnection mysqlConnection,
+                                              ByteBuf buffer,
+                                              int columnCount) throws SQLException {
+        PrepareResultSetRowPacket resultSetRowPacket = new PrepareResultSetRowPacket();
+        String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
+        characterSet = getCharacterSet(characterSet);
+        resultSetRowPacket.setCharacterSet(characterSet);
+        resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
+        resultSetRowPacket.setMetaData(resultSet.getMetaData());
+        for (int i = 1; i <= columnCount; i ++) {
+            resultSetRowPacket.addColumnValue(resultSet.getObject(i), mysqlConnection);
+        }
+        resultSetRowPacket.write(buffer);
+    }
+
+    private static void writeEof(AtomicLong packetId,
+                                 MysqlConnection mysqlConnection,
+                                 ByteBuf buffer,
+                                 int serverStatus) {
+        boolean deprecateEof = (mysqlConnection.authPacket.extendClientFlags
+            & ExtendedClientCapabilities.CLIENT_DEPRECATE_EOF) != 0;
+        if (deprecateEof) {
+            factory.getOkEofPacket(0, packetId, serverStatus).write(buffer);
+        } else {
+            EOFPacket eofPacket = MysqlPacketFactory.getEofPacket(packetId);
+            eofPacket.statusFlags = serverStatus;
+            eofPacket.write(buffer);
+        }
+    }
+
+    /**
+     * Response to the execution of a prepared statement opening a cursor. Only the columns are sent, the rows are
+     * sent by {@link #responseFetch}.
+     *
+     * @param resultSet       the result set kept open as the cursor
+     * @param packetId        the packet id
+     * @param mysqlConnection the connection
+     */
+    public static void responsePrepareCursor(ResultSet resultSet,
+                                             AtomicLong packetId,
+                                             MysqlConnection mysqlConnection) throws SQLException {
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+        try {
+            ColumnsNumberPacket columnsNumberPacket = new ColumnsNumberPacket();
+            columnsNumberPacket.packetId = (byte) packetId.getAndIncrement();
+            columnsNumberPacket.columnsNumber = resultSet.getMetaData().getColumnCount();
+            columnsNumberPacket.write(buffer);
+            List<ColumnPacket> columns = factory.getColumnPackets(packetId, resultSet, false);
+            for (ColumnPacket columnPacket : columns) {
+                columnPacket.write(buffer);
+            }
+            int serverStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
+            writeEof(packetId, mysqlConnection, buffer, serverStatus | ServerStatus.SERVER_STATUS_CURSOR_EXISTS);
+        } catch (SQLException e) {
+            buffer.release();
+            throw e;
+        }
+        mysqlConnection.channel.writeAndFlush(buffer);
+    }
+
+    /**
+     * Response to COM_STMT_FETCH with at most {@code rows} rows from the cursor.
+     *
+     * @param resultSet       the cursor
+     * @param rows            max number of rows to send
+     * @param packetId        the packet id
+     * @param mysqlConnection the connection
+     * @return {@code true} if all the rows of the cursor are sent
+     */
+    public static boolean responseFetch(ResultSet resultSet,
+                                        long rows,
+                                        AtomicLong packetId,
+                                        MysqlConnection mysqlConnection) throws SQLException {
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+        boolean lastRowSent = false;
+        try {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            long count = 0;
+            while (count < rows) {
+                if (!resultSet.next()) {
+                    lastRowSent = true;
+                    break;
+                }
+                writePrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = flushIfFull(mysqlConnection, buffer);
+                ++count;
+            }
+            int serverStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
+            serverStatus |= lastRowSent
+                ? ServerStatus.SERVER_STATUS_LAST_ROW_SENT
+                : ServerStatus.SERVER_STATUS_CURSOR_EXISTS;
+            writeEof(packetId, mysqlConnection, buffer, serverStatus);
+        } catch (SQLException e) {
+            buffer.release();
+            throw e;
+        }
+        mysqlConnection.channel.writeAndFlush(buffer);
+        return lastRowSent;
     }
 
     public static void responseError(AtomicLong packetId,
@@ -323,9 +450,10 @@ public final class MysqlResponseHandler {
         boolean deprecateEof = (mysqlConnection.authPacket.extendClientFlags
             & ExtendedClientCapabilities.CLIENT_DEPRECATE_EOF) != 0;
         String connCharSet = null;
+        ByteBuf buffer = null;
         try {
             connCharSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+            buffer = ByteBufAllocator.DEFAULT.buffer();
             ResultSetMetaData metaData = resultSet.getMetaData();
             ColumnsNumberPacket columnsNumberPacket = new ColumnsNumberPacket();
             columnsNumberPacket.packetId = (byte) packetId.getAndIncrement();
@@ -340,7 +468,7 @@ public final class MysqlResponseHandler {
             int serverStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
 
             if (deprecateEof) {
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
                 OKPacket okEofPacket = factory.getOkEofPacket(
                     0, packetId, serverStatus
                 );
@@ -349,7 +477,7 @@ public final class MysqlResponseHandler {
                 // intermediate eof
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                buffer = handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
@@ -357,6 +485,9 @@ public final class MysqlResponseHandler {
 
             mysqlConnection.channel.writeAndFlush(buffer);
         } catch (SQLException e) {
+            if (buffer != null) {
+                buffer.release();
+            }
             responseError(packetId, mysqlConnection.channel, e, connCharSet);
         }
     }
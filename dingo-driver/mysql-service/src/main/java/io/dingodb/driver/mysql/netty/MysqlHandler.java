@@ -42,5 +42,13 @@ public class MysqlHandler extends SimpleChannelInboundHandler<ByteBuf> {
         MessageProcess.process(msg, mysqlConnection);
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            mysqlConnection.notifyWritable();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
 
 }
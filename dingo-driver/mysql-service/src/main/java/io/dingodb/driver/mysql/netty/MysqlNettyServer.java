@@ -23,6 +23,7 @@ import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioChannelOption;
@@ -48,14 +49,18 @@ public class MysqlNettyServer {
 
     public void start() throws Exception {
         server = new ServerBootstrap();
-        eventLoopGroup = new NioEventLoopGroup(151,
-            new ThreadPoolBuilder().name("mysql server " + port).coreThreads(151).maximumThreads(151).build());
+        // Statements are executed in `QueryScheduler`, so the event loops only decode and encode packets.
+        int ioThreads = ThreadPoolBuilder.AVAILABLE_PROCESSORS * 2;
+        eventLoopGroup = new NioEventLoopGroup(ioThreads,
+            new ThreadPoolBuilder().name("mysql server " + port).coreThreads(ioThreads).maximumThreads(ioThreads).build());
         server
             .channel(NioServerSocketChannel.class)
             .group(eventLoopGroup)
             .childOption(ChannelOption.TCP_NODELAY, true)
             .childOption(ChannelOption.SO_KEEPALIVE, Boolean.TRUE)
             .childOption(NioChannelOption.of(StandardSocketOptions.SO_KEEPALIVE), Boolean.TRUE)
+            // Result sets are streamed, writing stops while more than the high water mark is pending.
+            .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(256 * 1024, 1024 * 1024))
             .childHandler(channelInitializer());
         if (host != null) {
             server.localAddress(host, port);
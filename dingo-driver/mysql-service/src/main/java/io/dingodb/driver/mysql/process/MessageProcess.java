@@ -38,6 +38,7 @@ import org.apache.calcite.avatica.Meta;
 import org.apache.calcite.avatica.NoSuchStatementException;
 import org.apache.calcite.jdbc.CalciteSchema;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -51,10 +52,34 @@ public final class MessageProcess {
     private MessageProcess() {
     }
 
+    /**
+     * Decode the command in the event loop and execute it in {@link QueryScheduler}.
+     *
+     * @param msg             the message received
+     * @param mysqlConnection the connection
+     */
     public static void process(ByteBuf msg, MysqlConnection mysqlConnection) {
-        int length = msg.readableBytes();
-        byte[] array = new byte[length];
+        byte[] array = new byte[msg.readableBytes()];
         msg.getBytes(msg.readerIndex(), array);
+        if (mysqlConnection.session == null) {
+            mysqlConnection.session = new QueryScheduler.Session(mysqlConnection.authPacket.user);
+        }
+        QueryScheduler.submit(mysqlConnection.session, () -> {
+            try {
+                process(array, mysqlConnection);
+            } catch (RuntimeException e) {
+                mysqlConnection.channel.pipeline().fireExceptionCaught(e);
+            }
+        }, () -> {
+            AtomicLong packetId = new AtomicLong(array[0]);
+            packetId.incrementAndGet();
+            MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, ErrorCode.ER_OUT_OF_RESOURCES,
+                "Server is busy, too many statements waiting to be executed", null);
+        });
+    }
+
+    static void process(byte[] array, MysqlConnection mysqlConnection) {
+        int length = array.length;
         byte flg = array[1];
         byte packetIdByte = array[0];
         AtomicLong packetId = new AtomicLong(packetIdByte);
@@ -225,6 +250,7 @@ public final class MessageProcess {
                 statementIdBytes = new byte[4];
                 System.arraycopy(array, 2, statementIdBytes, 0, statementIdBytes.length);
                 statementId = MysqlByteUtil.bytesToIntLittleEndian(statementIdBytes);
+                mysqlConnection.closeCursor(statementId);
                 connection = (DingoConnection) mysqlConnection.getConnection();
                 try {
                     preparedStatement
@@ -241,6 +267,7 @@ public final class MessageProcess {
                 // destroy prepare sql param cache  : statement reset
                 ResetStatementPacket reset = new ResetStatementPacket();
                 reset.read(array);
+                mysqlConnection.closeCursor(reset.getStatementId());
                 connection = (DingoConnection) mysqlConnection.getConnection();
                 try {
                     preparedStatement
@@ -260,6 +287,26 @@ public final class MessageProcess {
                 break;
             case NativeConstants.COM_STMT_FETCH:
                 // fetch prepare statement result
+                statementIdBytes = new byte[4];
+                System.arraycopy(array, 2, statementIdBytes, 0, statementIdBytes.length);
+                statementId = MysqlByteUtil.bytesToIntLittleEndian(statementIdBytes);
+                byte[] rowsBytes = new byte[4];
+                System.arraycopy(array, 6, rowsBytes, 0, rowsBytes.length);
+                long rows = MysqlByteUtil.bytesToIntLittleEndian(rowsBytes) & 0xFFFFFFFFL;
+                ResultSet cursor = mysqlConnection.getCursor(statementId);
+                if (cursor == null) {
+                    MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, ErrorCode.ER_UNKNOWN_ERROR,
+                        "The statement (" + statementId + ") has no open cursor", connCharSet);
+                    break;
+                }
+                try {
+                    if (MysqlResponseHandler.responseFetch(cursor, rows, packetId, mysqlConnection)) {
+                        mysqlConnection.closeCursor(statementId);
+                    }
+                } catch (SQLException e) {
+                    mysqlConnection.closeCursor(statementId);
+                    MysqlResponseHandler.responseError(packetId, mysqlConnection.channel, e, connCharSet);
+                }
                 break;
             case NativeConstants.COM_DAEMON:
                 // daemon
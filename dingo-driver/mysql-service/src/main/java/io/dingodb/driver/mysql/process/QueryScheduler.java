@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver.mysql.process;
+
+import io.dingodb.common.concurrent.ThreadPoolBuilder;
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes the commands of MySQL connections off the Netty event loops, so that I/O threads only decode and encode
+ * packets. Commands of one connection are executed one by one in order, commands of different connections run in
+ * parallel on a bounded pool. A user may be limited in the number of statements running at the same time, the
+ * connections exceeding the limit wait in a queue of the user.
+ */
+@Slf4j
+public final class QueryScheduler {
+    private static final String NAME = "mysql-query";
+
+    private static final AtomicLong queued = new AtomicLong(0);
+    private static final Map<String, UserSlots> users = new ConcurrentHashMap<>();
+
+    private static volatile ThreadPoolExecutor pool;
+
+    private QueryScheduler() {
+    }
+
+    private static ThreadPoolExecutor pool() {
+        if (pool == null) {
+            synchronized (QueryScheduler.class) {
+                if (pool == null) {
+                    int threads = ScopeVariables.getMysqlQueryThreads();
+                    pool = new ThreadPoolBuilder()
+                        .name(NAME)
+                        .coreThreads(threads)
+                        .maximumThreads(threads)
+                        .workQueue(new LinkedBlockingQueue<>())
+                        .daemon(true)
+                        .group(new ThreadGroup(NAME))
+                        .build();
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Queue a command of the session.
+     *
+     * @param session the session of the connection
+     * @param command the command
+     * @return {@code false} if the command is rejected for too many commands are waiting
+     */
+    public static boolean submit(@NonNull Session session, @NonNull Runnable command) {
+        return submit(session, command, () -> {
+        });
+    }
+
+    /**
+     * Queue a command of the session. If too many commands are waiting, the rejection is queued in place of the
+     * command, so that the response to the rejected command is still sent after those to the earlier commands of the
+     * session. The rejection is not counted in the waiting commands.
+     *
+     * @param session   the session of the connection
+     * @param command   the command
+     * @param rejection responds to the command if it is rejected
+     * @return {@code false} if the command is rejected for too many commands are waiting
+     */
+    public static boolean submit(@NonNull Session session, @NonNull Runnable command, @NonNull Runnable rejection) {
+        boolean accepted = queued.incrementAndGet() <= ScopeVariables.getMysqlMaxQueuedStatements();
+        if (!accepted) {
+            queued.decrementAndGet();
+            DingoMetrics.counter("mysql_query_rejected").inc();
+        }
+        enqueue(session, accepted
+            ? new Command(command, System.nanoTime(), true)
+            : new Command(rejection, System.nanoTime(), false));
+        return accepted;
+    }
+
+    private static void enqueue(@NonNull Session session, @NonNull Command command) {
+        synchronized (session) {
+            session.commands.add(command);
+            if (session.scheduled) {
+                return;
+            }
+            session.scheduled = true;
+        }
+        admit(session);
+    }
+
+    private static void admit(@NonNull Session session) {
+        UserSlots slots = users.computeIfAbsent(session.user, k -> new UserSlots());
+        synchronized (slots) {
+            long limit = ScopeVariables.getMysqlUserMaxRunningStatements();
+            if (limit > 0 && slots.running >= limit) {
+                slots.waiting.add(session);
+                return;
+            }
+            ++slots.running;
+        }
+        pool().execute(() -> run(session, slots));
+    }
+
+    private static void run(@NonNull Session session, @NonNull UserSlots slots) {
+        Command command;
+        synchronized (session) {
+            command = session.commands.poll();
+        }
+        try {
+            if (command != null) {
+                if (command.counted) {
+                    queued.decrementAndGet();
+                    DingoMetrics.timer("mysql_query_queue_time")
+                        .update(System.nanoTime() - command.queuedTime, TimeUnit.NANOSECONDS);
+                }
+                command.runnable.run();
+            }
+        } catch (Throwable e) {
+            LogUtils.error(log, "Failed to execute command of session \"{}\".", session.user, e);
+        } finally {
+            Session next;
+            synchronized (slots) {
+                next = slots.waiting.poll();
+                if (next == null) {
+                    --slots.running;
+                }
+            }
+            // The slot is handed over to the waiting session directly.
+            if (next != null) {
+                pool().execute(() -> run(next, slots));
+            }
+            reschedule(session);
+        }
+    }
+
+    private static void reschedule(@NonNull Session session) {
+        synchronized (session) {
+            if (session.commands.isEmpty()) {
+                session.scheduled = false;
+                return;
+            }
+        }
+        admit(session);
+    }
+
+    /**
+     * Commands of a connection waiting to be executed.
+     */
+    public static final class Session {
+        private final String user;
+        private final Queue<Command> commands = new ArrayDeque<>();
+        private boolean scheduled = false;
+
+        public Session(String user) {
+            this.user = user == null ? "" : user;
+        }
+    }
+
+    private static final class Command {
+        private final Runnable runnable;
+        private final long queuedTime;
+        // Whether counted in the waiting commands, a rejection is not.
+        private final boolean counted;
+
+        private Command(Runnable runnable, long queuedTime, boolean counted) {
+            this.runnable = runnable;
+            this.queuedTime = queuedTime;
+            this.counted = counted;
+        }
+    }
+
+    private static final class UserSlots {
+        private final Queue<Session> waiting = new ArrayDeque<>();
+        private long running = 0;
+    }
+}
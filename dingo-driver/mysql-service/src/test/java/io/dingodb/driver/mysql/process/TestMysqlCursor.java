@@ -0,0 +1,248 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver.mysql.process;
+
+import io.dingodb.common.mysql.constant.ServerStatus;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.driver.DingoConnection;
+import io.dingodb.driver.DingoPreparedStatement;
+import io.dingodb.driver.mysql.MysqlConnection;
+import io.dingodb.driver.mysql.NativeConstants;
+import io.dingodb.driver.mysql.packet.AuthPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.socket.SocketChannel;
+import org.apache.calcite.avatica.Meta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestMysqlCursor {
+    private static final int ROWS = 5;
+
+    private final List<byte[]> packets = new ArrayList<>();
+    private final List<ResultSet> resultSets = new ArrayList<>();
+    private MysqlConnection mysqlConnection;
+    private DingoPreparedStatement preparedStatement;
+
+    private static byte[] command(int command, int statementId, int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 4 * values.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 0).put((byte) command).putInt(statementId);
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] execute(int statementId) {
+        // flags, then iterations.
+        byte[] array = Arrays.copyOf(command(NativeConstants.COM_STMT_EXECUTE, statementId), 11);
+        array[6] = NativeConstants.CURSOR_TYPE_READ_ONLY;
+        array[7] = 1;
+        return array;
+    }
+
+    private static byte[] fetch(int statementId, int rows) {
+        return command(NativeConstants.COM_STMT_FETCH, statementId, rows);
+    }
+
+    private static boolean isEof(byte[] packet) {
+        return (packet[0] & 0xFF) == 0xFE && packet.length < 9;
+    }
+
+    private static boolean isError(byte[] packet) {
+        return (packet[0] & 0xFF) == 0xFF;
+    }
+
+    private static int status(byte[] packet) {
+        return (packet[3] & 0xFF) | (packet[4] & 0xFF) << 8;
+    }
+
+    private static ResultSet resultSet() throws Exception {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnTypeName(1)).thenReturn("INTEGER");
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(metaData.getColumnName(1)).thenReturn("id");
+        when(metaData.getColumnDisplaySize(1)).thenReturn(11);
+        ResultSet resultSet = mock(ResultSet.class);
+        AtomicInteger row = new AtomicInteger();
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() <= ROWS);
+        when(resultSet.getObject(1)).thenAnswer(invocation -> row.get());
+        return resultSet;
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        SocketChannel channel = mock(SocketChannel.class);
+        when(channel.writeAndFlush(any())).thenAnswer(invocation -> {
+            ByteBuf buffer = invocation.getArgument(0);
+            while (buffer.isReadable()) {
+                int length = buffer.readUnsignedMediumLE();
+                buffer.skipBytes(1);
+                byte[] packet = new byte[length];
+                buffer.readBytes(packet);
+                packets.add(packet);
+            }
+            buffer.release();
+            return null;
+        });
+        preparedStatement = mock(DingoPreparedStatement.class);
+        when(preparedStatement.getStatementType()).thenReturn(Meta.StatementType.SELECT);
+        when(preparedStatement.executeQuery()).thenAnswer(invocation -> {
+            ResultSet resultSet = resultSet();
+            resultSets.add(resultSet);
+            return resultSet;
+        });
+        DingoConnection connection = mock(DingoConnection.class);
+        when(connection.getStatement(any())).thenReturn(preparedStatement);
+        mysqlConnection = new MysqlConnection(channel);
+        mysqlConnection.setConnection(connection);
+        mysqlConnection.authPacket = new AuthPacket();
+    }
+
+    private List<byte[]> process(byte[] array) {
+        packets.clear();
+        MessageProcess.process(array, mysqlConnection);
+        return new ArrayList<>(packets);
+    }
+
+    private List<Integer> rows(List<byte[]> response) {
+        List<Integer> rows = new ArrayList<>();
+        for (byte[] packet : response.subList(0, response.size() - 1)) {
+            assertThat(packet[0]).isEqualTo((byte) 0);
+            rows.add(ByteBuffer.wrap(packet, 2, 4).order(ByteOrder.LITTLE_ENDIAN).getInt());
+        }
+        return rows;
+    }
+
+    @Test
+    public void testExecuteWithCursor() throws Exception {
+        List<byte[]> response = process(execute(1));
+        // The column count, the column and EOF, no rows.
+        assertThat(response).hasSize(3);
+        assertThat(response.get(0)[0]).isEqualTo((byte) 1);
+        assertThat(isEof(response.get(2))).isTrue();
+        assertThat(status(response.get(2)) & ServerStatus.SERVER_STATUS_CURSOR_EXISTS).isNotZero();
+        assertThat(resultSets).hasSize(1);
+        assertThat(mysqlConnection.getCursor(1)).isSameAs(resultSets.get(0));
+        verify(resultSets.get(0), never()).next();
+    }
+
+    @Test
+    public void testFetch() throws Exception {
+        process(execute(1));
+        List<byte[]> response = process(fetch(1, 2));
+        assertThat(rows(response)).containsExactly(1, 2);
+        assertThat(status(response.get(2)) & ServerStatus.SERVER_STATUS_CURSOR_EXISTS).isNotZero();
+        response = process(fetch(1, 2));
+        assertThat(rows(response)).containsExactly(3, 4);
+        assertThat(status(response.get(2)) & ServerStatus.SERVER_STATUS_LAST_ROW_SENT).isZero();
+        response = process(fetch(1, 2));
+        assertThat(rows(response)).containsExactly(5);
+        assertThat(isEof(response.get(1))).isTrue();
+        assertThat(status(response.get(1)) & ServerStatus.SERVER_STATUS_LAST_ROW_SENT).isNotZero();
+    }
+
+    @Test
+    public void testEndOfResultSet() throws Exception {
+        process(execute(1));
+        List<byte[]> response = process(fetch(1, ROWS + 1));
+        assertThat(rows(response)).containsExactly(1, 2, 3, 4, 5);
+        assertThat(status(response.get(ROWS)) & ServerStatus.SERVER_STATUS_LAST_ROW_SENT).isNotZero();
+        verify(resultSets.get(0)).close();
+        assertThat(mysqlConnection.getCursor(1)).isNull();
+        response = process(fetch(1, 1));
+        assertThat(response).hasSize(1);
+        assertThat(isError(response.get(0))).isTrue();
+    }
+
+    @Test
+    public void testExecuteAgain() throws Exception {
+        process(execute(1));
+        process(fetch(1, 2));
+        process(execute(1));
+        verify(resultSets.get(0)).close();
+        assertThat(rows(process(fetch(1, 2)))).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        process(execute(1));
+        assertThat(process(command(NativeConstants.COM_STMT_CLOSE, 1))).isEmpty();
+        verify(resultSets.get(0)).close();
+        verify(preparedStatement).close();
+        assertThat(isError(process(fetch(1, 1)).get(0))).isTrue();
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        process(execute(1));
+        List<byte[]> response = process(command(NativeConstants.COM_STMT_RESET, 1));
+        assertThat(response).hasSize(1);
+        assertThat(response.get(0)[0]).isEqualTo((byte) 0);
+        verify(resultSets.get(0)).close();
+        verify(preparedStatement).clearParameters();
+        assertThat(isError(process(fetch(1, 1)).get(0))).isTrue();
+    }
+
+    @Test
+    public void testMaxCursors() throws Exception {
+        ScopeVariables.setExecutorProp("mysql_max_cursors", "2");
+        try {
+            process(execute(1));
+            process(execute(2));
+            process(fetch(1, 1));
+            process(execute(3));
+            // The cursor of statement 2 is the least recently used.
+            verify(resultSets.get(1)).close();
+            verify(resultSets.get(0), never()).close();
+            assertThat(isError(process(fetch(2, 1)).get(0))).isTrue();
+            assertThat(rows(process(fetch(1, 1)))).containsExactly(2);
+            assertThat(rows(process(fetch(3, 1)))).containsExactly(1);
+        } finally {
+            ScopeVariables.setExecutorProp("mysql_max_cursors", "64");
+        }
+    }
+
+    @Test
+    public void testIdleCursor() throws Exception {
+        ScopeVariables.setExecutorProp("mysql_cursor_idle_timeout", "1");
+        try {
+            process(execute(1));
+            Thread.sleep(10);
+            assertThat(isError(process(fetch(1, 1)).get(0))).isTrue();
+            verify(resultSets.get(0)).close();
+        } finally {
+            ScopeVariables.setExecutorProp("mysql_cursor_idle_timeout", "600000");
+        }
+    }}
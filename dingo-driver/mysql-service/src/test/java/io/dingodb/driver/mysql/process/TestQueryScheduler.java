@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver.mysql.process;
+
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestQueryScheduler {
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testSessionOrder() {
+        QueryScheduler.Session session = new QueryScheduler.Session("order");
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; ++i) {
+            int index = i;
+            assertThat(QueryScheduler.submit(session, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                executed.add(index);
+                Thread.yield();
+                running.decrementAndGet();
+                done.countDown();
+            })).isTrue();
+        }
+        await(done);
+        assertThat(executed).containsExactlyElementsOf(IntStream.range(0, 200).boxed().collect(Collectors.toList()));
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSessionsInParallel() {
+        QueryScheduler.Session session1 = new QueryScheduler.Session("parallel");
+        QueryScheduler.Session session2 = new QueryScheduler.Session("parallel");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        // The command of the first session waits for the command of the second session.
+        QueryScheduler.submit(session1, () -> {
+            await(started);
+            done.countDown();
+        });
+        QueryScheduler.submit(session2, () -> {
+            started.countDown();
+            done.countDown();
+        });
+        await(done);
+    }
+
+    @Test
+    public void testQueueLimit() {
+        ScopeVariables.setExecutorProp("mysql_max_queued_statements", "3");
+        try {
+            QueryScheduler.Session session = new QueryScheduler.Session("limit");
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(4);
+            assertThat(QueryScheduler.submit(session, () -> {
+                running.countDown();
+                await(release);
+                done.countDown();
+            })).isTrue();
+            await(running);
+            // The running command is not counted.
+            for (int i = 0; i < 3; ++i) {
+                assertThat(QueryScheduler.submit(session, done::countDown)).isTrue();
+            }
+            assertThat(QueryScheduler.submit(session, done::countDown)).isFalse();
+            assertThat(QueryScheduler.submit(new QueryScheduler.Session("other"), done::countDown)).isFalse();
+            release.countDown();
+            await(done);
+            CountDownLatch more = new CountDownLatch(1);
+            assertThat(QueryScheduler.submit(session, more::countDown)).isTrue();
+            await(more);
+        } finally {
+            ScopeVariables.setExecutorProp("mysql_max_queued_statements", "10000");
+        }
+    }
+
+    @Test
+    public void testRejectionInOrder() {
+        ScopeVariables.setExecutorProp("mysql_max_queued_statements", "1");
+        try {
+            QueryScheduler.Session session = new QueryScheduler.Session("rejection");
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(3);
+            List<String> executed = Collections.synchronizedList(new ArrayList<>());
+            QueryScheduler.submit(session, () -> {
+                running.countDown();
+                await(release);
+                executed.add("command 1");
+                done.countDown();
+            }, () -> executed.add("rejection 1"));
+            await(running);
+            assertThat(QueryScheduler.submit(session, () -> {
+                executed.add("command 2");
+                done.countDown();
+            }, () -> executed.add("rejection 2"))).isTrue();
+            assertThat(QueryScheduler.submit(session, () -> executed.add("command 3"), () -> {
+                executed.add("rejection 3");
+                done.countDown();
+            })).isFalse();
+            // The rejection is not responded before the earlier commands are done.
+            assertThat(executed).isEmpty();
+            release.countDown();
+            await(done);
+            assertThat(executed).containsExactly("command 1", "command 2", "rejection 3");
+        } finally {
+            ScopeVariables.setExecutorProp("mysql_max_queued_statements", "10000");
+        }
+    }
+
+    @Test
+    public void testUserLimit() throws InterruptedException {
+        ScopeVariables.setExecutorProp("mysql_user_max_running_statements", "1");
+        try {
+            QueryScheduler.Session session1 = new QueryScheduler.Session("user");
+            QueryScheduler.Session session2 = new QueryScheduler.Session("user");
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(2);
+            List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+            QueryScheduler.submit(session1, () -> {
+                running.countDown();
+                await(release);
+                executed.add(1);
+                done.countDown();
+            });
+            await(running);
+            QueryScheduler.submit(session2, () -> {
+                executed.add(2);
+                done.countDown();
+            });
+            // The second session waits for the slot of the user.
+            Thread.sleep(200);
+            assertThat(executed).isEmpty();
+            release.countDown();
+            await(done);
+            assertThat(executed).containsExactly(1, 2);
+        } finally {
+            ScopeVariables.setExecutorProp("mysql_user_max_running_statements", "0");
+        }
+    }
+}
@@ -36,6 +36,7 @@ import io.dingodb.exec.operator.HashOperator;
 import io.dingodb.exec.operator.IndexMergeOperator;
 import io.dingodb.exec.operator.InfoSchemaScanOperator;
 import io.dingodb.exec.operator.LikeScanOperator;
+import io.dingodb.exec.operator.LookupJoinOperator;
 import io.dingodb.exec.operator.NewCalcDistributionOperator;
 import io.dingodb.exec.operator.PartCountOperator;
 import io.dingodb.exec.operator.PartDeleteOperator;
@@ -113,6 +114,7 @@ import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.INDEX_MERGE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.INFO_SCHEMA_SCAN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.LIKE_SCAN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.LOOKUP_JOIN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.OPTIMISTIC_ROLL_BACK;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PARTITION;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PART_COUNT;
@@ -179,6 +181,7 @@ public final class OperatorFactory {
         OPERATORS.put(GET_BY_INDEX, GetByIndexOperator.INSTANCE);
         OPERATORS.put(GET_BY_KEYS, GetByKeysOperator.INSTANCE);
         OPERATORS.put(HASH_JOIN, HashJoinOperator.INSTANCE);
+        OPERATORS.put(LOOKUP_JOIN, LookupJoinOperator.INSTANCE);
         OPERATORS.put(HASH, HashOperator.INSTANCE);
         OPERATORS.put(INDEX_MERGE, IndexMergeOperator.INSTANCE);
         OPERATORS.put(LIKE_SCAN, LikeScanOperator.INSTANCE);
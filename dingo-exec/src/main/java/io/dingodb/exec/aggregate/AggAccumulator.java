@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Aggregating states of an {@link Agg} for all the groups of a {@link LongKeyAggTable}, stored in primitive arrays
+ * indexed by group id.
+ */
+abstract class AggAccumulator {
+    protected final Agg agg;
+
+    protected AggAccumulator(Agg agg) {
+        this.agg = agg;
+    }
+
+    /**
+     * Create an accumulator for the agg.
+     *
+     * @param agg      the agg
+     * @param capacity initial number of groups
+     * @return the accumulator, or {@code null} if the agg cannot be accumulated in primitives
+     */
+    static @Nullable AggAccumulator of(@NonNull Agg agg, int capacity) {
+        if (agg instanceof CountAllAgg || agg instanceof CountAgg) {
+            return new Count(agg, capacity);
+        }
+        if (agg instanceof UnityEvaluatorAgg) {
+            DingoType type = ((UnityEvaluatorAgg) agg).getType();
+            boolean isInt = type instanceof IntegerType;
+            if (agg instanceof SumAgg) {
+                if (isInt || type instanceof LongType) {
+                    return new LongSum(agg, capacity, isInt);
+                }
+                if (type instanceof DoubleType) {
+                    return new DoubleSum(agg, capacity);
+                }
+            } else if (agg instanceof MinAgg || agg instanceof MaxAgg) {
+                if (isInt || type instanceof LongType) {
+                    return new LongMinMax(agg, capacity, isInt, agg instanceof MinAgg);
+                }
+            }
+        }
+        return null;
+    }
+
+    abstract AggAccumulator create(int capacity);
+
+    abstract void grow(int capacity);
+
+    abstract void add(int group, Object @NonNull [] tuple);
+
+    abstract void merge(int group, AggAccumulator other, int otherGroup);
+
+    abstract Object getValue(int group);
+
+    private static final class Count extends AggAccumulator {
+        private final int index;
+        private long[] counts;
+
+        private Count(Agg agg, int capacity) {
+            super(agg);
+            this.index = agg.getIndex();
+            this.counts = new long[capacity];
+        }
+
+        @Override
+        AggAccumulator create(int capacity) {
+            return new Count(agg, capacity);
+        }
+
+        @Override
+        void grow(int capacity) {
+            counts = Arrays.copyOf(counts, capacity);
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            if (index < 0 || tuple[index] != null) {
+                ++counts[group];
+            }
+        }
+
+        @Override
+        void merge(int group, AggAccumulator other, int otherGroup) {
+            counts[group] += ((Count) other).counts[otherGroup];
+        }
+
+        @Override
+        Object getValue(int group) {
+            return counts[group];
+        }
+    }
+
+    private abstract static class NullableAccumulator extends AggAccumulator {
+        protected final int index;
+        // Whether a non-null value has been accumulated.
+        protected boolean[] present;
+
+        protected NullableAccumulator(Agg agg, int capacity) {
+            super(agg);
+            this.index = agg.getIndex();
+            this.present = new boolean[capacity];
+        }
+
+        @Override
+        void grow(int capacity) {
+            present = Arrays.copyOf(present, capacity);
+        }
+
+        @Override
+        Object getValue(int group) {
+            return present[group] ? getPresentValue(group) : agg.getValue(null);
+        }
+
+        abstract Object getPresentValue(int group);
+    }
+
+    private static final class LongSum extends NullableAccumulator {
+        private final boolean isInt;
+        private long[] sums;
+
+        private LongSum(Agg agg, int capacity, boolean isInt) {
+            super(agg, capacity);
+            this.isInt = isInt;
+            this.sums = new long[capacity];
+        }
+
+        @Override
+        AggAccumulator create(int capacity) {
+            return new LongSum(agg, capacity, isInt);
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            sums = Arrays.copyOf(sums, capacity);
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            Object value = tuple[index];
+            if (value != null) {
+                sums[group] += ((Number) value).longValue();
+                present[group] = true;
+            }
+        }
+
+        @Override
+        void merge(int group, AggAccumulator other, int otherGroup) {
+            LongSum o = (LongSum) other;
+            if (o.present[otherGroup]) {
+                sums[group] += o.sums[otherGroup];
+                present[group] = true;
+            }
+        }
+
+        @Override
+        Object getPresentValue(int group) {
+            // Wrapping addition is associative, so truncating the long sum is the same as summing in int.
+            return isInt ? (Object) (int) sums[group] : (Object) sums[group];
+        }
+    }
+
+    private static final class DoubleSum extends NullableAccumulator {
+        private double[] sums;
+
+        private DoubleSum(Agg agg, int capacity) {
+            super(agg, capacity);
+            this.sums = new double[capacity];
+        }
+
+        @Override
+        AggAccumulator create(int capacity) {
+            return new DoubleSum(agg, capacity);
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            sums = Arrays.copyOf(sums, capacity);
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            Object value = tuple[index];
+            if (value != null) {
+                sums[group] += ((Number) value).doubleValue();
+                present[group] = true;
+            }
+        }
+
+        @Override
+        void merge(int group, AggAccumulator other, int otherGroup) {
+            DoubleSum o = (DoubleSum) other;
+            if (o.present[otherGroup]) {
+                sums[group] += o.sums[otherGroup];
+                present[group] = true;
+            }
+        }
+
+        @Override
+        Object getPresentValue(int group) {
+            return sums[group];
+        }
+    }
+
+    private static final class LongMinMax extends NullableAccumulator {
+        private final boolean isInt;
+        private final boolean isMin;
+        private long[] values;
+
+        private LongMinMax(Agg agg, int capacity, boolean isInt, boolean isMin) {
+            super(agg, capacity);
+            this.isInt = isInt;
+            this.isMin = isMin;
+            this.values = new long[capacity];
+        }
+
+        @Override
+        AggAccumulator create(int capacity) {
+            return new LongMinMax(agg, capacity, isInt, isMin);
+        }
+
+        @Override
+        void grow(int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        private void accumulate(int group, long value) {
+            if (!present[group]) {
+                values[group] = value;
+                present[group] = true;
+            } else if (isMin ? value < values[group] : value > values[group]) {
+                values[group] = value;
+            }
+        }
+
+        @Override
+        void add(int group, Object @NonNull [] tuple) {
+            Object value = tuple[index];
+            if (value != null) {
+                accumulate(group, ((Number) value).longValue());
+            }
+        }
+
+        @Override
+        void merge(int group, AggAccumulator other, int otherGroup) {
+            LongMinMax o = (LongMinMax) other;
+            if (o.present[otherGroup]) {
+                accumulate(group, o.values[otherGroup]);
+            }
+        }
+
+        @Override
+        Object getPresentValue(int group) {
+            return isInt ? (Object) (int) values[group] : (Object) values[group];
+        }
+    }
+}
@@ -88,6 +88,15 @@ public class AggCache implements Iterable<Object[]> {
         );
     }
 
+    /**
+     * Get the number of groups in the cache.
+     *
+     * @return the number of groups
+     */
+    public int size() {
+        return cache.size();
+    }
+
     public void clear() {
         cache.clear();
     }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import com.google.common.collect.Iterators;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.spill.SpillCodec;
+import io.dingodb.exec.spill.SpillPartitions;
+import io.dingodb.exec.tuple.TupleKey;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Spills the partial results of an {@link AggCache} to disk, partitioned by the group keys. Each partition is
+ * re-aggregated by merging, just like what a reducer does, so the groups of one partition need be in memory at a time.
+ */
+public final class AggSpiller implements Closeable {
+    private static final int PARTITIONS = 32;
+
+    private final int keyCount;
+    private final List<Agg> aggList;
+    private final SpillPartitions partitions;
+    @Getter
+    private boolean spilled;
+
+    private AggSpiller(int keyCount, @NonNull List<Agg> aggList, @NonNull SpillCodec codec) {
+        this.keyCount = keyCount;
+        this.aggList = aggList;
+        this.partitions = new SpillPartitions(codec, PARTITIONS, "agg-");
+        this.spilled = false;
+    }
+
+    /**
+     * Create a spiller for the aggregation.
+     *
+     * @param keyCount   number of group keys
+     * @param aggList    the aggregations
+     * @param outputType type of the output tuples, i.e. the keys followed by the aggregation values
+     * @return the spiller, or {@code null} if there are no keys or the output cannot be encoded
+     */
+    public static @Nullable AggSpiller of(int keyCount, @NonNull List<Agg> aggList, @Nullable DingoType outputType) {
+        if (keyCount == 0) {
+            return null;
+        }
+        SpillCodec codec = SpillCodec.of(outputType);
+        if (codec == null) {
+            return null;
+        }
+        return new AggSpiller(keyCount, aggList, codec);
+    }
+
+    /**
+     * Write all the groups in the cache to disk and clear the cache.
+     *
+     * @param cache the cache
+     */
+    public void spill(@NonNull AggCache cache) {
+        for (Object[] tuple : cache) {
+            partitions.write(hashOf(tuple), tuple);
+        }
+        cache.clear();
+        spilled = true;
+    }
+
+    /**
+     * Spill the remaining groups in the cache and iterate over the final results, partition by partition.
+     *
+     * @param cache the cache
+     * @return the iterator
+     */
+    public @NonNull Iterator<Object[]> iterator(@NonNull AggCache cache) {
+        spill(cache);
+        TupleMapping keys = TupleMapping.of(IntStream.range(0, keyCount).toArray());
+        return Iterators.concat(
+            Iterators.transform(
+                IntStream.range(0, partitions.size()).iterator(),
+                i -> {
+                    AggCache partitionCache = new AggCache(keys, aggList);
+                    partitions.get(i).read().forEachRemaining(partitionCache::reduce);
+                    return partitionCache.iterator();
+                }
+            )
+        );
+    }
+
+    private int hashOf(Object @NonNull [] tuple) {
+        return new TupleKey(Arrays.copyOf(tuple, keyCount)).hashCode();
+    }
+
+    @Override
+    public void close() {
+        partitions.close();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.aggregate;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table of groups keyed by at most two {@code long}s. Groups are numbered densely in insertion
+ * order, so keys and aggregating states are kept in parallel primitive arrays. Not thread safe.
+ */
+final class LongKeyAggTable {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int EMPTY = -1;
+
+    private final AggAccumulator[] accumulators;
+    // Slots of the hash table, holding group ids.
+    private int[] slots;
+    private int mask;
+    private long[] keys0;
+    private long[] keys1;
+    private int size;
+
+    LongKeyAggTable(AggAccumulator @NonNull [] prototypes) {
+        accumulators = new AggAccumulator[prototypes.length];
+        for (int i = 0; i < prototypes.length; ++i) {
+            accumulators[i] = prototypes[i].create(INITIAL_CAPACITY);
+        }
+        slots = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(slots, EMPTY);
+        mask = slots.length - 1;
+        keys0 = new long[INITIAL_CAPACITY];
+        keys1 = new long[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private static int hash(long key0, long key1) {
+        long h = key0 * 0x9E3779B97F4A7C15L + key1;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long getKey0(int group) {
+        return keys0[group];
+    }
+
+    long getKey1(int group) {
+        return keys1[group];
+    }
+
+    Object getValue(int index, int group) {
+        return accumulators[index].getValue(group);
+    }
+
+    void add(long key0, long key1, Object @NonNull [] tuple) {
+        int group = findOrInsert(key0, key1);
+        for (AggAccumulator accumulator : accumulators) {
+            accumulator.add(group, tuple);
+        }
+    }
+
+    void merge(@NonNull LongKeyAggTable other) {
+        for (int g = 0; g < other.size; ++g) {
+            int group = findOrInsert(other.keys0[g], other.keys1[g]);
+            for (int i = 0; i < accumulators.length; ++i) {
+                accumulators[i].merge(group, other.accumulators[i], g);
+            }
+        }
+    }
+
+    private int findOrInsert(long key0, long key1) {
+        int pos = hash(key0, key1) & mask;
+        while (true) {
+            int group = slots[pos];
+            if (group == EMPTY) {
+                break;
+            }
+            if (keys0[group] == key0 && keys1[group] == key1) {
+                return group;
+            }
+            pos = (pos + 1) & mask;
+        }
+        int group = size++;
+        if (group == keys0.length) {
+            growGroups();
+        }
+        keys0[group] = key0;
+        keys1[group] = key1;
+        slots[pos] = group;
+        // Keep load factor under 0.5.
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return group;
+    }
+
+    private void growGroups() {
+        int capacity = keys0.length * 2;
+        keys0 = Arrays.copyOf(keys0, capacity);
+        keys1 = Arrays.copyOf(keys1, capacity);
+        for (AggAccumulator accumulator : accumulators) {
+            accumulator.grow(capacity);
+        }
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        Arrays.fill(slots, EMPTY);
+        mask = slots.length - 1;
+        for (int group = 0; group < size; ++group) {
+            int pos = hash(keys0[group], keys1[group]) & mask;
+            while (slots[pos] != EMPTY) {
+                pos = (pos + 1) & mask;
+            }
+            slots[pos] = group;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.aggregate;
+
+import com.google.common.collect.Iterators;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregation cache specialized for at most two INT/BIGINT group keys and COUNT/SUM/MIN/MAX over numeric columns.
+ * Each pushing thread aggregates into its own {@link LongKeyAggTable} without locking, and the partial tables are
+ * merged when iterated. Tuples added after iterating are merged when iterated again. Tuples with null keys fall
+ * back to the generic {@link AggCache}.
+ */
+public final class PrimitiveAggCache extends AggCache {
+    private final TupleMapping keyMapping;
+    private final List<Agg> aggList;
+    private final boolean[] intKeys;
+    private final AggAccumulator[] prototypes;
+    private final Map<Thread, LongKeyAggTable> tables;
+    private LongKeyAggTable merged;
+
+    private PrimitiveAggCache(
+        TupleMapping keyMapping,
+        @NonNull List<Agg> aggList,
+        boolean[] intKeys,
+        AggAccumulator[] prototypes
+    ) {
+        super(keyMapping, aggList);
+        this.keyMapping = keyMapping;
+        this.aggList = aggList;
+        this.intKeys = intKeys;
+        this.prototypes = prototypes;
+        this.tables = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create a specialized cache if the aggregation is of supported shape.
+     *
+     * @param keyMapping the group keys
+     * @param aggList    the aggregations
+     * @param schema     the input type
+     * @return the cache, or {@code null} if not supported
+     */
+    public static @Nullable PrimitiveAggCache of(
+        @NonNull TupleMapping keyMapping,
+        @NonNull List<Agg> aggList,
+        @Nullable DingoType schema
+    ) {
+        if (schema == null || keyMapping.size() > 2) {
+            return null;
+        }
+        boolean[] intKeys = new boolean[keyMapping.size()];
+        for (int i = 0; i < intKeys.length; ++i) {
+            DingoType type = schema.getChild(keyMapping.get(i));
+            if (type instanceof IntegerType) {
+                intKeys[i] = true;
+            } else if (!(type instanceof LongType)) {
+                return null;
+            }
+        }
+        AggAccumulator[] prototypes = new AggAccumulator[aggList.size()];
+        for (int i = 0; i < prototypes.length; ++i) {
+            prototypes[i] = AggAccumulator.of(aggList.get(i), 0);
+            if (prototypes[i] == null) {
+                return null;
+            }
+        }
+        return new PrimitiveAggCache(keyMapping, aggList, intKeys, prototypes);
+    }
+
+    @Override
+    public void addTuple(Object[] tuple) {
+        long key0 = 0;
+        long key1 = 0;
+        if (intKeys.length > 0) {
+            Object value = tuple[keyMapping.get(0)];
+            if (value == null) {
+                addToGeneric(tuple);
+                return;
+            }
+            key0 = ((Number) value).longValue();
+            if (intKeys.length > 1) {
+                value = tuple[keyMapping.get(1)];
+                if (value == null) {
+                    addToGeneric(tuple);
+                    return;
+                }
+                key1 = ((Number) value).longValue();
+            }
+        }
+        Thread thread = Thread.currentThread();
+        LongKeyAggTable table = tables.get(thread);
+        if (table == null) {
+            table = new LongKeyAggTable(prototypes);
+            tables.put(thread, table);
+        }
+        table.add(key0, key1, tuple);
+    }
+
+    private synchronized void addToGeneric(Object[] tuple) {
+        super.addTuple(tuple);
+    }
+
+    // Tables of tuples added after the last merge are folded in too.
+    private synchronized @Nullable LongKeyAggTable merge() {
+        Iterator<LongKeyAggTable> it = tables.values().iterator();
+        while (it.hasNext()) {
+            LongKeyAggTable table = it.next();
+            it.remove();
+            if (merged == null) {
+                merged = table;
+            } else {
+                merged.merge(table);
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public Iterator<Object[]> iterator() {
+        LongKeyAggTable table = merge();
+        if (table == null) {
+            return super.iterator();
+        }
+        Iterator<Object[]> iterator = new TableIterator(table);
+        return intKeys.length == 0 ? iterator : Iterators.concat(iterator, super.iterator());
+    }
+
+    @Override
+    public int size() {
+        // Groups of different threads may overlap, so this is an upper bound.
+        LongKeyAggTable table = merged;
+        int size = super.size() + (table != null ? table.size() : 0);
+        for (LongKeyAggTable t : tables.values()) {
+            size += t.size();
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        tables.clear();
+        merged = null;
+    }
+
+    private final class TableIterator implements Iterator<Object[]> {
+        private final LongKeyAggTable table;
+        private int group;
+
+        private TableIterator(LongKeyAggTable table) {
+            this.table = table;
+            this.group = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return group < table.size();
+        }
+
+        @Override
+        public Object[] next() {
+            if (group >= table.size()) {
+                throw new NoSuchElementException();
+            }
+            Object[] tuple = new Object[intKeys.length + aggList.size()];
+            if (intKeys.length > 0) {
+                long key = table.getKey0(group);
+                tuple[0] = intKeys[0] ? (Object) (int) key : (Object) key;
+            }
+            if (intKeys.length > 1) {
+                long key = table.getKey1(group);
+                tuple[1] = intKeys[1] ? (Object) (int) key : (Object) key;
+            }
+            for (int i = 0; i < aggList.size(); ++i) {
+                tuple[intKeys.length + i] = table.getValue(i, group);
+            }
+            ++group;
+            return tuple;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
+import java.util.List;
 
 public interface JobManager {
     default Job createJob(long startTs, long jobSeqId, CommonId txnId, DingoType parasType) {
@@ -42,6 +43,16 @@ public interface JobManager {
 
     @NonNull Iterator<Object[]> createIterator(@NonNull Job job, Object @Nullable [] paras, long takeNextTimeout);
 
+    /**
+     * Run the job once for all the rows of parameters. The job must have a single values source in the root task,
+     * and the parameters must be used only by the operators fed by it in the same task.
+     *
+     * @param job        the job
+     * @param batchParas the rows of parameters, not empty
+     * @return the iterator of the results of all the rows
+     */
+    @NonNull Iterator<Object[]> createIterator(@NonNull Job job, @NonNull List<Object[]> batchParas);
+
     void close();
 
     void cancel(CommonId jobId);
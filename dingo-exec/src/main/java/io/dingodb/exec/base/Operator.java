@@ -19,6 +19,8 @@ package io.dingodb.exec.base;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.TupleBatch;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface Operator {
@@ -33,6 +35,23 @@ public interface Operator {
      */
     boolean push(Context context, @Nullable Object[] tuple, Vertex vertex);
 
+    /**
+     * Push a batch of tuples to the operator. Operators which can process tuples in batch should override this, the
+     * default implementation pushes the tuples one by one.
+     *
+     * @param context the input pin no and distribution
+     * @param batch   the tuples pushed in, must not be kept after return
+     * @return `true` means another push needed, `false` means the task is canceled or finished
+     */
+    default boolean pushBatch(Context context, @NonNull TupleBatch batch, Vertex vertex) {
+        for (int i = 0; i < batch.size(); ++i) {
+            if (!push(context, batch.get(i), vertex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void fin(int pin, @Nullable Fin fin, Vertex vertex);
 
     void setParas(Object[] paras);
@@ -90,6 +90,16 @@ public interface Task {
     }
     void setTxnId(CommonId txnId);
 
+    /**
+     * Move the task into another job, i.e. give it the ids of the job, of itself and of the transaction. Used to make
+     * a task from a template, see {@link io.dingodb.exec.impl.TaskTemplates}.
+     *
+     * @param jobId the job id
+     * @param id    the task id
+     * @param txnId the transaction id
+     */
+    void rebase(CommonId jobId, CommonId id, CommonId txnId);
+
     boolean getBachTask();
 
     void setBathTask(boolean bathTask);
@@ -29,7 +29,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 import static io.dingodb.exec.Services.CTRL_TAG;
 
@@ -40,7 +40,8 @@ public class ReceiveEndpoint {
     private final String host;
     private final int port;
     private final String tag;
-    private final Consumer<byte[]> handler;
+    // Called with the message content and length, must call `release` with the length after consuming it.
+    private final ObjIntConsumer<byte[]> handler;
 
     @Getter
     private boolean stopped;
@@ -48,7 +49,7 @@ public class ReceiveEndpoint {
     private Channel channel;
     private ReceiveMessageListener messageListener;
 
-    public ReceiveEndpoint(String host, int port, String tag, Consumer<byte[]> handler) {
+    public ReceiveEndpoint(String host, int port, String tag, ObjIntConsumer<byte[]> handler) {
         this.host = host;
         this.port = port;
         this.tag = tag;
@@ -75,6 +76,17 @@ public class ReceiveEndpoint {
         LogUtils.debug(log, "(tag = {}) Closed channel to {}:{}.", tag, host, port);
     }
 
+    /**
+     * Grant credits to the sender after a message is consumed.
+     *
+     * @param bytes the length of the message
+     */
+    public void release(int bytes) {
+        if (!stopped) {
+            sendIncreaseBuffer(bytes);
+        }
+    }
+
     private void sendStopTx() {
         StopTx control = new StopTx(tag);
         sendControl(control);
@@ -100,9 +112,8 @@ public class ReceiveEndpoint {
     private class ReceiveMessageListener implements MessageListener {
         @Override
         public void onMessage(@NonNull Message message, @NonNull Channel channel) {
-            sendIncreaseBuffer(message.length());
             final byte[] content = message.content();
-            handler.accept(content);
+            handler.accept(content, message.length());
         }
     }
 }
@@ -18,31 +18,52 @@ package io.dingodb.exec.channel;
 
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.exec.Services;
 import io.dingodb.net.BufferOutputStream;
 import io.dingodb.net.Channel;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * The sending side of an exchange. Messages are sent only if the receiver has granted enough credits in bytes,
+ * otherwise they are queued and sent by the thread delivering the next credits, so the sending thread is not parked
+ * unless the queued bytes exceed {@link #MAX_PENDING_BYTES}.
+ */
 @Slf4j
 public class SendEndpoint {
+    private static final int MAX_PENDING_BYTES = 4 * 1024 * 1024;
+
     private final String host;
     private final int port;
     @Getter
     private final String tag;
     private final byte[] binaryTag;
+    private final Deque<PendingMessage> pendingMessages;
 
     private Channel channel;
+    private long pendingBytes;
+    private boolean closing;
+    private CompletableFuture<Void> drained;
 
     public SendEndpoint(String host, int port, String tag) {
         this.host = host;
         this.port = port;
         this.tag = tag;
         this.binaryTag = PrimitiveCodec.encodeString(tag);
+        this.pendingMessages = new ArrayDeque<>();
+        this.pendingBytes = 0;
+        this.closing = false;
+        this.drained = CompletableFuture.completedFuture(null);
     }
 
     public void init() {
@@ -52,46 +73,106 @@ public class SendEndpoint {
         LogUtils.debug(log, "(tag = {}) Opened channel to {}:{}.", tag, host, port);
     }
 
+    /**
+     * Called when credits are granted or the receiver stopped.
+     */
     synchronized void wakeUp() {
-        notify();
+        AtomicInteger bufferCount = EndpointManager.INSTANCE.getBufferCount(tag);
+        while (!pendingMessages.isEmpty()) {
+            PendingMessage message = pendingMessages.peek();
+            if (bufferCount.get() < 0) {
+                // Receiver stopped, only the needed messages are sent.
+                if (message.needed) {
+                    channel.send(message.content, true);
+                }
+            } else if (tryAcquire(bufferCount, message.content.bytes())) {
+                channel.send(message.content, message.needed);
+            } else {
+                break;
+            }
+            pendingMessages.poll();
+            pendingBytes -= message.content.bytes();
+            DingoMetrics.timer("exchangeSendStall")
+                .update(System.currentTimeMillis() - message.queuedTime, TimeUnit.MILLISECONDS);
+        }
+        if (pendingBytes <= MAX_PENDING_BYTES / 2) {
+            drained.complete(null);
+        }
+        if (closing && pendingMessages.isEmpty()) {
+            doClose();
+        }
     }
 
-    synchronized boolean checkAvailableBufferCount(int size) {
-        boolean successful = false;
-        AtomicInteger bufferCount = EndpointManager.INSTANCE.getBufferCount(tag);
-        while (!successful) {
+    private static boolean tryAcquire(@NonNull AtomicInteger bufferCount, int size) {
+        while (true) {
             int origSize = bufferCount.get();
-            if (origSize < 0) {
+            if (origSize <= size) {
                 return false;
             }
-            if (origSize > size) {
-                successful = bufferCount.compareAndSet(origSize, origSize - size);
-            } else {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    LogUtils.warn(log, "Catch (tag = {}) Interrupted while waiting for channel to be ready.", tag);
-                }
+            if (bufferCount.compareAndSet(origSize, origSize - size)) {
+                return true;
             }
         }
-        return true;
     }
 
     public boolean send(BufferOutputStream content) {
         return send(content, false);
     }
 
+    /**
+     * Send a message, or queue it if there are not enough credits.
+     *
+     * @param content the message
+     * @param needed  {@code true} means the message must be sent even if the receiver stopped
+     * @return {@code false} if the receiver stopped
+     */
     public boolean send(@NonNull BufferOutputStream content, boolean needed) {
-        boolean ok = checkAvailableBufferCount(content.bytes());
-        if (ok || needed) {
-            channel.send(content, needed);
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            AtomicInteger bufferCount = EndpointManager.INSTANCE.getBufferCount(tag);
+            if (bufferCount.get() < 0) {
+                if (needed) {
+                    channel.send(content, true);
+                }
+                return false;
+            }
+            if (pendingMessages.isEmpty() && tryAcquire(bufferCount, content.bytes())) {
+                channel.send(content, needed);
+                return true;
+            }
+            pendingMessages.add(new PendingMessage(content, needed, System.currentTimeMillis()));
+            pendingBytes += content.bytes();
+            if (pendingBytes <= MAX_PENDING_BYTES) {
+                return true;
+            }
+            if (drained.isDone()) {
+                drained = new CompletableFuture<>();
+            }
+            future = drained;
         }
-        return ok;
+        // Too many bytes queued, wait for the receiver to catch up.
+        future.join();
+        return EndpointManager.INSTANCE.getBufferCount(tag).get() >= 0;
     }
 
-    public void close() {
+    /**
+     * Close the endpoint. If there are queued messages, the channel is closed after they are sent.
+     */
+    public synchronized void close() {
+        closing = true;
+        if (pendingMessages.isEmpty()) {
+            doClose();
+        }
+    }
+
+    private void doClose() {
+        if (channel == null) {
+            return;
+        }
         EndpointManager.INSTANCE.unregisterSendEndpoint(this);
         channel.close();
+        channel = null;
+        drained.complete(null);
         LogUtils.debug(log, "(tag = {}) Closed channel to {}:{}.", tag, host, port);
     }
 
@@ -100,4 +181,11 @@ public class SendEndpoint {
         bos.write(binaryTag);
         return bos;
     }
+
+    @AllArgsConstructor
+    private static class PendingMessage {
+        private final BufferOutputStream content;
+        private final boolean needed;
+        private final long queuedTime;
+    }
 }
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.TupleType;
+import io.dingodb.common.type.scalar.BinaryType;
+import io.dingodb.common.type.scalar.BooleanType;
+import io.dingodb.common.type.scalar.DateType;
+import io.dingodb.common.type.scalar.DecimalType;
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.FloatType;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import io.dingodb.common.type.scalar.StringType;
+import io.dingodb.common.type.scalar.TimeType;
+import io.dingodb.common.type.scalar.TimestampType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a list of tuples column by column. Each column is a null bitmap followed by the non-null values in
+ * primitive form, and string columns with few distinct values are dictionary encoded.
+ */
+public final class ColumnarTupleCodec implements TupleCodec {
+    private static final byte NO_NULLS = 0;
+    private static final byte HAS_NULLS = 1;
+    private static final byte PLAIN = 0;
+    private static final byte DICTIONARY = 1;
+
+    private final ColumnType[] columnTypes;
+
+    private ColumnarTupleCodec(ColumnType[] columnTypes) {
+        this.columnTypes = columnTypes;
+    }
+
+    /**
+     * Create a codec for the tuple type.
+     *
+     * @param type the tuple type
+     * @return the codec, or {@code null} if some of the fields are not scalars supported
+     */
+    public static @Nullable ColumnarTupleCodec of(@NonNull DingoType type) {
+        if (!(type instanceof TupleType)) {
+            return null;
+        }
+        ColumnType[] columnTypes = new ColumnType[type.fieldCount()];
+        for (int i = 0; i < columnTypes.length; ++i) {
+            columnTypes[i] = ColumnType.of(type.getChild(i));
+            if (columnTypes[i] == null) {
+                return null;
+            }
+        }
+        return new ColumnarTupleCodec(columnTypes);
+    }
+
+    @Override
+    public void encode(@NonNull OutputStream os, @NonNull List<Object @NonNull []> tuples) throws IOException {
+        DataOutputStream dos = new DataOutputStream(os);
+        int size = tuples.size();
+        dos.writeInt(size);
+        if (size == 0) {
+            dos.flush();
+            return;
+        }
+        Object[][] rows = tuples.toArray(new Object[0][]);
+        for (int i = 0; i < columnTypes.length; ++i) {
+            encodeColumn(dos, rows, i);
+        }
+        dos.flush();
+    }
+
+    @Override
+    public @NonNull List<Object[]> decode(@NonNull InputStream is) throws IOException {
+        DataInputStream dis = new DataInputStream(is);
+        List<Object[]> tuples = new ArrayList<>();
+        while (true) {
+            int size;
+            try {
+                size = dis.readInt();
+            } catch (EOFException e) {
+                break;
+            }
+            Object[][] rows = new Object[size][columnTypes.length];
+            for (int i = 0; i < columnTypes.length; ++i) {
+                decodeColumn(dis, rows, i);
+            }
+            tuples.addAll(Arrays.asList(rows));
+        }
+        return tuples;
+    }
+
+    private void encodeColumn(@NonNull DataOutputStream os, Object @NonNull [][] rows, int index) throws IOException {
+        byte[] nulls = null;
+        for (int i = 0; i < rows.length; ++i) {
+            if (rows[i][index] == null) {
+                if (nulls == null) {
+                    nulls = new byte[(rows.length + 7) / 8];
+                }
+                nulls[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        if (nulls == null) {
+            os.writeByte(NO_NULLS);
+        } else {
+            os.writeByte(HAS_NULLS);
+            os.write(nulls);
+        }
+        ColumnType columnType = columnTypes[index];
+        if (columnType == ColumnType.STRING) {
+            encodeStringColumn(os, rows, index);
+            return;
+        }
+        for (Object[] row : rows) {
+            Object value = row[index];
+            if (value != null) {
+                columnType.write(os, value);
+            }
+        }
+    }
+
+    private static void encodeStringColumn(
+        @NonNull DataOutputStream os,
+        Object @NonNull [][] rows,
+        int index
+    ) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        int count = 0;
+        for (Object[] row : rows) {
+            if (row[index] != null) {
+                dictionary.putIfAbsent((String) row[index], dictionary.size());
+                ++count;
+            }
+        }
+        // Dictionary is used only if each distinct value repeats at least twice on average.
+        if (dictionary.size() * 2 > count) {
+            os.writeByte(PLAIN);
+            for (Object[] row : rows) {
+                if (row[index] != null) {
+                    writeBytes(os, ((String) row[index]).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return;
+        }
+        os.writeByte(DICTIONARY);
+        String[] entries = new String[dictionary.size()];
+        dictionary.forEach((k, v) -> entries[v] = k);
+        os.writeInt(entries.length);
+        for (String entry : entries) {
+            writeBytes(os, entry.getBytes(StandardCharsets.UTF_8));
+        }
+        boolean byteCode = entries.length <= 256;
+        for (Object[] row : rows) {
+            if (row[index] != null) {
+                int code = dictionary.get((String) row[index]);
+                if (byteCode) {
+                    os.writeByte(code);
+                } else {
+                    os.writeInt(code);
+                }
+            }
+        }
+    }
+
+    private void decodeColumn(@NonNull DataInputStream is, Object @NonNull [][] rows, int index) throws IOException {
+        byte[] nulls = null;
+        if (is.readByte() == HAS_NULLS) {
+            nulls = new byte[(rows.length + 7) / 8];
+            is.readFully(nulls);
+        }
+        ColumnType columnType = columnTypes[index];
+        String[] entries = null;
+        if (columnType == ColumnType.STRING && is.readByte() == DICTIONARY) {
+            entries = new String[is.readInt()];
+            for (int i = 0; i < entries.length; ++i) {
+                entries[i] = new String(readBytes(is), StandardCharsets.UTF_8);
+            }
+        }
+        for (int i = 0; i < rows.length; ++i) {
+            if (nulls != null && (nulls[i >> 3] & (1 << (i & 7))) != 0) {
+                continue;
+            }
+            if (entries != null) {
+                rows[i][index] = entries[entries.length <= 256 ? is.readUnsignedByte() : is.readInt()];
+            } else {
+                rows[i][index] = columnType.read(is);
+            }
+        }
+    }
+
+    private static void writeBytes(@NonNull DataOutputStream os, byte @NonNull [] bytes) throws IOException {
+        os.writeInt(bytes.length);
+        os.write(bytes);
+    }
+
+    private static byte @NonNull [] readBytes(@NonNull DataInputStream is) throws IOException {
+        byte[] bytes = new byte[is.readInt()];
+        is.readFully(bytes);
+        return bytes;
+    }
+
+    private enum ColumnType {
+        INT {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeInt(((Number) value).intValue());
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return is.readInt();
+            }
+        },
+        LONG {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeLong(((Number) value).longValue());
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return is.readLong();
+            }
+        },
+        FLOAT {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeFloat(((Number) value).floatValue());
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return is.readFloat();
+            }
+        },
+        DOUBLE {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeDouble(((Number) value).doubleValue());
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return is.readDouble();
+            }
+        },
+        BOOLEAN {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeBoolean((Boolean) value);
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return is.readBoolean();
+            }
+        },
+        // Written by `encodeStringColumn`.
+        STRING {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                writeBytes(os, ((String) value).getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return new String(readBytes(is), StandardCharsets.UTF_8);
+            }
+        },
+        DECIMAL {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                writeBytes(os, value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return new BigDecimal(new String(readBytes(is), StandardCharsets.UTF_8));
+            }
+        },
+        BINARY {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                writeBytes(os, (byte[]) value);
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return readBytes(is);
+            }
+        },
+        DATE {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeLong(((java.util.Date) value).getTime());
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return new Date(is.readLong());
+            }
+        },
+        TIME {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeLong(((java.util.Date) value).getTime());
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return new Time(is.readLong());
+            }
+        },
+        TIMESTAMP {
+            @Override
+            void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException {
+                os.writeLong(((java.util.Date) value).getTime());
+            }
+
+            @Override
+            Object read(@NonNull DataInputStream is) throws IOException {
+                return new Timestamp(is.readLong());
+            }
+        };
+
+        static @Nullable ColumnType of(DingoType type) {
+            if (type instanceof IntegerType) {
+                return INT;
+            } else if (type instanceof LongType) {
+                return LONG;
+            } else if (type instanceof FloatType) {
+                return FLOAT;
+            } else if (type instanceof DoubleType) {
+                return DOUBLE;
+            } else if (type instanceof BooleanType) {
+                return BOOLEAN;
+            } else if (type instanceof StringType) {
+                return STRING;
+            } else if (type instanceof DecimalType) {
+                return DECIMAL;
+            } else if (type instanceof BinaryType) {
+                return BINARY;
+            } else if (type instanceof DateType) {
+                return DATE;
+            } else if (type instanceof TimeType) {
+                return TIME;
+            } else if (type instanceof TimestampType) {
+                return TIMESTAMP;
+            }
+            return null;
+        }
+
+        abstract void write(@NonNull DataOutputStream os, @NonNull Object value) throws IOException;
+
+        abstract Object read(@NonNull DataInputStream is) throws IOException;
+    }
+}
@@ -26,11 +26,13 @@ import io.dingodb.exec.tuple.TupleId;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class TxRxCodecImpl implements TxRxCodec {
@@ -38,11 +40,13 @@ public class TxRxCodecImpl implements TxRxCodec {
     public static final int NORMAL_FIN_FLAG = 1;
     public static final int ABNORMAL_FIN_FLAG = 2;
     public static final int TUPLES_ID_FLAG = 3;
+    public static final int TUPLES_ID_RUNS_FLAG = 4;
 
     private final TupleCodec codec;
 
     public TxRxCodecImpl(@NonNull DingoType schema) {
-        this.codec = new AvroTupleCodec(schema);
+        TupleCodec columnarCodec = ColumnarTupleCodec.of(schema);
+        this.codec = columnarCodec != null ? columnarCodec : new AvroTupleCodec(schema);
     }
 
     @Override
@@ -53,14 +57,31 @@ public class TxRxCodecImpl implements TxRxCodec {
 
     @Override
     public void encodeTupleIds(OutputStream os, List<TupleId> tupleIds) throws IOException {
-        os.write(TUPLES_ID_FLAG);
-        os.write(PrimitiveCodec.encodeInt(tupleIds.size()));
-        List<Object[]> tuples = new ArrayList<>();
+        // Consecutive tuples usually share the same part and index, so write the ids once for each run.
+        os.write(TUPLES_ID_RUNS_FLAG);
+        List<Object[]> tuples = new ArrayList<>(tupleIds.size());
+        List<Integer> runLengths = new ArrayList<>();
+        List<TupleId> runHeads = new ArrayList<>();
+        TupleId head = null;
         for (TupleId tupleId : tupleIds) {
-            os.write(tupleId.getPartId().encode());
-            os.write(tupleId.getIndexId() == null ? CommonId.EMPTY_INDEX.encode(): tupleId.getIndexId().encode());
+            if (head == null
+                || !head.getPartId().equals(tupleId.getPartId())
+                || !Objects.equals(head.getIndexId(), tupleId.getIndexId())
+            ) {
+                head = tupleId;
+                runHeads.add(head);
+                runLengths.add(0);
+            }
+            runLengths.set(runLengths.size() - 1, runLengths.get(runLengths.size() - 1) + 1);
             tuples.add(tupleId.getTuple());
         }
+        os.write(PrimitiveCodec.encodeInt(runHeads.size()));
+        for (int i = 0; i < runHeads.size(); ++i) {
+            TupleId tupleId = runHeads.get(i);
+            os.write(PrimitiveCodec.encodeInt(runLengths.get(i)));
+            os.write(tupleId.getPartId().encode());
+            os.write(tupleId.getIndexId() == null ? CommonId.EMPTY_INDEX.encode() : tupleId.getIndexId().encode());
+        }
         codec.encode(os, tuples);
     }
 
@@ -111,8 +132,41 @@ public class TxRxCodecImpl implements TxRxCodec {
                     );
                 }
                 return tupleIds;
+            case TUPLES_ID_RUNS_FLAG:
+                return decodeTupleIdRuns(is);
             default:
         }
         throw new IllegalStateException("Unexpected data message flag \"" + flag + "\".");
     }
+
+    private @NonNull List<TupleId> decodeTupleIdRuns(@NonNull ByteArrayInputStream is) throws IOException {
+        DataInputStream dis = new DataInputStream(is);
+        int runs = dis.readInt();
+        int[] runLengths = new int[runs];
+        CommonId[] partIds = new CommonId[runs];
+        CommonId[] indexIds = new CommonId[runs];
+        byte[] bytes = new byte[CommonId.LEN];
+        for (int i = 0; i < runs; ++i) {
+            runLengths[i] = dis.readInt();
+            dis.readFully(bytes);
+            partIds[i] = CommonId.decode(bytes);
+            dis.readFully(bytes);
+            CommonId indexId = CommonId.decode(bytes);
+            indexIds[i] = indexId.equals(CommonId.EMPTY_INDEX) ? null : indexId;
+        }
+        List<Object[]> tuples = codec.decode(is);
+        List<TupleId> tupleIds = new ArrayList<>(tuples.size());
+        int index = 0;
+        for (int i = 0; i < runs; ++i) {
+            for (int j = 0; j < runLengths[i]; ++j) {
+                tupleIds.add(TupleId.builder()
+                    .partId(partIds[i])
+                    .tuple(tuples.get(index++))
+                    .indexId(indexIds[i])
+                    .build()
+                );
+            }
+        }
+        return tupleIds;
+    }
 }
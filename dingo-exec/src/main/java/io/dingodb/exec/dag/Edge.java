@@ -23,6 +23,7 @@ import io.dingodb.exec.base.Status;
 import io.dingodb.exec.exception.TaskCancelException;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.TupleBatch;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -58,6 +59,19 @@ public class Edge {
         return OperatorFactory.getInstance(next.getOp()).push(context.setPin(previous.getPin()), tuple, next);
     }
 
+    public boolean transformToNext(Context context, TupleBatch batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        if (next.getTask().getStatus() == Status.CANCEL) {
+            LogUtils.info(log, "task status is cancel");
+            throw new TaskCancelException("task is cancel");
+        } else if (next.getTask().getStatus() == Status.STOPPED) {
+            return false;
+        }
+        return OperatorFactory.getInstance(next.getOp()).pushBatch(context.setPin(previous.getPin()), batch, next);
+    }
+
     public void fin(Fin fin) {
         OperatorFactory.getInstance(next.getOp()).fin(previous.getPin(), fin, next);
     }
@@ -42,7 +42,9 @@ public class SqlExpr {
     private final String exprString;
     @JsonProperty("type")
     private final DingoType type;
-    private transient SqlExprEvalContext etx = new SqlExprEvalContext();
+    // The compiled expr is shared, and operators may evaluate the same expression in several threads.
+    private transient ThreadLocal<SqlExprEvalContext> etx = ThreadLocal.withInitial(SqlExprEvalContext::new);
+    private transient volatile Object[] paras;
     private transient Expr expr;
 
     @JsonCreator
@@ -52,8 +54,6 @@ public class SqlExpr {
     ) {
         this.exprString = exprString;
         this.type = type;
-        // TODO: Runtime env
-//        this.etx = new SqlExprEvalContext();
     }
 
     private Expr getExpr() throws ExprParseException {
@@ -74,22 +74,27 @@ public class SqlExpr {
     }
 
     public void compileIn(DingoType tupleType, DingoType parasType) {
-        try {
-            CompileContext context = new SqlExprCompileContext(tupleType, parasType);
-            expr = ExprCompiler.ADVANCED.visit(getExpr(), context);
-            etx = new SqlExprEvalContext();
-        } catch (ExprParseException | ExprCompileException e) {
-            throw new IllegalStateException(e);
-        }
+        // Always create the context, for it resets the ids of paras type.
+        CompileContext context = new SqlExprCompileContext(tupleType, parasType);
+        expr = SqlExprCache.get(exprString, tupleType, parasType, () -> {
+            try {
+                return ExprCompiler.ADVANCED.visit(getExpr(), context);
+            } catch (ExprParseException | ExprCompileException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        etx = ThreadLocal.withInitial(SqlExprEvalContext::new);
     }
 
     public void setParas(Object[] paras) {
-        etx.setParas(paras);
+        this.paras = paras;
     }
 
     public Object eval(Object[] tuple) {
-        etx.setTuple(tuple);
-        return type.convertFrom(expr.eval(etx, ExprConfig.ADVANCED), ExprConverter.INSTANCE);
+        SqlExprEvalContext context = etx.get();
+        context.setParas(paras);
+        context.setTuple(tuple);
+        return type.convertFrom(expr.eval(context, ExprConfig.ADVANCED), ExprConverter.INSTANCE);
     }
 
     public SqlExpr copy() {
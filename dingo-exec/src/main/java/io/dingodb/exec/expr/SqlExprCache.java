@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.expr.runtime.expr.Expr;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of compiled expressions, so that tasks of the same statement do not parse and compile their
+ * expressions again. A compiled {@link Expr} holds no evaluation state, so it is shared by all the {@link SqlExpr}s
+ * with the same key, while each of them keeps its own {@link SqlExprEvalContext}s.
+ */
+public final class SqlExprCache {
+    private static final long MAX_SIZE = 10000;
+
+    private static final Cache<Key, Expr> CACHE = CacheBuilder.newBuilder()
+        .maximumSize(MAX_SIZE)
+        .build();
+
+    private SqlExprCache() {
+    }
+
+    /**
+     * Get the compiled expression from the cache, or compile it and put it into the cache.
+     *
+     * @param exprString the expression string
+     * @param tupleType  the tuple type
+     * @param parasType  the type of the sql parameters
+     * @param compiler   compiles the expression on a miss
+     * @return the compiled expression
+     */
+    public static @NonNull Expr get(
+        @NonNull String exprString,
+        @Nullable DingoType tupleType,
+        @Nullable DingoType parasType,
+        @NonNull Supplier<Expr> compiler
+    ) {
+        Key key = new Key(exprString, tupleType, parasType);
+        Expr expr = CACHE.getIfPresent(key);
+        if (expr != null) {
+            DingoMetrics.counter("sql_expr_cache_hit").inc();
+            return expr;
+        }
+        try {
+            return CACHE.get(key, () -> {
+                DingoMetrics.counter("sql_expr_cache_miss").inc();
+                return compiler.get();
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final String exprString;
+        private final DingoType tupleType;
+        private final DingoType parasType;
+    }
+}
@@ -16,7 +16,7 @@
 
 package io.dingodb.exec.fun.vector;
 
-import io.dingodb.common.exception.DingoSqlException;
+import io.dingodb.common.vector.VectorDistanceUtils;
 import io.dingodb.expr.runtime.ExprConfig;
 import io.dingodb.expr.runtime.op.BinaryOp;
 import io.dingodb.expr.runtime.op.OpKey;
@@ -38,24 +38,11 @@ public class VectorIPDistanceFun extends BinaryVectorVectorFun {
     private static final long serialVersionUID = 7869256649847747534L;
 
     public static double innerProduct(List<Float> vectorA, List<Float> vectorB) {
-        double dotProduct = 0.0;
-        for (int i = 0; i < vectorA.size(); i++) {
-            dotProduct += vectorA.get(i) * vectorB.get(i);
-        }
-        return 1 - dotProduct;
+        return VectorDistanceUtils.innerProductDistance(vectorA, vectorB);
     }
 
     public static double innerProductCombine(List<Float> vectorA, List<Number> vectorB) {
-        if (vectorA != null && vectorA.size() != vectorB.size()) {
-            throw new DingoSqlException(
-                "The dimensions of the source vector and the target vector must be consistent",5001, "45000"
-            );
-        }
-        double dotProduct = 0.0;
-        for (int i = 0; i < vectorA.size(); i++) {
-            dotProduct += vectorA.get(i) * vectorB.get(i).floatValue();
-        }
-        return 1 - dotProduct;
+        return VectorDistanceUtils.innerProductDistance(vectorA, vectorB);
     }
 
     @Override
@@ -32,12 +32,15 @@ import io.dingodb.exec.base.JobManager;
 import io.dingodb.exec.base.Status;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.base.TaskManager;
+import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.impl.message.CancelTaskMessage;
 import io.dingodb.exec.impl.message.CreateTaskMessage;
 import io.dingodb.exec.impl.message.DestroyTaskMessage;
 import io.dingodb.exec.impl.message.RunTaskMessage;
 import io.dingodb.exec.impl.message.TaskMessage;
+import io.dingodb.exec.impl.message.TemplateTaskMessage;
 import io.dingodb.exec.operator.params.RootParam;
+import io.dingodb.exec.operator.params.ValuesParam;
 import io.dingodb.exec.transaction.base.ITransaction;
 import io.dingodb.exec.transaction.impl.TransactionManager;
 import io.dingodb.meta.MetaService;
@@ -48,8 +51,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -61,6 +66,9 @@ public final class JobManagerImpl implements JobManager {
 
     private final Map<CommonId, Job> jobMap = new ConcurrentHashMap<>();
     private final Map<Location, Channel> channelMap;
+    // Templates of the tasks sent on the channels opened here, and of the tasks received on the channels accepted.
+    private final Map<Channel, TaskTemplates> sentTemplates = new ConcurrentHashMap<>();
+    private final Map<Channel, TaskTemplates> receivedTemplates = new ConcurrentHashMap<>();
     @Getter
     private final TaskManager taskManager;
     private final IdGenerator idGenerator;
@@ -134,6 +142,25 @@ public final class JobManagerImpl implements JobManager {
         return createIterator(job, paras);
     }
 
+    @Override
+    public @NonNull Iterator<Object[]> createIterator(@NonNull Job job, @NonNull List<Object[]> batchParas) {
+        if (job.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        List<ValuesParam> valuesParams = new ArrayList<>();
+        for (Vertex vertex : job.getRoot().getVertexes().values()) {
+            if (vertex.getParam() instanceof ValuesParam) {
+                valuesParams.add(vertex.getParam());
+            }
+        }
+        if (valuesParams.size() != 1) {
+            throw new IllegalStateException("Parameters can be bound in batch only to a single values source.");
+        }
+        valuesParams.get(0).setBatchParas(batchParas);
+        DingoMetrics.histogram("batch_paras_size", batchParas.size());
+        return createIterator(job, batchParas.get(0));
+    }
+
     @Override
     public void close() {
         channelMap.values().forEach(Channel::close);
@@ -175,7 +202,23 @@ public final class JobManagerImpl implements JobManager {
             // Currently only root task is run at localhost, if a task is at localhost but not root task,
             // it is just ignored. Just distribute all the tasks to avoid this.
             try {
-                sendTaskMessage(task, new Message(TASK_TAG, new CreateTaskMessage(task).toBytes()));
+                Channel channel = getChannel(task.getLocation());
+                TaskTemplates templates = sentTemplates.computeIfAbsent(
+                    channel,
+                    ch -> new TaskTemplates(TaskTemplates.CAPACITY)
+                );
+                // Encode and send under the lock, so the templates are updated in the order of the messages.
+                synchronized (templates) {
+                    byte[] content = templates.encode(task).toBytes();
+                    DingoMetrics.histogram("task_message_size", content.length);
+                    try {
+                        sendTaskMessage(task, channel, new Message(TASK_TAG, content));
+                    } catch (Exception e) {
+                        // Not known whether the remote end got the template.
+                        sentTemplates.remove(channel, templates);
+                        throw e;
+                    }
+                }
             } catch (Exception e) {
                 LogUtils.error(log, "jobId:{}, Error to distribute tasks.", job.getJobId(), e);
                 throw new RuntimeException("jobId:" + job.getJobId() + "taskId:" + task.getId() + ", Error to distribute tasks.", e);
@@ -193,13 +236,23 @@ public final class JobManagerImpl implements JobManager {
         }
     }
 
-    private void sendTaskMessage(@NonNull Task task, Message message) {
-        Location location = task.getLocation();
+    private @NonNull Channel getChannel(@NonNull Location location) {
         Channel channel = channelMap.computeIfAbsent(
             location,
             l -> Services.openNewSysChannel(l.getHost(), l.getPort())
         );
-        channel.setCloseListener(__ -> channelMap.remove(location));
+        channel.setCloseListener(ch -> {
+            channelMap.remove(location, ch);
+            sentTemplates.remove(ch);
+        });
+        return channel;
+    }
+
+    private void sendTaskMessage(@NonNull Task task, Message message) {
+        sendTaskMessage(task, getChannel(task.getLocation()), message);
+    }
+
+    private void sendTaskMessage(@NonNull Task task, @NonNull Channel channel, Message message) {
         channel.send(message);
         ITransaction transaction = TransactionManager.getTransaction(task.getTxnId());
         if (transaction != null) {
@@ -207,7 +260,7 @@ public final class JobManagerImpl implements JobManager {
         }
     }
 
-    public void processMessage(@NonNull Message message) {
+    public void processMessage(@NonNull Message message, @NonNull Channel channel) {
         final Timer.Context timeCtx = DingoMetrics.getTimeContext("deserialize");
         TaskMessage taskMessage;
         try {
@@ -219,6 +272,8 @@ public final class JobManagerImpl implements JobManager {
         timeCtx.stop();
         if (taskMessage instanceof CreateTaskMessage) {
             processCommand((CreateTaskMessage) taskMessage);
+        } else if (taskMessage instanceof TemplateTaskMessage) {
+            processCommand((TemplateTaskMessage) taskMessage, channel);
         } else if (taskMessage instanceof RunTaskMessage) {
             processCommand((RunTaskMessage) taskMessage);
         } else if (taskMessage instanceof CancelTaskMessage) {
@@ -232,14 +287,24 @@ public final class JobManagerImpl implements JobManager {
         final long startTime = System.currentTimeMillis();
         try {
             Task task = cmd.getTask();
-            // 1、cross node need add transaction
-            // 2、check whether the current node can execute transactions
-            ITransaction transaction = TransactionManager.getTransaction(task.getTxnId() == null ? CommonId.EMPTY_TRANSACTION : task.getTxnId());
-            if (transaction == null) {
-                TransactionManager.createTransaction(task.getTransactionType(),
-                    task.getTxnId() == null ? CommonId.EMPTY_TRANSACTION : task.getTxnId(),
-                    task.getIsolationLevel().getCode());
-            }
+            prepareTransaction(task);
+            taskManager.addTask(task);
+        } finally {
+            final long cost = System.currentTimeMillis() - startTime;
+            LogUtils.debug(log, "jobTime cost: {}ms.", cost);
+            DingoMetrics.latency("on_task_message", cost);
+        }
+    }
+
+    private void processCommand(@NonNull TemplateTaskMessage cmd, @NonNull Channel channel) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            TaskTemplates templates = receivedTemplates.computeIfAbsent(channel, ch -> {
+                ch.setCloseListener(receivedTemplates::remove);
+                return new TaskTemplates(TaskTemplates.CAPACITY);
+            });
+            Task task = templates.decode(cmd);
+            prepareTransaction(task);
             taskManager.addTask(task);
         } finally {
             final long cost = System.currentTimeMillis() - startTime;
@@ -250,9 +315,27 @@ public final class JobManagerImpl implements JobManager {
 
     private void processCommand(@NonNull RunTaskMessage cmd) {
         Task task = taskManager.getTask(cmd.getJobId(), cmd.getTaskId());
+        CommonId txnId = cmd.getTxnId();
+        if (txnId != null && !txnId.equals(task.getTxnId())) {
+            // The job of a prepared statement is reused by a new transaction, only the ids and parameters are sent,
+            // so rebase the task created before, the same as `JobImpl::setTxnId` does at the coordinator.
+            task.setTxnId(txnId);
+            task.setBathTask(true);
+            prepareTransaction(task);
+        }
         task.run(cmd.getParas());
     }
 
+    private static void prepareTransaction(@NonNull Task task) {
+        // 1、cross node need add transaction
+        // 2、check whether the current node can execute transactions
+        CommonId txnId = task.getTxnId() == null ? CommonId.EMPTY_TRANSACTION : task.getTxnId();
+        ITransaction transaction = TransactionManager.getTransaction(txnId);
+        if (transaction == null) {
+            TransactionManager.createTransaction(task.getTransactionType(), txnId, task.getIsolationLevel().getCode());
+        }
+    }
+
     private void processCommand(@NonNull CancelTaskMessage cmd) {
         Task task = taskManager.getTask(cmd.getJobId(), cmd.getTaskId());
         task.cancel();
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.common.concurrent.ThreadPoolBuilder;
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.log.MdcUtils;
+import io.dingodb.common.metrics.DingoMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Runs morsels, i.e. small independent pieces of a scan, on the calling thread and on helper threads. All the
+ * threads take morsels from the same queue, so a thread finishing its morsel early just takes the next one, and a
+ * slow morsel holds up only the thread running it.
+ *
+ * <p>Helpers come from a pool bounded by the number of processors and shared by all the tasks of the executor. A
+ * helper is only started if a thread is free at once, otherwise the calling thread does the work by itself, so the
+ * executor is never oversubscribed and a task never waits for a helper to start.
+ */
+@Slf4j
+public final class MorselScheduler {
+    private static final String NAME = "MORSEL";
+
+    private static final ThreadPoolExecutor POOL = new ThreadPoolBuilder()
+        .name(NAME)
+        .coreThreads(0)
+        .maximumThreads(ThreadPoolBuilder.AVAILABLE_PROCESSORS)
+        .keepAliveSeconds(TimeUnit.MINUTES.toSeconds(1))
+        .workQueue(new SynchronousQueue<>())
+        .daemon(true)
+        .group(new ThreadGroup(NAME))
+        .build();
+
+    private MorselScheduler() {
+    }
+
+    /**
+     * Process all the morsels and return after all of them are done. The first error stops the threads from taking
+     * more morsels, and is thrown after the running ones are done.
+     *
+     * @param morsels     the morsels
+     * @param parallelism max number of threads to use, including the calling thread
+     * @param processor   processes a morsel, returns the morsels to process in place of it, e.g. the new ranges of a
+     *                    split region, usually empty
+     * @param <T>         type of the morsels
+     */
+    public static <T> void run(
+        @NonNull Collection<T> morsels,
+        int parallelism,
+        @NonNull Function<T, Collection<T>> processor
+    ) {
+        ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>(morsels);
+        AtomicBoolean stopped = new AtomicBoolean(false);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        int helpers = Math.min(parallelism, morsels.size()) - 1;
+        String txnId = MdcUtils.getTxnId();
+        List<CountDownLatch> started = new ArrayList<>(Math.max(helpers, 0));
+        for (int i = 0; i < helpers; ++i) {
+            CountDownLatch done = new CountDownLatch(1);
+            try {
+                POOL.execute(() -> {
+                    MdcUtils.setTxnId(txnId);
+                    try {
+                        drain(queue, stopped, error, processor);
+                    } finally {
+                        MdcUtils.removeTxnId();
+                        done.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+            started.add(done);
+        }
+        DingoMetrics.histogram("morsel_helpers", started.size());
+        drain(queue, stopped, error, processor);
+        for (CountDownLatch done : started) {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped.set(true);
+                throw new RuntimeException(e);
+            }
+        }
+        Throwable throwable = error.get();
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        } else if (throwable != null) {
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    private static <T> void drain(
+        @NonNull ConcurrentLinkedQueue<T> queue,
+        @NonNull AtomicBoolean stopped,
+        @NonNull AtomicReference<Throwable> error,
+        @NonNull Function<T, Collection<T>> processor
+    ) {
+        T morsel;
+        while (!stopped.get() && (morsel = queue.poll()) != null) {
+            try {
+                queue.addAll(processor.apply(morsel));
+            } catch (Throwable e) {
+                LogUtils.error(log, "Failed to process morsel: {}", e.getMessage());
+                error.compareAndSet(null, e);
+                stopped.set(true);
+            }
+        }
+    }
+}
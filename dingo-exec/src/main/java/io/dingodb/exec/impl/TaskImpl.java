@@ -72,12 +72,12 @@ public final class TaskImpl implements Task {
     @Getter
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
     @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
-    private final CommonId id;
+    private CommonId id;
     @JsonProperty("jobId")
     @Getter
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
     @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
-    private final CommonId jobId;
+    private CommonId jobId;
     @JsonProperty("txnId")
     @Getter
     @Setter
@@ -304,6 +304,13 @@ public final class TaskImpl implements Task {
         return true;
     }
 
+    @Override
+    public void rebase(CommonId jobId, CommonId id, CommonId txnId) {
+        this.jobId = jobId;
+        this.id = id;
+        this.txnId = txnId;
+    }
+
     @Override
     public boolean getBachTask() {
         return bachTask;
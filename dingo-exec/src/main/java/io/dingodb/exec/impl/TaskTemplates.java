@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import com.google.common.hash.Hashing;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.impl.message.CreateTaskMessage;
+import io.dingodb.exec.impl.message.TemplateTaskMessage;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Templates of the tasks sent on a channel. A template is a task with the ids of its job, of itself and of its
+ * transaction cleared, so the tasks of the same plan in different jobs share a template as long as nothing else, e.g.
+ * the regions or the timestamps, differs. The templates are keyed by the digest of their content.
+ *
+ * <p>The coordinator and the executor each keep one for a channel and update it in the order of the messages on the
+ * channel, with the same capacity and the same eviction, so the coordinator always knows which templates the executor
+ * holds, and sends only the digest and the ids for those.
+ */
+public final class TaskTemplates {
+    public static final int CAPACITY = 256;
+
+    private final Map<String, byte[]> templates;
+
+    public TaskTemplates(int capacity) {
+        templates = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 3284517310928342817L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Make the template of a task. Note that the task is rebased to cleared ids during the call.
+     *
+     * @param task the task
+     * @return the serialized template
+     */
+    public static byte @NonNull [] template(@NonNull Task task) {
+        CommonId jobId = task.getJobId();
+        CommonId id = task.getId();
+        CommonId txnId = task.getTxnId();
+        // Keep the seq of the task id, for the ids of the operators are derived from it.
+        task.rebase(CommonId.EMPTY_JOB, new CommonId(CommonId.CommonType.TASK, 0, id.seq), CommonId.EMPTY_TRANSACTION);
+        try {
+            return new CreateTaskMessage(task).toBytes();
+        } finally {
+            task.rebase(jobId, id, txnId);
+        }
+    }
+
+    public static @NonNull String digest(byte @NonNull [] template) {
+        return Hashing.sha256().hashBytes(template).toString();
+    }
+
+    /**
+     * Make the message to create a task at the remote end, and record the template as held by the remote end. Must be
+     * called in the order of the messages sent on the channel.
+     *
+     * @param task the task
+     * @return the message
+     */
+    public synchronized @NonNull TemplateTaskMessage encode(@NonNull Task task) {
+        byte[] template = template(task);
+        String digest = digest(template);
+        if (templates.get(digest) != null) {
+            DingoMetrics.counter("task_template_hit").inc();
+            return new TemplateTaskMessage(digest, task.getJobId(), task.getId(), task.getTxnId(), null);
+        }
+        DingoMetrics.counter("task_template_miss").inc();
+        templates.put(digest, template);
+        return new TemplateTaskMessage(digest, task.getJobId(), task.getId(), task.getTxnId(), template);
+    }
+
+    /**
+     * Make the task of a message received, and record the template if it is carried. Must be called in the order of
+     * the messages received on the channel.
+     *
+     * @param message the message
+     * @return the task
+     */
+    public synchronized @NonNull Task decode(@NonNull TemplateTaskMessage message) {
+        String digest = message.getDigest();
+        byte[] template = message.getTemplate();
+        if (template != null) {
+            templates.put(digest, template);
+        } else {
+            template = templates.get(digest);
+            if (template == null) {
+                throw new IllegalStateException("Task template \"" + digest + "\" not found.");
+            }
+        }
+        CreateTaskMessage createTaskMessage = ProtostuffCodec.read(template);
+        Task task = createTaskMessage.getTask();
+        task.rebase(message.getJobId(), message.getTaskId(), message.getTxnId());
+        return task;
+    }
+
+    public synchronized int size() {
+        return templates.size();
+    }
+}
@@ -45,6 +45,12 @@ public class RunTaskMessage extends TaskMessage {
     @JsonSerialize(using = CommonId.JacksonSerializer.class)
     @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
     private final CommonId taskId;
+    // The transaction to run in, if the task is reused by another transaction than the one it was created in.
+    @JsonProperty("txn")
+    @Getter
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final @Nullable CommonId txnId;
     @JsonProperty("parasType")
     @Getter
     private final @NonNull DingoType parasType;
@@ -54,11 +60,13 @@ public class RunTaskMessage extends TaskMessage {
     public RunTaskMessage(
         CommonId jobId,
         CommonId taskId,
+        @Nullable CommonId txnId,
         @NonNull DingoType parasType,
         Object @Nullable [] paras
     ) {
         this.jobId = jobId;
         this.taskId = taskId;
+        this.txnId = txnId;
         this.parasType = parasType;
         this.paras = paras;
     }
@@ -68,13 +76,14 @@ public class RunTaskMessage extends TaskMessage {
         @NonNull DingoType parasType,
         Object @Nullable [] paras
     ) {
-        this(task.getJobId(), task.getId(), parasType, paras);
+        this(task.getJobId(), task.getId(), task.getTxnId(), parasType, paras);
     }
 
     @JsonCreator
     public static @NonNull RunTaskMessage fromJson(
         @JsonProperty("job") CommonId jobId,
         @JsonProperty("task") CommonId taskId,
+        @JsonProperty("txn") CommonId txnId,
         @NonNull @JsonProperty("parasType") DingoType parasType,
         @JsonDeserialize(using = RawJsonDeserializer.class)
         @JsonProperty("paras") JsonNode paras
@@ -83,7 +92,7 @@ public class RunTaskMessage extends TaskMessage {
         if (paras != null) {
             newParas = (Object[]) parasType.convertFrom(paras, JsonConverter.INSTANCE);
         }
-        return new RunTaskMessage(jobId, taskId, parasType, newParas);
+        return new RunTaskMessage(jobId, taskId, txnId, parasType, newParas);
     }
 
     @JsonProperty("paras")
@@ -33,6 +33,7 @@ import java.nio.charset.StandardCharsets;
     @JsonSubTypes.Type(CreateTaskMessage.class),
     @JsonSubTypes.Type(RunTaskMessage.class),
     @JsonSubTypes.Type(DestroyTaskMessage.class),
+    @JsonSubTypes.Type(TemplateTaskMessage.class),
 })
 @Slf4j
 public abstract class TaskMessage {
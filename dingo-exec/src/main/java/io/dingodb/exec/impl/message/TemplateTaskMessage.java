@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl.message;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.CommonId;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Creates a task from a template, see {@link io.dingodb.exec.impl.TaskTemplates}. The template is carried only the
+ * first time it is sent on a channel, later only its digest and the ids are sent.
+ */
+@JsonTypeName("template")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TemplateTaskMessage extends TaskMessage {
+    @JsonProperty("digest")
+    @Getter
+    private final String digest;
+    @JsonProperty("job")
+    @Getter
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final CommonId jobId;
+    @JsonProperty("task")
+    @Getter
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final CommonId taskId;
+    @JsonProperty("txn")
+    @Getter
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final CommonId txnId;
+    // Null if the remote end holds the template already.
+    @JsonProperty("template")
+    @Getter
+    private final byte[] template;
+
+    @JsonCreator
+    public TemplateTaskMessage(
+        @JsonProperty("digest") @NonNull String digest,
+        @JsonProperty("job") CommonId jobId,
+        @JsonProperty("task") CommonId taskId,
+        @JsonProperty("txn") CommonId txnId,
+        @JsonProperty("template") byte[] template
+    ) {
+        this.digest = digest;
+        this.jobId = jobId;
+        this.taskId = taskId;
+        this.txnId = txnId;
+        this.template = template;
+    }
+}
@@ -20,10 +20,13 @@ import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.TupleBatch;
 import io.dingodb.exec.operator.params.AggregateParams;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Iterator;
+
 @Slf4j
 public final class AggregateOperator extends SoleOutOperator {
     public static final AggregateOperator INSTANCE = new AggregateOperator();
@@ -38,12 +41,20 @@ public final class AggregateOperator extends SoleOutOperator {
         return true;
     }
 
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        AggregateParams params = vertex.getParam();
+        params.addTuples(batch);
+        return true;
+    }
+
     @Override
     public  void fin(int pin, Fin fin, Vertex vertex) {
         AggregateParams params = vertex.getParam();
         Edge edge = vertex.getSoleEdge();
-        for (Object[] t : params.getCache()) {
-            if (!edge.transformToNext(t)) {
+        Iterator<Object[]> iterator = params.iterator();
+        while (iterator.hasNext()) {
+            if (!edge.transformToNext(iterator.next())) {
                 break;
             }
         }
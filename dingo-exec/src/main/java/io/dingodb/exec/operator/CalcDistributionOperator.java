@@ -19,14 +19,22 @@ package io.dingodb.exec.operator;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.RangeUtils;
+import io.dingodb.common.util.Utils;
+import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.DistributionSourceParam;
+import io.dingodb.exec.operator.params.PartRangeScanParam;
+import io.dingodb.exec.operator.params.TxnPartRangeScanParam;
 import io.dingodb.partition.PartitionService;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.TreeSet;
@@ -38,6 +46,122 @@ public class CalcDistributionOperator extends IteratorSourceOperator {
     private CalcDistributionOperator() {
     }
 
+    // Number of bytes after the common prefix of the start and end keys used to compute split points.
+    private static final int SPLIT_WINDOW = 7;
+
+    /**
+     * Split the range into sub-ranges of about the same width in key space, for a single region may hold a lot of
+     * data. The range is not split if there is not enough room between the keys.
+     *
+     * @param distribution the range
+     * @param count        the number of sub-ranges wanted
+     * @return the sub-ranges, in order
+     */
+    static @NonNull List<RangeDistribution> split(@NonNull RangeDistribution distribution, int count) {
+        byte[] startKey = distribution.getStartKey();
+        byte[] endKey = distribution.getEndKey();
+        if (count <= 1 || startKey == null || endKey == null) {
+            return Collections.singletonList(distribution);
+        }
+        int prefix = 0;
+        while (prefix < startKey.length && prefix < endKey.length && startKey[prefix] == endKey[prefix]) {
+            ++prefix;
+        }
+        long start = window(startKey, prefix);
+        long step = (window(endKey, prefix) - start) / count;
+        if (step <= 0) {
+            return Collections.singletonList(distribution);
+        }
+        List<RangeDistribution> subRanges = new ArrayList<>(count);
+        byte[] lower = startKey;
+        boolean withStart = distribution.isWithStart();
+        for (int i = 1; i < count; ++i) {
+            byte[] upper = Arrays.copyOf(startKey, prefix + SPLIT_WINDOW);
+            long point = start + step * i;
+            for (int j = prefix + SPLIT_WINDOW - 1; j >= prefix; --j) {
+                upper[j] = (byte) point;
+                point >>>= 8;
+            }
+            subRanges.add(RangeDistribution.builder()
+                .id(distribution.getId())
+                .startKey(lower)
+                .endKey(upper)
+                .start(i == 1 ? distribution.getStart() : null)
+                .withStart(withStart)
+                .withEnd(false)
+                .build());
+            lower = upper;
+            withStart = true;
+        }
+        subRanges.add(RangeDistribution.builder()
+            .id(distribution.getId())
+            .startKey(lower)
+            .endKey(endKey)
+            .end(distribution.getEnd())
+            .withStart(true)
+            .withEnd(distribution.isWithEnd())
+            .build());
+        return subRanges;
+    }
+
+    // The bytes in [offset, offset + SPLIT_WINDOW) as an unsigned number, missing bytes are taken as 0.
+    private static long window(byte @NonNull [] key, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + SPLIT_WINDOW; ++i) {
+            value = (value << 8) | (i < key.length ? key[i] & 0xFF : 0);
+        }
+        return value;
+    }
+
+    // Splitting a region is safe only if the scans do not aggregate, for the partial results are per region.
+    private static boolean splittable(@NonNull Vertex vertex) {
+        for (Edge edge : vertex.getOutList()) {
+            Object param = edge.getNext().getParam();
+            if (param instanceof PartRangeScanParam) {
+                List<?> aggList = ((PartRangeScanParam) param).getAggList();
+                if (aggList != null && !aggList.isEmpty()) {
+                    return false;
+                }
+            } else if (param instanceof TxnPartRangeScanParam) {
+                List<?> aggList = ((TxnPartRangeScanParam) param).getAggList();
+                if (aggList != null && !aggList.isEmpty()) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean push(Context context, Vertex vertex) {
+        DistributionSourceParam param = vertex.getParam();
+        int concurrencyLevel = param.getConcurrencyLevel();
+        if (concurrencyLevel <= 1 || !Utils.parallel(param.getKeepOrder())) {
+            return super.push(context, vertex);
+        }
+        List<RangeDistribution> distributions = new ArrayList<>();
+        Iterator<Object[]> iterator = createIterator(vertex);
+        while (iterator.hasNext()) {
+            distributions.add((RangeDistribution) iterator.next()[0]);
+        }
+        // Split the regions if there are too few of them to keep all the threads busy.
+        if (!distributions.isEmpty() && distributions.size() < concurrencyLevel && splittable(vertex)) {
+            int count = (concurrencyLevel + distributions.size() - 1) / distributions.size();
+            List<RangeDistribution> subRanges = new ArrayList<>(concurrencyLevel);
+            for (RangeDistribution distribution : distributions) {
+                subRanges.addAll(split(distribution, count));
+            }
+            distributions = subRanges;
+        }
+        if (distributions.size() <= 1) {
+            return super.push(context, vertex);
+        }
+        NewCalcDistributionOperator.pushParallel(context, vertex, param, distributions, param.getKeyTuple());
+        return false;
+    }
+
     @Override
     protected @NonNull Iterator<Object[]> createIterator(Vertex vertex) {
         DistributionSourceParam param = vertex.getParam();
@@ -23,26 +23,21 @@ import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.ExportWriter;
 import io.dingodb.exec.operator.params.ExportDataParam;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static io.dingodb.common.mysql.constant.ServerConstant.ARRAY_SPLIT;
-import static io.dingodb.common.mysql.util.DataTimeUtils.getTime;
-import static io.dingodb.common.mysql.util.DataTimeUtils.getTimeStamp;
 import static io.dingodb.common.util.Utils.getByteIndexOf;
 
 @Slf4j
@@ -53,8 +48,6 @@ public class ExportDataOperator extends SoleOutOperator {
     private final String FILE_EXISTS = "Error 1086(HY000): File '%s' already exists";
     private final byte[] EMPTY_BYTES = "\\N".getBytes();
 
-    private final Map<String, FileOutputStream> fileMap = new ConcurrentHashMap<>();
-
     @Override
     public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
         ExportDataParam param = vertex.getParam();
@@ -71,17 +64,15 @@ public class ExportDataOperator extends SoleOutOperator {
         byte[] lineStarting = param.getLineStarting();
         String charset = param.getCharset();
 
-        FileOutputStream writer = fileMap.get(param.getId());
+        ExportWriter writer = param.getWriter();
         try {
             if (writer == null) {
-                File file = new File(param.getOutfile());
-                if (!file.exists()) {
-                    file.createNewFile();
-                } else {
+                try {
+                    writer = ExportWriter.create(param.getOutfile());
+                } catch (FileAlreadyExistsException e) {
                     throw new DingoSqlException(String.format(FILE_EXISTS, param.getOutfile()));
                 }
-                writer = new FileOutputStream(param.getOutfile());
-                fileMap.put(param.getId(), writer);
+                param.setWriter(writer);
             }
 
             int tupleLength = tuple.length;
@@ -97,23 +88,24 @@ public class ExportDataOperator extends SoleOutOperator {
                 if (val == null) {
                     writer.write(EMPTY_BYTES);
                 } else if (val instanceof byte[]) {
-                    byte[] bytes = (byte[]) val;
-                    String base64String = Base64.getEncoder().encodeToString(bytes);
-                    writer.write(base64String.getBytes());
+                    writer.writeBase64((byte[]) val);
                 } else if (val instanceof Timestamp) {
-                    writer.write(getTimeStamp((Timestamp) val).getBytes());
+                    writer.writeTimestamp((Timestamp) val);
                 } else if (val instanceof Time) {
-                    writer.write(getTime((Time) val, param.getLocalCalendar()).getBytes());
+                    writer.writeTime((Time) val, param.getLocalCalendar());
                 } else if (val instanceof Boolean) {
                     boolean valBool = (boolean) val;
                     if (valBool) {
-                        writer.write(49);
+                        writer.write((byte) 49);
                     } else {
-                        writer.write(48);
+                        writer.write((byte) 48);
                     }
+                } else if (val instanceof Integer || val instanceof Long
+                    || val instanceof Short || val instanceof Byte) {
+                    writer.writeLong(((Number) val).longValue());
                 } else if (val instanceof ArrayList) {
                     List<Object> list = (List<Object>) val;
-                    writer.write("[".getBytes());
+                    writer.write((byte) '[');
                     StringBuilder line = new StringBuilder();
                     int len = list.size();
                     int limitLen = len - 1;
@@ -124,7 +116,7 @@ public class ExportDataOperator extends SoleOutOperator {
                         }
                     }
                     writer.write(line.toString().getBytes(charset));
-                    writer.write("]".getBytes());
+                    writer.write((byte) ']');
                 } else if (val instanceof String) {
                     byte[] bytes = val.toString().getBytes(charset);
                     bytes = combineEscaped(bytes, terminated, lineTerminated, lineStarting, param.getEscaped());
@@ -152,15 +144,17 @@ public class ExportDataOperator extends SoleOutOperator {
     @Override
     public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
         Edge edge = vertex.getSoleEdge();
+        ExportDataParam param = vertex.getParam();
         try {
-            ExportDataParam param = vertex.getParam();
-            FileOutputStream writer = fileMap.get(param.getId());
+            ExportWriter writer = param.getWriter();
             if (writer != null) {
+                param.setWriter(null);
+                // Buffered rows are written here, so the error must not be ignored.
                 writer.close();
-                fileMap.remove(param.getId());
             }
         } catch (IOException e) {
             LogUtils.error(log, e.getMessage(), e);
+            throw new DingoSqlException(String.format(WRITE_FILE_ERROR, param.getOutfile()));
         } finally {
             edge.fin(fin);
         }
@@ -181,6 +175,9 @@ public class ExportDataOperator extends SoleOutOperator {
     }
 
     private static byte[] escaped(byte[] bytes, byte[] term, byte[] escaped) {
+        if (getByteIndexOf(bytes, term, 0, bytes.length) < 0) {
+            return bytes;
+        }
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         int len = bytes.length;
         int breakPos = 0;
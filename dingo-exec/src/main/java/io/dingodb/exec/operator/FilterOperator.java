@@ -19,6 +19,7 @@ package io.dingodb.exec.operator;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.TupleBatch;
 import io.dingodb.exec.operator.params.FilterParam;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -41,6 +42,18 @@ public final class FilterOperator extends SoleOutOperator {
         }
     }
 
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        synchronized (vertex) {
+            FilterParam params = vertex.getParam();
+            batch.select(tuple -> {
+                Boolean v = (Boolean) params.getFilter().eval(tuple);
+                return v != null && v;
+            });
+            return vertex.getSoleEdge().transformToNext(context, batch);
+        }
+    }
+
     @Override
     public void fin(int pin, Fin fin, Vertex vertex) {
         vertex.getSoleEdge().fin(fin);
@@ -17,17 +17,86 @@
 package io.dingodb.exec.operator;
 
 import com.google.common.collect.Iterators;
+import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.RuntimeFilterProbe;
+import io.dingodb.exec.operator.data.TupleBatch;
 import io.dingodb.exec.operator.params.FilterProjectParam;
+import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
 
+@Slf4j
 public abstract class FilterProjectOperator extends IteratorOperator {
 
+    /**
+     * Read the source tuples into a batch, and evaluate the selection, the filter and the runtime filter over the
+     * whole batch before pushing it on, instead of tuple by tuple through chained iterators.
+     */
+    @Override
+    public boolean push(Context context, Object @Nullable [] tuple, Vertex vertex) {
+        long count = 0;
+        long startTime = System.currentTimeMillis();
+        FilterProjectParam param = vertex.getParam();
+        Iterator<Object[]> iterator = createSourceIterator(context, tuple, vertex);
+        TupleBatch batch = new TupleBatch();
+        // Reused for the selected columns of each batch.
+        TupleBatch projected = param.getSelection() != null ? new TupleBatch() : null;
+        boolean more = true;
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            ++count;
+            if (batch.isFull()) {
+                more = pushBatch(context, batch, projected, param, vertex);
+                if (!more) {
+                    break;
+                }
+                batch.clear();
+            }
+        }
+        if (more) {
+            pushBatch(context, batch, projected, param, vertex);
+        }
+        LogUtils.debug(log, "FilterProjectOperator push, count:{}, cost:{}ms.", count,
+            System.currentTimeMillis() - startTime);
+        return false;
+    }
+
+    private static boolean pushBatch(
+        Context context,
+        @NonNull TupleBatch batch,
+        @Nullable TupleBatch projected,
+        @NonNull FilterProjectParam param,
+        @NonNull Vertex vertex
+    ) {
+        TupleBatch output = batch;
+        TupleMapping selection = param.getSelection();
+        if (selection != null) {
+            projected.clear();
+            for (int i = 0; i < batch.size(); ++i) {
+                projected.add(selection.revMap(batch.get(i)));
+            }
+            output = projected;
+        }
+        SqlExpr filter = param.getFilter();
+        if (filter != null) {
+            output.select(t -> {
+                Object v = filter.eval(t);
+                return v != null && (Boolean) v;
+            });
+        }
+        RuntimeFilterProbe runtimeFilter = param.getRuntimeFilter();
+        if (runtimeFilter != null) {
+            output.select(runtimeFilter::test);
+        }
+        return vertex.getSoleEdge().transformToNext(context, output);
+    }
+
     @Override
     protected Iterator<Object[]> createIterator(Context context, Object[] tuple, Vertex vertex) {
         FilterProjectParam param = vertex.getParam();
@@ -46,6 +115,10 @@ public abstract class FilterProjectOperator extends IteratorOperator {
                 }
             );
         }
+        RuntimeFilterProbe runtimeFilter = param.getRuntimeFilter();
+        if (runtimeFilter != null) {
+            iterator = Iterators.filter(iterator, runtimeFilter::test);
+        }
         return iterator;
     }
 
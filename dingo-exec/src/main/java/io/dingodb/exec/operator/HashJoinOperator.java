@@ -16,6 +16,7 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.profile.Profile;
 import io.dingodb.common.type.TupleMapping;
@@ -25,21 +26,34 @@ import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.RuntimeFilter;
 import io.dingodb.exec.operator.data.TupleWithJoinFlag;
 import io.dingodb.exec.operator.params.HashJoinParam;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.spill.SpillPartitions;
+import io.dingodb.exec.spill.SpillUtils;
 import io.dingodb.exec.tuple.TupleKey;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
 
 @Slf4j
 public class HashJoinOperator extends SoleOutOperator {
     public static final HashJoinOperator INSTANCE = new HashJoinOperator();
 
+    // Number of partitions both inputs are split into once the build side exceeds the memory limit.
+    private static final int SPILL_PARTITIONS = 32;
+
     private HashJoinOperator() {
     }
 
@@ -51,36 +65,44 @@ public class HashJoinOperator extends SoleOutOperator {
         long start = System.currentTimeMillis();
         TupleMapping leftMapping = param.getLeftMapping();
         TupleMapping rightMapping = param.getRightMapping();
-        int leftLength = param.getLeftLength();
-        int rightLength = param.getRightLength();
-        boolean leftRequired = param.isLeftRequired();
         int pin = context.getPin();
         param.setContext(context);
         if (pin == 0) { // left
             waitRightFinFlag(param);
             TupleKey leftKey = new TupleKey(leftMapping.revMap(tuple));
-            List<TupleWithJoinFlag> rightList = param.getHashMap().get(leftKey);
-            if (rightList != null) {
-                for (TupleWithJoinFlag t : rightList) {
-                    Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                    t.setJoined(true);
-                    if (!edge.transformToNext(context, newTuple)) {
-                        profile.time(start);
-                        return false;
-                    }
-                }
-            } else if (leftRequired) {
-                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            SpillPartitions leftPartitions = param.getLeftPartitions();
+            if (leftPartitions != null) {
+                // Probed partition by partition in `fin`.
+                leftPartitions.write(leftKey.hashCode(), tuple);
+            } else if (!probe(edge, context, tuple, leftKey, param.getHashMap(), param)) {
                 profile.time(start);
-                return edge.transformToNext(context, newTuple);
+                return false;
             }
         } else if (pin == 1) { //right
             TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
-            List<TupleWithJoinFlag> list = param.getHashMap()
-                .computeIfAbsent(rightKey, k -> Collections.synchronizedList(new LinkedList<>()));
-            list.add(new TupleWithJoinFlag(tuple));
+            if (param.isSpillable()) {
+                boolean overLimit;
+                Lock lock = param.getBuildLock().readLock();
+                lock.lock();
+                try {
+                    SpillPartitions rightPartitions = param.getRightPartitions();
+                    if (rightPartitions != null) {
+                        rightPartitions.write(rightKey.hashCode(), tuple);
+                        overLimit = false;
+                    } else {
+                        addToHashMap(param.getHashMap(), rightKey, tuple);
+                        overLimit = param.getMemoryUsed().addAndGet(SpillUtils.estimateSize(tuple))
+                            > param.getMemoryLimit();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (overLimit) {
+                    spill(param);
+                }
+            } else {
+                addToHashMap(param.getHashMap(), rightKey, tuple);
+            }
         }
         profile.time(start);
         return true;
@@ -98,22 +120,14 @@ public class HashJoinOperator extends SoleOutOperator {
         int leftLength = param.getLeftLength();
         int rightLength = param.getRightLength();
         if (pin == 0) { // left
-            if (rightRequired) {
+            if (rightRequired || param.isSpillable()) {
                 // should wait in case of no data push to left.
                 waitRightFinFlag(param);
-                outer:
-                for (List<TupleWithJoinFlag> tList : param.getHashMap().values()) {
-                    for (TupleWithJoinFlag t : tList) {
-                        if (!t.isJoined()) {
-                            Object[] newTuple = new Object[leftLength + rightLength];
-                            Arrays.fill(newTuple, 0, leftLength, null);
-                            System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                            if (!edge.transformToNext(param.getContext(), newTuple)) {
-                                break outer;
-                            }
-                        }
-                    }
-                }
+            }
+            if (param.isSpilled()) {
+                joinPartitions(edge, param);
+            } else if (rightRequired) {
+                outputNotJoined(edge, param.getContext(), param.getHashMap().values(), leftLength, rightLength);
             }
             if (fin instanceof FinWithProfiles) {
                 FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
@@ -138,11 +152,164 @@ public class HashJoinOperator extends SoleOutOperator {
                 FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
                 param.setProfileRight(finWithProfiles.getProfile());
             }
+            if (param.isRuntimeFilterEnabled()) {
+                // The hash map is cleared once spilled, so no filter is available.
+                param.setRuntimeFilter(
+                    param.isSpilled() ? RuntimeFilter.ALL : RuntimeFilter.of(param.getHashMap().keySet())
+                );
+            }
             param.setRightFinFlag(true);
             param.getFuture().complete(null);
         }
     }
 
+    private static boolean probe(
+        Edge edge,
+        Context context,
+        Object[] tuple,
+        TupleKey leftKey,
+        Map<TupleKey, List<TupleWithJoinFlag>> hashMap,
+        HashJoinParam param
+    ) {
+        int leftLength = param.getLeftLength();
+        int rightLength = param.getRightLength();
+        List<TupleWithJoinFlag> rightList = hashMap.get(leftKey);
+        if (rightList != null) {
+            for (TupleWithJoinFlag t : rightList) {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
+                t.setJoined(true);
+                if (!edge.transformToNext(context, newTuple)) {
+                    return false;
+                }
+            }
+        } else if (param.isLeftRequired()) {
+            Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+            Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            return edge.transformToNext(context, newTuple);
+        }
+        return true;
+    }
+
+    private static boolean outputNotJoined(
+        Edge edge,
+        Context context,
+        Collection<List<TupleWithJoinFlag>> values,
+        int leftLength,
+        int rightLength
+    ) {
+        for (List<TupleWithJoinFlag> tList : values) {
+            for (TupleWithJoinFlag t : tList) {
+                if (!t.isJoined()) {
+                    Object[] newTuple = new Object[leftLength + rightLength];
+                    Arrays.fill(newTuple, 0, leftLength, null);
+                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
+                    if (!edge.transformToNext(context, newTuple)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void addToHashMap(
+        Map<TupleKey, List<TupleWithJoinFlag>> hashMap,
+        TupleKey key,
+        Object[] tuple
+    ) {
+        List<TupleWithJoinFlag> list = hashMap
+            .computeIfAbsent(key, k -> Collections.synchronizedList(new LinkedList<>()));
+        list.add(new TupleWithJoinFlag(tuple));
+    }
+
+    /**
+     * Move the build side to disk. From now on, right tuples are written to partitions directly, and left tuples are
+     * partitioned in the same way, then joined partition by partition when the left side finishes.
+     */
+    private static void spill(HashJoinParam param) {
+        Lock lock = param.getBuildLock().writeLock();
+        lock.lock();
+        try {
+            if (param.isSpilled()) {
+                return;
+            }
+            LogUtils.info(log, "Hash join build side exceeds {} bytes, spill to disk.", param.getMemoryLimit());
+            SpillPartitions rightPartitions = new SpillPartitions(
+                param.getRightCodec(), SPILL_PARTITIONS, "hash-join-right-"
+            );
+            for (Map.Entry<TupleKey, List<TupleWithJoinFlag>> entry : param.getHashMap().entrySet()) {
+                int hash = entry.getKey().hashCode();
+                for (TupleWithJoinFlag t : entry.getValue()) {
+                    rightPartitions.write(hash, t.getTuple());
+                }
+            }
+            param.getHashMap().clear();
+            param.getMemoryUsed().set(0);
+            param.setLeftPartitions(new SpillPartitions(param.getLeftCodec(), SPILL_PARTITIONS, "hash-join-left-"));
+            param.setRightPartitions(rightPartitions);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void joinPartitions(Edge edge, HashJoinParam param) {
+        Context context = param.getContext();
+        TupleMapping leftMapping = param.getLeftMapping();
+        TupleMapping rightMapping = param.getRightMapping();
+        SpillPartitions leftPartitions = param.getLeftPartitions();
+        SpillPartitions rightPartitions = param.getRightPartitions();
+        try {
+            for (int i = 0; i < rightPartitions.size(); ++i) {
+                SpillFile rightFile = rightPartitions.get(i);
+                SpillFile leftFile = leftPartitions.get(i);
+                try {
+                    if (!joinPartition(edge, context, param, leftFile, rightFile, leftMapping, rightMapping)) {
+                        return;
+                    }
+                } finally {
+                    // Free the disk as soon as a partition is done.
+                    rightFile.close();
+                    leftFile.close();
+                }
+            }
+        } finally {
+            // The remaining partitions if stopped early or failed.
+            leftPartitions.close();
+            rightPartitions.close();
+        }
+    }
+
+    private static boolean joinPartition(
+        Edge edge,
+        Context context,
+        HashJoinParam param,
+        SpillFile leftFile,
+        SpillFile rightFile,
+        TupleMapping leftMapping,
+        TupleMapping rightMapping
+    ) {
+        Map<TupleKey, List<TupleWithJoinFlag>> hashMap = new HashMap<>();
+        Iterator<Object[]> rightIt = rightFile.read();
+        while (rightIt.hasNext()) {
+            Object[] tuple = rightIt.next();
+            hashMap.computeIfAbsent(new TupleKey(rightMapping.revMap(tuple)), k -> new ArrayList<>())
+                .add(new TupleWithJoinFlag(tuple));
+        }
+        if (hashMap.isEmpty() && !param.isLeftRequired()) {
+            return true;
+        }
+        Iterator<Object[]> leftIt = leftFile.read();
+        while (leftIt.hasNext()) {
+            Object[] tuple = leftIt.next();
+            if (!probe(edge, context, tuple, new TupleKey(leftMapping.revMap(tuple)), hashMap, param)) {
+                return false;
+            }
+        }
+        return !param.isRightRequired()
+            || outputNotJoined(edge, context, hashMap.values(), param.getLeftLength(), param.getRightLength());
+    }
+
     private static void waitRightFinFlag(HashJoinParam param) {
         param.getFuture().join();
         if (!param.isRightFinFlag()) {
@@ -21,6 +21,7 @@ import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.TupleBatch;
 import io.dingodb.exec.operator.params.AbstractParams;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -35,13 +36,22 @@ public abstract class IteratorOperator extends SoleOutOperator {
         long count = 0;
         long startTime = System.currentTimeMillis();
         Iterator<Object[]> iterator = createIterator(context, tuple, vertex);
+        TupleBatch batch = new TupleBatch();
+        boolean more = true;
         while (iterator.hasNext()) {
-            Object[] newTuple = iterator.next();
+            batch.add(iterator.next());
             ++count;
-            if (!vertex.getSoleEdge().transformToNext(context, newTuple)) {
-                break;
+            if (batch.isFull()) {
+                more = vertex.getSoleEdge().transformToNext(context, batch);
+                if (!more) {
+                    break;
+                }
+                batch.clear();
             }
         }
+        if (more) {
+            vertex.getSoleEdge().transformToNext(context, batch);
+        }
         LogUtils.debug(log, "IteratorOperator push, count:{}, cost:{}ms.", count, System.currentTimeMillis() - startTime);
         return false;
     }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.Services;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.LookupJoinParam;
+import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.meta.MetaService;
+import io.dingodb.store.api.StoreInstance;
+import io.dingodb.store.api.transaction.exception.RegionSplitException;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Join outer tuples with the rows of the inner table having the same primary key. Outer tuples are collected into
+ * batches, and the keys of a batch are got from each region by one multi-get, instead of scanning the inner table.
+ */
+@Slf4j
+public final class LookupJoinOperator extends SoleOutOperator {
+    public static final LookupJoinOperator INSTANCE = new LookupJoinOperator();
+
+    private static final int RETRY = 30;
+
+    private LookupJoinOperator() {
+    }
+
+    @Override
+    public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        LookupJoinParam param = vertex.getParam();
+        param.setContext(context);
+        List<Object[]> batch = param.addOuterTuple(tuple);
+        if (batch == null) {
+            return true;
+        }
+        return lookup(context, batch, vertex);
+    }
+
+    @Override
+    public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
+        Edge edge = vertex.getSoleEdge();
+        LookupJoinParam param = vertex.getParam();
+        List<Object[]> batch = param.takeOuterTuples();
+        if (!(fin instanceof FinWithException) && !batch.isEmpty()) {
+            lookup(param.getContext(), batch, vertex);
+        }
+        edge.fin(fin);
+    }
+
+    private static boolean lookup(Context context, List<Object[]> outerTuples, Vertex vertex) {
+        LookupJoinParam param = vertex.getParam();
+        OperatorProfile profile = param.getProfile("lookupJoin");
+        long start = System.currentTimeMillis();
+        TupleMapping outerKeys = param.getOuterKeys();
+        TupleMapping innerKeys = param.getInnerKeys();
+        int columnCount = param.getTable().getColumns().size();
+        Map<TupleKey, Object[]> keyTuples = new LinkedHashMap<>();
+        for (Object[] outer : outerTuples) {
+            Object[] key = outerKeys.revMap(outer);
+            // Null never equals to anything.
+            if (Arrays.stream(key).anyMatch(v -> v == null)) {
+                continue;
+            }
+            keyTuples.computeIfAbsent(new TupleKey(key), k -> {
+                Object[] keyTuple = new Object[columnCount];
+                for (int i = 0; i < key.length; ++i) {
+                    keyTuple[innerKeys.get(i)] = key[i];
+                }
+                return keyTuple;
+            });
+        }
+        Map<TupleKey, Object[]> innerTuples = new HashMap<>(keyTuples.size());
+        get(vertex, param, new ArrayList<>(keyTuples.values()), innerTuples, RETRY);
+        DingoMetrics.histogram("lookup_join_batch_size", keyTuples.size());
+        Edge edge = vertex.getSoleEdge();
+        int outerLength = param.getOuterLength();
+        int innerLength = param.getSelection().size();
+        for (Object[] outer : outerTuples) {
+            Object[] inner = innerTuples.get(new TupleKey(outerKeys.revMap(outer)));
+            if (inner == null && !param.isLeftRequired()) {
+                continue;
+            }
+            Object[] newTuple = Arrays.copyOf(outer, outerLength + innerLength);
+            if (inner != null) {
+                System.arraycopy(inner, 0, newTuple, outerLength, innerLength);
+            }
+            if (!edge.transformToNext(context, newTuple)) {
+                profile.time(start);
+                return false;
+            }
+        }
+        profile.time(start);
+        return true;
+    }
+
+    /**
+     * Get the inner rows of the key tuples region by region, and put the selected and filtered ones into
+     * {@code innerTuples} by their keys.
+     */
+    private static void get(
+        Vertex vertex,
+        LookupJoinParam param,
+        List<Object[]> keyTuples,
+        Map<TupleKey, Object[]> innerTuples,
+        int retry
+    ) {
+        KeyValueCodec codec = param.getCodec();
+        Map<CommonId, List<Object[]>> partKeyTuples = new HashMap<>();
+        for (Object[] keyTuple : keyTuples) {
+            CommonId partId = param.getPartitionService()
+                .calcPartId(codec.encodeKey(keyTuple), param.getDistributions());
+            partKeyTuples.computeIfAbsent(partId, k -> new ArrayList<>()).add(keyTuple);
+        }
+        for (Map.Entry<CommonId, List<Object[]>> entry : partKeyTuples.entrySet()) {
+            try {
+                for (Object[] row : getPart(vertex, param, entry.getKey(), entry.getValue())) {
+                    Object[] tuple = param.getSelection().revMap(row);
+                    SqlExpr filter = param.getFilter();
+                    if (filter != null && !Boolean.TRUE.equals(filter.eval(tuple))) {
+                        continue;
+                    }
+                    innerTuples.put(new TupleKey(param.getInnerKeys().revMap(row)), tuple);
+                }
+            } catch (RegionSplitException e) {
+                if (retry <= 0) {
+                    throw e;
+                }
+                LogUtils.error(log, e.getMessage());
+                param.setDistributions(MetaService.root().getRangeDistribution(param.getTableId()));
+                get(vertex, param, entry.getValue(), innerTuples, retry - 1);
+            }
+        }
+    }
+
+    private static List<Object[]> getPart(
+        Vertex vertex,
+        LookupJoinParam param,
+        CommonId partId,
+        List<Object[]> keyTuples
+    ) {
+        KeyValueCodec codec = param.getCodec();
+        CommonId tableId = param.getTableId();
+        List<Object[]> results = new ArrayList<>(keyTuples.size());
+        List<byte[]> keys = new ArrayList<>(keyTuples.size());
+        for (Object[] keyTuple : keyTuples) {
+            byte[] key = codec.encodeKey(keyTuple);
+            if (param.isTransactional()) {
+                CodecService.getDefault().setId(key, partId.domain);
+                // Written by the transaction itself.
+                Iterator<Object[]> local = TxnGetByKeysOperator.getLocalStore(
+                    partId,
+                    codec,
+                    key,
+                    tableId,
+                    vertex.getTask().getTxnId(),
+                    partId.encode(),
+                    vertex.getTask().getTransactionType()
+                );
+                if (local != null) {
+                    local.forEachRemaining(results::add);
+                    continue;
+                }
+            }
+            keys.add(key);
+        }
+        if (keys.isEmpty()) {
+            return results;
+        }
+        StoreInstance store = Services.KV_STORE.getInstance(tableId, partId);
+        List<KeyValue> keyValues;
+        if (param.isTransactional()) {
+            keyValues = store.txnGet(param.getScanTs(), keys, param.getTimeOut());
+        } else {
+            keyValues = store.get(keys);
+        }
+        for (KeyValue keyValue : keyValues) {
+            if (keyValue != null && keyValue.getValue() != null) {
+                results.add(codec.decode(keyValue));
+            }
+        }
+        return results;
+    }
+}
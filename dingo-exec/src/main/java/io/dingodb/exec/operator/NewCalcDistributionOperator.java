@@ -16,13 +16,14 @@
 
 package io.dingodb.exec.operator;
 
-import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.RangeUtils;
 import io.dingodb.common.util.Utils;
+import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.impl.MorselScheduler;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.DistributionSourceParam;
 import io.dingodb.meta.MetaService;
@@ -33,14 +34,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -117,78 +116,66 @@ public class NewCalcDistributionOperator extends SourceOperator {
                 }
             }
         } else {
-            try {
-                int concurrencyLevel = param.getConcurrencyLevel();
-                Set<CompletableFuture<Boolean>> futures = new HashSet<>(concurrencyLevel);
-                for (RangeDistribution distribution : distributions) {
-                    CompletableFuture<Boolean> future = push(context, vertex, param, distribution);
-                    futures.add(future);
-                    if (futures.size() >= concurrencyLevel) {
-                        // Wait for all the current futures to complete
-                        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-                        futures.clear();
-                    }
-                }
-                // Wait for any remaining futures to complete
-                if (!futures.isEmpty()) {
-                    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-                }
-            } catch (CompletionException exception) {
-                if (exception.getCause() instanceof LockWaitException) {
-                    throw new LockWaitException("Lock wait");
-                }
-                throw exception;
-            }
+            pushParallel(context, vertex, param, distributions, null);
         }
         return false;
     }
 
-    private static CompletableFuture<Boolean> push(
+    /**
+     * Push the distributions to the out edges of the vertex in parallel, by at most {@code concurrencyLevel} threads
+     * taking them from a shared queue. A distribution whose edges return {@code false} does not stop the others, only
+     * an error does.
+     */
+    static void pushParallel(
+        Context context,
+        @NonNull Vertex vertex,
+        @NonNull DistributionSourceParam param,
+        @NonNull Collection<RangeDistribution> distributions,
+        Object[] tuple
+    ) {
+        MorselScheduler.run(
+            distributions,
+            param.getConcurrencyLevel(),
+            distribution -> push(context, vertex, param, distribution, tuple)
+        );
+    }
+
+    /**
+     * Push a distribution, returns the distributions to push in place of it if the region is split.
+     */
+    private static Collection<RangeDistribution> push(
         Context context,
         Vertex vertex,
         DistributionSourceParam param,
-        RangeDistribution distribution
+        RangeDistribution distribution,
+        Object[] tuple
     ) {
-        Supplier<Boolean> supplier = () -> {
-            if (log.isTraceEnabled()) {
-                LogUtils.trace(log, "Push distribution: {}", distribution);
-            }
-            Context copyContext = context.copy();
-            copyContext.setDistribution(distribution);
-            return vertex.getSoleEdge().transformToNext(copyContext, null);
-        };
-        return CompletableFuture.supplyAsync(
-            supplier, Executors.executor(
-                "operator-" + vertex.getTask().getJobId() + "-"
-                    + vertex.getTask().getId() + "-" + vertex.getId() + "-" + distribution.getId()))
-            .exceptionally(ex -> {
-                if (ex != null) {
-                    if (ex.getCause() instanceof RegionSplitException) {
-                        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> tmpDistribution =
-                            MetaService.root().getRangeDistribution(param.getTd().getTableId());
-                        DistributionSourceParam copyParam = param.copy(
-                            tmpDistribution,
-                            distribution.getStartKey(),
-                            distribution.getEndKey(),
-                            distribution.isWithStart(),
-                            distribution.isWithEnd());
-                        NavigableSet<RangeDistribution> rangeDistributions = getRangeDistributions(copyParam);
-                        Set<CompletableFuture<Boolean>> futures = new HashSet<>(param.getConcurrencyLevel());
-                        for (RangeDistribution rangeDistribution : rangeDistributions) {
-                            futures.add(push(context, vertex, param, rangeDistribution));
-                        }
-                        if (!futures.isEmpty()) {
-                            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-                        }
-                    } else if (ex.getCause() instanceof LockWaitException) {
-                        LogUtils.error(log, "jobId:" + vertex.getTask().getJobId() + ", taskId:"
-                            + vertex.getTask().getId() + ", vertexId:" + vertex.getId() + ", error:", ex);
-                        throw new LockWaitException("Lock wait");
-                    } else {
-                        throw new RuntimeException(ex);
-                    }
+        if (log.isTraceEnabled()) {
+            LogUtils.trace(log, "Push distribution: {}", distribution);
+        }
+        Context copyContext = context.copy();
+        copyContext.setDistribution(distribution);
+        try {
+            for (Edge edge : vertex.getOutList()) {
+                if (!edge.transformToNext(copyContext, tuple)) {
+                    break;
                 }
-            return true;
-        });
+            }
+            return Collections.emptyList();
+        } catch (RegionSplitException e) {
+            NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> tmpDistribution =
+                MetaService.root().getRangeDistribution(param.getTd().getTableId());
+            DistributionSourceParam copyParam = param.copy(
+                tmpDistribution,
+                distribution.getStartKey(),
+                distribution.getEndKey(),
+                distribution.isWithStart(),
+                distribution.isWithEnd());
+            return getRangeDistributions(copyParam);
+        } catch (LockWaitException e) {
+            LogUtils.error(log, "jobId:" + vertex.getTask().getJobId() + ", taskId:"
+                + vertex.getTask().getId() + ", vertexId:" + vertex.getId() + ", error:", e);
+            throw e;
+        }
     }
 }
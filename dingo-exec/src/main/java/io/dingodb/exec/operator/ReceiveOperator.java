@@ -17,6 +17,7 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.exec.dag.Vertex;
@@ -29,6 +30,9 @@ import io.dingodb.exec.tuple.TupleId;
 import io.dingodb.exec.utils.QueueUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j
 public final class ReceiveOperator extends SourceOperator {
     public static final ReceiveOperator INSTANCE = new ReceiveOperator();
@@ -64,37 +68,56 @@ public final class ReceiveOperator extends SourceOperator {
         long count = 0;
         OperatorProfile profile = param.getProfile("receive");
         profile.start();
+        BlockingQueue<ReceiveParam.ReceivedBatch> queue = param.getBatchQueue();
         while (true) {
-            TupleId tupleId = QueueUtils.forceTake(param.getTupleQueue());
-            Object[] tuple = tupleId.getTuple();
-            if (!(tuple[0] instanceof Fin)) {
-                RangeDistribution distribution = null;
-                if (tupleId.getPartId() != null) {
-                    distribution = RangeDistribution.builder().id(tupleId.getPartId()).build();
-                }
-                if (tupleId.getIndexId() != null) {
-                    context.setIndexId(tupleId.getIndexId());
-                }
-                ++count;
-                LogUtils.debug(log, "(tag = {}) Take out tuple {} from receiving queue.",
-                    param.getTag(),
-                    param.getSchema().format(tuple)
-                );
-                context.setDistribution(distribution);
-                if (!vertex.getSoleEdge().transformToNext(context, tuple)) {
-                    param.getEndpoint().stop();
-                    // Stay in loop to receive FIN.
-                }
-            } else {
-                LogUtils.debug(log, "(tag = {}) Take out FIN.", param.getTag());
-                profile.setCount(count);
-                Fin fin = (Fin) tuple[0];
-                if (fin instanceof FinWithProfiles) {
-                    FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
-                    finWithProfiles.addProfile(profile);
-                } else if (fin instanceof FinWithException) {
-                    param.setFinObj(fin);
+            DingoMetrics.histogram("exchangeReceiveQueueDepth", queue.size());
+            ReceiveParam.ReceivedBatch batch = queue.poll();
+            if (batch == null) {
+                long start = System.currentTimeMillis();
+                batch = QueueUtils.forceTake(queue);
+                DingoMetrics.timer("exchangeReceiveStall")
+                    .update(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+            }
+            boolean finished = false;
+            for (TupleId tupleId : batch.getTupleIds()) {
+                Object[] tuple = tupleId.getTuple();
+                if (!(tuple[0] instanceof Fin)) {
+                    if (param.getEndpoint().isStopped()) {
+                        continue;
+                    }
+                    RangeDistribution distribution = null;
+                    if (tupleId.getPartId() != null) {
+                        distribution = RangeDistribution.builder().id(tupleId.getPartId()).build();
+                    }
+                    if (tupleId.getIndexId() != null) {
+                        context.setIndexId(tupleId.getIndexId());
+                    }
+                    ++count;
+                    LogUtils.debug(log, "(tag = {}) Take out tuple {} from receiving queue.",
+                        param.getTag(),
+                        param.getSchema().format(tuple)
+                    );
+                    context.setDistribution(distribution);
+                    if (!vertex.getSoleEdge().transformToNext(context, tuple)) {
+                        param.getEndpoint().stop();
+                        // Stay in loop to receive FIN.
+                    }
+                } else {
+                    LogUtils.debug(log, "(tag = {}) Take out FIN.", param.getTag());
+                    profile.setCount(count);
+                    Fin fin = (Fin) tuple[0];
+                    if (fin instanceof FinWithProfiles) {
+                        FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
+                        finWithProfiles.addProfile(profile);
+                    } else if (fin instanceof FinWithException) {
+                        param.setFinObj(fin);
+                    }
+                    finished = true;
+                    break;
                 }
+            }
+            param.getEndpoint().release(batch.getBytes());
+            if (finished) {
                 break;
             }
         }
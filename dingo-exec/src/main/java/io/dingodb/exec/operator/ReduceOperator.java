@@ -24,6 +24,8 @@ import io.dingodb.exec.operator.params.ReduceParam;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Iterator;
+
 @Slf4j
 public final class ReduceOperator extends SoleOutOperator {
     public static final ReduceOperator INSTANCE = new ReduceOperator();
@@ -44,8 +46,9 @@ public final class ReduceOperator extends SoleOutOperator {
         synchronized (vertex) {
             ReduceParam param = vertex.getParam();
             Edge edge = vertex.getSoleEdge();
-            for (Object[] t : param.getCache()) {
-                if (!edge.transformToNext(t)) {
+            Iterator<Object[]> iterator = param.iterator();
+            while (iterator.hasNext()) {
+                if (!edge.transformToNext(iterator.next())) {
                     break;
                 }
             }
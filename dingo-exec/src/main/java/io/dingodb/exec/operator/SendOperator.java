@@ -22,6 +22,7 @@ import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.TupleBatch;
 import io.dingodb.exec.operator.params.SendParam;
 import io.dingodb.exec.tuple.TupleId;
 import io.dingodb.net.BufferOutputStream;
@@ -61,6 +62,30 @@ public final class SendOperator extends SinkOperator {
         }
     }
 
+    @Override
+    public boolean pushBatch(Context context, TupleBatch batch, Vertex vertex) {
+        synchronized (vertex) {
+            try {
+                SendParam param = vertex.getParam();
+                List<TupleId> tupleList = param.getTupleList();
+                boolean withPartId = context != null && context.getDistribution() != null;
+                for (int i = 0; i < batch.size(); ++i) {
+                    TupleId.TupleIdBuilder builder = TupleId.builder().tuple(batch.get(i));
+                    if (withPartId) {
+                        builder.partId(context.getDistribution().getId()).indexId(context.getIndexId());
+                    }
+                    tupleList.add(builder.build());
+                    if (tupleList.size() >= SEND_BATCH_SIZE && !sendTupleList(param)) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
     @Override
     public void fin(Fin fin, Vertex vertex) {
         try {
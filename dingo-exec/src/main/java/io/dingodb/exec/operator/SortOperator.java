@@ -24,12 +24,17 @@ import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.data.SortCollation;
 import io.dingodb.exec.operator.params.SortParam;
+import io.dingodb.exec.spill.MergeIterator;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.spill.SpillUtils;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.stream.Collectors;
 
 public class SortOperator extends SoleOutOperator {
@@ -49,11 +54,40 @@ public class SortOperator extends SoleOutOperator {
             if (limit == 0) {
                 return false;
             }
+            PriorityQueue<Object[]> heap = param.getHeap();
+            if (heap != null) {
+                if (heap.size() < param.topN()) {
+                    heap.add(tuple);
+                } else if (param.getComparator().compare(tuple, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(tuple);
+                }
+                return true;
+            }
             param.getCache().add(tuple);
+            if (param.isSpillable()) {
+                param.setMemoryUsed(param.getMemoryUsed() + SpillUtils.estimateSize(tuple));
+                if (param.getMemoryUsed() > param.getMemoryLimit()) {
+                    spillRun(param);
+                }
+            }
             return !collations.isEmpty() || limit < 0 || param.getCache().size() < offset + limit;
         }
     }
 
+    /**
+     * Sort the buffered tuples and write them to disk as a sorted run.
+     */
+    private static void spillRun(SortParam param) {
+        List<Object[]> cache = param.getCache();
+        cache.sort(param.getComparator());
+        SpillFile run = new SpillFile(param.getCodec(), "sort-run-");
+        param.getRuns().add(run);
+        cache.forEach(run::write);
+        cache.clear();
+        param.setMemoryUsed(0);
+    }
+
     @Override
     public void fin(int pin, Fin fin, Vertex vertex) {
         synchronized (vertex) {
@@ -63,16 +97,28 @@ public class SortOperator extends SoleOutOperator {
             int limit = param.getLimit();
             int offset = param.getOffset();
             List<Object[]> cache = param.getCache();
-            int size = cache.size();
+            PriorityQueue<Object[]> heap = param.getHeap();
+            if (heap != null) {
+                cache.addAll(heap);
+                heap.clear();
+            }
+            List<SpillFile> runs = param.getRuns();
+            int size = cache.size() + (int) runs.stream().mapToLong(SpillFile::getCount).sum();
             profile.setCount(size);
             Comparator<Object[]> comparator = param.getComparator();
             if (comparator != null) {
                 cache.sort(comparator);
             }
-            List<Object[]> normalCache = cache;
-            if (param.isVectorHybrid()) {
+            Iterator<Object[]> iterator;
+            if (!runs.isEmpty()) {
+                // Runs are spilled in arrival order and the remaining cache is the latest, keep the sort stable.
+                List<Iterator<Object[]>> iterators = new ArrayList<>(runs.size() + 1);
+                runs.forEach(run -> iterators.add(run.read()));
+                iterators.add(cache.iterator());
+                iterator = new MergeIterator(iterators, comparator);
+            } else if (param.isVectorHybrid()) {
                 // similarity score normalization
-                normalCache = new ArrayList<>(size);
+                List<Object[]> normalCache = new ArrayList<>(size);
                 List<Float> similarityScores = new ArrayList<>(size);
                 for (int i = 0; i < size; i++) {
                     Object[] objects = cache.get(i);
@@ -86,12 +132,16 @@ public class SortOperator extends SoleOutOperator {
                     objects[1] = floats.get(i);
                     normalCache.add(objects);
                 }
+                iterator = normalCache.iterator();
+            } else {
+                iterator = cache.iterator();
             }
             profile.end();
             int o = 0;
             int c = 0;
             Edge edge = vertex.getSoleEdge();
-            for (Object[] tuple : normalCache) {
+            while (iterator.hasNext()) {
+                Object[] tuple = iterator.next();
                 if (o < offset) {
                     ++o;
                     continue;
@@ -25,6 +25,7 @@ import io.dingodb.common.type.ListType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.util.Optional;
 import io.dingodb.common.vector.TxnVectorSearchResponse;
+import io.dingodb.common.vector.VectorDistanceUtils;
 import io.dingodb.common.vector.VectorSearchResponse;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.dag.Vertex;
@@ -38,15 +39,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import static io.dingodb.exec.fun.vector.VectorCosineDistanceFun.cosine;
-import static io.dingodb.exec.fun.vector.VectorIPDistanceFun.innerProduct;
-import static io.dingodb.exec.fun.vector.VectorL2DistanceFun.l2DistanceCombine;
+import static io.dingodb.common.vector.VectorDistanceUtils.toFloatArray;
 import static io.dingodb.exec.operator.TxnGetByKeysOperator.getLocalStore;
 
 @Slf4j
@@ -74,6 +72,8 @@ public class TxnPartVectorOperator extends FilterProjectSourceOperator {
             param.getParameterMap(),
             param.getCoprocessor());
         List<Object[]> results = new ArrayList<>();
+        List<Object[]> localTuples = new ArrayList<>();
+        List<List<Number>> localVectors = new ArrayList<>();
         if (param.isLookUp()) {
             Map<Integer, Integer> vecPriIdxMapping = getVecPriIdxMapping(param);
             for (VectorSearchResponse response : searchResponseList) {
@@ -106,16 +106,10 @@ public class TxnPartVectorOperator extends FilterProjectSourceOperator {
                         } else {
                             Object ov = objects[vecIdx];
                             if (ov instanceof List) {
-                                Object targetVector = Arrays.asList(param.getFloatArray());
-                                float distance = 0.0f;
-                                if (distanceType.contains("L2")) {
-                                    distance = (float) l2DistanceCombine((List<Float>) ov, (List<Number>) targetVector);
-                                } else if (distanceType.contains("INNER_PRODUCT")) {
-                                    distance = (float) innerProduct((List<Float>) ov, (List<Float>) targetVector);
-                                } else if (distanceType.contains("COSINE")) {
-                                    distance = cosine((List<Float>) ov, targetVector);
-                                }
-                                objects[objects.length - 1] = distance;
+                                // Distances are calculated in one batch after all the local rows are got, so that
+                                // the target vector is unboxed and normalized only once.
+                                localTuples.add(objects);
+                                localVectors.add((List<Number>) ov);
                             } else {
                                 objects[objects.length - 1] = 0.0;
                             }
@@ -152,10 +146,33 @@ public class TxnPartVectorOperator extends FilterProjectSourceOperator {
                 results.add(priTuples);
             }
         }
+        if (!localTuples.isEmpty()) {
+            calcDistances(distanceType, toFloatArray(param.getFloatArray()), localTuples, localVectors);
+        }
         profile.incrTime(start);
         return results.iterator();
     }
 
+    private static void calcDistances(
+        @NonNull String distanceType,
+        float[] target,
+        @NonNull List<Object[]> tuples,
+        @NonNull List<List<Number>> vectors
+    ) {
+        float[] distances = new float[vectors.size()];
+        if (distanceType.contains("L2")) {
+            VectorDistanceUtils.l2Distance(target, vectors, distances);
+        } else if (distanceType.contains("INNER_PRODUCT")) {
+            VectorDistanceUtils.innerProductDistance(target, vectors, distances);
+        } else if (distanceType.contains("COSINE")) {
+            VectorDistanceUtils.cosineDistance(target, vectors, distances);
+        }
+        for (int i = 0; i < distances.length; i++) {
+            Object[] tuple = tuples.get(i);
+            tuple[tuple.length - 1] = distances[i];
+        }
+    }
+
     private static Map<Integer, Integer> getVecPriIdxMapping(TxnPartVectorParam param) {
         int vecColSize = param.getTableDataColList().size();
         Map<Integer, Integer> mapping = new HashMap<>();
@@ -16,11 +16,13 @@
 
 package io.dingodb.exec.operator;
 
+import com.google.common.collect.Iterators;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.params.ValuesParam;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Iterator;
+import java.util.List;
 
 public final class ValuesOperator extends IteratorSourceOperator {
     public static final ValuesOperator INSTANCE = new ValuesOperator();
@@ -31,6 +33,16 @@ public final class ValuesOperator extends IteratorSourceOperator {
     @Override
     protected @NonNull Iterator<Object[]> createIterator(Vertex vertex) {
         ValuesParam param = vertex.getParam();
-        return param.getTuples().iterator();
+        List<Object[]> batchParas = param.getBatchParas();
+        if (batchParas == null) {
+            return param.getTuples().iterator();
+        }
+        param.setBatchParas(null);
+        // The next row of parameters is set only when the tuples of the previous row are all pushed,
+        // for the operators in the task evaluate their expressions while pushing.
+        return Iterators.concat(Iterators.transform(batchParas.iterator(), paras -> {
+            vertex.getTask().setParas(paras);
+            return param.getTuples().iterator();
+        }));
     }
 }
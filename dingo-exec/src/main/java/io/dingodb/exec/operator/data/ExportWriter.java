@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffered writer of exported rows. Values are formatted into the buffer directly, which is written to the file
+ * channel when full. The output is gzip compressed if the file name ends with {@code .gz}.
+ */
+public final class ExportWriter implements Closeable {
+    public static final String GZIP_SUFFIX = ".gz";
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pos = 0;
+    private byte @Nullable [] scratch;
+    // Formats timestamps in the default time zone, the same as `DataTimeUtils`.
+    private final Calendar calendar = Calendar.getInstance(TimeZone.getDefault(), Locale.ROOT);
+
+    private ExportWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Create the file and open a writer to it.
+     *
+     * @param path the file path
+     * @return the writer
+     * @throws java.nio.file.FileAlreadyExistsException if the file exists
+     */
+    public static @NonNull ExportWriter create(@NonNull String path) throws IOException {
+        FileChannel channel = FileChannel.open(
+            Paths.get(path), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE
+        );
+        OutputStream out = Channels.newOutputStream(channel);
+        if (path.endsWith(GZIP_SUFFIX)) {
+            try {
+                out = new GZIPOutputStream(out, 1 << 16);
+            } catch (IOException e) {
+                out.close();
+                throw e;
+            }
+        }
+        return new ExportWriter(out);
+    }
+
+    private void ensure(int size) throws IOException {
+        if (pos + size > buffer.length) {
+            flush();
+        }
+    }
+
+    public void write(byte b) throws IOException {
+        ensure(1);
+        buffer[pos++] = b;
+    }
+
+    public void write(byte @NonNull [] bytes) throws IOException {
+        write(bytes, 0, bytes.length);
+    }
+
+    public void write(byte @NonNull [] bytes, int offset, int length) throws IOException {
+        if (length > buffer.length) {
+            flush();
+            out.write(bytes, offset, length);
+            return;
+        }
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, pos, length);
+        pos += length;
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            write(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+        writeDigits(value, 1);
+    }
+
+    // There must be room for the digits.
+    private void writeDigits(long value, int minWidth) {
+        int width = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            ++width;
+        }
+        width = Math.max(width, minWidth);
+        for (int i = pos + width - 1; i >= pos; --i) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        pos += width;
+    }
+
+    /**
+     * Write the timestamp as {@code yyyy-MM-dd HH:mm:ss}.
+     */
+    public void writeTimestamp(@NonNull Timestamp timestamp) throws IOException {
+        calendar.setTimeInMillis(timestamp.getTime());
+        ensure(32);
+        writeDigits(calendar.get(Calendar.YEAR), 4);
+        buffer[pos++] = '-';
+        writeDigits(calendar.get(Calendar.MONTH) + 1, 2);
+        buffer[pos++] = '-';
+        writeDigits(calendar.get(Calendar.DAY_OF_MONTH), 2);
+        buffer[pos++] = ' ';
+        writeClock();
+    }
+
+    /**
+     * Write the time as {@code HH:mm:ss}.
+     *
+     * @param localCalendar the calendar of the session time zone, the same as {@code DataTimeUtils.getTime}
+     */
+    public void writeTime(@NonNull Time time, @Nullable Calendar localCalendar) throws IOException {
+        long v = time.getTime();
+        if (localCalendar != null) {
+            v -= localCalendar.getTimeZone().getOffset(v);
+        }
+        calendar.setTimeInMillis(v);
+        ensure(8);
+        writeClock();
+    }
+
+    private void writeClock() {
+        writeDigits(calendar.get(Calendar.HOUR_OF_DAY), 2);
+        buffer[pos++] = ':';
+        writeDigits(calendar.get(Calendar.MINUTE), 2);
+        buffer[pos++] = ':';
+        writeDigits(calendar.get(Calendar.SECOND), 2);
+    }
+
+    public void writeBase64(byte @NonNull [] bytes) throws IOException {
+        int size = 4 * ((bytes.length + 2) / 3);
+        if (scratch == null || scratch.length < size) {
+            scratch = new byte[Math.max(size, 64)];
+        }
+        write(scratch, 0, Base64.getEncoder().encode(bytes, scratch));
+    }
+
+    public void flush() throws IOException {
+        if (pos > 0) {
+            out.write(buffer, 0, pos);
+            pos = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import io.dingodb.exec.tuple.TupleKey;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A bloom filter and the min/max values of the join keys on the build side of a hash join. Probe-side tuples whose
+ * keys are not accepted cannot be joined, so they can be dropped before reaching the join. False positives are
+ * possible, false negatives are not.
+ */
+public final class RuntimeFilter {
+    // Accept all keys, used if the build side is too large or not available.
+    public static final RuntimeFilter ALL = new RuntimeFilter(null, null, null, null);
+
+    // Above this, the filter costs more memory than it saves.
+    public static final int MAX_KEYS = 1 << 20;
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int HASH_COUNT = 3;
+
+    private final long @Nullable [] bits;
+    private final Object @Nullable [] min;
+    private final Object @Nullable [] max;
+    // Filters of the partitions if this is a union.
+    private final @Nullable List<RuntimeFilter> parts;
+
+    private RuntimeFilter(
+        long @Nullable [] bits,
+        Object @Nullable [] min,
+        Object @Nullable [] max,
+        @Nullable List<RuntimeFilter> parts
+    ) {
+        this.bits = bits;
+        this.min = min;
+        this.max = max;
+        this.parts = parts;
+    }
+
+    /**
+     * Build the filter of the keys on the build side.
+     *
+     * @param keys the keys, must be of the same length
+     * @return the filter
+     */
+    public static @NonNull RuntimeFilter of(@NonNull Collection<TupleKey> keys) {
+        if (keys.size() > MAX_KEYS) {
+            return ALL;
+        }
+        long[] bits = new long[Math.max(1, (keys.size() * BITS_PER_KEY + 63) >>> 6)];
+        Object[] min = null;
+        Object[] max = null;
+        // Columns whose values cannot be ordered.
+        boolean[] unordered = null;
+        for (TupleKey key : keys) {
+            Object[] tuple = key.getTuple();
+            if (min == null) {
+                min = new Object[tuple.length];
+                max = new Object[tuple.length];
+                unordered = new boolean[tuple.length];
+            }
+            int hash = key.hashCode();
+            int step = mix(hash);
+            for (int i = 0; i < HASH_COUNT; ++i) {
+                int bit = Math.floorMod(hash + i * step, bits.length << 6);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+            for (int i = 0; i < tuple.length; ++i) {
+                Object value = tuple[i];
+                if (value == null || unordered[i]) {
+                    continue;
+                }
+                if (!(value instanceof Comparable) || min[i] != null && value.getClass() != min[i].getClass()) {
+                    unordered[i] = true;
+                    continue;
+                }
+                if (min[i] == null || compare(value, min[i]) < 0) {
+                    min[i] = value;
+                }
+                if (max[i] == null || compare(value, max[i]) > 0) {
+                    max[i] = value;
+                }
+            }
+        }
+        if (min != null) {
+            for (int i = 0; i < min.length; ++i) {
+                if (unordered[i]) {
+                    min[i] = null;
+                    max[i] = null;
+                }
+            }
+        }
+        return new RuntimeFilter(bits, min, max, null);
+    }
+
+    /**
+     * Combine the filters of the partitions of a build side, a key is accepted if any of them accepts it.
+     *
+     * @param filters the filters
+     * @return the combined filter
+     */
+    public static @NonNull RuntimeFilter union(@NonNull List<RuntimeFilter> filters) {
+        if (filters.size() == 1) {
+            return filters.get(0);
+        }
+        if (filters.stream().anyMatch(RuntimeFilter::isAll)) {
+            return ALL;
+        }
+        return new RuntimeFilter(null, null, null, filters);
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) | 1;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object a, Object b) {
+        return ((Comparable) a).compareTo(b);
+    }
+
+    public boolean isAll() {
+        return bits == null && parts == null;
+    }
+
+    /**
+     * Check if the key may be on the build side.
+     *
+     * @param key the key values
+     * @return {@code false} if the key is surely not on the build side
+     */
+    public boolean mightContain(Object @NonNull [] key) {
+        if (parts != null) {
+            for (RuntimeFilter part : parts) {
+                if (part.mightContain(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (bits == null) {
+            return true;
+        }
+        // Empty build side.
+        if (min == null) {
+            return false;
+        }
+        for (int i = 0; i < key.length; ++i) {
+            Object value = key[i];
+            // Nulls are not counted in min/max, let the join decide.
+            if (value == null || min[i] == null || value.getClass() != min[i].getClass()) {
+                continue;
+            }
+            if (compare(value, min[i]) < 0 || compare(value, max[i]) > 0) {
+                return false;
+            }
+        }
+        int hash = Arrays.hashCode(key);
+        int step = mix(hash);
+        for (int i = 0; i < HASH_COUNT; ++i) {
+            int bit = Math.floorMod(hash + i * step, bits.length << 6);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
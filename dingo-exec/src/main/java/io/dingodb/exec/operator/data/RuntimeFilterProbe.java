@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.params.HashJoinParam;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Test the tuples of a probe-side scan against the runtime filters published by hash joins in the same task. Tuples
+ * pass until all the joins have finished building.
+ */
+@JsonPropertyOrder({"sources", "keys"})
+public final class RuntimeFilterProbe implements Predicate<Object[]> {
+    // Ids of the hash join vertices, the scan outputs are sent to one of them.
+    @Getter
+    @JsonProperty("sources")
+    @JsonSerialize(contentUsing = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(contentUsing = CommonId.JacksonDeserializer.class)
+    private final List<CommonId> sources;
+    // Indices of the join keys in the scan outputs.
+    @Getter
+    @JsonProperty("keys")
+    private final TupleMapping keys;
+
+    private transient Task task;
+    private transient volatile RuntimeFilter filter;
+
+    @JsonCreator
+    public RuntimeFilterProbe(
+        @JsonProperty("sources") List<CommonId> sources,
+        @JsonProperty("keys") TupleMapping keys
+    ) {
+        this.sources = sources;
+        this.keys = keys;
+    }
+
+    public void init(@NonNull Vertex vertex) {
+        task = vertex.getTask();
+        filter = null;
+    }
+
+    /**
+     * Forget the filter of the last run.
+     */
+    public void reset() {
+        filter = null;
+    }
+
+    @Override
+    public boolean test(Object[] tuple) {
+        RuntimeFilter filter = this.filter;
+        if (filter == null) {
+            filter = resolve();
+            if (filter == null) {
+                return true;
+            }
+        }
+        return filter.isAll() || filter.mightContain(keys.revMap(tuple));
+    }
+
+    private @Nullable RuntimeFilter resolve() {
+        List<RuntimeFilter> filters = new ArrayList<>(sources.size());
+        for (CommonId id : sources) {
+            Vertex vertex = task.getVertex(id);
+            if (vertex == null) {
+                filter = RuntimeFilter.ALL;
+                return filter;
+            }
+            HashJoinParam param = vertex.getParam();
+            RuntimeFilter part = param.getRuntimeFilter();
+            if (part == null) {
+                return null;
+            }
+            filters.add(part);
+        }
+        filter = RuntimeFilter.union(filters);
+        return filter;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A batch of tuples pushed between operators in one call. Filtering only updates the selection vector, so the
+ * tuples are never copied. The batch is reused by the producer after the push returns, so the consumer must not keep
+ * a reference to it.
+ */
+public final class TupleBatch {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Object[][] tuples;
+    private final int[] selection;
+    private int count;
+    // Number of selected tuples, the first `size` elements of `selection` are valid if `selected` is true.
+    private int size;
+    private boolean selected;
+
+    public TupleBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TupleBatch(int capacity) {
+        this.tuples = new Object[capacity][];
+        this.selection = new int[capacity];
+        clear();
+    }
+
+    public void add(Object @NonNull [] tuple) {
+        if (selected) {
+            throw new IllegalStateException("Cannot add tuples to a filtered batch.");
+        }
+        tuples[count++] = tuple;
+        size = count;
+    }
+
+    public boolean isFull() {
+        return count == tuples.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the number of selected tuples.
+     *
+     * @return the number of selected tuples
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the selected tuple at the index.
+     *
+     * @param index the index in [0, size())
+     * @return the tuple
+     */
+    public Object[] get(int index) {
+        if (index >= size) {
+            throw new NoSuchElementException();
+        }
+        return selected ? tuples[selection[index]] : tuples[index];
+    }
+
+    /**
+     * Retain only the selected tuples which satisfy the predicate.
+     *
+     * @param predicate the predicate
+     */
+    public void select(@NonNull Predicate<Object[]> predicate) {
+        int newSize = 0;
+        for (int i = 0; i < size; ++i) {
+            int index = selected ? selection[i] : i;
+            if (predicate.test(tuples[index])) {
+                selection[newSize++] = index;
+            }
+        }
+        size = newSize;
+        selected = true;
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; ++i) {
+            tuples[i] = null;
+        }
+        count = 0;
+        size = 0;
+        selected = false;
+    }
+}
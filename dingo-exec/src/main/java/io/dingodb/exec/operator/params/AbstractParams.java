@@ -59,6 +59,7 @@ import lombok.Setter;
     @JsonSubTypes.Type(GetByIndexParam.class),
     @JsonSubTypes.Type(GetByKeysParam.class),
     @JsonSubTypes.Type(HashJoinParam.class),
+    @JsonSubTypes.Type(LookupJoinParam.class),
     @JsonSubTypes.Type(HashParam.class),
     @JsonSubTypes.Type(LikeScanParam.class),
     @JsonSubTypes.Type(IndexMergeParam.class),
@@ -21,18 +21,31 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
 import io.dingodb.exec.aggregate.AggCache;
+import io.dingodb.exec.aggregate.AggSpiller;
+import io.dingodb.exec.aggregate.PrimitiveAggCache;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.TupleBatch;
+import io.dingodb.exec.spill.SpillUtils;
 import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @JsonTypeName("aggregate")
-@JsonPropertyOrder({"keys", "aggregates"})
+@JsonPropertyOrder({"keys", "aggregates", "schema", "outputSchema"})
 public class AggregateParams extends AbstractParams {
+    // Check the memory used every so many tuples, for counting groups is not free.
+    private static final long CHECK_INTERVAL = 1024;
 
     @JsonProperty("keys")
     private final TupleMapping keyMapping;
@@ -41,26 +54,149 @@ public class AggregateParams extends AbstractParams {
     @JsonSerialize(contentAs = AbstractAgg.class)
     @JsonDeserialize(contentAs = AbstractAgg.class)
     private final List<Agg> aggList;
+    // Type of the input, used to choose a specialized aggregation cache.
+    @JsonProperty("schema")
+    private final @Nullable DingoType schema;
+    // Type of the output, used to encode groups when spilling to disk. Spilling is disabled if absent.
+    @JsonProperty("outputSchema")
+    private final @Nullable DingoType outputSchema;
     @Getter
     private transient AggCache cache;
 
+    private transient AggSpiller spiller;
+    private transient long memoryLimit;
+    private transient AtomicLong pushed;
+    private transient ReadWriteLock spillLock;
+
+    public AggregateParams(TupleMapping keyMapping, List<Agg> aggList) {
+        this(keyMapping, aggList, null, null);
+    }
+
+    public AggregateParams(TupleMapping keyMapping, List<Agg> aggList, @Nullable DingoType schema) {
+        this(keyMapping, aggList, schema, null);
+    }
+
     public AggregateParams(@JsonProperty("keys") TupleMapping keyMapping,
-                           @JsonProperty("aggregates") List<Agg> aggList) {
+                           @JsonProperty("aggregates") List<Agg> aggList,
+                           @JsonProperty("schema") @Nullable DingoType schema,
+                           @JsonProperty("outputSchema") @Nullable DingoType outputSchema) {
         this.keyMapping = keyMapping;
         this.aggList = aggList;
+        this.schema = schema;
+        this.outputSchema = outputSchema;
     }
 
 
     public void init(Vertex vertex) {
-        cache = new AggCache(keyMapping, aggList);
+        cache = PrimitiveAggCache.of(keyMapping, aggList, schema);
+        if (cache == null) {
+            cache = new AggCache(keyMapping, aggList);
+        }
+        memoryLimit = ScopeVariables.getAggMemoryLimit();
+        spiller = memoryLimit > 0 ? AggSpiller.of(keyMapping.size(), aggList, outputSchema) : null;
+        pushed = new AtomicLong(0);
+        spillLock = new ReentrantReadWriteLock();
+    }
+
+    public void addTuple(Object[] tuple) {
+        if (spiller == null) {
+            doAddTuple(tuple);
+            return;
+        }
+        spillLock.readLock().lock();
+        try {
+            doAddTuple(tuple);
+        } finally {
+            spillLock.readLock().unlock();
+        }
+        if (pushed.incrementAndGet() % CHECK_INTERVAL == 0) {
+            checkMemory(tuple);
+        }
     }
 
-    public synchronized void addTuple(Object[] tuple) {
-        cache.addTuple(tuple);
+    public void addTuples(TupleBatch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (spiller != null) {
+            spillLock.readLock().lock();
+        }
+        try {
+            if (cache instanceof PrimitiveAggCache) {
+                for (int i = 0; i < batch.size(); ++i) {
+                    cache.addTuple(batch.get(i));
+                }
+            } else {
+                synchronized (this) {
+                    for (int i = 0; i < batch.size(); ++i) {
+                        cache.addTuple(batch.get(i));
+                    }
+                }
+            }
+        } finally {
+            if (spiller != null) {
+                spillLock.readLock().unlock();
+            }
+        }
+        if (spiller != null) {
+            long count = pushed.addAndGet(batch.size());
+            if (count / CHECK_INTERVAL != (count - batch.size()) / CHECK_INTERVAL) {
+                checkMemory(batch.get(0));
+            }
+        }
+    }
+
+    private void checkMemory(Object[] tuple) {
+        if ((long) cache.size() * SpillUtils.estimateSize(tuple) > memoryLimit) {
+            spillLock.writeLock().lock();
+            try {
+                // Check again for another thread may have spilled.
+                if ((long) cache.size() * SpillUtils.estimateSize(tuple) > memoryLimit) {
+                    spiller.spill(cache);
+                }
+            } finally {
+                spillLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void doAddTuple(Object[] tuple) {
+        if (cache instanceof PrimitiveAggCache) {
+            // Thread safe by itself.
+            cache.addTuple(tuple);
+            return;
+        }
+        synchronized (this) {
+            cache.addTuple(tuple);
+        }
+    }
+
+    /**
+     * Iterate over the results, including the groups spilled to disk.
+     *
+     * @return the iterator
+     */
+    public Iterator<Object[]> iterator() {
+        if (spiller != null && spiller.isSpilled()) {
+            return spiller.iterator(cache);
+        }
+        return cache.iterator();
     }
 
     public void clear() {
         cache.clear();
+        if (spiller != null) {
+            spiller.close();
+            spiller = AggSpiller.of(keyMapping.size(), aggList, outputSchema);
+        }
+        pushed.set(0);
+    }
+
+    @Override
+    public void destroy() {
+        if (spiller != null) {
+            spiller.close();
+        }
     }
 
 }
@@ -16,7 +16,9 @@
 
 package io.dingodb.exec.operator.params;
 
+import io.dingodb.exec.operator.data.ExportWriter;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.util.Calendar;
 import java.util.Locale;
@@ -42,6 +44,9 @@ public class ExportDataParam extends AbstractParams {
 
     private final Calendar localCalendar;
 
+    @Setter
+    private transient ExportWriter writer;
+
     public ExportDataParam(String outfile,
                            byte[] terminated,
                            String id,
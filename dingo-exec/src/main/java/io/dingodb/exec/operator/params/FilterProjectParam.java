@@ -24,7 +24,9 @@ import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.data.RuntimeFilterProbe;
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
 public abstract class FilterProjectParam extends AbstractParams {
@@ -43,6 +45,9 @@ public abstract class FilterProjectParam extends AbstractParams {
     protected TupleMapping selection;
     @JsonProperty("keyMapping")
     protected final TupleMapping keyMapping;
+    @JsonProperty("runtimeFilter")
+    @Setter
+    protected RuntimeFilterProbe runtimeFilter;
 
     public FilterProjectParam(
         CommonId tableId,
@@ -63,6 +68,9 @@ public abstract class FilterProjectParam extends AbstractParams {
 
     @Override
     public void init(Vertex vertex) {
+        if (runtimeFilter != null) {
+            runtimeFilter.init(vertex);
+        }
         if (filter != null) {
             if (selection != null) {
                 filter.compileIn(schema.select(selection), vertex.getParasType());
@@ -78,5 +86,8 @@ public abstract class FilterProjectParam extends AbstractParams {
         if (filter != null) {
             filter.setParas(paras);
         }
+        if (runtimeFilter != null) {
+            runtimeFilter.reset();
+        }
     }
 }
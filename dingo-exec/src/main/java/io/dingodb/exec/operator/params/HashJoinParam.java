@@ -19,17 +19,26 @@ package io.dingodb.exec.operator.params;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.profile.Profile;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.RuntimeFilter;
 import io.dingodb.exec.operator.data.TupleWithJoinFlag;
+import io.dingodb.exec.spill.SpillCodec;
+import io.dingodb.exec.spill.SpillPartitions;
 import io.dingodb.exec.tuple.TupleKey;
 import lombok.Getter;
 import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Getter
 @JsonTypeName("hashJoin")
@@ -49,6 +58,15 @@ public class HashJoinParam extends AbstractParams {
     private final boolean leftRequired;
     @JsonProperty("rightRequired")
     private final boolean rightRequired;
+    // Types of the inputs, used to encode tuples when spilling to disk. Spilling is disabled if absent.
+    @JsonProperty("leftType")
+    private final @Nullable DingoType leftType;
+    @JsonProperty("rightType")
+    private final @Nullable DingoType rightType;
+    // Publish a runtime filter of the build side for the probe-side scans.
+    @JsonProperty("runtimeFilter")
+    @Setter
+    private boolean runtimeFilterEnabled;
 
     @Setter
     private transient boolean rightFinFlag;
@@ -56,6 +74,18 @@ public class HashJoinParam extends AbstractParams {
     @Setter
     private transient CompletableFuture<Void> future;
 
+    private transient SpillCodec leftCodec;
+    private transient SpillCodec rightCodec;
+    private transient long memoryLimit;
+    private transient AtomicLong memoryUsed;
+    private transient ReadWriteLock buildLock;
+    @Setter
+    private transient volatile SpillPartitions leftPartitions;
+    @Setter
+    private transient volatile SpillPartitions rightPartitions;
+    @Setter
+    private transient volatile RuntimeFilter runtimeFilter;
+
     @Getter
     @Setter
     public Profile profileLeft;
@@ -70,6 +100,19 @@ public class HashJoinParam extends AbstractParams {
         int rightLength,
         boolean leftRequired,
         boolean rightRequired
+    ) {
+        this(leftMapping, rightMapping, leftLength, rightLength, leftRequired, rightRequired, null, null);
+    }
+
+    public HashJoinParam(
+        TupleMapping leftMapping,
+        TupleMapping rightMapping,
+        int leftLength,
+        int rightLength,
+        boolean leftRequired,
+        boolean rightRequired,
+        @Nullable DingoType leftType,
+        @Nullable DingoType rightType
     ) {
         this.leftMapping = leftMapping;
         this.rightMapping = rightMapping;
@@ -77,6 +120,8 @@ public class HashJoinParam extends AbstractParams {
         this.rightLength = rightLength;
         this.leftRequired = leftRequired;
         this.rightRequired = rightRequired;
+        this.leftType = leftType;
+        this.rightType = rightType;
     }
 
     @Override
@@ -84,9 +129,42 @@ public class HashJoinParam extends AbstractParams {
         rightFinFlag = false;
         hashMap = new ConcurrentHashMap<>();
         future = new CompletableFuture<>();
+        leftCodec = SpillCodec.of(leftType);
+        rightCodec = SpillCodec.of(rightType);
+        memoryLimit = ScopeVariables.getJoinMemoryLimit();
+        memoryUsed = new AtomicLong(0);
+        buildLock = new ReentrantReadWriteLock();
+        leftPartitions = null;
+        rightPartitions = null;
+        runtimeFilter = null;
+    }
+
+    public boolean isSpillable() {
+        return memoryLimit > 0 && leftCodec != null && rightCodec != null;
+    }
+
+    public boolean isSpilled() {
+        return rightPartitions != null;
     }
 
     public void clear() {
         hashMap.clear();
+        memoryUsed.set(0);
+        runtimeFilter = null;
+        if (leftPartitions != null) {
+            leftPartitions.close();
+            leftPartitions = null;
+        }
+        if (rightPartitions != null) {
+            rightPartitions.close();
+            rightPartitions = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (hashMap != null) {
+            clear();
+        }
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.params;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.common.util.Optional;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.meta.entity.Table;
+import io.dingodb.partition.DingoPartitionServiceProvider;
+import io.dingodb.partition.PartitionService;
+import lombok.Getter;
+import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+
+@Getter
+@JsonTypeName("lookupJoin")
+@JsonPropertyOrder({
+    "tableId", "outerKeys", "innerKeys", "outerLength", "leftRequired", "filter", "selection",
+    "transactional", "scanTs", "timeOut"
+})
+public class LookupJoinParam extends AbstractParams {
+    // Max number of outer tuples looked up together.
+    public static final int BATCH_SIZE = 1024;
+
+    @JsonProperty("tableId")
+    @JsonSerialize(using = CommonId.JacksonSerializer.class)
+    @JsonDeserialize(using = CommonId.JacksonDeserializer.class)
+    private final CommonId tableId;
+    private final Table table;
+    @Setter
+    private NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
+    // Indices of the join keys in outer tuples.
+    @JsonProperty("outerKeys")
+    private final TupleMapping outerKeys;
+    // Indices of the primary key columns in the inner table, corresponding to `outerKeys`.
+    @JsonProperty("innerKeys")
+    private final TupleMapping innerKeys;
+    @JsonProperty("outerLength")
+    private final int outerLength;
+    @JsonProperty("leftRequired")
+    private final boolean leftRequired;
+    // Filter on the selected columns of the inner table.
+    @JsonProperty("filter")
+    private final @Nullable SqlExpr filter;
+    @JsonProperty("selection")
+    private final TupleMapping selection;
+    @JsonProperty("transactional")
+    private final boolean transactional;
+    @JsonProperty("scanTs")
+    private long scanTs;
+    @JsonProperty("timeOut")
+    private final long timeOut;
+
+    private transient KeyValueCodec codec;
+    private transient PartitionService partitionService;
+    private transient List<Object[]> outerTuples;
+
+    public LookupJoinParam(
+        CommonId tableId,
+        Table table,
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions,
+        TupleMapping outerKeys,
+        TupleMapping innerKeys,
+        int outerLength,
+        boolean leftRequired,
+        @Nullable SqlExpr filter,
+        TupleMapping selection,
+        boolean transactional,
+        long scanTs,
+        long timeOut
+    ) {
+        this.tableId = tableId;
+        this.table = table;
+        this.distributions = distributions;
+        this.outerKeys = outerKeys;
+        this.innerKeys = innerKeys;
+        this.outerLength = outerLength;
+        this.leftRequired = leftRequired;
+        this.filter = filter;
+        this.selection = selection;
+        this.transactional = transactional;
+        this.scanTs = scanTs;
+        this.timeOut = timeOut;
+    }
+
+    @Override
+    public void init(Vertex vertex) {
+        codec = CodecService.getDefault().createKeyValueCodec(table.version, table.tupleType(), table.keyMapping());
+        partitionService = PartitionService.getService(
+            Optional.ofNullable(table.getPartitionStrategy())
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME)
+        );
+        if (filter != null) {
+            filter.compileIn(table.tupleType().select(selection), vertex.getParasType());
+        }
+        outerTuples = new ArrayList<>(BATCH_SIZE);
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        super.setParas(paras);
+        if (filter != null) {
+            filter.setParas(paras);
+        }
+    }
+
+    @Override
+    public void setStartTs(long startTs) {
+        this.scanTs = startTs;
+    }
+
+    /**
+     * Add an outer tuple to the current batch.
+     *
+     * @return the batch if it is full, otherwise {@code null}
+     */
+    public synchronized @Nullable List<Object[]> addOuterTuple(Object[] tuple) {
+        outerTuples.add(tuple);
+        return outerTuples.size() >= BATCH_SIZE ? takeOuterTuples() : null;
+    }
+
+    public synchronized List<Object[]> takeOuterTuples() {
+        List<Object[]> batch = outerTuples;
+        outerTuples = new ArrayList<>(BATCH_SIZE);
+        return batch;
+    }
+}
@@ -28,8 +28,8 @@ import io.dingodb.exec.codec.TxRxCodecImpl;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.tuple.TupleId;
-import io.dingodb.exec.utils.QueueUtils;
 import io.dingodb.exec.utils.TagUtils;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +37,8 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Getter
@@ -45,8 +46,6 @@ import java.util.concurrent.LinkedBlockingDeque;
 @JsonTypeName("receive")
 public class ReceiveParam extends SourceParam {
 
-    private static final int QUEUE_CAPACITY = 1024;
-
     @JsonProperty("host")
     private final String host;
     @JsonProperty("port")
@@ -56,7 +55,8 @@ public class ReceiveParam extends SourceParam {
 
     private transient String tag;
     private transient TxRxCodec codec;
-    private transient BlockingQueue<TupleId> tupleQueue;
+    // Not bounded here, for the bytes in flight are limited by the credits granted to the sender.
+    private transient BlockingQueue<ReceivedBatch> batchQueue;
     private transient ReceiveEndpoint endpoint;
     @Setter
     private transient Fin finObj = null;
@@ -74,16 +74,17 @@ public class ReceiveParam extends SourceParam {
     @Override
     public void init(Vertex vertex) {
         codec = new TxRxCodecImpl(schema);
-        tupleQueue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
+        batchQueue = new LinkedBlockingQueue<>();
         tag = TagUtils.tag(vertex.getTask().getJobId(), vertex.getId());
-        endpoint = new ReceiveEndpoint(host, port, tag, (byte[] content) -> {
+        endpoint = new ReceiveEndpoint(host, port, tag, (byte[] content, int bytes) -> {
             try {
                 List<TupleId> tuples = codec.decode(content);
-                for (TupleId tuple : tuples) {
-                    if (!endpoint.isStopped() || tuple.getTuple()[0] instanceof Fin) {
-                        QueueUtils.forcePut(tupleQueue, tuple);
-                    }
+                if (endpoint.isStopped()) {
+                    tuples = tuples.stream()
+                        .filter(t -> t.getTuple()[0] instanceof Fin)
+                        .collect(Collectors.toList());
                 }
+                batchQueue.add(new ReceivedBatch(tuples, bytes));
             } catch (IOException e) {
                 log.error("Exception in receive handler:", e);
             }
@@ -94,6 +95,14 @@ public class ReceiveParam extends SourceParam {
         }
     }
 
+    @Getter
+    @AllArgsConstructor
+    public static final class ReceivedBatch {
+        private final List<TupleId> tupleIds;
+        // Length of the message, given back to the sender as credits after consumed.
+        private final int bytes;
+    }
+
     @Override
     public void destroy() {
         if (endpoint != null) {
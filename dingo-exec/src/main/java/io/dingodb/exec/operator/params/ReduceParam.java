@@ -21,21 +21,29 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
 import io.dingodb.exec.aggregate.AggCache;
+import io.dingodb.exec.aggregate.AggSpiller;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.spill.SpillUtils;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Iterator;
 import java.util.List;
 
 @Slf4j
 @Getter
 @JsonTypeName("reduce")
-@JsonPropertyOrder({"inputNum", "keys", "aggregates"})
+@JsonPropertyOrder({"inputNum", "keys", "aggregates", "schema"})
 public class ReduceParam extends AbstractParams {
+    // Check the memory used every so many tuples, for counting groups is not free.
+    private static final long CHECK_INTERVAL = 1024;
 
     @JsonProperty("keys")
     private final TupleMapping keys;
@@ -43,20 +51,63 @@ public class ReduceParam extends AbstractParams {
     @JsonSerialize(contentAs = AbstractAgg.class)
     @JsonDeserialize(contentAs = AbstractAgg.class)
     private final List<Agg> aggList;
+    // Type of the input and output, used to encode groups when spilling to disk. Spilling is disabled if absent.
+    @JsonProperty("schema")
+    private final @Nullable DingoType schema;
 
     private transient AggCache cache;
+    private transient AggSpiller spiller;
+    private transient long memoryLimit;
+    private transient long reduced;
 
     public ReduceParam(TupleMapping keys, List<Agg> aggList) {
+        this(keys, aggList, null);
+    }
+
+    public ReduceParam(
+        @JsonProperty("keys") TupleMapping keys,
+        @JsonProperty("aggregates") List<Agg> aggList,
+        @JsonProperty("schema") @Nullable DingoType schema
+    ) {
         this.keys = keys;
         this.aggList = aggList;
+        this.schema = schema;
     }
 
     @Override
     public void init(Vertex vertex) {
         cache = new AggCache(keys, aggList);
+        memoryLimit = ScopeVariables.getAggMemoryLimit();
+        spiller = memoryLimit > 0 ? AggSpiller.of(keys.size(), aggList, schema) : null;
+        reduced = 0;
     }
 
     public synchronized void reduce(Object[] tuple) {
         cache.reduce(tuple);
+        if (spiller != null
+            && ++reduced % CHECK_INTERVAL == 0
+            && (long) cache.size() * SpillUtils.estimateSize(tuple) > memoryLimit
+        ) {
+            spiller.spill(cache);
+        }
+    }
+
+    /**
+     * Iterate over the results, including the groups spilled to disk.
+     *
+     * @return the iterator
+     */
+    public synchronized Iterator<Object[]> iterator() {
+        if (spiller != null && spiller.isSpilled()) {
+            return spiller.iterator(cache);
+        }
+        return cache.iterator();
+    }
+
+    @Override
+    public void destroy() {
+        if (spiller != null) {
+            spiller.close();
+        }
     }
 }
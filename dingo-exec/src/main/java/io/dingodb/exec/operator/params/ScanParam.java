@@ -30,7 +30,10 @@ import io.dingodb.common.profile.Profile;
 import io.dingodb.common.profile.SourceProfile;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.RuntimeFilterProbe;
 import lombok.Getter;
+import lombok.Setter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
@@ -55,6 +58,11 @@ public class ScanParam extends AbstractParams {
     @JsonProperty("keyMapping")
     protected final TupleMapping keyMapping;
 
+    @Getter
+    @Setter
+    @JsonProperty("runtimeFilter")
+    protected RuntimeFilterProbe runtimeFilter;
+
     @Getter
     protected List<Profile> profileList;
     protected int schemaVersion;
@@ -72,6 +80,20 @@ public class ScanParam extends AbstractParams {
         this.schemaVersion = schemaVersion;
     }
 
+    @Override
+    public void init(Vertex vertex) {
+        if (runtimeFilter != null) {
+            runtimeFilter.init(vertex);
+        }
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        if (runtimeFilter != null) {
+            runtimeFilter.reset();
+        }
+    }
+
     public KeyValueCodec getCodec() {
         return CodecService.getDefault().createKeyValueCodec(schemaVersion, schema, keyMapping);
     }
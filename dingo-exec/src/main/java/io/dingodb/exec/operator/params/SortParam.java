@@ -20,19 +20,26 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.spill.SpillCodec;
+import io.dingodb.exec.spill.SpillFile;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.PriorityQueue;
 
 @Getter
 @JsonTypeName("sort")
-@JsonPropertyOrder({"collations", "limit", "offset", "vectorHybrid"})
+@JsonPropertyOrder({"collations", "limit", "offset", "vectorHybrid", "schema"})
 public class SortParam extends AbstractParams {
 
     @JsonProperty("collations")
@@ -43,21 +50,43 @@ public class SortParam extends AbstractParams {
     private final int offset;
     @JsonProperty("vectorHybrid")
     private final boolean vectorHybrid;
+    // Type of the input, used to encode sorted runs when spilling to disk. Spilling is disabled if absent.
+    @JsonProperty("schema")
+    private final @Nullable DingoType schema;
     private final List<Object[]> cache;
     private transient Comparator<Object[]> comparator;
+    // Bounded heap keeping the first `offset + limit` tuples, the greatest on top, for ORDER BY ... LIMIT.
+    private transient PriorityQueue<Object[]> heap;
+    private transient SpillCodec codec;
+    @Setter
+    private transient long memoryLimit;
+    @Setter
+    private transient long memoryUsed;
+    private transient List<SpillFile> runs;
+
+    public SortParam(
+        @NonNull List<SortCollation> collations,
+        int limit,
+        int offset,
+        boolean vectorHybrid
+    ) {
+        this(collations, limit, offset, vectorHybrid, null);
+    }
 
     @JsonCreator
     public SortParam(
         @JsonProperty("collations") @NonNull List<SortCollation> collations,
         @JsonProperty("limit") int limit,
         @JsonProperty("offset") int offset,
-        @JsonProperty("vectorHybrid") boolean vectorHybrid
+        @JsonProperty("vectorHybrid") boolean vectorHybrid,
+        @JsonProperty("schema") @Nullable DingoType schema
     ) {
         this.collations = collations;
         this.limit = limit;
         this.offset = offset;
         this.vectorHybrid = vectorHybrid;
-        this.cache = new LinkedList<>();
+        this.schema = schema;
+        this.cache = new ArrayList<>();
         if (!collations.isEmpty()) {
             Comparator<Object[]> c = collations.get(0).makeComparator();
             for (int i = 1; i < collations.size(); ++i) {
@@ -81,10 +110,41 @@ public class SortParam extends AbstractParams {
         } else {
             comparator = null;
         }
+        // Vector hybrid search normalizes scores over all the tuples, so they must be kept.
+        if (comparator != null && limit >= 0 && !vectorHybrid) {
+            heap = new PriorityQueue<>(Math.max(topN(), 1), comparator.reversed());
+        } else {
+            heap = null;
+        }
+        codec = vectorHybrid ? null : SpillCodec.of(schema);
+        memoryLimit = ScopeVariables.getSortMemoryLimit();
+        memoryUsed = 0;
+        runs = new ArrayList<>();
+    }
+
+    public int topN() {
+        return (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    }
+
+    public boolean isSpillable() {
+        return comparator != null && memoryLimit > 0 && codec != null;
     }
 
     public void clear() {
         cache.clear();
+        if (heap != null) {
+            heap.clear();
+        }
+        memoryUsed = 0;
+        if (runs != null) {
+            runs.forEach(SpillFile::close);
+            runs.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        clear();
     }
 
     public OperatorProfile getProfile() {
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.type.DingoType;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.util.List;
 
@@ -32,6 +33,9 @@ public class ValuesParam extends SourceParam {
     private final List<Object[]> tuples;
     @JsonProperty("schema")
     private final DingoType schema;
+    // Rows of parameters bound for the next run only, the tuples are pushed once for each row.
+    @Setter
+    private transient List<Object[]> batchParas;
 
     public ValuesParam(List<Object[]> tuples, DingoType schema) {
         this.tuples = tuples;
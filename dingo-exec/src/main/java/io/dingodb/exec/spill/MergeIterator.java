@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Merge several sorted iterators into one. Equal tuples are output in the order of the iterators, so merging
+ * sorted runs keeps a stable sort stable.
+ */
+public final class MergeIterator implements Iterator<Object[]> {
+    private final PriorityQueue<Head> heads;
+
+    public MergeIterator(@NonNull List<Iterator<Object[]>> iterators, @NonNull Comparator<Object[]> comparator) {
+        Comparator<Head> c = Comparator.comparing((Head h) -> h.tuple, comparator);
+        heads = new PriorityQueue<>(Math.max(iterators.size(), 1), c.thenComparingInt(h -> h.index));
+        for (int i = 0; i < iterators.size(); ++i) {
+            Iterator<Object[]> it = iterators.get(i);
+            if (it.hasNext()) {
+                heads.add(new Head(i, it.next(), it));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Object[] next() {
+        Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        Object[] tuple = head.tuple;
+        if (head.iterator.hasNext()) {
+            head.tuple = head.iterator.next();
+            heads.add(head);
+        }
+        return tuple;
+    }
+
+    private static final class Head {
+        private final int index;
+        private final Iterator<Object[]> iterator;
+        private Object[] tuple;
+
+        private Head(int index, Object[] tuple, Iterator<Object[]> iterator) {
+            this.index = index;
+            this.tuple = tuple;
+            this.iterator = iterator;
+        }
+    }
+}
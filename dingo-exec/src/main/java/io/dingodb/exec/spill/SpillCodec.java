@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.converter.DingoConverter;
+import io.dingodb.serial.io.RecordDecoder;
+import io.dingodb.serial.io.RecordEncoder;
+import io.dingodb.serial.schema.DingoSchema;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes tuples to bytes with the dingo-serial record codec, so they can be written to spill files.
+ */
+public final class SpillCodec {
+    private static final byte UNFINISHED_FLAG = 0;
+    private static final byte FINISHED_FLAG = 1;
+    private static final byte DELETE_FLAG = 2;
+
+    private final DingoType schema;
+    private final RecordEncoder encoder;
+    private final RecordDecoder decoder;
+
+    private SpillCodec(@NonNull DingoType schema, List<DingoSchema> schemas) {
+        this.schema = schema;
+        this.encoder = new RecordEncoder(
+            schemas, (short) 0, UNFINISHED_FLAG, FINISHED_FLAG, DELETE_FLAG, null
+        );
+        this.decoder = new RecordDecoder(
+            schemas, (short) 0, UNFINISHED_FLAG, FINISHED_FLAG, DELETE_FLAG, null
+        );
+    }
+
+    /**
+     * Create a codec for the tuple type.
+     *
+     * @param schema the tuple type
+     * @return the codec, or {@code null} if some of the fields cannot be encoded
+     */
+    public static @Nullable SpillCodec of(@Nullable DingoType schema) {
+        if (schema == null || schema.fieldCount() <= 0) {
+            return null;
+        }
+        List<DingoSchema> schemas = schema.toDingoSchemas();
+        if (schemas == null || schemas.stream().anyMatch(s -> s == null)) {
+            return null;
+        }
+        return new SpillCodec(schema, schemas);
+    }
+
+    public byte[] encode(Object @NonNull [] tuple) throws IOException {
+        return encoder.encode((Object[]) schema.convertTo(tuple, DingoConverter.INSTANCE));
+    }
+
+    public Object[] decode(byte @NonNull [] bytes) throws IOException {
+        return (Object[]) schema.convertFrom(decoder.decode(bytes), DingoConverter.INSTANCE);
+    }
+}
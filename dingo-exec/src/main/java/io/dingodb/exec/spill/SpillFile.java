@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A temporary file of length-prefixed encoded tuples. Tuples are appended until the file is read, and the file is
+ * deleted on {@link #close()}.
+ */
+@Slf4j
+public final class SpillFile implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SpillCodec codec;
+    private final String prefix;
+    private Path path;
+    private DataOutputStream os;
+    private DataInputStream is;
+    @Getter
+    private long count;
+
+    public SpillFile(@NonNull SpillCodec codec, String prefix) {
+        this.codec = codec;
+        this.prefix = prefix;
+        this.count = 0;
+    }
+
+    public synchronized void write(Object @NonNull [] tuple) {
+        try {
+            if (os == null) {
+                Path dir = Paths.get(ScopeVariables.getSpillDir());
+                Files.createDirectories(dir);
+                path = Files.createTempFile(dir, prefix, ".spill");
+                os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+            }
+            byte[] bytes = codec.encode(tuple);
+            os.writeInt(bytes.length);
+            os.write(bytes);
+            ++count;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write spill file.", e);
+        }
+    }
+
+    /**
+     * Finish writing and iterate over the tuples in the order they were written. Can be called only once.
+     *
+     * @return the iterator
+     */
+    public synchronized @NonNull Iterator<Object[]> read() {
+        if (os == null) {
+            return new TupleIterator(null, 0);
+        }
+        try {
+            os.close();
+            os = null;
+            is = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read spill file.", e);
+        }
+        return new TupleIterator(is, count);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (os != null) {
+                os.close();
+                os = null;
+            }
+            if (is != null) {
+                is.close();
+                is = null;
+            }
+            if (path != null) {
+                Files.deleteIfExists(path);
+                path = null;
+            }
+        } catch (IOException e) {
+            LogUtils.warn(log, "Failed to remove spill file \"{}\".", path, e);
+        }
+    }
+
+    private final class TupleIterator implements Iterator<Object[]> {
+        private final DataInputStream input;
+        private long remaining;
+
+        private TupleIterator(DataInputStream input, long remaining) {
+            this.input = input;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Object[] next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            try {
+                int length = input.readInt();
+                byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                --remaining;
+                return codec.decode(bytes);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read spill file.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.Closeable;
+
+/**
+ * A set of spill files, to which tuples are distributed by hash code.
+ */
+public final class SpillPartitions implements Closeable {
+    private final SpillFile[] files;
+
+    public SpillPartitions(@NonNull SpillCodec codec, int count, String prefix) {
+        files = new SpillFile[count];
+        for (int i = 0; i < count; ++i) {
+            files[i] = new SpillFile(codec, prefix);
+        }
+    }
+
+    public void write(int hash, Object @NonNull [] tuple) {
+        files[SpillUtils.partitionOf(hash, files.length)].write(tuple);
+    }
+
+    public SpillFile get(int index) {
+        return files[index];
+    }
+
+    public int size() {
+        return files.length;
+    }
+
+    @Override
+    public void close() {
+        for (SpillFile file : files) {
+            file.close();
+        }
+    }
+}
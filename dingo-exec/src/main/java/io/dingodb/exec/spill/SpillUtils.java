@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+public final class SpillUtils {
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    // Mixed into the hash code before partitioning, see `partitionOf`.
+    private static final int PARTITION_SEED = 0x9E3779B9;
+
+    private SpillUtils() {
+    }
+
+    /**
+     * Roughly estimate the heap bytes occupied by a tuple. It is used to decide when to spill, so it need be cheap
+     * rather than precise.
+     *
+     * @param tuple the tuple
+     * @return the estimated size in bytes
+     */
+    public static long estimateSize(Object @Nullable [] tuple) {
+        if (tuple == null) {
+            return 0;
+        }
+        long size = OBJECT_HEADER + (long) REFERENCE * tuple.length;
+        for (Object value : tuple) {
+            size += estimateSize(value);
+        }
+        return size;
+    }
+
+    private static long estimateSize(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 24;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value instanceof BigDecimal ? 64 : OBJECT_HEADER;
+        }
+        if (value instanceof String) {
+            return 40 + ((String) value).length();
+        }
+        if (value instanceof byte[]) {
+            return OBJECT_HEADER + ((byte[]) value).length;
+        }
+        if (value instanceof Collection) {
+            return OBJECT_HEADER + 24L * ((Collection<?>) value).size();
+        }
+        if (value instanceof Object[]) {
+            return estimateSize((Object[]) value);
+        }
+        return 32;
+    }
+
+    /**
+     * Map a hash code to a partition index. The hash code is rehashed with a seed first, for a partition is loaded
+     * into a hash map using the same hash code, where the keys would otherwise all fall into the same fraction of the
+     * buckets.
+     *
+     * @param hash       the hash code
+     * @param partitions number of partitions
+     * @return the partition index in [0, partitions)
+     */
+    public static int partitionOf(int hash, int partitions) {
+        // The finalizer of MurmurHash3.
+        int h = hash ^ PARTITION_SEED;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % partitions;
+    }
+}
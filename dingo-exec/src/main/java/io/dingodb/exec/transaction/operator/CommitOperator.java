@@ -48,6 +48,7 @@ import io.dingodb.store.api.transaction.exception.RegionSplitException;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -124,19 +125,11 @@ public class CommitOperator extends TransactionOperator {
             } else if (partId.equals(newPartId)) {
                 param.addKey(key);
                 if (param.getKeys().size() == TransactionUtil.max_pre_write_count) {
-                    boolean result = txnCommit(param, txnId, tableId, partId);
-                    if (!result) {
-                        throw new RuntimeException(txnId + " " + partId + ",txnCommit false,PrimaryKey:" + param.getPrimaryKey().toString());
-                    }
-                    param.getKeys().clear();
+                    submitCommit(param, txnId, tableId, partId);
                     param.setPartId(null);
                 }
             } else {
-                boolean result = txnCommit(param, txnId, param.getTableId(), partId);
-                if (!result) {
-                    throw new RuntimeException(txnId + " " + partId + ",txnCommit false,PrimaryKey:" + param.getPrimaryKey().toString());
-                }
-                param.getKeys().clear();
+                submitCommit(param, txnId, param.getTableId(), partId);
                 param.addKey(key);
                 param.setPartId(newPartId);
                 param.setTableId(tableId);
@@ -145,13 +138,31 @@ public class CommitOperator extends TransactionOperator {
         }
     }
 
-    private boolean txnCommit(CommitParam param, CommonId txnId, CommonId tableId, CommonId newPartId) {
+    /**
+     * Commit the keys collected in the background, the operator goes on with new keys.
+     */
+    private static void submitCommit(CommitParam param, CommonId txnId, CommonId tableId, CommonId partId) {
+        List<byte[]> keys = param.getKeys();
+        param.setKeys(new ArrayList<>());
+        param.getPipeline().submit(
+            () -> txnCommit(param, keys, txnId, tableId, partId),
+            () -> txnId + " " + partId + ",txnCommit false,PrimaryKey:" + Arrays.toString(param.getPrimaryKey())
+        );
+    }
+
+    private static boolean txnCommit(
+        CommitParam param,
+        List<byte[]> keys,
+        CommonId txnId,
+        CommonId tableId,
+        CommonId newPartId
+    ) {
         // 1、Async call sdk TxnCommit
         TxnCommit commitRequest = TxnCommit.builder()
             .isolationLevel(IsolationLevel.of(param.getIsolationLevel()))
             .startTs(param.getStartTs())
             .commitTs(param.getCommitTs())
-            .keys(param.getKeys())
+            .keys(keys)
             .build();
         try {
             StoreInstance store = Services.KV_STORE.getInstance(tableId, newPartId);
@@ -159,7 +170,7 @@ public class CommitOperator extends TransactionOperator {
         } catch (RegionSplitException e) {
             LogUtils.error(log, e.getMessage(), e);
             // 2、regin split
-            Map<CommonId, List<byte[]>> partMap = TransactionUtil.multiKeySplitRegionId(tableId, txnId, param.getKeys());
+            Map<CommonId, List<byte[]>> partMap = TransactionUtil.multiKeySplitRegionId(tableId, txnId, keys);
             for (Map.Entry<CommonId, List<byte[]>> entry : partMap.entrySet()) {
                 CommonId regionId = entry.getKey();
                 List<byte[]> value = entry.getValue();
@@ -180,16 +191,12 @@ public class CommitOperator extends TransactionOperator {
             CommitParam param = vertex.getParam();
             if (!(fin instanceof FinWithException)) {
                 if (!param.getKeys().isEmpty()) {
-                    CommonId txnId = vertex.getTask().getTxnId();
-                    boolean result = txnCommit(param, txnId, param.getTableId(), param.getPartId());
-                    if (!result) {
-                        throw new RuntimeException(
-                            txnId + " " + param.getPartId()
-                            + ",txnCommit false,"
-                            + " PrimaryKey:" + Arrays.toString(param.getPrimaryKey()));
-                    }
+                    submitCommit(param, vertex.getTask().getTxnId(), param.getTableId(), param.getPartId());
                 }
+                param.getPipeline().await();
                 vertex.getSoleEdge().transformToNext(new Object[]{true});
+            } else {
+                awaitQuietly(param.getPipeline());
             }
             vertex.getSoleEdge().fin(fin);
         }
@@ -16,11 +16,29 @@
 
 package io.dingodb.exec.transaction.operator;
 
+import io.dingodb.common.log.LogUtils;
 import io.dingodb.exec.operator.SoleOutOperator;
+import io.dingodb.exec.transaction.util.TxnRpcPipeline;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+@Slf4j
 public abstract class TransactionOperator extends SoleOutOperator {
 
     protected TransactionOperator() {
     }
 
+    /**
+     * Wait for the requests in flight before passing on an error, so that the rollback does not race with them.
+     *
+     * @param pipeline the pipeline of the requests
+     */
+    protected static void awaitQuietly(@NonNull TxnRpcPipeline pipeline) {
+        try {
+            pipeline.await();
+        } catch (RuntimeException e) {
+            LogUtils.error(log, e.getMessage(), e);
+        }
+    }
+
 }
@@ -20,10 +20,12 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.params.AbstractParams;
 import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.exec.transaction.util.TxnRpcPipeline;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -47,11 +49,13 @@ public class CommitParam extends AbstractParams {
     private final byte[] primaryKey;
     @JsonProperty("txnType")
     private final TransactionType transactionType;
+    @Setter
     private List<byte[]> keys;
     @Setter
     private CommonId tableId;
     @Setter
     private CommonId partId;
+    private transient TxnRpcPipeline pipeline;
 
     public CommitParam(
         @JsonProperty("schema") DingoType schema,
@@ -73,6 +77,7 @@ public class CommitParam extends AbstractParams {
     public void init(Vertex vertex) {
         super.init(vertex);
         keys = new ArrayList<>();
+        pipeline = new TxnRpcPipeline("txn_commit", ScopeVariables.getTxnRpcConcurrency());
     }
 
     public void addKey(byte[] key) {
@@ -20,10 +20,12 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.params.AbstractParams;
 import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.exec.transaction.util.TxnRpcPipeline;
 import io.dingodb.store.api.transaction.data.Mutation;
 import lombok.Getter;
 import lombok.Setter;
@@ -58,6 +60,7 @@ public class PreWriteParam extends AbstractParams {
     private CommonId partId;
     private boolean tryOnePc = false;
     private long maxCommitTs = 0L;
+    private transient TxnRpcPipeline pipeline;
 
     public PreWriteParam(
         @JsonProperty("schema") DingoType schema,
@@ -79,6 +82,7 @@ public class PreWriteParam extends AbstractParams {
     public void init(Vertex vertex) {
         super.init(vertex);
         mutations = new ArrayList<>();
+        pipeline = new TxnRpcPipeline("txn_pre_write", ScopeVariables.getTxnRpcConcurrency());
     }
 
     public void addMutation(Mutation mutation) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.transaction.util;
+
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.metrics.DingoMetrics;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a bounded number of prewrite or commit requests of an operator in flight, so that the operator goes on
+ * reading the transaction cache and grouping the next mutations while the previous groups are sent to their regions.
+ * It is used by one thread at a time, for the operators hold the lock of the vertex.
+ */
+public final class TxnRpcPipeline {
+    private final String name;
+    private final int concurrency;
+    private final Semaphore permits;
+    private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    /**
+     * Create a pipeline.
+     *
+     * @param name        name of the requests, for the threads and metrics
+     * @param concurrency max number of requests in flight, non-positive to send them on the calling thread
+     */
+    public TxnRpcPipeline(@NonNull String name, int concurrency) {
+        this.name = name;
+        this.concurrency = concurrency;
+        this.permits = new Semaphore(Math.max(concurrency, 1));
+    }
+
+    /**
+     * Send a request, blocking only if too many requests are in flight.
+     *
+     * @param rpc         sends the request, returns {@code false} if it failed
+     * @param failMessage message of the exception thrown if the request failed
+     */
+    public void submit(@NonNull Callable<Boolean> rpc, @NonNull Supplier<String> failMessage) {
+        checkError();
+        if (concurrency <= 1) {
+            call(rpc, failMessage);
+            return;
+        }
+        permits.acquireUninterruptibly();
+        boolean submitted = false;
+        try {
+            futures.removeIf(CompletableFuture::isDone);
+            checkError();
+            futures.add(Executors.submit(name, () -> {
+                try {
+                    call(rpc, failMessage);
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                } finally {
+                    permits.release();
+                }
+            }));
+            submitted = true;
+        } finally {
+            if (!submitted) {
+                permits.release();
+            }
+        }
+        DingoMetrics.histogram(name + "_in_flight", futures.size());
+    }
+
+    /**
+     * Wait for all the requests in flight.
+     *
+     * @throws RuntimeException the error of the first failed request
+     */
+    public void await() {
+        for (CompletableFuture<Void> future : futures) {
+            future.join();
+        }
+        futures.clear();
+        Throwable throwable = error.getAndSet(null);
+        if (throwable != null) {
+            rethrow(throwable);
+        }
+    }
+
+    private static void call(@NonNull Callable<Boolean> rpc, @NonNull Supplier<String> failMessage) {
+        boolean result;
+        try {
+            result = rpc.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        if (!result) {
+            throw new RuntimeException(failMessage.get());
+        }
+    }
+
+    private void checkError() {
+        Throwable throwable = error.get();
+        if (throwable != null) {
+            rethrow(throwable);
+        }
+    }
+
+    private static void rethrow(@NonNull Throwable throwable) {
+        // Keep the type, for write conflicts and region errors are handled by the callers.
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        } else if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new RuntimeException(throwable);
+    }
+}
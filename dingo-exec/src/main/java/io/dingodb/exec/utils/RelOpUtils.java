@@ -21,6 +21,8 @@ import io.dingodb.common.util.Pair;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.RuntimeFilterProbe;
+import io.dingodb.exec.operator.data.TupleBatch;
 import io.dingodb.exec.operator.params.ScanParam;
 import io.dingodb.exec.operator.params.ScanWithRelOpParam;
 import io.dingodb.expr.rel.CacheOp;
@@ -62,16 +64,31 @@ public final class RelOpUtils {
     ) {
         ScanParam param = vertex.getParam();
         OperatorProfile profile = param.getProfile("scan");
+        RuntimeFilterProbe runtimeFilter = param.getRuntimeFilter();
+        Edge edge = vertex.getSoleEdge();
+        TupleBatch batch = new TupleBatch();
         long count = 0;
         long tmp = System.currentTimeMillis();
         boolean breakFlg = false;
         while (iterator.hasNext()) {
-            profile.time(tmp);
             Object[] tuple = iterator.next();
-            if (!vertex.getSoleEdge().transformToNext(context, tuple)) {
-                breakFlg = true;
-                break;
+            if (runtimeFilter != null && !runtimeFilter.test(tuple)) {
+                continue;
+            }
+            batch.add(tuple);
+            if (batch.isFull()) {
+                profile.time(tmp, batch.size());
+                if (!edge.transformToNext(context, batch)) {
+                    breakFlg = true;
+                    break;
+                }
+                batch.clear();
+                tmp = System.currentTimeMillis();
             }
+        }
+        if (!breakFlg) {
+            profile.time(tmp, batch.size());
+            breakFlg = !edge.transformToNext(context, batch);
             tmp = System.currentTimeMillis();
         }
         if (iterator instanceof DingoTransformedIterator) {
@@ -96,20 +113,31 @@ public final class RelOpUtils {
         ScanParam param = vertex.getParam();
         OperatorProfile profile = param.getProfile("doScanWithPipeOp");
         PipeOp relOp = (PipeOp) ((ScanWithRelOpParam) vertex.getParam()).getRelOp();
+        RuntimeFilterProbe runtimeFilter = param.getRuntimeFilter();
         Edge edge = vertex.getSoleEdge();
+        TupleBatch batch = new TupleBatch();
         long count = 0;
         long tmp = System.currentTimeMillis();
         boolean breakFlg = false;
         while (sourceIterator.hasNext()) {
             profile.time(tmp);
-            Object[] tuple = sourceIterator.next();
+            Object[] out = relOp.put(sourceIterator.next());
             ++count;
-            if (!processWithPipeOp(relOp, tuple, edge, context)) {
-                breakFlg = true;
-                break;
+            if (out != null && (runtimeFilter == null || runtimeFilter.test(out))) {
+                batch.add(out);
+                if (batch.isFull()) {
+                    if (!edge.transformToNext(context, batch)) {
+                        breakFlg = true;
+                        break;
+                    }
+                    batch.clear();
+                }
             }
             tmp = System.currentTimeMillis();
         }
+        if (!breakFlg) {
+            breakFlg = !edge.transformToNext(context, batch);
+        }
         if (sourceIterator instanceof DingoTransformedIterator) {
             DingoTransformedIterator transformedIterator = (DingoTransformedIterator) sourceIterator;
             OperatorProfile profile1 = (OperatorProfile) transformedIterator.getProfile();
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestAggSpiller {
+    private static final DingoType SCHEMA = DingoTypeFactory.INSTANCE.tuple("BIGINT", "INT", "BIGINT");
+    private static final DingoType OUTPUT = DingoTypeFactory.INSTANCE.tuple("BIGINT", "BIGINT", "INT", "BIGINT");
+
+    private static List<Agg> aggList() {
+        return ImmutableList.of(
+            new CountAllAgg(),
+            new SumAgg(1, SCHEMA.getChild(1)),
+            new MaxAgg(2, SCHEMA.getChild(2))
+        );
+    }
+
+    @Test
+    public void testSameAsInMemory() {
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        AggCache expected = new AggCache(keys, aggList());
+        AggCache cache = new AggCache(keys, aggList());
+        try (AggSpiller spiller = AggSpiller.of(keys.size(), aggList(), OUTPUT)) {
+            assertThat(spiller).isNotNull();
+            for (int i = 0; i < 10000; ++i) {
+                Object[] tuple = new Object[]{(long) (i % 997), i % 13, (long) (i * 31 % 101)};
+                expected.addTuple(tuple);
+                cache.addTuple(tuple);
+                if (i % 1500 == 1499) {
+                    spiller.spill(cache);
+                }
+            }
+            assertThat(spiller.isSpilled()).isTrue();
+            List<Object[]> result = new ArrayList<>();
+            spiller.iterator(cache).forEachRemaining(result::add);
+            List<Object[]> expectedResult = new ArrayList<>();
+            expected.forEach(expectedResult::add);
+            assertThat(result).hasSize(997);
+            assertThat(result).containsExactlyInAnyOrderElementsOf(expectedResult);
+        }
+    }
+
+    @Test
+    public void testNoKey() {
+        assertThat(AggSpiller.of(0, aggList(), OUTPUT)).isNull();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.aggregate;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPrimitiveAggCache {
+    private static final DingoType SCHEMA = DingoTypeFactory.INSTANCE.tuple("BIGINT", "INT", "BIGINT", "DOUBLE");
+
+    private static List<Agg> aggList() {
+        return ImmutableList.of(
+            new CountAllAgg(),
+            new CountAgg(3),
+            new SumAgg(1, SCHEMA.getChild(1)),
+            new Sum0Agg(3, SCHEMA.getChild(3)),
+            new MinAgg(2, SCHEMA.getChild(2)),
+            new MaxAgg(2, SCHEMA.getChild(2))
+        );
+    }
+
+    private static List<Object[]> collect(AggCache cache) {
+        List<Object[]> result = new ArrayList<>();
+        cache.forEach(result::add);
+        return result;
+    }
+
+    @Test
+    public void testSameAsGeneric() {
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        AggCache generic = new AggCache(keys, aggList());
+        AggCache primitive = PrimitiveAggCache.of(keys, aggList(), SCHEMA);
+        assertThat(primitive).isNotNull();
+        for (int i = 0; i < 1000; ++i) {
+            Object[] tuple = new Object[]{
+                i % 10 == 9 ? null : (long) (i % 7),
+                i,
+                (long) (i * 31 % 101),
+                i % 3 == 0 ? null : 0.5
+            };
+            generic.addTuple(tuple);
+            primitive.addTuple(tuple);
+        }
+        assertThat(collect(primitive)).containsExactlyInAnyOrderElementsOf(collect(generic));
+    }
+
+    @Test
+    public void testAddAfterIterate() {
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        AggCache generic = new AggCache(keys, aggList());
+        AggCache primitive = PrimitiveAggCache.of(keys, aggList(), SCHEMA);
+        assertThat(primitive).isNotNull();
+        for (int round = 0; round < 3; ++round) {
+            for (int i = 0; i < 100; ++i) {
+                // Both existing and new groups.
+                Object[] tuple = new Object[]{(long) (i % 5 + round), i, (long) (i + round), 0.5};
+                generic.addTuple(tuple);
+                primitive.addTuple(tuple);
+            }
+            assertThat(collect(primitive)).containsExactlyInAnyOrderElementsOf(collect(generic));
+        }
+    }
+
+    @Test
+    public void testNoKeyEmpty() {
+        TupleMapping keys = TupleMapping.of(new int[]{});
+        AggCache generic = new AggCache(keys, aggList());
+        AggCache primitive = PrimitiveAggCache.of(keys, aggList(), SCHEMA);
+        assertThat(primitive).isNotNull();
+        assertThat(collect(primitive)).containsExactlyElementsOf(collect(generic));
+    }
+
+    @Test
+    public void testUnsupported() {
+        DingoType schema = DingoTypeFactory.INSTANCE.tuple("STRING", "INT");
+        TupleMapping keys = TupleMapping.of(new int[]{0});
+        assertThat(PrimitiveAggCache.of(keys, ImmutableList.of(new CountAllAgg()), schema)).isNull();
+    }
+}
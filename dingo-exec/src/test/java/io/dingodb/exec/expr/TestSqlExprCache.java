@@ -0,0 +1,73 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.expr.runtime.expr.Expr;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSqlExprCache {
+    @BeforeEach
+    public void setup() {
+        SqlExprCache.clear();
+    }
+
+    @Test
+    public void testCompileOnce() {
+        Expr expr = Mockito.mock(Expr.class);
+        AtomicInteger compiled = new AtomicInteger(0);
+        for (int i = 0; i < 3; ++i) {
+            Expr result = SqlExprCache.get(
+                "_[0] + 1",
+                DingoTypeFactory.INSTANCE.tuple("INT"),
+                null,
+                () -> {
+                    compiled.incrementAndGet();
+                    return expr;
+                }
+            );
+            assertThat(result).isSameAs(expr);
+        }
+        assertThat(compiled.get()).isEqualTo(1);
+        SqlExprCache.get("_[0] + 1", DingoTypeFactory.INSTANCE.tuple("BIGINT"), null, () -> {
+            compiled.incrementAndGet();
+            return expr;
+        });
+        assertThat(compiled.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSharedExprSeparateContext() {
+        DingoType tupleType = DingoTypeFactory.INSTANCE.tuple("INT", "INT");
+        DingoType parasType = DingoTypeFactory.INSTANCE.tuple("INT");
+        SqlExpr expr1 = new SqlExpr("_[0] + _P[0]", DingoTypeFactory.INSTANCE.scalar("INT"));
+        SqlExpr expr2 = expr1.copy();
+        expr1.compileIn(tupleType, parasType);
+        expr2.compileIn(tupleType, parasType);
+        expr1.setParas(new Object[]{10});
+        expr2.setParas(new Object[]{20});
+        assertThat(expr1.eval(new Object[]{1, 2})).isEqualTo(11);
+        assertThat(expr2.eval(new Object[]{1, 2})).isEqualTo(21);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestMorselScheduler {
+    private static List<Integer> morsels(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testAllMorselsProcessed() {
+        Queue<Integer> processed = new ConcurrentLinkedQueue<>();
+        MorselScheduler.run(morsels(100), 4, morsel -> {
+            processed.add(morsel);
+            return Collections.emptyList();
+        });
+        assertThat(processed).containsExactlyInAnyOrderElementsOf(morsels(100));
+    }
+
+    @Test
+    public void testParallelismBounded() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        MorselScheduler.run(morsels(50), 2, morsel -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            running.decrementAndGet();
+            return Collections.emptyList();
+        });
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void testSlowMorselNotBlockingOthers() throws InterruptedException {
+        // The first morsel waits until all the others are done, which needs another thread taking them.
+        CountDownLatch others = new CountDownLatch(9);
+        Queue<Integer> processed = new ConcurrentLinkedQueue<>();
+        MorselScheduler.run(morsels(10), 2, morsel -> {
+            if (morsel == 0) {
+                try {
+                    assertThat(others.await(10, TimeUnit.SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            } else {
+                others.countDown();
+            }
+            processed.add(morsel);
+            return Collections.emptyList();
+        });
+        assertThat(processed).containsExactlyInAnyOrderElementsOf(morsels(10));
+        assertThat(processed.peek()).isNotEqualTo(0);
+    }
+
+    @Test
+    public void testReplacedMorsels() {
+        Queue<Integer> processed = new ConcurrentLinkedQueue<>();
+        MorselScheduler.run(Arrays.asList(1, 2, 3), 3, morsel -> {
+            // Like a split region, a morsel >= 10 is replaced by two smaller ones.
+            if (morsel < 10) {
+                processed.add(morsel);
+                return Collections.emptyList();
+            }
+            return Arrays.asList(morsel / 10, morsel % 10 + 3);
+        });
+        assertThat(processed).containsExactlyInAnyOrder(1, 2, 3);
+        processed.clear();
+        MorselScheduler.run(Arrays.asList(12, 3), 2, morsel -> {
+            if (morsel < 10) {
+                processed.add(morsel);
+                return Collections.emptyList();
+            }
+            return Arrays.asList(morsel / 10, morsel % 10 + 3);
+        });
+        assertThat(processed).containsExactlyInAnyOrder(1, 5, 3);
+    }
+
+    @Test
+    public void testErrorStops() {
+        AtomicInteger count = new AtomicInteger();
+        assertThatThrownBy(() -> MorselScheduler.run(morsels(1000), 4, morsel -> {
+            count.incrementAndGet();
+            if (morsel == 10) {
+                throw new IllegalStateException("failed");
+            }
+            return Collections.emptyList();
+        })).isInstanceOf(IllegalStateException.class).hasMessage("failed");
+        assertThat(count.get()).isLessThan(1000);
+    }
+
+    @Test
+    public void testErrorRethrown() {
+        assertThatThrownBy(() -> MorselScheduler.run(morsels(4), 2, morsel -> {
+            throw new AssertionError("assert");
+        })).isInstanceOf(AssertionError.class).hasMessage("assert");
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.impl;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.impl.message.TemplateTaskMessage;
+import io.dingodb.exec.operator.params.ValuesParam;
+import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.store.api.transaction.data.IsolationLevel;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.VALUES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTaskTemplates {
+    private static final CommonId TXN_ID = new CommonId(CommonId.CommonType.TRANSACTION, 1, 100);
+
+    private static @NonNull Task createTask(long jobSeqId, int value) {
+        IdGeneratorImpl idGenerator = new IdGeneratorImpl(jobSeqId);
+        CommonId taskId = idGenerator.getTaskId();
+        Task task = new TaskImpl(
+            taskId,
+            idGenerator.getJobId(TXN_ID.seq),
+            TXN_ID,
+            new Location("localhost", 8765),
+            DingoTypeFactory.INSTANCE.tuple("INT"),
+            TransactionType.OPTIMISTIC,
+            IsolationLevel.SnapshotIsolation,
+            0,
+            true
+        );
+        ValuesParam param = new ValuesParam(
+            new ArrayList<>(Collections.singletonList(new Object[]{value})),
+            DingoTypeFactory.INSTANCE.tuple("INT")
+        );
+        Vertex values = new Vertex(VALUES, param);
+        values.setId(idGenerator.getOperatorId(taskId));
+        task.putVertex(values);
+        return task;
+    }
+
+    @Test
+    public void testTemplate() {
+        Task task = createTask(1, 1);
+        byte[] template = TaskTemplates.template(task);
+        // The ids are restored after the template is made.
+        assertThat(task.getJobId()).isEqualTo(new CommonId(CommonId.CommonType.JOB, TXN_ID.seq, 1));
+        assertThat(task.getTxnId()).isEqualTo(TXN_ID);
+        // Tasks of the same plan in different jobs share the template.
+        assertThat(TaskTemplates.template(createTask(2, 1))).isEqualTo(template);
+        assertThat(TaskTemplates.template(createTask(2, 2))).isNotEqualTo(template);
+    }
+
+    @Test
+    public void testHit() {
+        TaskTemplates sent = new TaskTemplates(TaskTemplates.CAPACITY);
+        TaskTemplates received = new TaskTemplates(TaskTemplates.CAPACITY);
+        Task task1 = createTask(1, 1);
+        TemplateTaskMessage message1 = sent.encode(task1);
+        assertThat(message1.getTemplate()).isNotNull();
+        Task created1 = received.decode(message1);
+        assertThat(created1.getJobId()).isEqualTo(task1.getJobId());
+        assertThat(created1.getId()).isEqualTo(task1.getId());
+        assertThat(created1.getTxnId()).isEqualTo(TXN_ID);
+        Task task2 = createTask(2, 1);
+        TemplateTaskMessage message2 = sent.encode(task2);
+        assertThat(message2.getDigest()).isEqualTo(message1.getDigest());
+        assertThat(message2.getTemplate()).isNull();
+        assertThat(message2.toBytes().length).isLessThan(message1.toBytes().length);
+        Task created2 = received.decode(message2);
+        assertThat(created2.getJobId()).isEqualTo(task2.getJobId());
+        assertThat(created2.getId()).isEqualTo(task2.getId());
+        assertThat(created2.getTxnId()).isEqualTo(TXN_ID);
+        assertThat(created2.getVertexes().keySet()).isEqualTo(task2.getVertexes().keySet());
+        ValuesParam param = created2.getVertexes().values().iterator().next().getParam();
+        assertThat(param.getTuples()).hasSize(1);
+        assertThat(param.getTuples().get(0)).containsExactly(1);
+        // Each task is made anew from the template.
+        assertThat(created2).isNotSameAs(created1);
+        assertThat(received.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testMiss() {
+        TaskTemplates sent = new TaskTemplates(TaskTemplates.CAPACITY);
+        TaskTemplates received = new TaskTemplates(TaskTemplates.CAPACITY);
+        TemplateTaskMessage message1 = sent.encode(createTask(1, 1));
+        received.decode(message1);
+        TemplateTaskMessage message2 = sent.encode(createTask(2, 2));
+        assertThat(message2.getDigest()).isNotEqualTo(message1.getDigest());
+        assertThat(message2.getTemplate()).isNotNull();
+        Task created = received.decode(message2);
+        ValuesParam param = created.getVertexes().values().iterator().next().getParam();
+        assertThat(param.getTuples().get(0)).containsExactly(2);
+        assertThat(received.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testInvalidation() {
+        TaskTemplates sent = new TaskTemplates(1);
+        TaskTemplates received = new TaskTemplates(1);
+        TemplateTaskMessage message1 = sent.encode(createTask(1, 1));
+        received.decode(message1);
+        // Evicts the template of the first task at both ends.
+        received.decode(sent.encode(createTask(2, 2)));
+        TemplateTaskMessage message3 = sent.encode(createTask(3, 1));
+        assertThat(message3.getDigest()).isEqualTo(message1.getDigest());
+        assertThat(message3.getTemplate()).isNotNull();
+        assertThat(received.decode(message3).getJobId()).isEqualTo(new CommonId(CommonId.CommonType.JOB, TXN_ID.seq, 3));
+        assertThat(received.size()).isEqualTo(1);
+        // The remote end lost the templates, e.g. the channel was closed.
+        TaskTemplates renewed = new TaskTemplates(1);
+        TemplateTaskMessage message4 = sent.encode(createTask(4, 1));
+        assertThat(message4.getTemplate()).isNull();
+        assertThatThrownBy(() -> renewed.decode(message4))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(message4.getDigest());
+    }
+}
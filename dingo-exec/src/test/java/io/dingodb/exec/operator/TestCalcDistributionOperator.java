@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.common.util.RangeUtils;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.DistributionSourceParam;
+import io.dingodb.exec.operator.params.PartRangeScanParam;
+import io.dingodb.partition.PartitionService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.CALC_DISTRIBUTION;
+import static io.dingodb.exec.utils.OperatorCodeUtils.PART_RANGE_SCAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestCalcDistributionOperator {
+    private static RangeDistribution range(byte[] startKey, byte[] endKey) {
+        return range(2, startKey, endKey);
+    }
+
+    private static RangeDistribution range(long seq, byte[] startKey, byte[] endKey) {
+        return RangeDistribution.builder()
+            .id(new CommonId(CommonId.CommonType.DISTRIBUTION, 1, seq))
+            .startKey(startKey)
+            .endKey(endKey)
+            .withStart(true)
+            .withEnd(false)
+            .build();
+    }
+
+    @Test
+    public void testSplit() {
+        RangeDistribution distribution = range(new byte[]{'t', 1, 0, 5}, new byte[]{'t', 2});
+        List<RangeDistribution> subRanges = CalcDistributionOperator.split(distribution, 4);
+        assertThat(subRanges).hasSize(4);
+        assertThat(subRanges.get(0).getStartKey()).isEqualTo(distribution.getStartKey());
+        assertThat(subRanges.get(0).isWithStart()).isTrue();
+        assertThat(subRanges.get(3).getEndKey()).isEqualTo(distribution.getEndKey());
+        assertThat(subRanges.get(3).isWithEnd()).isFalse();
+        for (int i = 0; i < subRanges.size(); ++i) {
+            RangeDistribution subRange = subRanges.get(i);
+            assertThat(subRange.getId()).isEqualTo(distribution.getId());
+            assertThat(ByteArrayUtils.compare(subRange.getStartKey(), subRange.getEndKey(), false)).isLessThan(0);
+            if (i > 0) {
+                assertThat(subRange.getStartKey()).isEqualTo(subRanges.get(i - 1).getEndKey());
+                assertThat(subRange.isWithStart()).isTrue();
+                assertThat(subRanges.get(i - 1).isWithEnd()).isFalse();
+            }
+        }
+    }
+
+    @Test
+    public void testNoRoomToSplit() {
+        RangeDistribution distribution = range(new byte[]{'t', 1}, new byte[]{'t', 1, 0, 0, 0, 0, 0, 0, 1});
+        assertThat(CalcDistributionOperator.split(distribution, 4)).containsExactly(distribution);
+        assertThat(CalcDistributionOperator.split(range(null, new byte[]{1}), 4)).hasSize(1);
+    }
+
+    private static boolean contains(RangeDistribution distribution, byte[] key) {
+        int start = ByteArrayUtils.compare(key, distribution.getStartKey(), false);
+        int end = ByteArrayUtils.compare(key, distribution.getEndKey(), false);
+        return (start > 0 || start == 0 && distribution.isWithStart())
+            && (end < 0 || end == 0 && distribution.isWithEnd());
+    }
+
+    // Scans the regions through a mocked scan edge, which returns `false` after each range like the scan operators.
+    private static void checkAllRowsArrive(int regionCount, int concurrencyLevel) {
+        NavigableSet<RangeDistribution> regions = new TreeSet<>(RangeUtils.rangeComparator(1));
+        for (int i = 0; i < regionCount; ++i) {
+            regions.add(range(i, new byte[]{'t', (byte) i}, new byte[]{'t', (byte) (i + 1)}));
+        }
+        Random random = new Random(3);
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            byte[] key = new byte[2 + random.nextInt(8)];
+            random.nextBytes(key);
+            key[0] = 't';
+            key[1] = (byte) random.nextInt(regionCount);
+            keys.add(key);
+        }
+        PartitionService ps = mock(PartitionService.class);
+        when(ps.calcPartitionRange(any(), any(), anyBoolean(), anyBoolean(), any())).thenReturn(regions);
+        DistributionSourceParam param = new DistributionSourceParam(
+            null, null, null, null, true, false, null, false, false, null, concurrencyLevel
+        );
+        param.setPs(ps);
+        Vertex vertex = new Vertex(CALC_DISTRIBUTION, param);
+        vertex.setTask(mock(Task.class));
+        Edge edge = mock(Edge.class);
+        when(edge.getNext()).thenReturn(new Vertex(PART_RANGE_SCAN, mock(PartRangeScanParam.class)));
+        Queue<RangeDistribution> scanned = new ConcurrentLinkedQueue<>();
+        Queue<byte[]> rows = new ConcurrentLinkedQueue<>();
+        doAnswer(invocation -> {
+            RangeDistribution distribution = ((Context) invocation.getArgument(0)).getDistribution();
+            scanned.add(distribution);
+            for (byte[] key : keys) {
+                if (contains(distribution, key)) {
+                    rows.add(key);
+                }
+            }
+            return false;
+        }).when(edge).transformToNext(any(Context.class), nullable(Object[].class));
+        vertex.addEdge(edge);
+        CalcDistributionOperator.INSTANCE.push(Context.builder().keyState(new ArrayList<>()).build(), vertex);
+        assertThat(scanned.size()).isGreaterThanOrEqualTo(Math.max(regionCount, concurrencyLevel));
+        assertThat(rows).containsExactlyInAnyOrderElementsOf(keys);
+    }
+
+    @Test
+    public void testPushSplitRegions() {
+        checkAllRowsArrive(2, 4);
+    }
+
+    @Test
+    public void testPushManyRegions() {
+        checkAllRowsArrive(10, 3);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.TupleBatch;
+import io.dingodb.exec.operator.params.FilterProjectParam;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.VALUES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class TestFilterProjectOperator {
+    private static final FilterProjectOperator OPERATOR = new FilterProjectOperator() {
+        @Override
+        protected @NonNull Iterator<Object[]> createSourceIterator(Context context, Object[] tuple, Vertex vertex) {
+            return IntStream.range(0, 2500)
+                .mapToObj(i -> new Object[]{i, "name" + i})
+                .iterator();
+        }
+    };
+
+    private static @NonNull Vertex createVertex(FilterProjectParam param, List<List<Object[]>> batches) {
+        Edge edge = mock(Edge.class);
+        doAnswer(invocation -> {
+            TupleBatch batch = invocation.getArgument(1);
+            // The batch is reused after return.
+            List<Object[]> tuples = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); ++i) {
+                tuples.add(batch.get(i));
+            }
+            batches.add(tuples);
+            return true;
+        }).when(edge).transformToNext(any(Context.class), any(TupleBatch.class));
+        Vertex vertex = new Vertex(VALUES, param, new LinkedList<>(Collections.singletonList(edge)), new LinkedList<>());
+        vertex.setTask(mock(Task.class));
+        param.init(vertex);
+        return vertex;
+    }
+
+    @Test
+    public void testFilterAndSelection() {
+        FilterProjectParam param = new FilterProjectParam(
+            null,
+            DingoTypeFactory.INSTANCE.tuple("INT", "STRING"),
+            0,
+            new SqlExpr("_[1] >= 1000", DingoTypeFactory.INSTANCE.scalar("BOOL")),
+            TupleMapping.of(new int[]{1, 0}),
+            null
+        ) {
+        };
+        List<List<Object[]>> batches = new ArrayList<>();
+        Vertex vertex = createVertex(param, batches);
+        assertThat(OPERATOR.push(Context.builder().keyState(new ArrayList<>()).build(), null, vertex)).isFalse();
+        // One output batch for each batch read from the source.
+        assertThat(batches).hasSize(3);
+        assertThat(batches.stream().map(List::size).collect(Collectors.toList())).containsExactly(24, 1024, 452);
+        List<Object[]> result = batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertThat(result).hasSize(1500);
+        for (int i = 0; i < result.size(); ++i) {
+            assertThat(result.get(i)).containsExactly("name" + (i + 1000), i + 1000);
+        }
+    }
+
+    @Test
+    public void testNoFilter() {
+        FilterProjectParam param = new FilterProjectParam(
+            null,
+            DingoTypeFactory.INSTANCE.tuple("INT", "STRING"),
+            0,
+            null,
+            null,
+            null
+        ) {
+        };
+        List<List<Object[]>> batches = new ArrayList<>();
+        Vertex vertex = createVertex(param, batches);
+        OPERATOR.push(Context.builder().keyState(new ArrayList<>()).build(), null, vertex);
+        assertThat(batches.stream().map(List::size).collect(Collectors.toList())).containsExactly(1024, 1024, 452);
+        assertThat(batches.get(1).get(0)).containsExactly(1024, "name1024");
+    }
+}
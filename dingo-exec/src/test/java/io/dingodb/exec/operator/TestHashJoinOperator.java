@@ -0,0 +1,214 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.HashJoinParam;
+import io.dingodb.exec.spill.SpillUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class TestHashJoinOperator {
+    private static final DingoType TYPE = DingoTypeFactory.INSTANCE.tuple("INT", "STRING");
+    private static final TupleMapping KEY = TupleMapping.of(new int[]{0});
+
+    @TempDir
+    Path spillDir;
+
+    private static Object[] tuple(int key, String value) {
+        return new Object[]{key, value};
+    }
+
+    // Left keys 0 to 19, right keys 10 to 29 and another 15.
+    private static List<Object[]> left() {
+        return IntStream.range(0, 20).mapToObj(i -> tuple(i, "l" + i)).collect(Collectors.toList());
+    }
+
+    private static List<Object[]> right() {
+        List<Object[]> right = IntStream.range(10, 30).mapToObj(i -> tuple(i, "r" + i)).collect(Collectors.toList());
+        right.add(tuple(15, "r15'"));
+        return right;
+    }
+
+    private static List<String> nestedLoopJoin(boolean leftRequired, boolean rightRequired) {
+        List<String> result = new ArrayList<>();
+        List<Object[]> rightJoined = new ArrayList<>();
+        for (Object[] l : left()) {
+            boolean joined = false;
+            for (Object[] r : right()) {
+                if (l[0].equals(r[0])) {
+                    result.add(Arrays.toString(new Object[]{l[0], l[1], r[0], r[1]}));
+                    rightJoined.add(r);
+                    joined = true;
+                }
+            }
+            if (!joined && leftRequired) {
+                result.add(Arrays.toString(new Object[]{l[0], l[1], null, null}));
+            }
+        }
+        if (rightRequired) {
+            for (Object[] r : right()) {
+                if (rightJoined.stream().noneMatch(t -> Arrays.equals(t, r))) {
+                    result.add(Arrays.toString(new Object[]{null, null, r[0], r[1]}));
+                }
+            }
+        }
+        return result;
+    }
+
+    // The downstream fails after `limit` tuples.
+    private static Vertex vertex(HashJoinParam param, List<Object[]> output, int limit) {
+        Vertex vertex = new Vertex(HASH_JOIN, param);
+        Edge edge = mock(Edge.class);
+        doAnswer(invocation -> {
+            if (output.size() >= limit) {
+                throw new IllegalStateException("Downstream failed.");
+            }
+            output.add(invocation.getArgument(1));
+            return true;
+        }).when(edge).transformToNext(any(Context.class), any(Object[].class));
+        vertex.addEdge(edge);
+        param.init(vertex);
+        return vertex;
+    }
+
+    private static List<String> join(HashJoinParam param, int limit) {
+        List<Object[]> output = new ArrayList<>();
+        Vertex vertex = vertex(param, output, limit);
+        Context right = Context.builder().pin(1).build();
+        for (Object[] tuple : right()) {
+            HashJoinOperator.INSTANCE.push(right, tuple, vertex);
+        }
+        assertThat(param.isSpilled()).isTrue();
+        HashJoinOperator.INSTANCE.fin(1, mock(Fin.class), vertex);
+        Context left = Context.builder().pin(0).build();
+        for (Object[] tuple : left()) {
+            HashJoinOperator.INSTANCE.push(left, tuple, vertex);
+        }
+        HashJoinOperator.INSTANCE.fin(0, mock(Fin.class), vertex);
+        return output.stream().map(Arrays::toString).collect(Collectors.toList());
+    }
+
+    private static HashJoinParam param(boolean leftRequired, boolean rightRequired) {
+        return new HashJoinParam(KEY, KEY, 2, 2, leftRequired, rightRequired, TYPE, TYPE);
+    }
+
+    private long spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.count();
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        ScopeVariables.setExecutorProp("spill_dir", spillDir.toString());
+        // Spill after 3 tuples of the build side.
+        ScopeVariables.setExecutorProp(
+            "join_memory_limit", String.valueOf(3 * SpillUtils.estimateSize(tuple(10, "r10")) - 1)
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ScopeVariables.setExecutorProp("spill_dir", System.getProperty("java.io.tmpdir"));
+        ScopeVariables.setExecutorProp("join_memory_limit", "1073741824");
+    }
+
+    @Test
+    public void testInnerJoinSpilled() throws IOException {
+        assertThat(join(param(false, false), Integer.MAX_VALUE))
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(false, false))
+            .hasSize(11);
+        assertThat(spillFiles()).isZero();
+    }
+
+    @Test
+    public void testLeftJoinSpilled() throws IOException {
+        assertThat(join(param(true, false), Integer.MAX_VALUE))
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(true, false))
+            .hasSize(21);
+        assertThat(spillFiles()).isZero();
+    }
+
+    @Test
+    public void testRightJoinSpilled() throws IOException {
+        assertThat(join(param(false, true), Integer.MAX_VALUE))
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(false, true))
+            .hasSize(21);
+        assertThat(spillFiles()).isZero();
+    }
+
+    @Test
+    public void testFullJoinSpilled() throws IOException {
+        assertThat(join(param(true, true), Integer.MAX_VALUE))
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(true, true))
+            .hasSize(31);
+        assertThat(spillFiles()).isZero();
+    }
+
+    @Test
+    public void testFailureSpilled() throws IOException {
+        // The files of the partitions not joined yet are removed too.
+        assertThatThrownBy(() -> join(param(true, true), 1))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Downstream failed.");
+        assertThat(spillFiles()).isZero();
+    }
+
+    @Test
+    public void testPartitionsBalanced() {
+        // The keys of a partition are spread over the buckets of the hash map loading it.
+        int partitions = 32;
+        int buckets = 64;
+        for (int p = 0; p < partitions; ++p) {
+            int partition = p;
+            long used = IntStream.range(0, 100000)
+                .map(i -> Arrays.hashCode(new Object[]{i}))
+                .filter(h -> SpillUtils.partitionOf(h, partitions) == partition)
+                .map(h -> (h ^ (h >>> 16)) & (buckets - 1))
+                .distinct()
+                .count();
+            assertThat(used).isEqualTo(buckets);
+        }
+    }
+}
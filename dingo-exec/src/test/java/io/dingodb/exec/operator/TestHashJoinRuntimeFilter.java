@@ -0,0 +1,268 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.impl.IdGeneratorImpl;
+import io.dingodb.exec.impl.TaskImpl;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.RuntimeFilterProbe;
+import io.dingodb.exec.operator.params.HashJoinParam;
+import io.dingodb.exec.operator.params.ScanParam;
+import io.dingodb.exec.spill.SpillUtils;
+import io.dingodb.exec.transaction.base.TransactionType;
+import io.dingodb.store.api.transaction.data.IsolationLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SCAN_WITH_NO_OP;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Joins with the probe side filtered by the runtime filters of the joins, as set up by the planner.
+ */
+public class TestHashJoinRuntimeFilter {
+    private static final DingoType TYPE = DingoTypeFactory.INSTANCE.tuple("INT", "STRING");
+    private static final TupleMapping KEY = TupleMapping.of(new int[]{0});
+    private static final CommonId TABLE_ID = new CommonId(CommonId.CommonType.TABLE, 1, 1);
+
+    private IdGeneratorImpl idGenerator;
+    private Task task;
+    private List<Object[]> output;
+
+    private static Object[] tuple(int key, String value) {
+        return new Object[]{key, value};
+    }
+
+    // Left keys 0 to 39, right keys 30 to 49 and another 35.
+    private static List<Object[]> left() {
+        return IntStream.range(0, 40).mapToObj(i -> tuple(i, "l" + i)).collect(Collectors.toList());
+    }
+
+    private static List<Object[]> right() {
+        List<Object[]> right = IntStream.range(30, 50).mapToObj(i -> tuple(i, "r" + i)).collect(Collectors.toList());
+        right.add(tuple(35, "r35'"));
+        return right;
+    }
+
+    private static List<String> nestedLoopJoin(boolean rightRequired) {
+        List<String> result = new ArrayList<>();
+        for (Object[] l : left()) {
+            for (Object[] r : right()) {
+                if (l[0].equals(r[0])) {
+                    result.add(Arrays.toString(new Object[]{l[0], l[1], r[0], r[1]}));
+                }
+            }
+        }
+        if (rightRequired) {
+            for (Object[] r : right()) {
+                if (left().stream().noneMatch(l -> l[0].equals(r[0]))) {
+                    result.add(Arrays.toString(new Object[]{null, null, r[0], r[1]}));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int partition(Object[] tuple) {
+        return (Integer) tuple[0] % 2;
+    }
+
+    private Vertex join(boolean rightRequired) {
+        HashJoinParam param = new HashJoinParam(KEY, KEY, 2, 2, false, rightRequired, TYPE, TYPE);
+        param.setRuntimeFilterEnabled(true);
+        Vertex vertex = new Vertex(HASH_JOIN, param);
+        vertex.setId(idGenerator.getOperatorId(task.getId()));
+        Edge edge = mock(Edge.class);
+        doAnswer(invocation -> {
+            synchronized (output) {
+                output.add(invocation.getArgument(1));
+            }
+            return true;
+        }).when(edge).transformToNext(any(Context.class), any(Object[].class));
+        vertex.addEdge(edge);
+        task.putVertex(vertex);
+        param.init(vertex);
+        return vertex;
+    }
+
+    private RuntimeFilterProbe probe(Vertex... joins) {
+        ScanParam param = new ScanParam(TABLE_ID, TYPE, KEY, 1);
+        param.setRuntimeFilter(new RuntimeFilterProbe(
+            Arrays.stream(joins).map(Vertex::getId).collect(Collectors.toList()),
+            KEY
+        ));
+        Vertex scan = new Vertex(SCAN_WITH_NO_OP, param);
+        scan.setId(idGenerator.getOperatorId(task.getId()));
+        task.putVertex(scan);
+        param.init(scan);
+        return param.getRuntimeFilter();
+    }
+
+    private static void build(Vertex join, List<Object[]> tuples) {
+        Context context = Context.builder().pin(1).build();
+        for (Object[] tuple : tuples) {
+            HashJoinOperator.INSTANCE.push(context, tuple, join);
+        }
+        HashJoinOperator.INSTANCE.fin(1, mock(Fin.class), join);
+    }
+
+    private static void probe(Vertex join, List<Object[]> tuples) {
+        Context context = Context.builder().pin(0).build();
+        for (Object[] tuple : tuples) {
+            HashJoinOperator.INSTANCE.push(context, tuple, join);
+        }
+        HashJoinOperator.INSTANCE.fin(0, mock(Fin.class), join);
+    }
+
+    private List<String> output() {
+        return output.stream().map(Arrays::toString).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    public void setup() {
+        idGenerator = new IdGeneratorImpl(CommonId.EMPTY_JOB.seq);
+        task = new TaskImpl(
+            idGenerator.getTaskId(CommonId.EMPTY_JOB.seq),
+            CommonId.EMPTY_JOB,
+            CommonId.EMPTY_TRANSACTION,
+            mock(Location.class),
+            null,
+            TransactionType.OPTIMISTIC,
+            IsolationLevel.SnapshotIsolation,
+            0,
+            null
+        );
+        output = new ArrayList<>();
+    }
+
+    private void testJoin(boolean rightRequired) {
+        Vertex join = join(rightRequired);
+        RuntimeFilterProbe probe = probe(join);
+        // Nothing is dropped before the build side finishes.
+        assertThat(left().stream().allMatch(probe)).isTrue();
+        build(join, right());
+        List<Object[]> filtered = left().stream().filter(probe).collect(Collectors.toList());
+        // Keys 0 to 29 are below the min of the build side.
+        assertThat(filtered).hasSize(10);
+        probe(join, filtered);
+        assertThat(output())
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(rightRequired))
+            .hasSize(rightRequired ? 21 : 11);
+    }
+
+    @Test
+    public void testInnerJoin() {
+        testJoin(false);
+    }
+
+    @Test
+    public void testRightJoin() {
+        testJoin(true);
+    }
+
+    @Test
+    public void testPartitionedJoin() {
+        // Both inputs are partitioned by keys to two joins in the task, the scan feeds both of them.
+        Vertex join0 = join(true);
+        Vertex join1 = join(true);
+        List<Vertex> joins = Arrays.asList(join0, join1);
+        RuntimeFilterProbe probe = probe(join0, join1);
+        build(join0, right().stream().filter(t -> partition(t) == 0).collect(Collectors.toList()));
+        // Not all the joins have finished building.
+        assertThat(left().stream().allMatch(probe)).isTrue();
+        build(join1, right().stream().filter(t -> partition(t) == 1).collect(Collectors.toList()));
+        List<Object[]> filtered = left().stream().filter(probe).collect(Collectors.toList());
+        assertThat(filtered).hasSize(10);
+        for (int i = 0; i < joins.size(); ++i) {
+            int part = i;
+            probe(joins.get(i), filtered.stream().filter(t -> partition(t) == part).collect(Collectors.toList()));
+        }
+        assertThat(output())
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(true))
+            .hasSize(21);
+    }
+
+    @Test
+    public void testBroadcastJoin() {
+        // Each join gets all of the build side, and its own part of the probe side through its own scan.
+        Vertex join0 = join(false);
+        Vertex join1 = join(false);
+        List<Vertex> joins = Arrays.asList(join0, join1);
+        List<RuntimeFilterProbe> probes = Arrays.asList(probe(join0), probe(join1));
+        for (Vertex join : joins) {
+            build(join, right());
+        }
+        List<Object[]> left = left();
+        for (int i = 0; i < joins.size(); ++i) {
+            int part = i;
+            List<Object[]> filtered = left.stream()
+                .filter(t -> partition(t) == part)
+                .filter(probes.get(i))
+                .collect(Collectors.toList());
+            assertThat(filtered).hasSize(5);
+            probe(joins.get(i), filtered);
+        }
+        assertThat(output())
+            .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(false))
+            .hasSize(11);
+    }
+
+    @Test
+    public void testSpilledNotFiltered(@TempDir Path spillDir) {
+        ScopeVariables.setExecutorProp("spill_dir", spillDir.toString());
+        ScopeVariables.setExecutorProp(
+            "join_memory_limit", String.valueOf(3 * SpillUtils.estimateSize(tuple(30, "r30")) - 1)
+        );
+        try {
+            Vertex join = join(false);
+            RuntimeFilterProbe probe = probe(join);
+            build(join, right());
+            assertThat(((HashJoinParam) join.getParam()).isSpilled()).isTrue();
+            // The keys are on disk, so all the tuples pass.
+            assertThat(left().stream().allMatch(probe)).isTrue();
+            probe(join, left());
+            assertThat(output())
+                .containsExactlyInAnyOrderElementsOf(nestedLoopJoin(false))
+                .hasSize(11);
+        } finally {
+            ScopeVariables.setExecutorProp("spill_dir", System.getProperty("java.io.tmpdir"));
+            ScopeVariables.setExecutorProp("join_memory_limit", "1073741824");
+        }
+    }
+}
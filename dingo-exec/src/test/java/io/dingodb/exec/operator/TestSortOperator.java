@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import io.dingodb.exec.operator.params.SortParam;
+import io.dingodb.exec.spill.SpillUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.SORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class TestSortOperator {
+    private static final List<SortCollation> COLLATIONS = ImmutableList.of(
+        new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.FIRST)
+    );
+
+    private static Vertex vertex(SortParam param, List<Object[]> output) {
+        Vertex vertex = new Vertex(SORT, param);
+        Edge edge = mock(Edge.class);
+        doAnswer(invocation -> {
+            output.add(invocation.getArgument(1));
+            return true;
+        }).when(edge).transformToNext(any(Context.class), any(Object[].class));
+        vertex.addEdge(edge);
+        param.init(vertex);
+        return vertex;
+    }
+
+    private static Object[] tuple(int key, int seq) {
+        return new Object[]{key, "v" + seq % 10};
+    }
+
+    @Test
+    public void testTopN() {
+        SortParam param = new SortParam(COLLATIONS, 3, 2, false, DingoTypeFactory.INSTANCE.tuple("INT", "STRING"));
+        List<Object[]> output = new ArrayList<>();
+        Vertex vertex = vertex(param, output);
+        List<Integer> keys = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        Collections.shuffle(keys, new Random(7));
+        Context context = Context.builder().build();
+        for (int key : keys) {
+            assertThat(SortOperator.INSTANCE.push(context, tuple(key, key), vertex)).isTrue();
+            // Only `offset + limit` tuples are kept.
+            assertThat(param.getHeap().size()).isLessThanOrEqualTo(5);
+        }
+        assertThat(param.getCache()).isEmpty();
+        assertThat(param.getRuns()).isEmpty();
+        SortOperator.INSTANCE.fin(0, mock(Fin.class), vertex);
+        assertThat(output).extracting(t -> t[0]).containsExactly(2, 3, 4);
+        assertThat(param.getHeap()).isEmpty();
+    }
+
+    @Test
+    public void testTopNOffsetPastEnd() {
+        SortParam param = new SortParam(COLLATIONS, 10, 8, false, DingoTypeFactory.INSTANCE.tuple("INT", "STRING"));
+        List<Object[]> output = new ArrayList<>();
+        Vertex vertex = vertex(param, output);
+        Context context = Context.builder().build();
+        for (int key = 9; key >= 0; --key) {
+            SortOperator.INSTANCE.push(context, tuple(key, key), vertex);
+        }
+        SortOperator.INSTANCE.fin(0, mock(Fin.class), vertex);
+        assertThat(output).extracting(t -> t[0]).containsExactly(8, 9);
+    }
+
+    @Test
+    public void testLimitZero() {
+        SortParam param = new SortParam(COLLATIONS, 0, 0, false, DingoTypeFactory.INSTANCE.tuple("INT", "STRING"));
+        List<Object[]> output = new ArrayList<>();
+        Vertex vertex = vertex(param, output);
+        assertThat(SortOperator.INSTANCE.push(Context.builder().build(), tuple(1, 1), vertex)).isFalse();
+        SortOperator.INSTANCE.fin(0, mock(Fin.class), vertex);
+        assertThat(output).isEmpty();
+    }
+
+    @Test
+    public void testSpillRuns() {
+        SortParam param = new SortParam(COLLATIONS, -1, 0, false, DingoTypeFactory.INSTANCE.tuple("INT", "STRING"));
+        List<Object[]> output = new ArrayList<>();
+        Vertex vertex = vertex(param, output);
+        assertThat(param.getHeap()).isNull();
+        // Spill a run every 3 tuples, all the tuples have the same estimated size.
+        param.setMemoryLimit(3 * SpillUtils.estimateSize(tuple(0, 0)) - 1);
+        assertThat(param.isSpillable()).isTrue();
+        Context context = Context.builder().build();
+        int[] keys = {3, 1, 2, 1, 3, 0, 2, 1, 0, 3};
+        for (int i = 0; i < keys.length; ++i) {
+            assertThat(SortOperator.INSTANCE.push(context, tuple(keys[i], i), vertex)).isTrue();
+        }
+        assertThat(param.getRuns()).hasSize(3);
+        assertThat(param.getCache()).hasSize(1);
+        SortOperator.INSTANCE.fin(0, mock(Fin.class), vertex);
+        // Sorted by key, equal keys in arrival order.
+        assertThat(output).extracting(t -> t[0] + ":" + t[1]).containsExactly(
+            "0:v5", "0:v8", "1:v1", "1:v3", "1:v7", "2:v2", "2:v6", "3:v0", "3:v4", "3:v9"
+        );
+        assertThat(param.getRuns()).isEmpty();
+    }
+
+    @Test
+    public void testSpillRunsWithOffset() {
+        SortParam param = new SortParam(COLLATIONS, -1, 4, false, DingoTypeFactory.INSTANCE.tuple("INT", "STRING"));
+        List<Object[]> output = new ArrayList<>();
+        Vertex vertex = vertex(param, output);
+        param.setMemoryLimit(2 * SpillUtils.estimateSize(tuple(0, 0)) - 1);
+        Context context = Context.builder().build();
+        for (int i = 0; i < 9; ++i) {
+            SortOperator.INSTANCE.push(context, tuple(8 - i, i), vertex);
+        }
+        assertThat(param.getRuns()).hasSize(4);
+        SortOperator.INSTANCE.fin(0, mock(Fin.class), vertex);
+        assertThat(output).extracting(t -> t[0]).containsExactly(4, 5, 6, 7, 8);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.params.ValuesParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.VALUES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class TestValuesOperator {
+    @Test
+    public void testBatchParas() {
+        ValuesParam param = new ValuesParam(
+            ImmutableList.of(new Object[]{1}, new Object[]{2}),
+            DingoTypeFactory.INSTANCE.tuple("INT")
+        );
+        Vertex vertex = new Vertex(VALUES, param);
+        Task task = mock(Task.class);
+        Object[][] current = new Object[1][];
+        doAnswer(invocation -> {
+            current[0] = invocation.getArgument(0);
+            return null;
+        }).when(task).setParas(any());
+        vertex.setTask(task);
+        param.setBatchParas(ImmutableList.of(new Object[]{"a"}, new Object[]{"b"}));
+        List<String> result = new ArrayList<>();
+        Iterator<Object[]> iterator = ValuesOperator.INSTANCE.createIterator(vertex);
+        while (iterator.hasNext()) {
+            Object[] tuple = iterator.next();
+            result.add(current[0][0] + "" + tuple[0]);
+        }
+        assertThat(result).containsExactly("a1", "a2", "b1", "b2");
+        // The rows are bound for one run only.
+        assertThat(param.getBatchParas()).isNull();
+        assertThat(ValuesOperator.INSTANCE.createIterator(vertex)).toIterable().hasSize(2);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import io.dingodb.common.mysql.util.DataTimeUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestExportWriter {
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testFormat() throws IOException {
+        Path path = dir.resolve("out.txt");
+        Timestamp timestamp = Timestamp.valueOf("2024-02-29 03:04:05.678");
+        Time time = Time.valueOf("23:59:07");
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("GMT+8"), Locale.ROOT);
+        byte[] bytes = new byte[]{1, 2, 3, 4, 5};
+        try (ExportWriter writer = ExportWriter.create(path.toString())) {
+            for (long value : new long[]{0, 7, -42, Long.MAX_VALUE, Long.MIN_VALUE}) {
+                writer.writeLong(value);
+                writer.write((byte) ',');
+            }
+            writer.writeTimestamp(timestamp);
+            writer.write((byte) ',');
+            writer.writeTime(time, calendar);
+            writer.write((byte) ',');
+            writer.writeBase64(bytes);
+        }
+        String expected = "0,7,-42," + Long.MAX_VALUE + "," + Long.MIN_VALUE + ","
+            + DataTimeUtils.getTimeStamp(timestamp) + ","
+            + DataTimeUtils.getTime(time, calendar) + ","
+            + Base64.getEncoder().encodeToString(bytes);
+        assertThat(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testLarge() throws IOException {
+        Path path = dir.resolve("out.txt");
+        byte[] row = "0123456789abcdef\n".getBytes(StandardCharsets.UTF_8);
+        int count = 100000;
+        try (ExportWriter writer = ExportWriter.create(path.toString())) {
+            for (int i = 0; i < count; ++i) {
+                writer.write(row);
+            }
+        }
+        assertThat(Files.size(path)).isEqualTo((long) row.length * count);
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        Path path = dir.resolve("out.txt" + ExportWriter.GZIP_SUFFIX);
+        try (ExportWriter writer = ExportWriter.create(path.toString())) {
+            writer.write("abc\n".getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(path))) {
+            byte[] buffer = new byte[1024];
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                bos.write(buffer, 0, len);
+            }
+        }
+        assertThat(bos.toString("UTF-8")).isEqualTo("abc\n");
+    }
+
+    @Test
+    public void testFileExists() throws IOException {
+        Path path = Files.createFile(dir.resolve("out.txt"));
+        assertThatThrownBy(() -> ExportWriter.create(path.toString()))
+            .isInstanceOf(FileAlreadyExistsException.class);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import io.dingodb.exec.tuple.TupleKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRuntimeFilter {
+    private static List<TupleKey> keys(int from, int to, int step) {
+        List<TupleKey> keys = new ArrayList<>();
+        for (int i = from; i < to; i += step) {
+            keys.add(new TupleKey(new Object[]{i, "k" + i}));
+        }
+        return keys;
+    }
+
+    @Test
+    public void testMightContain() {
+        RuntimeFilter filter = RuntimeFilter.of(keys(100, 10000, 2));
+        for (int i = 100; i < 10000; i += 2) {
+            assertThat(filter.mightContain(new Object[]{i, "k" + i})).isTrue();
+        }
+        // Out of range.
+        assertThat(filter.mightContain(new Object[]{10, "k10"})).isFalse();
+        assertThat(filter.mightContain(new Object[]{20000, "k20000"})).isFalse();
+        int passed = 0;
+        for (int i = 101; i < 10000; i += 2) {
+            if (filter.mightContain(new Object[]{i, "k" + i})) {
+                ++passed;
+            }
+        }
+        assertThat(passed).isLessThan(4950 / 10);
+    }
+
+    @Test
+    public void testNull() {
+        RuntimeFilter filter = RuntimeFilter.of(Arrays.asList(
+            new TupleKey(new Object[]{1, null}),
+            new TupleKey(new Object[]{3, "a"})
+        ));
+        assertThat(filter.mightContain(new Object[]{1, null})).isTrue();
+        assertThat(filter.mightContain(new Object[]{3, "a"})).isTrue();
+        assertThat(filter.mightContain(new Object[]{4, null})).isFalse();
+    }
+
+    @Test
+    public void testEmpty() {
+        RuntimeFilter filter = RuntimeFilter.of(Collections.emptyList());
+        assertThat(filter.isAll()).isFalse();
+        assertThat(filter.mightContain(new Object[]{1})).isFalse();
+    }
+
+    @Test
+    public void testUnion() {
+        RuntimeFilter filter = RuntimeFilter.union(Arrays.asList(
+            RuntimeFilter.of(keys(0, 100, 1)),
+            RuntimeFilter.of(keys(1000, 1100, 1))
+        ));
+        assertThat(filter.mightContain(new Object[]{50, "k50"})).isTrue();
+        assertThat(filter.mightContain(new Object[]{1050, "k1050"})).isTrue();
+        assertThat(RuntimeFilter.union(Arrays.asList(filter, RuntimeFilter.ALL)).isAll()).isTrue();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTupleBatch {
+    @Test
+    public void testSelect() {
+        TupleBatch batch = new TupleBatch(10);
+        for (int i = 0; i < 10; ++i) {
+            batch.add(new Object[]{i});
+        }
+        assertThat(batch.isFull()).isTrue();
+        batch.select(t -> (int) t[0] % 2 == 0);
+        assertThat(batch.size()).isEqualTo(5);
+        batch.select(t -> (int) t[0] > 3);
+        assertThat(batch.size()).isEqualTo(3);
+        assertThat(batch.get(0)).containsExactly(4);
+        assertThat(batch.get(2)).containsExactly(8);
+        assertThatThrownBy(() -> batch.add(new Object[]{10})).isInstanceOf(IllegalStateException.class);
+        batch.clear();
+        assertThat(batch.isEmpty()).isTrue();
+        batch.add(new Object[]{11});
+        assertThat(batch.get(0)).containsExactly(11);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestMergeIterator {
+    private static List<String> merge(Comparator<Object[]> comparator, List<List<Object[]>> lists) {
+        List<Iterator<Object[]>> iterators = new ArrayList<>();
+        lists.forEach(list -> iterators.add(list.iterator()));
+        MergeIterator iterator = new MergeIterator(iterators, comparator);
+        List<String> result = new ArrayList<>();
+        iterator.forEachRemaining(t -> result.add(t[0] + ":" + t[1]));
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+        return result;
+    }
+
+    private static Object[] t(Integer key, String tag) {
+        return new Object[]{key, tag};
+    }
+
+    @Test
+    public void testDuplicatesAndNullsFirst() {
+        Comparator<Object[]> comparator = new SortCollation(
+            0, SortDirection.ASCENDING, SortNullDirection.FIRST
+        ).makeComparator();
+        List<String> result = merge(comparator, ImmutableList.of(
+            ImmutableList.of(t(null, "a"), t(1, "a"), t(1, "a2"), t(3, "a")),
+            ImmutableList.of(t(null, "b"), t(1, "b"), t(2, "b")),
+            Collections.emptyList(),
+            ImmutableList.of(t(1, "d"), t(3, "d"))
+        ));
+        // Equal tuples keep the order of the iterators, and of the tuples in an iterator.
+        assertThat(result).containsExactly(
+            "null:a", "null:b", "1:a", "1:a2", "1:b", "1:d", "2:b", "3:a", "3:d"
+        );
+    }
+
+    @Test
+    public void testDescendingNullsLast() {
+        Comparator<Object[]> comparator = new SortCollation(
+            0, SortDirection.DESCENDING, SortNullDirection.LAST
+        ).makeComparator();
+        List<String> result = merge(comparator, ImmutableList.of(
+            ImmutableList.of(t(5, "a"), t(2, "a"), t(null, "a")),
+            ImmutableList.of(t(5, "b"), t(null, "b"))
+        ));
+        assertThat(result).containsExactly("5:a", "5:b", "2:a", "null:a", "null:b");
+    }
+
+    @Test
+    public void testEmpty() {
+        Comparator<Object[]> comparator = new SortCollation(
+            0, SortDirection.ASCENDING, SortNullDirection.FIRST
+        ).makeComparator();
+        assertThat(merge(comparator, Collections.emptyList())).isEmpty();
+        assertThat(merge(comparator, ImmutableList.of(Collections.emptyList()))).isEmpty();
+    }
+}
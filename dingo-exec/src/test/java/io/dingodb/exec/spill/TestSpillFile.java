@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.dingodb.exec.spill;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoTypeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSpillFile {
+    @Test
+    public void testWriteAndRead() {
+        SpillCodec codec = SpillCodec.of(DingoTypeFactory.INSTANCE.tuple("INT", "STRING", "DOUBLE"));
+        assertThat(codec).isNotNull();
+        List<Object[]> tuples = ImmutableList.of(
+            new Object[]{1, "Alice", 3.5},
+            new Object[]{2, "Betty", 3.6},
+            new Object[]{3, "Cindy", 3.7}
+        );
+        try (SpillFile file = new SpillFile(codec, "test-")) {
+            tuples.forEach(file::write);
+            assertThat(file.getCount()).isEqualTo(3);
+            List<Object[]> result = new ArrayList<>();
+            file.read().forEachRemaining(result::add);
+            assertThat(result).containsExactlyElementsOf(tuples);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        SpillCodec codec = SpillCodec.of(DingoTypeFactory.INSTANCE.tuple("INT"));
+        try (SpillFile file = new SpillFile(codec, "test-")) {
+            Iterator<Object[]> it = file.read();
+            assertThat(it.hasNext()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.transaction.util;
+
+import io.dingodb.common.util.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestTxnRpcPipeline {
+    @Test
+    public void testBoundedInFlight() {
+        TxnRpcPipeline pipeline = new TxnRpcPipeline("test_rpc", 4);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        for (int i = 0; i < 32; ++i) {
+            pipeline.submit(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Utils.sleep(5);
+                inFlight.decrementAndGet();
+                done.incrementAndGet();
+                return true;
+            }, () -> "failed");
+        }
+        pipeline.await();
+        assertThat(done.get()).isEqualTo(32);
+        assertThat(maxInFlight.get()).isBetween(1, 4);
+    }
+
+    @Test
+    public void testFailure() {
+        TxnRpcPipeline pipeline = new TxnRpcPipeline("test_rpc", 4);
+        pipeline.submit(() -> true, () -> "failed");
+        pipeline.submit(() -> false, () -> "failed");
+        assertThatThrownBy(pipeline::await).isInstanceOf(RuntimeException.class).hasMessage("failed");
+    }
+
+    @Test
+    public void testError() {
+        TxnRpcPipeline pipeline = new TxnRpcPipeline("test_rpc", 2);
+        pipeline.submit(() -> {
+            throw new AssertionError("assert");
+        }, () -> "failed");
+        assertThatThrownBy(pipeline::await).isInstanceOf(AssertionError.class).hasMessage("assert");
+        // Permits are all released.
+        AtomicInteger done = new AtomicInteger();
+        for (int i = 0; i < 4; ++i) {
+            pipeline.submit(() -> done.incrementAndGet() > 0, () -> "failed");
+        }
+        pipeline.await();
+        assertThat(done.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testFirstError() {
+        TxnRpcPipeline pipeline = new TxnRpcPipeline("test_rpc", 4);
+        pipeline.submit(() -> {
+            throw new IllegalStateException("first");
+        }, () -> "failed");
+        Utils.sleep(50);
+        assertThatThrownBy(() -> pipeline.submit(() -> true, () -> "failed"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("first");
+        assertThatThrownBy(pipeline::await).isInstanceOf(IllegalStateException.class).hasMessage("first");
+    }
+
+    @Test
+    public void testSync() {
+        TxnRpcPipeline pipeline = new TxnRpcPipeline("test_rpc", 0);
+        assertThatThrownBy(() -> pipeline.submit(() -> false, () -> "failed")).hasMessage("failed");
+    }
+}
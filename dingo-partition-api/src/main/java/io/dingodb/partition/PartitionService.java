@@ -22,7 +22,9 @@ import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,6 +47,21 @@ public interface PartitionService {
         return calcPartId(getKeyFunction.apply(key), ranges);
     }
 
+    /**
+     * Calculate the partitions of the keys in one call, the same as calling {@link #calcPartId(byte[], NavigableMap)}
+     * for each key.
+     */
+    default List<CommonId> calcPartIds(
+        final @NonNull List<byte[]> keys,
+        NavigableMap<ComparableByteArray, RangeDistribution> ranges
+    ) {
+        List<CommonId> partIds = new ArrayList<>(keys.size());
+        for (byte[] key : keys) {
+            partIds.add(calcPartId(key, ranges));
+        }
+        return partIds;
+    }
+
     NavigableSet<RangeDistribution> calcPartitionRange(
         final byte[] startKey,
         final byte[] endKey,
@@ -72,10 +89,9 @@ public interface PartitionService {
         NavigableMap<ComparableByteArray, RangeDistribution> ranges
     ) {
         Map<CommonId, List<byte[]>> map = new LinkedHashMap<>(getPartNum(ranges));
-        for (byte[] key: keys) {
-            CommonId partId = calcPartId(key, ranges);
-            map.putIfAbsent(partId, new LinkedList<>());
-            map.get(partId).add(key);
+        Iterator<CommonId> partIds = calcPartIds(keys, ranges).iterator();
+        for (byte[] key : keys) {
+            map.computeIfAbsent(partIds.next(), k -> new LinkedList<>()).add(key);
         }
         return map;
     }
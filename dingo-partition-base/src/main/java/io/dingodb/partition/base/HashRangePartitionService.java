@@ -16,6 +16,9 @@
 
 package io.dingodb.partition.base;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import io.dingodb.codec.CodecService;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.partition.RangeDistribution;
@@ -23,9 +26,12 @@ import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
 import io.dingodb.common.util.RangeUtils;
 import io.dingodb.partition.PartitionService;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -35,6 +41,11 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class HashRangePartitionService implements PartitionService {
+    // Keyed by identity, a distribution reloaded by the meta cache is a new map, so gets a new router.
+    private static final LoadingCache<NavigableMap<ComparableByteArray, RangeDistribution>, HashRangeRouter> ROUTERS
+        = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build(CacheLoader.from(HashRangeRouter::new));
 
     @Override
     public int getPartNum(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
@@ -43,24 +54,20 @@ public class HashRangePartitionService implements PartitionService {
 
     @Override
     public CommonId calcPartId(byte[] key, NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
-        ConsistentHashing<Long> hashRing = new ConsistentHashing<>(3);
-        NavigableMap<ComparableByteArray, RangeDistribution> partRanges = new TreeMap<>();
-        for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
-            RangeDistribution value = entry.getValue();
-            log.trace("id:" + value.getId().domain);
-            hashRing.addNode(value.getId().domain);
-        }
-        Long selectNode = hashRing.getNode(key);
-        for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
-            ComparableByteArray rangeKeyBytes = entry.getKey();
-            RangeDistribution rangeValue = entry.getValue();
-            if (rangeValue.getId().domain == selectNode.longValue()) {
-                partRanges.put(rangeKeyBytes, rangeValue);
-            }
-        }
+        return ROUTERS.getUnchecked(ranges).route(key);
+    }
 
-        CodecService.getDefault().setId(key, new CommonId(CommonId.CommonType.PARTITION, 0, selectNode));
-        return partRanges.floorEntry(new ComparableByteArray(key, 1)).getValue().id();
+    @Override
+    public List<CommonId> calcPartIds(
+        @NonNull List<byte[]> keys,
+        NavigableMap<ComparableByteArray, RangeDistribution> ranges
+    ) {
+        HashRangeRouter router = ROUTERS.getUnchecked(ranges);
+        List<CommonId> partIds = new ArrayList<>(keys.size());
+        for (byte[] key : keys) {
+            partIds.add(router.route(key));
+        }
+        return partIds;
     }
 
     @Override
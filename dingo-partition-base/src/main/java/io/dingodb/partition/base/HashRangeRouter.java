@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.partition.base;
+
+import io.dingodb.codec.CodecService;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Route keys of a hash partitioned table to regions. The hash ring and the ranges of each partition are built once
+ * for a distribution, and routes the same as {@link ConsistentHashing} with 3 replicas, so that the placement of
+ * existing data does not change. The 128-bit hashes are kept in primitive arrays instead of {@link BigInteger}s.
+ */
+final class HashRangeRouter {
+    private static final int REPLICAS = 3;
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("MD5 not supported", e);
+        }
+    });
+
+    // Sorted by (high signed, low unsigned), which is the order of the hashes as signed 128-bit integers.
+    private final long[] ringHigh;
+    private final long[] ringLow;
+    private final long[] ringNode;
+    private final Map<Long, NavigableMap<ComparableByteArray, RangeDistribution>> partRanges;
+    private final Map<Long, CommonId> partIds;
+
+    HashRangeRouter(NavigableMap<ComparableByteArray, RangeDistribution> ranges) {
+        TreeMap<BigInteger, Long> ring = new TreeMap<>();
+        partRanges = new HashMap<>();
+        partIds = new HashMap<>();
+        for (Map.Entry<ComparableByteArray, RangeDistribution> entry : ranges.entrySet()) {
+            long domain = entry.getValue().getId().domain;
+            if (!partRanges.containsKey(domain)) {
+                for (int i = 0; i < REPLICAS; i++) {
+                    ring.put(new BigInteger(digest((domain + "-" + i).getBytes(StandardCharsets.UTF_8))), domain);
+                }
+                partIds.put(domain, new CommonId(CommonId.CommonType.PARTITION, 0, domain));
+            }
+            partRanges.computeIfAbsent(domain, k -> new TreeMap<>()).put(entry.getKey(), entry.getValue());
+        }
+        ringHigh = new long[ring.size()];
+        ringLow = new long[ring.size()];
+        ringNode = new long[ring.size()];
+        int i = 0;
+        for (Map.Entry<BigInteger, Long> entry : ring.entrySet()) {
+            // MD5 digests are 16 bytes, so the integers fit in 128 bits.
+            ringHigh[i] = entry.getKey().shiftRight(64).longValue();
+            ringLow[i] = entry.getKey().longValue();
+            ringNode[i] = entry.getValue();
+            ++i;
+        }
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        MessageDigest md = MD5.get();
+        md.reset();
+        return md.digest(bytes);
+    }
+
+    private static int compare(long high1, long low1, long high2, long low2) {
+        int result = Long.compare(high1, high2);
+        return result != 0 ? result : Long.compareUnsigned(low1, low2);
+    }
+
+    /**
+     * Get the partition of the key on the hash ring.
+     */
+    long getNode(byte[] key) {
+        ByteBuffer hash = ByteBuffer.wrap(digest(key));
+        long high = hash.getLong();
+        long low = hash.getLong();
+        // Find the first ring entry not less than the hash.
+        int lo = 0;
+        int hi = ringHigh.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(ringHigh[mid], ringLow[mid], high, low) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return ringNode[lo < ringNode.length ? lo : 0];
+    }
+
+    /**
+     * Get the region of the key, the partition id in the key is set.
+     */
+    CommonId route(byte[] key) {
+        long node = getNode(key);
+        CodecService.getDefault().setId(key, partIds.get(node));
+        return partRanges.get(node).floorEntry(new ComparableByteArray(key, 1)).getValue().id();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.partition.base;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class HashRangeRouterTest {
+    @Test
+    public void testSameAsConsistentHashing() {
+        NavigableMap<ComparableByteArray, RangeDistribution> ranges = new TreeMap<>();
+        ConsistentHashing<Long> consistentHashing = new ConsistentHashing<>(3);
+        for (long domain = 1001; domain <= 1008; ++domain) {
+            // Two regions in each partition.
+            for (int i = 0; i < 2; ++i) {
+                byte[] startKey = new byte[]{'t', (byte) domain, (byte) i};
+                ranges.put(new ComparableByteArray(startKey, 1), RangeDistribution.builder()
+                    .id(new CommonId(CommonId.CommonType.DISTRIBUTION, domain, i))
+                    .startKey(startKey)
+                    .build());
+            }
+            consistentHashing.addNode(domain);
+        }
+        HashRangeRouter router = new HashRangeRouter(ranges);
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; ++i) {
+            byte[] key = new byte[1 + random.nextInt(32)];
+            random.nextBytes(key);
+            Assertions.assertEquals(consistentHashing.getNode(key).longValue(), router.getNode(key));
+        }
+    }
+}
@@ -44,6 +44,8 @@ public class Configuration {
     private int bufferSize = 67108864;
     private int bufferNumber = 2;
     private int fileSize = 67108864;
+    // Bytes of data kept in memory before spilling to RocksDB, non-positive to always write RocksDB.
+    private long memoryLimit = 67108864;
     public static String path() {
         return INSTANCE.path;
     }
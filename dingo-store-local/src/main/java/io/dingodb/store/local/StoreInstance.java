@@ -20,9 +20,7 @@ import io.dingodb.common.CommonId;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.util.ByteArrayUtils;
 import lombok.AllArgsConstructor;
-import lombok.SneakyThrows;
 import org.rocksdb.RocksIterator;
-import org.rocksdb.WriteOptions;
 
 import java.util.Iterator;
 import java.util.List;
@@ -38,7 +36,6 @@ import static io.dingodb.common.util.Parameters.nonNull;
 public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     public final CommonId regionId;
-    private static final WriteOptions writeOptions = new WriteOptions().setDisableWAL(true);
 
     @Override
     public CommonId id() {
@@ -46,33 +43,27 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
     }
 
     @Override
-    @SneakyThrows
     public boolean put(KeyValue row) {
         nonNull(row, "row");
-        if (StoreService.db.get(row.getKey()) != null) {
-            return false;
-        }
-        StoreService.db.put(writeOptions, nonNull(row.getKey(), "key"), cleanNull(row.getValue(), ByteArrayUtils.EMPTY_BYTES));
-        return true;
+        return WriteBuffer.put(
+            nonNull(row.getKey(), "key"), cleanNull(row.getValue(), ByteArrayUtils.EMPTY_BYTES)
+        );
     }
 
     @Override
-    @SneakyThrows
     public boolean delete(byte[] key) {
-        StoreService.db.delete(writeOptions, key);
+        WriteBuffer.delete(key);
         return true;
     }
 
     @Override
-    @SneakyThrows
     public void deletePrefix(byte[] prefix) {
-        StoreService.db.deleteRange(writeOptions, prefix, nextKey(prefix));
+        WriteBuffer.deletePrefix(prefix, nextKey(prefix));
     }
 
     @Override
-    @SneakyThrows
     public KeyValue get(byte[] key) {
-        byte[] valueBytes = StoreService.db.get(key);
+        byte[] valueBytes = WriteBuffer.get(key);
         if (valueBytes == null) {
             return null;
         }
@@ -80,9 +71,8 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
     }
 
     @Override
-    @SneakyThrows
     public List<KeyValue> get(List<byte[]> keys) {
-        List<byte[]> values = StoreService.db.multiGetAsList(keys);
+        List<byte[]> values = WriteBuffer.get(keys);
         return IntStream.range(0, keys.size())
             .mapToObj(i -> new KeyValue(keys.get(i), values.get(i)))
             .filter(kv -> kv.getValue() != null)
@@ -91,15 +81,34 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
 
     @Override
     public Iterator<KeyValue> scan(Range range) {
-        return new KeyValueIterator(StoreService.db.newIterator(), range);
+        // Take the buffer in memory first, for it may be spilled to RocksDB meanwhile.
+        Iterator<KeyValue> memory = WriteBuffer.scan(start(range), end(range));
+        if (!WriteBuffer.isSpilled()) {
+            return memory;
+        }
+        return WriteBuffer.merge(memory, new KeyValueIterator(StoreService.db.newIterator(), range));
     }
 
     @Override
     public Iterator<KeyValue> scan(long requestTs, Range range) {
-        return new KeyValueIterator(StoreService.db.newIterator(), range);
+        return scan(range);
+    }
+
+    private static byte[] start(Range range) {
+        if (range.start == null) {
+            return null;
+        }
+        return range.withStart ? range.start : nextKey(range.start);
+    }
+
+    private static byte[] end(Range range) {
+        if (range.end == null) {
+            return ByteArrayUtils.MAX;
+        }
+        return range.withEnd ? nextKey(range.end) : range.end;
     }
 
-    private byte[] nextKey(byte[] key) {
+    private static byte[] nextKey(byte[] key) {
         byte[] next = new byte[key.length];
         int n = key.length;
         while (--n >= 0) {
@@ -132,11 +141,7 @@ public class StoreInstance implements io.dingodb.store.api.StoreInstance {
                     iterator.seek(nextKey(range.start));
                 }
             }
-            if (range.end == null) {
-                end = ByteArrayUtils.MAX;
-            } else {
-                end = range.withEnd ? nextKey(range.end) : range.end;
-            }
+            end = end(range);
         }
 
         @Override
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.store.local;
+
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.ByteArrayUtils;
+import lombok.SneakyThrows;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static io.dingodb.common.util.ByteArrayUtils.compareWithoutLen;
+
+/**
+ * Sorted in-memory buffer in front of the RocksDB of the local store. The uncommitted data, check markers and locks
+ * of transactions are kept in memory, so small transactions never write, read or delete in RocksDB. When the buffer
+ * grows over the memory limit, all of it is written to RocksDB in one batch and a new buffer is started. After that,
+ * misses in memory are looked up in RocksDB, until all the spilled keys are deleted.
+ *
+ * <p>A key is in only one of them, except while spilling, when memory is read first. A scan keeps using the buffer
+ * it started with, so it is not affected by spilling.
+ */
+final class WriteBuffer {
+    private static final WriteOptions WRITE_OPTIONS = new WriteOptions().setDisableWAL(true);
+
+    private static final long MEMORY_LIMIT = Configuration.instance().getMemoryLimit();
+
+    // Mutations hold the read lock, spilling holds the write lock.
+    private static final ReadWriteLock LOCK = new ReentrantReadWriteLock();
+    private static final AtomicLong BYTES = new AtomicLong();
+    // Deletions in RocksDB hold this, so that spilled keys are counted exactly.
+    private static final Object DB_LOCK = new Object();
+
+    private static volatile NavigableMap<byte[], byte[]> memory = newMemory();
+    private static volatile boolean spilled = false;
+    // Number of keys in RocksDB, guarded by `DB_LOCK`.
+    private static long spilledKeys = 0;
+
+    private WriteBuffer() {
+    }
+
+    private static @NonNull NavigableMap<byte[], byte[]> newMemory() {
+        return new ConcurrentSkipListMap<>(ByteArrayUtils::compare);
+    }
+
+    static boolean isSpilled() {
+        return spilled;
+    }
+
+    /**
+     * Put the key-value if the key does not exist.
+     *
+     * @return {@code false} if the key exists
+     */
+    @SneakyThrows
+    static boolean put(byte @NonNull [] key, byte @NonNull [] value) {
+        LOCK.readLock().lock();
+        try {
+            if (spilled && StoreService.db.get(key) != null) {
+                return false;
+            }
+            if (memory.putIfAbsent(key, value) != null) {
+                return false;
+            }
+            if (BYTES.addAndGet(key.length + value.length) <= MEMORY_LIMIT) {
+                return true;
+            }
+        } finally {
+            LOCK.readLock().unlock();
+        }
+        spill(false);
+        return true;
+    }
+
+    @SneakyThrows
+    static void delete(byte @NonNull [] key) {
+        LOCK.readLock().lock();
+        try {
+            byte[] value = memory.remove(key);
+            if (value != null) {
+                BYTES.addAndGet(-(key.length + value.length));
+            } else if (spilled) {
+                synchronized (DB_LOCK) {
+                    if (StoreService.db.get(key) != null) {
+                        StoreService.db.delete(WRITE_OPTIONS, key);
+                        drained(1);
+                    }
+                }
+            }
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    @SneakyThrows
+    static void deletePrefix(byte @NonNull [] prefix, byte @NonNull [] end) {
+        LOCK.readLock().lock();
+        try {
+            Iterator<Map.Entry<byte[], byte[]>> iterator = memory.subMap(prefix, true, end, false)
+                .entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<byte[], byte[]> entry = iterator.next();
+                iterator.remove();
+                BYTES.addAndGet(-(entry.getKey().length + entry.getValue().length));
+            }
+            if (spilled) {
+                synchronized (DB_LOCK) {
+                    long count = 0;
+                    try (RocksIterator iterator = StoreService.db.newIterator()) {
+                        for (iterator.seek(prefix); iterator.isValid(); iterator.next()) {
+                            if (compareWithoutLen(iterator.key(), end) >= 0) {
+                                break;
+                            }
+                            ++count;
+                        }
+                    }
+                    if (count > 0) {
+                        StoreService.db.deleteRange(WRITE_OPTIONS, prefix, end);
+                        drained(count);
+                    }
+                }
+            }
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    @SneakyThrows
+    static byte @Nullable [] get(byte @NonNull [] key) {
+        byte[] value = memory.get(key);
+        if (value == null && spilled) {
+            value = StoreService.db.get(key);
+        }
+        return value;
+    }
+
+    /**
+     * Get the values of the keys, {@code null} for the missing ones. Misses in memory are read from RocksDB at once.
+     */
+    @SneakyThrows
+    static @NonNull List<byte[]> get(@NonNull List<byte[]> keys) {
+        List<byte[]> values = new ArrayList<>(keys.size());
+        List<byte[]> missingKeys = null;
+        for (byte[] key : keys) {
+            byte[] value = memory.get(key);
+            if (value == null && spilled) {
+                if (missingKeys == null) {
+                    missingKeys = new ArrayList<>();
+                }
+                missingKeys.add(key);
+            }
+            values.add(value);
+        }
+        if (missingKeys != null) {
+            Iterator<byte[]> dbValues = StoreService.db.multiGetAsList(missingKeys).iterator();
+            for (int i = 0; i < values.size(); ++i) {
+                if (values.get(i) == null) {
+                    values.set(i, dbValues.next());
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Scan the buffer in memory, must be called before checking {@link #isSpilled()} for the RocksDB part.
+     */
+    static @NonNull Iterator<KeyValue> scan(byte @Nullable [] start, byte @NonNull [] end) {
+        NavigableMap<byte[], byte[]> map = memory;
+        if (start != null) {
+            map = map.tailMap(start, true);
+        }
+        Iterator<Map.Entry<byte[], byte[]>> iterator = map.entrySet().iterator();
+        return new Iterator<KeyValue>() {
+            private Map.Entry<byte[], byte[]> next = advance();
+
+            private Map.@Nullable Entry<byte[], byte[]> advance() {
+                if (iterator.hasNext()) {
+                    Map.Entry<byte[], byte[]> entry = iterator.next();
+                    if (compareWithoutLen(entry.getKey(), end) < 0) {
+                        return entry;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public KeyValue next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                KeyValue keyValue = new KeyValue(next.getKey(), next.getValue());
+                next = advance();
+                return keyValue;
+            }
+        };
+    }
+
+    /**
+     * Merge the sorted key-values in memory and in RocksDB, those in memory win if a key is in both.
+     */
+    static @NonNull Iterator<KeyValue> merge(@NonNull Iterator<KeyValue> memory, @NonNull Iterator<KeyValue> db) {
+        return new Iterator<KeyValue>() {
+            private KeyValue memoryNext = memory.hasNext() ? memory.next() : null;
+            private KeyValue dbNext = db.hasNext() ? db.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return memoryNext != null || dbNext != null;
+            }
+
+            @Override
+            public KeyValue next() {
+                if (memoryNext == null && dbNext == null) {
+                    throw new NoSuchElementException();
+                }
+                int result = memoryNext == null ? 1 : dbNext == null ? -1
+                    : ByteArrayUtils.compare(memoryNext.getKey(), dbNext.getKey());
+                KeyValue keyValue;
+                if (result <= 0) {
+                    keyValue = memoryNext;
+                    memoryNext = memory.hasNext() ? memory.next() : null;
+                    if (result == 0) {
+                        dbNext = db.hasNext() ? db.next() : null;
+                    }
+                } else {
+                    keyValue = dbNext;
+                    dbNext = db.hasNext() ? db.next() : null;
+                }
+                return keyValue;
+            }
+        };
+    }
+
+    // Must hold `DB_LOCK`. Memory is read alone again once all the spilled keys are deleted.
+    private static void drained(long count) {
+        spilledKeys -= count;
+        if (spilledKeys <= 0) {
+            spilledKeys = 0;
+            spilled = false;
+        }
+    }
+
+    /**
+     * Write all the buffer in memory to RocksDB and start a new one. Keys in memory are never in RocksDB, for
+     * {@link #put} checks RocksDB first.
+     *
+     * @param force {@code false} to spill only if the buffer is over the memory limit
+     */
+    @SneakyThrows
+    static void spill(boolean force) {
+        LOCK.writeLock().lock();
+        try {
+            NavigableMap<byte[], byte[]> map = memory;
+            if (map.isEmpty() || !force && BYTES.get() <= MEMORY_LIMIT) {
+                return;
+            }
+            long count = 0;
+            try (WriteBatch batch = new WriteBatch()) {
+                for (Map.Entry<byte[], byte[]> entry : map.entrySet()) {
+                    batch.put(entry.getKey(), entry.getValue());
+                    ++count;
+                }
+                StoreService.db.write(WRITE_OPTIONS, batch);
+            }
+            DingoMetrics.counter("local_store_spill").inc();
+            DingoMetrics.histogram("local_store_spill_bytes", BYTES.get());
+            synchronized (DB_LOCK) {
+                spilledKeys += count;
+                spilled = true;
+            }
+            memory = newMemory();
+            BYTES.set(0);
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.store.local;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.store.KeyValue;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestWriteBuffer {
+    @TempDir
+    static Path dir;
+
+    private static StoreInstance store;
+
+    @BeforeAll
+    public static void setupAll() {
+        // Must be set before the configuration of the store is loaded.
+        DingoConfiguration.instance().getConfigMap(Configuration.KEY).put("path", dir.resolve("db").toString());
+        store = new StoreInstance(new CommonId(CommonId.CommonType.TABLE, 1, 1));
+        assertThat(StoreService.db).isNotNull();
+    }
+
+    private static byte[] key(int prefix, int i) {
+        return new byte[]{(byte) prefix, (byte) (i >> 8), (byte) i};
+    }
+
+    private static byte[] value(int i) {
+        return new byte[]{(byte) i};
+    }
+
+    private static void put(int prefix, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            assertThat(store.put(new KeyValue(key(prefix, i), value(i)))).isTrue();
+        }
+    }
+
+    private static List<KeyValue> scan(int prefix) {
+        byte[] start = new byte[]{(byte) prefix};
+        Iterator<KeyValue> iterator = store.scan(new StoreInstance.Range(start, start, true, true));
+        List<KeyValue> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    private static void assertScan(int prefix, int from, int to) {
+        List<KeyValue> list = scan(prefix);
+        assertThat(list).hasSize(to - from);
+        for (int i = from; i < to; ++i) {
+            KeyValue keyValue = list.get(i - from);
+            assertThat(keyValue.getKey()).isEqualTo(key(prefix, i));
+            assertThat(keyValue.getValue()).isEqualTo(value(i));
+        }
+    }
+
+    @Test
+    public void testInMemory() {
+        put(1, 0, 10);
+        assertThat(store.put(new KeyValue(key(1, 3), value(100)))).isFalse();
+        assertThat(store.get(key(1, 3)).getValue()).isEqualTo(value(3));
+        assertScan(1, 0, 10);
+        List<KeyValue> list = store.get(Arrays.asList(key(1, 5), key(1, 20), key(1, 2)));
+        assertThat(list).extracting(KeyValue::getValue).containsExactly(value(5), value(2));
+        store.delete(key(1, 3));
+        assertThat(store.get(key(1, 3))).isNull();
+        assertThat(store.put(new KeyValue(key(1, 3), value(3)))).isTrue();
+        store.deletePrefix(new byte[]{1});
+        assertThat(scan(1)).isEmpty();
+    }
+
+    @Test
+    public void testSpill() {
+        put(2, 0, 100);
+        WriteBuffer.spill(true);
+        assertThat(WriteBuffer.isSpilled()).isTrue();
+        assertThat(store.get(key(2, 42)).getValue()).isEqualTo(value(42));
+        assertThat(store.put(new KeyValue(key(2, 42), value(0)))).isFalse();
+        put(2, 100, 150);
+        // The keys in memory and in RocksDB are merged in order.
+        assertScan(2, 0, 150);
+        List<KeyValue> list = store.get(Arrays.asList(key(2, 120), key(2, 7), key(2, 200), key(2, 99)));
+        assertThat(list).extracting(KeyValue::getValue).containsExactly(value(120), value(7), value(99));
+        // Deleting a spilled key leaves the others in RocksDB.
+        store.delete(key(2, 7));
+        assertThat(store.get(key(2, 7))).isNull();
+        assertThat(WriteBuffer.isSpilled()).isTrue();
+        store.deletePrefix(new byte[]{2});
+        assertThat(scan(2)).isEmpty();
+        assertThat(WriteBuffer.isSpilled()).isFalse();
+    }
+
+    @Test
+    public void testDrainByDelete() {
+        put(3, 0, 3);
+        WriteBuffer.spill(true);
+        assertThat(WriteBuffer.isSpilled()).isTrue();
+        store.delete(key(3, 0));
+        store.delete(key(3, 0));
+        store.delete(key(3, 1));
+        assertThat(WriteBuffer.isSpilled()).isTrue();
+        store.delete(key(3, 2));
+        assertThat(WriteBuffer.isSpilled()).isFalse();
+        assertThat(scan(3)).isEmpty();
+    }
+}
@@ -17,6 +17,8 @@
 package io.dingodb.store.proxy.service;
 
 import com.google.auto.service.AutoService;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.sdk.service.MetaService;
 import io.dingodb.sdk.service.Services;
 import io.dingodb.sdk.service.entity.common.Location;
@@ -24,8 +26,17 @@ import io.dingodb.sdk.service.entity.meta.TsoRequest;
 import io.dingodb.sdk.service.entity.meta.TsoTimestamp;
 import io.dingodb.store.proxy.Configuration;
 import io.dingodb.tso.TsoServiceProvider;
+import lombok.AllArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.dingodb.sdk.service.entity.meta.TsoOpType.OP_GEN_TSO;
 
@@ -43,9 +54,22 @@ public class TsoService implements io.dingodb.tso.TsoService {
 
     private static final int PHYSICAL_SHIFT = 18;
     private static final long MAX_LOGICAL = (1 << PHYSICAL_SHIFT) - 1;
+    // Max number of timestamps allocated by one request.
+    private static final int MAX_BATCH = 1024;
 
     private MetaService tsoMetaService;
 
+    // Requests waiting for the next allocation, served in order.
+    private final Queue<Request> pending = new ConcurrentLinkedQueue<>();
+    // Only one allocation is in flight, requests arriving meanwhile are coalesced into the next one.
+    private final AtomicBoolean requesting = new AtomicBoolean(false);
+
+    @AllArgsConstructor
+    private static class Request {
+        private final CompletableFuture<Long> future;
+        private final long startNanos;
+    }
+
     public TsoService() {
         String coordinators = Configuration.coordinators();
         if (coordinators == null) {
@@ -61,6 +85,10 @@ public class TsoService implements io.dingodb.tso.TsoService {
         setTsoMetaService(Services.tsoService(coordinators));
     }
 
+    TsoService(MetaService tsoMetaService) {
+        this.tsoMetaService = tsoMetaService;
+    }
+
     private void setTsoMetaService(MetaService tsoMetaService) {
         synchronized (TsoService.class) {
             this.tsoMetaService = tsoMetaService;
@@ -78,12 +106,80 @@ public class TsoService implements io.dingodb.tso.TsoService {
         return Math.abs((((long) System.identityHashCode(this)) << 32) + System.nanoTime());
     }
 
+    /**
+     * Get a timestamp. Concurrent calls are coalesced into one request to the coordinator, which allocates the
+     * timestamps of all of them. A timestamp is always allocated after the call begins, so it is greater than any
+     * timestamp got before the call.
+     */
     @Override
     public long tso() {
-        TsoTimestamp startTimestamp = tsoMetaService.tsoService(
-            trace(), TsoRequest.builder().opType(OP_GEN_TSO).count(1L).build()
-        ).getStartTimestamp();
-        return (startTimestamp.getPhysical() << PHYSICAL_SHIFT) + (startTimestamp.getLogical() & MAX_LOGICAL);
+        try {
+            return enqueue(true).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> tsoFuture() {
+        return enqueue(false);
+    }
+
+    private CompletableFuture<Long> enqueue(boolean inline) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        pending.add(new Request(future, System.nanoTime()));
+        if (requesting.compareAndSet(false, true)) {
+            if (inline) {
+                // Save a thread switch if there is no contention.
+                request();
+            } else {
+                Executors.execute("tso-request", this::request);
+            }
+        }
+        return future;
+    }
+
+    private void request() {
+        List<Request> batch = new ArrayList<>();
+        Request request;
+        while (batch.size() < MAX_BATCH && (request = pending.poll()) != null) {
+            batch.add(request);
+        }
+        try {
+            if (!batch.isEmpty()) {
+                allocate(batch);
+            }
+        } finally {
+            requesting.set(false);
+            // Requests arrived during the allocation.
+            if (!pending.isEmpty() && requesting.compareAndSet(false, true)) {
+                Executors.execute("tso-request", this::request);
+            }
+        }
+    }
+
+    private void allocate(List<Request> batch) {
+        int count = batch.size();
+        long base;
+        try {
+            TsoTimestamp startTimestamp = tsoMetaService.tsoService(
+                trace(), TsoRequest.builder().opType(OP_GEN_TSO).count((long) count).build()
+            ).getStartTimestamp();
+            base = (startTimestamp.getPhysical() << PHYSICAL_SHIFT) + (startTimestamp.getLogical() & MAX_LOGICAL);
+        } catch (Throwable e) {
+            batch.forEach(r -> r.future.completeExceptionally(e));
+            return;
+        }
+        DingoMetrics.histogram("tso_batch_size", count);
+        long now = System.nanoTime();
+        for (int i = 0; i < count; ++i) {
+            Request request = batch.get(i);
+            DingoMetrics.timer("tso_wait").update(now - request.startNanos, TimeUnit.NANOSECONDS);
+            request.future.complete(base + i);
+        }
     }
 
     @Override
@@ -93,9 +189,7 @@ public class TsoService implements io.dingodb.tso.TsoService {
 
     @Override
     public long timestamp() {
-        return tsoMetaService.tsoService(
-            trace(), TsoRequest.builder().opType(OP_GEN_TSO).count(1L).build()
-        ).getStartTimestamp().getPhysical();
+        return timestamp(tso());
     }
 
     @Override
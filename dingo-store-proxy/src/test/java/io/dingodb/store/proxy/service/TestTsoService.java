@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.store.proxy.service;
+
+import io.dingodb.sdk.service.MetaService;
+import io.dingodb.sdk.service.entity.meta.TsoRequest;
+import io.dingodb.sdk.service.entity.meta.TsoResponse;
+import io.dingodb.sdk.service.entity.meta.TsoTimestamp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestTsoService {
+    private static final int PHYSICAL_SHIFT = 18;
+
+    // Coordinator handing out consecutive logical timestamps, blocking the first request until released.
+    private static MetaService coordinator(List<Long> counts, CountDownLatch entered, CountDownLatch release) {
+        MetaService metaService = mock(MetaService.class);
+        AtomicLong next = new AtomicLong(1);
+        doAnswer(invocation -> {
+            TsoRequest request = invocation.getArgument(1);
+            long count = request.getCount();
+            synchronized (counts) {
+                counts.add(count);
+            }
+            entered.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            long logical = next.getAndAdd(count);
+            return TsoResponse.builder()
+                .startTimestamp(TsoTimestamp.builder().physical(1L).logical(logical).build())
+                .build();
+        }).when(metaService).tsoService(anyLong(), any(TsoRequest.class));
+        return metaService;
+    }
+
+    @Test
+    public void testUncontended() {
+        List<Long> counts = new ArrayList<>();
+        CountDownLatch release = new CountDownLatch(0);
+        TsoService tsoService = new TsoService(coordinator(counts, new CountDownLatch(1), release));
+        long ts1 = tsoService.tso();
+        long ts2 = tsoService.tso();
+        assertThat(ts1).isEqualTo((1L << PHYSICAL_SHIFT) + 1);
+        assertThat(ts2).isGreaterThan(ts1);
+        assertThat(tsoService.timestamp(ts2)).isEqualTo(1L);
+        assertThat(counts).containsExactly(1L, 1L);
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        List<Long> counts = new ArrayList<>();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TsoService tsoService = new TsoService(coordinator(counts, entered, release));
+        // The first request is in flight until released.
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(tsoService::tso);
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            futures.add(tsoService.tsoFuture());
+        }
+        assertThat(futures).noneMatch(CompletableFuture::isDone);
+        release.countDown();
+        long firstTs = first.get(10, TimeUnit.SECONDS);
+        List<Long> timestamps = new ArrayList<>();
+        for (CompletableFuture<Long> future : futures) {
+            timestamps.add(future.get(10, TimeUnit.SECONDS));
+        }
+        // All the waiting requests are served by one more request to the coordinator.
+        assertThat(counts).containsExactly(1L, 50L);
+        assertThat(timestamps).doesNotHaveDuplicates().isSorted().allMatch(ts -> ts > firstTs);
+    }
+
+    @Test
+    public void testFailure() {
+        MetaService metaService = mock(MetaService.class);
+        when(metaService.tsoService(anyLong(), any(TsoRequest.class))).thenThrow(new RuntimeException("unavailable"));
+        TsoService tsoService = new TsoService(metaService);
+        assertThatThrownBy(tsoService::tso).isInstanceOf(RuntimeException.class).hasMessage("unavailable");
+        assertThat(tsoService.tsoFuture()).failsWithin(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.test;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.calcite.stats.StatsCache;
+import io.dingodb.calcite.stats.StatsNormal;
+import io.dingodb.calcite.stats.TableStats;
+import io.dingodb.test.dsl.run.exec.SqlExecContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static io.dingodb.test.dsl.builder.SqlTestCaseJavaBuilder.count;
+import static io.dingodb.test.dsl.builder.SqlTestCaseJavaBuilder.is;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BroadcastJoinTest {
+    private static final String SCHEMA_NAME = "DINGO";
+
+    private static SqlExecContext context;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        ConnectionFactory.initLocalEnvironment();
+        context = new SqlExecContext(ConnectionFactory.getConnection());
+        context.execSql(
+            "create table {table0} (\n"
+                + "    id int,\n"
+                + "    name varchar(32),\n"
+                + "    amount double,\n"
+                + "    primary key (id)\n"
+                + ") partition by range values (3),(5)"
+        );
+        context.execSql(
+            "insert into {table0} values\n"
+                + "(1, 'Alice', 3.5), (2, 'Betty', 4.0), (3, 'Cindy', 4.5),\n"
+                + "(4, 'Doris', 5.0), (5, 'Emily', 5.5), (6, 'Alice', 6.0)"
+        ).test(count(6));
+        context.execSql(
+            "create table {table1} (\n"
+                + "    id int,\n"
+                + "    name varchar(32),\n"
+                + "    city varchar(32),\n"
+                + "    primary key (id)\n"
+                + ")"
+        );
+        context.execSql(
+            "insert into {table1} values (1, 'Alice', 'Beijing'), (2, 'Emily', 'Shanghai'), (3, 'Flora', 'Tianjin')"
+        ).test(count(3));
+        // The left is large and the right is small by statistics, so that the right is copied to each partition.
+        putStats(context.getTableName("table0"), 1000000);
+        putStats(context.getTableName("table1"), 3);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() throws SQLException {
+        StatsCache.removeCache(SCHEMA_NAME, context.getTableName("table0").toUpperCase());
+        StatsCache.removeCache(SCHEMA_NAME, context.getTableName("table1").toUpperCase());
+        context.cleanUp();
+        ConnectionFactory.cleanUp();
+    }
+
+    private static void putStats(String tableName, long rowCount) {
+        TableStats tableStats = new TableStats(SCHEMA_NAME, tableName);
+        tableStats.getStatsNormalList().add(new StatsNormal("NAME", rowCount, 0L, 32, rowCount));
+        tableStats.initRowCount();
+        StatsCache.statsMap.put(tableStats.getIdentifier(), tableStats);
+    }
+
+    private static void assertBroadcast(String sql) throws SQLException {
+        try (ResultSet resultSet = context.execSql("explain plan for " + sql).getStatement().getResultSet()) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(1)).contains("DingoBroadcastHashJoin");
+        }
+    }
+
+    @Test
+    public void testInnerJoin() throws SQLException {
+        String sql = "select {table0}.id, {table1}.city from {table0} join {table1} on {table0}.name = {table1}.name";
+        assertBroadcast(sql);
+        context.execSql(sql).test(is(
+            new String[]{"ID", "CITY"},
+            ImmutableList.of(
+                new Object[]{1, "Beijing"},
+                new Object[]{5, "Shanghai"},
+                new Object[]{6, "Beijing"}
+            )
+        ));
+    }
+
+    @Test
+    public void testLeftJoin() throws SQLException {
+        String sql = "select {table0}.id, {table1}.city from {table0} left join {table1} "
+            + "on {table0}.name = {table1}.name";
+        assertBroadcast(sql);
+        context.execSql(sql).test(is(
+            new String[]{"ID", "CITY"},
+            ImmutableList.of(
+                new Object[]{1, "Beijing"},
+                new Object[]{2, null},
+                new Object[]{3, null},
+                new Object[]{4, null},
+                new Object[]{5, "Shanghai"},
+                new Object[]{6, "Beijing"}
+            )
+        ));
+    }
+}
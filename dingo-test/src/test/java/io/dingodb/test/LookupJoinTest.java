@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.test;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.calcite.stats.StatsCache;
+import io.dingodb.calcite.stats.StatsNormal;
+import io.dingodb.calcite.stats.TableStats;
+import io.dingodb.test.dsl.run.exec.SqlExecContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static io.dingodb.test.dsl.builder.SqlTestCaseJavaBuilder.count;
+import static io.dingodb.test.dsl.builder.SqlTestCaseJavaBuilder.is;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LookupJoinTest {
+    private static final String SCHEMA_NAME = "DINGO";
+
+    private static SqlExecContext context;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        ConnectionFactory.initLocalEnvironment();
+        context = new SqlExecContext(ConnectionFactory.getConnection());
+        context.execSql(
+            "create table {table0} (\n"
+                + "    id int,\n"
+                + "    user_id int,\n"
+                + "    amount double,\n"
+                + "    primary key (id)\n"
+                + ")"
+        );
+        context.execSql(
+            "insert into {table0} values\n"
+                + "(1, 1, 3.5), (2, 4, 4.0), (3, 1, 4.5), (4, 9, 5.0), (5, null, 5.5)"
+        ).test(count(5));
+        context.execSql(
+            "create table {table1} (\n"
+                + "    id int,\n"
+                + "    name varchar(32),\n"
+                + "    primary key (id)\n"
+                + ") partition by range values (3)"
+        );
+        context.execSql(
+            "insert into {table1} values (1, 'Alice'), (2, 'Betty'), (3, 'Cindy'), (4, 'Doris')"
+        ).test(count(4));
+        // The outer is small and the inner is large by statistics, so that the inner rows are got by keys.
+        putStats(context.getTableName("table0"), 5);
+        putStats(context.getTableName("table1"), 1000000);
+    }
+
+    @AfterAll
+    public static void cleanUpAll() throws SQLException {
+        StatsCache.removeCache(SCHEMA_NAME, context.getTableName("table0").toUpperCase());
+        StatsCache.removeCache(SCHEMA_NAME, context.getTableName("table1").toUpperCase());
+        context.cleanUp();
+        ConnectionFactory.cleanUp();
+    }
+
+    private static void putStats(String tableName, long rowCount) {
+        TableStats tableStats = new TableStats(SCHEMA_NAME, tableName);
+        tableStats.getStatsNormalList().add(new StatsNormal("ID", rowCount, 0L, 4, rowCount));
+        tableStats.initRowCount();
+        StatsCache.statsMap.put(tableStats.getIdentifier(), tableStats);
+    }
+
+    private static void assertLookup(String sql) throws SQLException {
+        try (ResultSet resultSet = context.execSql("explain plan for " + sql).getStatement().getResultSet()) {
+            assertThat(resultSet.next()).isTrue();
+            assertThat(resultSet.getString(1)).contains("DingoLookupJoin");
+        }
+    }
+
+    @Test
+    public void testInnerJoin() throws SQLException {
+        String sql = "select {table0}.id, {table1}.name from {table0} join {table1} on {table0}.user_id = {table1}.id";
+        assertLookup(sql);
+        context.execSql(sql).test(is(
+            new String[]{"ID", "NAME"},
+            ImmutableList.of(
+                new Object[]{1, "Alice"},
+                new Object[]{2, "Doris"},
+                new Object[]{3, "Alice"}
+            )
+        ));
+    }
+
+    @Test
+    public void testLeftJoin() throws SQLException {
+        String sql = "select {table0}.id, {table1}.name from {table0} left join {table1} "
+            + "on {table0}.user_id = {table1}.id";
+        assertLookup(sql);
+        context.execSql(sql).test(is(
+            new String[]{"ID", "NAME"},
+            ImmutableList.of(
+                new Object[]{1, "Alice"},
+                new Object[]{2, "Doris"},
+                new Object[]{3, "Alice"},
+                new Object[]{4, null},
+                new Object[]{5, null}
+            )
+        ));
+    }
+
+    @Test
+    public void testFilterOnInner() throws SQLException {
+        String sql = "select {table0}.id, {table1}.name from {table0} join {table1} on {table0}.user_id = {table1}.id "
+            + "where {table1}.name <> 'Alice'";
+        context.execSql(sql).test(is(
+            new String[]{"ID", "NAME"},
+            ImmutableList.of(
+                new Object[]{2, "Doris"}
+            )
+        ));
+    }
+}
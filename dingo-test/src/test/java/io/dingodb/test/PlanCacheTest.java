@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.test;
+
+import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.test.dsl.run.exec.SqlExecContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.dingodb.test.dsl.builder.SqlTestCaseJavaBuilder.count;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PlanCacheTest {
+    private SqlExecContext context;
+
+    @BeforeAll
+    public static void setupAll() throws Exception {
+        ConnectionFactory.initLocalEnvironment();
+    }
+
+    @AfterAll
+    public static void cleanUpAll() {
+        ConnectionFactory.cleanUp();
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        context = new SqlExecContext(ConnectionFactory.getConnection());
+    }
+
+    @AfterEach
+    public void cleanUp() throws Exception {
+        context.cleanUp();
+    }
+
+    private static long hits() {
+        return DingoMetrics.counter("plan_cache_hit").getCount();
+    }
+
+    @Test
+    public void testReusePlan() throws Exception {
+        context.execSql("create table {table} (id int, name varchar(32), primary key(id))");
+        context.execSql("insert into {table} values (1, 'Alice'), (2, 'Betty')").test(count(2));
+        String sql = "select name from {table} where id = 2";
+        assertThat(context.querySingleValue(sql)).isEqualTo("Betty");
+        long hits = hits();
+        assertThat(context.querySingleValue(sql)).isEqualTo("Betty");
+        assertThat(hits()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    public void testReusePlanOfParameterValues() throws Exception {
+        context.execSql("create table {table} (id int, name varchar(32), primary key(id))");
+        String sql = context.transSql("insert into {table} values (?, ?), (?, 'Cindy')");
+        long hits = hits();
+        for (int i = 0; i < 2; ++i) {
+            try (PreparedStatement statement = context.getConnection().prepareStatement(sql)) {
+                statement.setInt(1, 3 * i + 1);
+                statement.setString(2, "Alice" + i);
+                statement.setInt(3, 3 * i + 2);
+                assertThat(statement.executeUpdate()).isEqualTo(2);
+            }
+        }
+        assertThat(hits()).isEqualTo(hits + 1);
+        assertThat(context.querySingleValue("select count(*) from {table} where name = 'Cindy'")).isEqualTo(2L);
+        assertThat(context.querySingleValue("select name from {table} where id = 4")).isEqualTo("Alice1");
+    }
+
+    @Test
+    public void testFoldedValuesNotCached() throws Exception {
+        String sql = "select 1 + 1";
+        long hits = hits();
+        assertThat(context.querySingleValue(sql)).isEqualTo(2);
+        assertThat(context.querySingleValue(sql)).isEqualTo(2);
+        assertThat(hits()).isEqualTo(hits);
+    }
+
+    @Test
+    public void testNowAdvances() throws Exception {
+        String sql = "select now()";
+        long hits = hits();
+        Timestamp first = (Timestamp) context.querySingleValue(sql);
+        Thread.sleep(1100);
+        Timestamp second = (Timestamp) context.querySingleValue(sql);
+        assertThat(second).isAfter(first);
+        assertThat(hits()).isEqualTo(hits);
+    }
+
+    @Test
+    public void testInsertNowAdvances() throws Exception {
+        context.execSql("create table {table} (id int auto_increment, ts timestamp, primary key(id))");
+        String sql = "insert into {table}(ts) values (now())";
+        context.execSql(sql).test(count(1));
+        Thread.sleep(1100);
+        context.execSql(sql).test(count(1));
+        List<Timestamp> values = new ArrayList<>();
+        try (ResultSet resultSet = context.execSql("select ts from {table} order by id")
+            .getStatement().getResultSet()) {
+            while (resultSet.next()) {
+                values.add(resultSet.getTimestamp(1));
+            }
+        }
+        assertThat(values).hasSize(2);
+        assertThat(values.get(1)).isAfter(values.get(0));
+    }
+}
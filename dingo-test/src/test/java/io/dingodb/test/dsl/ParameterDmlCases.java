@@ -17,6 +17,7 @@
 package io.dingodb.test.dsl;
 
 import com.google.common.collect.ImmutableList;
+import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.test.dsl.builder.SqlTestCaseJavaBuilder;
 
 import java.sql.Date;
@@ -31,9 +32,15 @@ public class ParameterDmlCases extends SqlTestCaseJavaBuilder {
         super("Parameter DML");
     }
 
+    // Number of times a job is run once for all the rows of parameters of a batch.
+    private static long batchRuns() {
+        return DingoMetrics.metricRegistry.histogram("batch_paras_size").getCount();
+    }
+
     @Override
     protected void build() {
         table("i4k_vs_f80", file("cases/tables/i4k_vs_f80.create.sql"));
+        table("i4k_vs_f80_partitions", file("cases/tables/i4k_vs_f80.partitions.create.sql"));
 
         test("Insert")
             .use("table", "i4k_vs_f80")
@@ -113,6 +120,71 @@ public class ParameterDmlCases extends SqlTestCaseJavaBuilder {
                 )
             ));
 
+        // The tuples of the values are routed to the partitions through a streaming converter.
+        test("Batch insert into partitions")
+            .use("table", "i4k_vs_f80_partitions")
+            .modify("i4k_vs_f80_partitions")
+            .custom(context -> {
+                String sql = "insert into {table} values(?, ?, ? + 1.0)";
+                try (PreparedStatement statement = context.getConnection().prepareStatement(context.transSql(sql))) {
+                    String[] names = {"Alice", "Betty", "Cindy", "Doris", "Emily", "Flora"};
+                    for (int i = 0; i < names.length; ++i) {
+                        statement.setInt(1, i + 1);
+                        statement.setString(2, names[i]);
+                        statement.setDouble(3, i + 1);
+                        statement.addBatch();
+                    }
+                    long runs = batchRuns();
+                    int[] count = statement.executeBatch();
+                    assertThat(count).isEqualTo(new int[]{1, 1, 1, 1, 1, 1});
+                    assertThat(batchRuns()).isEqualTo(runs + 1);
+                }
+            })
+            .data(is(
+                new String[]{"id", "name", "amount"},
+                ImmutableList.of(
+                    new Object[]{1, "Alice", 2.0},
+                    new Object[]{2, "Betty", 3.0},
+                    new Object[]{3, "Cindy", 4.0},
+                    new Object[]{4, "Doris", 5.0},
+                    new Object[]{5, "Emily", 6.0},
+                    new Object[]{6, "Flora", 7.0}
+                )
+            ));
+
+        // Tuples with parameters are planned as a union of values, which are run concurrently, so the job is run
+        // once for each row of parameters.
+        test("Batch insert of multiple tuples into partitions")
+            .use("table", "i4k_vs_f80_partitions")
+            .modify("i4k_vs_f80_partitions")
+            .custom(context -> {
+                String sql = "insert into {table} values(?, ?, 1.0), (?, ?, 2.0)";
+                try (PreparedStatement statement = context.getConnection().prepareStatement(context.transSql(sql))) {
+                    for (int i = 1; i <= 3; ++i) {
+                        statement.setInt(1, i);
+                        statement.setString(2, "Alice" + i);
+                        statement.setInt(3, i + 4);
+                        statement.setString(4, "Betty" + i);
+                        statement.addBatch();
+                    }
+                    long runs = batchRuns();
+                    int[] count = statement.executeBatch();
+                    assertThat(count).isEqualTo(new int[]{2, 2, 2});
+                    assertThat(batchRuns()).isEqualTo(runs);
+                }
+            })
+            .data(is(
+                new String[]{"id", "name", "amount"},
+                ImmutableList.of(
+                    new Object[]{1, "Alice1", 1.0},
+                    new Object[]{2, "Alice2", 1.0},
+                    new Object[]{3, "Alice3", 1.0},
+                    new Object[]{5, "Betty1", 2.0},
+                    new Object[]{6, "Betty2", 2.0},
+                    new Object[]{7, "Betty3", 2.0}
+                )
+            ));
+
         test("delete")
             .use("table", "i4k_vs_f80")
             .modify("i4k_vs_f80")
@@ -0,0 +1,6 @@
+create table {table} (
+    id int,
+    name varchar(32) not null,
+    amount double,
+    primary key(id)
+) partition by range values (3),(5)
@@ -16,6 +16,8 @@
 
 package io.dingodb.tso;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface TsoService {
 
     static TsoService getDefault() {
@@ -24,6 +26,13 @@ public interface TsoService {
 
     long tso();
 
+    /**
+     * Get a timestamp asynchronously, so that it can be requested before it is needed.
+     */
+    default CompletableFuture<Long> tsoFuture() {
+        return CompletableFuture.completedFuture(tso());
+    }
+
     long tso(long timestamp);
 
     long timestamp();